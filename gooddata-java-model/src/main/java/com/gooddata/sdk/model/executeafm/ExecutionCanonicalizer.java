@@ -0,0 +1,405 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.model.executeafm;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gooddata.sdk.model.executeafm.afm.Afm;
+import com.gooddata.sdk.model.executeafm.afm.AttributeItem;
+import com.gooddata.sdk.model.executeafm.afm.MeasureDefinition;
+import com.gooddata.sdk.model.executeafm.afm.MeasureItem;
+import com.gooddata.sdk.model.executeafm.afm.NativeTotalItem;
+import com.gooddata.sdk.model.executeafm.afm.ObjQualifierConverter;
+import com.gooddata.sdk.model.executeafm.afm.SimpleMeasureDefinition;
+import com.gooddata.sdk.model.executeafm.afm.filter.AttributeFilterElements;
+import com.gooddata.sdk.model.executeafm.afm.filter.DateFilter;
+import com.gooddata.sdk.model.executeafm.afm.filter.FilterItem;
+import com.gooddata.sdk.model.executeafm.afm.filter.MeasureValueFilter;
+import com.gooddata.sdk.model.executeafm.afm.filter.NegativeAttributeFilter;
+import com.gooddata.sdk.model.executeafm.afm.filter.PositiveAttributeFilter;
+import com.gooddata.sdk.model.executeafm.afm.filter.SimpleAttributeFilterElements;
+import com.gooddata.sdk.model.executeafm.afm.filter.UriAttributeFilterElements;
+import com.gooddata.sdk.model.executeafm.afm.filter.ValueAttributeFilterElements;
+import com.gooddata.sdk.model.executeafm.resultspec.Dimension;
+import com.gooddata.sdk.model.executeafm.resultspec.ResultSpec;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.gooddata.sdk.common.util.Validate.noNullElements;
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Normalizes {@link Execution} to canonical form, so semantically identical executions are posted in the same form
+ * and hit the same entry of the server-side execution cache. The canonical execution:
+ * <ul>
+ *     <li>qualifies objects by {@link UriObjQualifier} instead of {@link IdentifierObjQualifier} wherever the given
+ *     {@link ObjQualifierConverter} resolves the identifier,</li>
+ *     <li>has the filters (including the filters of simple measures) deduplicated and sorted and the elements of
+ *     attribute filters sorted,</li>
+ *     <li>lacks no-op filters, i.e. date filters selecting all time, negative attribute filters without elements and
+ *     measure value filters without condition,</li>
+ *     <li>has the native totals sorted,</li>
+ *     <li>has the attributes sorted by their local identifiers, when all of them are placed to dimensions by the result
+ *     spec explicitly, so their order doesn't determine the default dimensions,</li>
+ *     <li>has empty lists omitted.</li>
+ * </ul>
+ * Measures are never reordered, as their order determines the order of measure group items. Order of dimensions,
+ * their items, totals and sorts is significant too, so it's kept. Local identifiers are kept as they are, so the references
+ * to them stay valid.
+ * <p>
+ * The given execution is not modified, the canonical execution shares the unchanged objects with it.
+ */
+public final class ExecutionCanonicalizer {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final ObjQualifierConverter qualifierConverter;
+
+    /**
+     * Creates canonicalizer keeping the object qualifiers as they are.
+     */
+    public ExecutionCanonicalizer() {
+        this(null);
+    }
+
+    /**
+     * Creates canonicalizer converting the identifier qualifiers to the URI ones.
+     *
+     * @param qualifierConverter converter of identifier qualifiers, the qualifiers it doesn't convert are kept,
+     *                           null to keep all the qualifiers
+     */
+    public ExecutionCanonicalizer(final ObjQualifierConverter qualifierConverter) {
+        this.qualifierConverter = qualifierConverter;
+    }
+
+    /**
+     * Returns all the object qualifiers used by the AFM, e.g. to resolve the identifiers in bulk before they're
+     * converted by {@link ObjQualifierConverter}.
+     *
+     * @param afm AFM
+     * @return qualifiers of the attributes, filters and measures (including filters of simple measures)
+     */
+    public static Set<ObjQualifier> getObjQualifiers(final Afm afm) {
+        notNull(afm, "afm");
+        final Set<ObjQualifier> qualifiers = new LinkedHashSet<>();
+        if (afm.getAttributes() != null) {
+            afm.getAttributes().stream()
+                    .map(AttributeItem::getDisplayForm)
+                    .filter(Objects::nonNull)
+                    .forEach(qualifiers::add);
+        }
+        if (afm.getFilters() != null) {
+            afm.getFilters().forEach(filter -> addObjQualifier(qualifiers, filter));
+        }
+        if (afm.getMeasures() != null) {
+            for (MeasureItem measure : afm.getMeasures()) {
+                final MeasureDefinition definition = measure.getDefinition();
+                if (definition == null) {
+                    continue;
+                }
+                qualifiers.addAll(definition.getObjQualifiers());
+                if (definition instanceof SimpleMeasureDefinition
+                        && ((SimpleMeasureDefinition) definition).getFilters() != null) {
+                    ((SimpleMeasureDefinition) definition).getFilters()
+                            .forEach(filter -> addObjQualifier(qualifiers, filter));
+                }
+            }
+        }
+        return qualifiers;
+    }
+
+    /**
+     * Normalizes the execution to the canonical form.
+     *
+     * @param execution execution
+     * @return canonical execution
+     */
+    public Execution canonicalize(final Execution execution) {
+        notNull(execution, "execution");
+        final ResultSpec resultSpec = canonicalize(execution.getResultSpec());
+        return new Execution(canonicalize(execution.getAfm(), resultSpec), resultSpec);
+    }
+
+    /**
+     * Normalizes the AFM to the canonical form, the attributes are never reordered as the AFM doesn't tell whether
+     * their order is significant.
+     *
+     * @param afm AFM
+     * @return canonical AFM
+     */
+    public Afm canonicalize(final Afm afm) {
+        return canonicalize(notNull(afm, "afm"), null);
+    }
+
+    /**
+     * Computes stable hash of the given parts, i.e. SHA-256 of their JSON with properties and map entries ordered
+     * by name, strings are hashed as they are. Canonical executions, which are semantically identical, have the same
+     * hash, so it can identify them e.g. together with the project and the result page.
+     *
+     * @param parts parts to hash, e.g. the project ID and the canonical execution
+     * @return hex encoded hash
+     */
+    public static String hash(final Object... parts) {
+        noNullElements(parts, "parts");
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                digest.update((byte) 0);
+            }
+            digest.update(parts[i] instanceof String
+                    ? ((String) parts[i]).getBytes(StandardCharsets.UTF_8)
+                    : toJsonBytes(parts[i]));
+        }
+        final byte[] hash = digest.digest();
+        final char[] hex = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            hex[2 * i] = HEX[(hash[i] >> 4) & 0xf];
+            hex[2 * i + 1] = HEX[hash[i] & 0xf];
+        }
+        return new String(hex);
+    }
+
+    private Afm canonicalize(final Afm afm, final ResultSpec resultSpec) {
+        if (afm == null) {
+            return null;
+        }
+        final ObjQualifierConverter converter = memoize(qualifierConverter);
+
+        List<AttributeItem> attributes = nullIfEmpty(afm.getAttributes());
+        if (attributes != null) {
+            attributes = attributes.stream()
+                    .map(attribute -> convert(attribute, converter))
+                    .collect(Collectors.toList());
+            if (isLaidOut(attributes, resultSpec)) {
+                attributes.sort(Comparator.comparing(AttributeItem::getLocalIdentifier));
+            }
+        }
+
+        List<MeasureItem> measures = nullIfEmpty(afm.getMeasures());
+        if (measures != null) {
+            measures = measures.stream()
+                    .map(measure -> canonicalize(measure, converter))
+                    .collect(Collectors.toList());
+        }
+
+        List<NativeTotalItem> nativeTotals = nullIfEmpty(afm.getNativeTotals());
+        if (nativeTotals != null) {
+            nativeTotals = sortByJson(nativeTotals);
+        }
+
+        return new Afm(attributes, canonicalizeFilters(afm.getFilters(), converter), measures, nativeTotals);
+    }
+
+    private static ResultSpec canonicalize(final ResultSpec resultSpec) {
+        if (resultSpec == null) {
+            return null;
+        }
+        List<Dimension> dimensions = nullIfEmpty(resultSpec.getDimensions());
+        if (dimensions != null) {
+            dimensions = dimensions.stream()
+                    .map(dimension -> dimension.getTotals() == null || dimension.getTotals().isEmpty()
+                            ? new Dimension(dimension.getItemIdentifiers())
+                            : new Dimension(dimension.getItemIdentifiers(), dimension.getTotals()))
+                    .collect(Collectors.toList());
+        }
+        return new ResultSpec(dimensions, nullIfEmpty(resultSpec.getSorts()));
+    }
+
+    /**
+     * @return true when all the attributes are placed to the dimensions explicitly
+     */
+    private static boolean isLaidOut(final List<AttributeItem> attributes, final ResultSpec resultSpec) {
+        if (resultSpec == null || resultSpec.getDimensions() == null) {
+            return false;
+        }
+        final Set<String> laidOut = resultSpec.getDimensions().stream()
+                .filter(dimension -> dimension.getItemIdentifiers() != null)
+                .flatMap(dimension -> dimension.getItemIdentifiers().stream())
+                .collect(Collectors.toSet());
+        return attributes.stream().allMatch(attribute -> attribute.getLocalIdentifier() != null
+                && laidOut.contains(attribute.getLocalIdentifier()));
+    }
+
+    private static AttributeItem convert(final AttributeItem attribute, final ObjQualifierConverter converter) {
+        final Optional<UriObjQualifier> uri = convert(attribute.getDisplayForm(), converter);
+        return uri.isPresent()
+                ? new AttributeItem(uri.get(), attribute.getLocalIdentifier(), attribute.getAlias())
+                : attribute;
+    }
+
+    private MeasureItem canonicalize(final MeasureItem measure, final ObjQualifierConverter converter) {
+        MeasureDefinition definition = measure.getDefinition();
+        if (definition == null) {
+            return measure;
+        }
+        final boolean convertible = definition.getObjQualifiers().stream()
+                .allMatch(qualifier -> !(qualifier instanceof IdentifierObjQualifier)
+                        || converter.convertToUriQualifier((IdentifierObjQualifier) qualifier).isPresent());
+        if (convertible) {
+            definition = definition.withObjUriQualifiers(converter);
+        }
+        if (definition instanceof SimpleMeasureDefinition) {
+            final SimpleMeasureDefinition simple = (SimpleMeasureDefinition) definition;
+            definition = new SimpleMeasureDefinition(simple.getItem(), simple.getAggregation(),
+                    simple.getComputeRatio(), canonicalizeFilters(simple.getFilters(), converter));
+        }
+        return new MeasureItem(definition, measure.getLocalIdentifier(), measure.getAlias(), measure.getFormat());
+    }
+
+    /**
+     * Converts, deduplicates and sorts the filters, omitting the no-op ones.
+     */
+    @SuppressWarnings("unchecked")
+    private static <F> List<F> canonicalizeFilters(final List<F> filters, final ObjQualifierConverter converter) {
+        if (filters == null) {
+            return null;
+        }
+        final Map<String, F> unique = new TreeMap<>();
+        for (F filter : filters) {
+            if (filter == null || isNoOp(filter)) {
+                continue;
+            }
+            final F canonical = (F) canonicalizeFilter(filter, converter);
+            unique.putIfAbsent(toJson(canonical), canonical);
+        }
+        return unique.isEmpty() ? null : new ArrayList<>(unique.values());
+    }
+
+    private static boolean isNoOp(final Object filter) {
+        if (filter instanceof DateFilter) {
+            return ((DateFilter) filter).isAllTimeSelected();
+        } else if (filter instanceof NegativeAttributeFilter) {
+            final AttributeFilterElements notIn = ((NegativeAttributeFilter) filter).getNotIn();
+            return notIn == null || notIn.getElements() == null || notIn.getElements().isEmpty();
+        } else if (filter instanceof MeasureValueFilter) {
+            return ((MeasureValueFilter) filter).getCondition() == null;
+        }
+        return false;
+    }
+
+    private static Object canonicalizeFilter(final Object filter, final ObjQualifierConverter converter) {
+        if (filter instanceof FilterItem) {
+            FilterItem item = (FilterItem) filter;
+            final Optional<UriObjQualifier> uri = convert(item.getObjQualifier(), converter);
+            if (uri.isPresent()) {
+                item = item.withObjUriQualifier(uri.get());
+            }
+            if (item instanceof PositiveAttributeFilter) {
+                final PositiveAttributeFilter positive = (PositiveAttributeFilter) item;
+                return new PositiveAttributeFilter(positive.getDisplayForm(), sortElements(positive.getIn()));
+            } else if (item instanceof NegativeAttributeFilter) {
+                final NegativeAttributeFilter negative = (NegativeAttributeFilter) item;
+                return new NegativeAttributeFilter(negative.getDisplayForm(), sortElements(negative.getNotIn()));
+            }
+            return item;
+        } else if (filter instanceof MeasureValueFilter) {
+            final MeasureValueFilter measureValueFilter = (MeasureValueFilter) filter;
+            final Optional<UriObjQualifier> uri = measureValueFilter.getMeasure() instanceof ObjQualifier
+                    ? convert((ObjQualifier) measureValueFilter.getMeasure(), converter)
+                    : Optional.empty();
+            return uri.isPresent() ? measureValueFilter.withUriObjQualifier(uri.get()) : measureValueFilter;
+        }
+        return filter;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static AttributeFilterElements sortElements(final AttributeFilterElements elements) {
+        if (elements == null || elements.getElements() == null) {
+            return elements;
+        }
+        final List<String> sorted = elements.getElements().stream()
+                .distinct()
+                .sorted(Comparator.nullsFirst(Comparator.naturalOrder()))
+                .collect(Collectors.toList());
+        if (elements instanceof UriAttributeFilterElements) {
+            return new UriAttributeFilterElements(sorted);
+        } else if (elements instanceof ValueAttributeFilterElements) {
+            return new ValueAttributeFilterElements(sorted);
+        } else if (elements instanceof SimpleAttributeFilterElements) {
+            return new SimpleAttributeFilterElements(sorted);
+        }
+        return elements;
+    }
+
+    private static Optional<UriObjQualifier> convert(final ObjQualifier qualifier,
+                                                     final ObjQualifierConverter converter) {
+        return qualifier instanceof IdentifierObjQualifier
+                ? converter.convertToUriQualifier((IdentifierObjQualifier) qualifier)
+                : Optional.empty();
+    }
+
+    private static void addObjQualifier(final Set<ObjQualifier> qualifiers, final Object filter) {
+        if (filter instanceof FilterItem && ((FilterItem) filter).getObjQualifier() != null) {
+            qualifiers.add(((FilterItem) filter).getObjQualifier());
+        } else if (filter instanceof MeasureValueFilter
+                && ((MeasureValueFilter) filter).getMeasure() instanceof ObjQualifier) {
+            qualifiers.add((ObjQualifier) ((MeasureValueFilter) filter).getMeasure());
+        }
+    }
+
+    /**
+     * Converter asking the given one at most once per qualifier, which doesn't convert anything when there's none.
+     */
+    private static ObjQualifierConverter memoize(final ObjQualifierConverter converter) {
+        if (converter == null) {
+            return qualifier -> Optional.empty();
+        }
+        final Map<IdentifierObjQualifier, Optional<UriObjQualifier>> converted = new HashMap<>();
+        return qualifier -> converted.computeIfAbsent(qualifier, converter::convertToUriQualifier);
+    }
+
+    private static <T> List<T> sortByJson(final Collection<T> items) {
+        return items.stream()
+                .sorted(Comparator.comparing((Function<T, String>) ExecutionCanonicalizer::toJson))
+                .collect(Collectors.toList());
+    }
+
+    private static <T> List<T> nullIfEmpty(final List<T> list) {
+        return list == null || list.isEmpty() ? null : list;
+    }
+
+    private static byte[] toJsonBytes(final Object value) {
+        try {
+            return MAPPER.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unable to serialize " + value, e);
+        }
+    }
+
+    private static String toJson(final Object value) {
+        try {
+            return value.getClass().getName() + MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unable to serialize " + value, e);
+        }
+    }
+}
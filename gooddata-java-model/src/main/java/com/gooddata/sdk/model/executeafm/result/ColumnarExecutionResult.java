@@ -0,0 +1,276 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.model.executeafm.result;
+
+import com.gooddata.sdk.common.util.GoodDataToStringBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Columnar view of {@link ExecutionResult} holding the measure values as primitive doubles. Values are parsed once
+ * when the view is created, so the view takes a fraction of the memory of {@link ExecutionResult#getData()} and
+ * the values can be aggregated without boxing.
+ * <p>
+ * Rows of the view correspond to the items of the first dimension and columns to the items of the second one,
+ * result with single dimension has single column. Each column is kept as {@code double[]} with a {@link BitSet}
+ * marking null values. Header items of each header are dictionary encoded, each distinct item is kept once and
+ * referenced by its index.
+ * <p>
+ * The view is immutable and doesn't reference the original result, which can be garbage collected afterwards.
+ */
+public final class ColumnarExecutionResult {
+
+    private final int rowCount;
+    private final double[][] columns;
+    private final BitSet[] nulls;
+    private final List<List<HeaderColumn>> headers;
+
+    private ColumnarExecutionResult(final int rowCount, final double[][] columns, final BitSet[] nulls,
+                                    final List<List<HeaderColumn>> headers) {
+        this.rowCount = rowCount;
+        this.columns = columns;
+        this.nulls = nulls;
+        this.headers = headers;
+    }
+
+    /**
+     * Creates columnar view of the given result.
+     *
+     * @param result execution result with data of at most two dimensions
+     * @return columnar view of the result
+     * @throws IllegalArgumentException when the result has more than two dimensions or its data aren't numeric
+     */
+    public static ColumnarExecutionResult of(final ExecutionResult result) {
+        notNull(result, "result");
+        final List<Data> data = result.getData() != null ? result.getData() : Collections.emptyList();
+
+        final boolean twoDimensional = data.stream().anyMatch(Data::isList);
+        final int rowCount = data.size();
+        final int columnCount = twoDimensional
+                ? data.stream().mapToInt(row -> row.isList() ? row.asList().size() : 0).max().orElse(0)
+                : (rowCount > 0 ? 1 : 0);
+
+        final double[][] columns = new double[columnCount][rowCount];
+        final BitSet[] nulls = new BitSet[columnCount];
+        for (int column = 0; column < columnCount; column++) {
+            nulls[column] = new BitSet(rowCount);
+        }
+        for (int row = 0; row < rowCount; row++) {
+            final Data rowData = data.get(row);
+            if (twoDimensional) {
+                final List<Data> cells = rowData.isList() ? rowData.asList() : Collections.emptyList();
+                for (int column = 0; column < columnCount; column++) {
+                    final Data cell = column < cells.size() ? cells.get(column) : Data.NULL;
+                    set(columns, nulls, row, column, cell);
+                }
+            } else {
+                set(columns, nulls, row, 0, rowData);
+            }
+        }
+
+        final List<List<HeaderColumn>> headers = new ArrayList<>();
+        if (result.getHeaderItems() != null) {
+            for (List<List<ResultHeaderItem>> dimension : result.getHeaderItems()) {
+                final List<HeaderColumn> dimensionHeaders = new ArrayList<>(dimension.size());
+                for (List<ResultHeaderItem> items : dimension) {
+                    dimensionHeaders.add(HeaderColumn.encode(items));
+                }
+                headers.add(Collections.unmodifiableList(dimensionHeaders));
+            }
+        }
+        return new ColumnarExecutionResult(rowCount, columns, nulls, Collections.unmodifiableList(headers));
+    }
+
+    /**
+     * @return number of rows, i.e. items of the first dimension
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return number of columns, i.e. items of the second dimension or one for single dimensional result with data
+     */
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * @param row    row index
+     * @param column column index
+     * @return value of the cell or {@link Double#NaN} when the value is null
+     */
+    public double getValue(final int row, final int column) {
+        return columns[column][checkRow(row)];
+    }
+
+    /**
+     * @param row    row index
+     * @param column column index
+     * @return true when the value of the cell is null
+     */
+    public boolean isNull(final int row, final int column) {
+        return nulls[column].get(checkRow(row));
+    }
+
+    /**
+     * @param column column index
+     * @return non-null values of the column in the order of rows
+     */
+    public DoubleStream getColumnValues(final int column) {
+        final double[] values = columns[column];
+        final BitSet columnNulls = nulls[column];
+        return IntStream.range(0, rowCount)
+                .filter(row -> !columnNulls.get(row))
+                .mapToDouble(row -> values[row]);
+    }
+
+    /**
+     * @param column column index
+     * @return copy of the values of the column, null values are {@link Double#NaN}
+     */
+    public double[] getColumn(final int column) {
+        return columns[column].clone();
+    }
+
+    /**
+     * @param column column index
+     * @return copy of the null mask of the column, bit is set for each row with null value
+     */
+    public BitSet getNulls(final int column) {
+        return (BitSet) nulls[column].clone();
+    }
+
+    /**
+     * @return number of dimensions with header items
+     */
+    public int getDimensionCount() {
+        return headers.size();
+    }
+
+    /**
+     * @param dimension dimension index
+     * @return number of headers (attributes or measure group) of the dimension
+     */
+    public int getHeaderCount(final int dimension) {
+        return headers.get(dimension).size();
+    }
+
+    /**
+     * @param dimension dimension index
+     * @param header    header index within the dimension
+     * @return distinct header items of the header
+     */
+    public List<ResultHeaderItem> getHeaderDictionary(final int dimension, final int header) {
+        return headers.get(dimension).get(header).dictionary;
+    }
+
+    /**
+     * @param dimension dimension index
+     * @param header    header index within the dimension
+     * @return copy of indexes to {@link #getHeaderDictionary(int, int)} for each item of the dimension
+     */
+    public int[] getHeaderIndexes(final int dimension, final int header) {
+        return headers.get(dimension).get(header).indexes.clone();
+    }
+
+    /**
+     * @param dimension dimension index
+     * @param header    header index within the dimension
+     * @param position  position of the item within the dimension, e.g. row index for the first dimension
+     * @return header item at the given position
+     */
+    public ResultHeaderItem getHeaderItem(final int dimension, final int header, final int position) {
+        final HeaderColumn headerColumn = headers.get(dimension).get(header);
+        return headerColumn.dictionary.get(headerColumn.indexes[position]);
+    }
+
+    @Override
+    public String toString() {
+        return new GoodDataToStringBuilder(this)
+                .append("rowCount", rowCount)
+                .append("columnCount", columns.length)
+                .append("dimensionCount", headers.size())
+                .toString();
+    }
+
+    private int checkRow(final int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of " + rowCount);
+        }
+        return row;
+    }
+
+    private static void set(final double[][] columns, final BitSet[] nulls, final int row, final int column,
+                            final Data cell) {
+        if (cell == null || cell.isNull()) {
+            columns[column][row] = Double.NaN;
+            nulls[column].set(row);
+        } else if (cell.isValue()) {
+            try {
+                columns[column][row] = Double.parseDouble(cell.textValue());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(
+                        "Non-numeric value '" + cell.textValue() + "' at row " + row + ", column " + column, e);
+            }
+        } else {
+            throw new IllegalArgumentException("Only results of up to two dimensions are supported");
+        }
+    }
+
+    /**
+     * Dictionary encoded header items of single header.
+     */
+    private static final class HeaderColumn {
+        private final List<ResultHeaderItem> dictionary;
+        private final int[] indexes;
+
+        private HeaderColumn(final List<ResultHeaderItem> dictionary, final int[] indexes) {
+            this.dictionary = dictionary;
+            this.indexes = indexes;
+        }
+
+        private static HeaderColumn encode(final List<ResultHeaderItem> items) {
+            final Map<List<Object>, Integer> ids = new HashMap<>();
+            final List<ResultHeaderItem> dictionary = new ArrayList<>();
+            final int[] indexes = new int[items.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                final ResultHeaderItem item = items.get(i);
+                final Integer id = ids.putIfAbsent(key(item), dictionary.size());
+                if (id == null) {
+                    indexes[i] = dictionary.size();
+                    dictionary.add(item);
+                } else {
+                    indexes[i] = id;
+                }
+            }
+            return new HeaderColumn(Collections.unmodifiableList(dictionary), indexes);
+        }
+
+        private static List<Object> key(final ResultHeaderItem item) {
+            if (item instanceof AttributeHeaderItem) {
+                return Arrays.asList(AttributeHeaderItem.NAME, item.getName(), ((AttributeHeaderItem) item).getUri());
+            } else if (item instanceof ResultMeasureHeaderItem) {
+                return Arrays.asList(ResultMeasureHeaderItem.NAME, item.getName(),
+                        ((ResultMeasureHeaderItem) item).getOrder());
+            } else if (item instanceof ResultTotalHeaderItem) {
+                return Arrays.asList(ResultTotalHeaderItem.NAME, item.getName(),
+                        ((ResultTotalHeaderItem) item).getType());
+            }
+            return Arrays.asList(item != null ? item.getClass() : null, item != null ? item.getName() : null);
+        }
+    }
+}
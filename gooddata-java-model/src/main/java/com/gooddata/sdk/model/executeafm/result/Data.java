@@ -7,20 +7,14 @@ package com.gooddata.sdk.model.executeafm.result;
 
 import com.fasterxml.jackson.annotation.JsonValue;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 import java.io.IOException;
-import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.Spliterator;
-import java.util.stream.Collectors;
-
-import static java.util.Spliterators.spliteratorUnknownSize;
-import static java.util.stream.StreamSupport.stream;
 
 /**
  * Data of {@link ExecutionResult}, can be of three basic kinds - {@link #NULL}, list and simple value.
@@ -78,29 +72,37 @@ public interface Data {
     class DataDeserializer extends JsonDeserializer<Data> {
         @Override
         public Data deserialize(final JsonParser jp, final DeserializationContext ctxt) throws IOException {
-            final JsonNode root = jp.readValueAsTree();
-            if (root.isArray()) {
-                final List<Data> list = stream(spliteratorUnknownSize(root.elements(), Spliterator.ORDERED), false)
-                        .map(elem -> {
-                            try {
-                                return ctxt.readValue(elem.traverse(jp.getCodec()), Data.class);
-                            } catch (IOException e) {
-                                throw new UncheckedIOException(e);
-                            }
-                        }).collect(Collectors.toList());
-                return new DataList(list);
-            } else if (root.isTextual()) {
-                return new DataValue(root.textValue());
-            } else if (root.isNull()) {
-                return NULL;
-            } else {
-                throw JsonMappingException.from(jp, "Unknown value of type: " + root.getNodeType());
-            }
+            return read(jp);
         }
 
         @Override
         public Data getNullValue(final DeserializationContext ctxt) throws JsonMappingException {
             return NULL;
         }
+
+        /**
+         * Reads the data the parser is positioned at token by token, without building intermediate tree.
+         */
+        static Data read(final JsonParser jp) throws IOException {
+            final JsonToken token = jp.currentToken();
+            if (token == JsonToken.START_ARRAY) {
+                return readList(jp);
+            } else if (token == JsonToken.VALUE_STRING) {
+                return new DataValue(jp.getText());
+            } else if (token == JsonToken.VALUE_NULL) {
+                return NULL;
+            } else {
+                throw JsonMappingException.from(jp, "Unknown value of type: " + token);
+            }
+        }
+
+        static DataList readList(final JsonParser jp) throws IOException {
+            final DataList list = new DataList();
+            while (jp.nextToken() != JsonToken.END_ARRAY) {
+                list.add(read(jp));
+            }
+            list.trimToSize();
+            return list;
+        }
     }
 }
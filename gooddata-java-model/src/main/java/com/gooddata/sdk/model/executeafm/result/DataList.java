@@ -27,6 +27,13 @@ public class DataList extends ArrayList<Data> implements Data {
         super(notNull(values, "values"));
     }
 
+    /**
+     * Creates new empty instance to be filled by deserializer
+     */
+    DataList() {
+        super();
+    }
+
     /**
      * Creates new instance by transforming the given array to list of simple or null values
      * @param array array of values
@@ -5,11 +5,10 @@
  */
 package com.gooddata.sdk.model.executeafm.result;
 
-import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.gooddata.sdk.model.executeafm.Execution;
 import com.gooddata.sdk.common.util.GoodDataToStringBuilder;
 
@@ -24,6 +23,7 @@ import static com.gooddata.sdk.common.util.Validate.notNull;
 @JsonTypeInfo(include = JsonTypeInfo.As.WRAPPER_OBJECT, use = JsonTypeInfo.Id.NAME)
 @JsonTypeName("executionResult")
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonDeserialize(using = ExecutionResultDeserializer.class)
 public class ExecutionResult {
 
     private final DataList data;
@@ -61,13 +61,12 @@ public class ExecutionResult {
      * @param headerItems items for headers, for each header in each dimension, there is a list of header items
      * @param totals data of totals, for each total in each dimension, there is a list of total's values
      */
-    @JsonCreator
-    ExecutionResult(@JsonProperty("data") final DataList data,
-                    @JsonProperty("paging") final Paging paging,
-                    @JsonProperty("headerItems") final List<List<List<ResultHeaderItem>>> headerItems,
-                    @JsonProperty("totals") final List<List<List<String>>> totals,
-                    @JsonProperty("totalTotals") final List<List<List<String>>> totalTotals,
-                    @JsonProperty("warnings") final List<Warning> warnings) {
+    ExecutionResult(final DataList data,
+                    final Paging paging,
+                    final List<List<List<ResultHeaderItem>>> headerItems,
+                    final List<List<List<String>>> totals,
+                    final List<List<List<String>>> totalTotals,
+                    final List<Warning> warnings) {
         this.data = data;
         this.paging = paging;
         this.headerItems = headerItems;
@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.model.executeafm.result;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deserializes {@link ExecutionResult} in single pass over the tokens. Data, header items and totals, which make
+ * the bulk of huge results, are built directly while reading, without any intermediate tree or buffered values.
+ */
+class ExecutionResultDeserializer extends JsonDeserializer<ExecutionResult> {
+
+    private static final String DATA = "data";
+    private static final String PAGING = "paging";
+    private static final String HEADER_ITEMS = "headerItems";
+    private static final String TOTALS = "totals";
+    private static final String TOTAL_TOTALS = "totalTotals";
+    private static final String WARNINGS = "warnings";
+
+    /**
+     * Header item classes by their type names, must match {@link com.fasterxml.jackson.annotation.JsonSubTypes}
+     * of {@link ResultHeaderItem}.
+     */
+    static final Map<String, Class<? extends ResultHeaderItem>> HEADER_ITEM_TYPES = headerItemTypes();
+
+    @Override
+    public ExecutionResult deserialize(final JsonParser jp, final DeserializationContext ctxt) throws IOException {
+        JsonToken token = jp.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = jp.nextToken();
+        }
+
+        DataList data = null;
+        Paging paging = null;
+        List<List<List<ResultHeaderItem>>> headerItems = null;
+        List<List<List<String>>> totals = null;
+        List<List<List<String>>> totalTotals = null;
+        List<Warning> warnings = null;
+        for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+            final String field = jp.getCurrentName();
+            if (jp.nextToken() == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case DATA:
+                    expect(jp, JsonToken.START_ARRAY);
+                    data = Data.DataDeserializer.readList(jp);
+                    break;
+                case PAGING:
+                    paging = ctxt.readValue(jp, Paging.class);
+                    break;
+                case HEADER_ITEMS:
+                    headerItems = readHeaderItems(jp, ctxt);
+                    break;
+                case TOTALS:
+                    totals = readTotals(jp);
+                    break;
+                case TOTAL_TOTALS:
+                    totalTotals = readTotals(jp);
+                    break;
+                case WARNINGS:
+                    warnings = ctxt.readValue(jp,
+                            ctxt.getTypeFactory().constructCollectionType(List.class, Warning.class));
+                    break;
+                default:
+                    ctxt.handleUnknownProperty(jp, this, ExecutionResult.class, field);
+            }
+        }
+        return new ExecutionResult(data, paging, headerItems, totals, totalTotals, warnings);
+    }
+
+    private List<List<List<ResultHeaderItem>>> readHeaderItems(final JsonParser jp, final DeserializationContext ctxt)
+            throws IOException {
+        expect(jp, JsonToken.START_ARRAY);
+        final List<List<List<ResultHeaderItem>>> dimensions = new ArrayList<>();
+        while (jp.nextToken() != JsonToken.END_ARRAY) {
+            expect(jp, JsonToken.START_ARRAY);
+            final List<List<ResultHeaderItem>> headers = new ArrayList<>();
+            while (jp.nextToken() != JsonToken.END_ARRAY) {
+                expect(jp, JsonToken.START_ARRAY);
+                final List<ResultHeaderItem> items = new ArrayList<>();
+                while (jp.nextToken() != JsonToken.END_ARRAY) {
+                    items.add(readHeaderItem(jp, ctxt));
+                }
+                headers.add(items);
+            }
+            dimensions.add(headers);
+        }
+        return dimensions;
+    }
+
+    /**
+     * Reads header item wrapped in the object named by its type, see {@link ResultHeaderItem}.
+     */
+    private ResultHeaderItem readHeaderItem(final JsonParser jp, final DeserializationContext ctxt)
+            throws IOException {
+        if (jp.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(jp, JsonToken.START_OBJECT);
+        if (jp.nextToken() != JsonToken.FIELD_NAME) {
+            throw JsonMappingException.from(jp, "Missing type of header item");
+        }
+        final String type = jp.getCurrentName();
+        final Class<? extends ResultHeaderItem> itemClass = HEADER_ITEM_TYPES.get(type);
+        if (itemClass == null) {
+            throw JsonMappingException.from(jp, "Unknown type of header item: " + type);
+        }
+        jp.nextToken();
+        expect(jp, JsonToken.START_OBJECT);
+
+        String name = null;
+        String uri = null;
+        int order = 0;
+        String totalType = null;
+        while (jp.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = jp.getCurrentName();
+            jp.nextToken();
+            if ("name".equals(field)) {
+                name = readText(jp);
+            } else if ("uri".equals(field) && itemClass == AttributeHeaderItem.class) {
+                uri = readText(jp);
+            } else if ("order".equals(field) && itemClass == ResultMeasureHeaderItem.class) {
+                if (!jp.currentToken().isNumeric()) {
+                    throw JsonMappingException.from(jp, "Expected number but was " + jp.currentToken());
+                }
+                order = jp.getIntValue();
+            } else if ("type".equals(field) && itemClass == ResultTotalHeaderItem.class) {
+                totalType = readText(jp);
+            } else {
+                ctxt.handleUnknownProperty(jp, this, itemClass, field);
+            }
+        }
+        if (jp.nextToken() != JsonToken.END_OBJECT) {
+            throw JsonMappingException.from(jp, "Header item " + type + " is expected to be the only field");
+        }
+
+        try {
+            if (itemClass == AttributeHeaderItem.class) {
+                return new AttributeHeaderItem(name, uri);
+            } else if (itemClass == ResultMeasureHeaderItem.class) {
+                return new ResultMeasureHeaderItem(name, order);
+            } else if (itemClass == ResultTotalHeaderItem.class) {
+                return new ResultTotalHeaderItem(name, totalType);
+            }
+            throw JsonMappingException.from(jp, "Unsupported type of header item: " + type);
+        } catch (IllegalArgumentException e) {
+            throw JsonMappingException.from(jp, "Invalid header item " + type + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, Class<? extends ResultHeaderItem>> headerItemTypes() {
+        final Map<String, Class<? extends ResultHeaderItem>> types = new LinkedHashMap<>();
+        types.put(AttributeHeaderItem.NAME, AttributeHeaderItem.class);
+        types.put(ResultMeasureHeaderItem.NAME, ResultMeasureHeaderItem.class);
+        types.put(ResultTotalHeaderItem.NAME, ResultTotalHeaderItem.class);
+        return Collections.unmodifiableMap(types);
+    }
+
+    private static List<List<List<String>>> readTotals(final JsonParser jp) throws IOException {
+        expect(jp, JsonToken.START_ARRAY);
+        final List<List<List<String>>> dimensions = new ArrayList<>();
+        while (jp.nextToken() != JsonToken.END_ARRAY) {
+            expect(jp, JsonToken.START_ARRAY);
+            final List<List<String>> totals = new ArrayList<>();
+            while (jp.nextToken() != JsonToken.END_ARRAY) {
+                expect(jp, JsonToken.START_ARRAY);
+                final List<String> values = new ArrayList<>();
+                while (jp.nextToken() != JsonToken.END_ARRAY) {
+                    values.add(readText(jp));
+                }
+                totals.add(values);
+            }
+            dimensions.add(totals);
+        }
+        return dimensions;
+    }
+
+    /**
+     * Reads scalar value as text, like string properties are read by Jackson.
+     */
+    private static String readText(final JsonParser jp) throws IOException {
+        final JsonToken token = jp.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!token.isScalarValue()) {
+            throw JsonMappingException.from(jp, "Expected scalar value but was " + token);
+        }
+        return jp.getValueAsString();
+    }
+
+    private static void expect(final JsonParser jp, final JsonToken expected) throws JsonMappingException {
+        if (jp.currentToken() != expected) {
+            throw JsonMappingException.from(jp, "Expected " + expected + " but was " + jp.currentToken());
+        }
+    }
+}
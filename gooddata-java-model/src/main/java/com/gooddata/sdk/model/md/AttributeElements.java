@@ -25,16 +25,29 @@ public class AttributeElements {
 
     private final List<AttributeElement> elements;
 
+    private final Integer total;
+
     @JsonCreator
-    AttributeElements(@JsonProperty("elements") List<AttributeElement> elements) {
+    AttributeElements(@JsonProperty("elements") List<AttributeElement> elements,
+                      @JsonProperty("elementsMeta") ElementsMeta elementsMeta) {
         notNull(elements, "elements");
         this.elements = elements;
+        this.total = elementsMeta != null ? elementsMeta.records : null;
     }
 
     public List<AttributeElement> getElements() {
         return elements;
     }
 
+    /**
+     * @return total number of the elements regardless of the requested offset and limit,
+     * null when not provided by the API
+     */
+    @JsonIgnore
+    public Integer getTotal() {
+        return total;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -44,17 +57,30 @@ public class AttributeElements {
 
         AttributeElements that = (AttributeElements) o;
 
-        return !(elements != null ? !elements.equals(that.elements) : that.elements != null);
-
+        if (elements != null ? !elements.equals(that.elements) : that.elements != null)
+            return false;
+        return total != null ? total.equals(that.total) : that.total == null;
     }
 
     @Override
     public int hashCode() {
-        return elements != null ? elements.hashCode() : 0;
+        int result = elements != null ? elements.hashCode() : 0;
+        result = 31 * result + (total != null ? total.hashCode() : 0);
+        return result;
     }
 
     @Override
     public String toString() {
         return GoodDataToStringBuilder.defaultToString(this);
     }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private static class ElementsMeta {
+        private final Integer records;
+
+        @JsonCreator
+        private ElementsMeta(@JsonProperty("records") Integer records) {
+            this.records = records;
+        }
+    }
 }
@@ -8,6 +8,7 @@ package com.gooddata.sdk.model.md.visualization;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.gooddata.sdk.model.executeafm.Execution;
 import com.gooddata.sdk.model.executeafm.afm.Afm;
 import com.gooddata.sdk.model.executeafm.afm.AttributeItem;
@@ -39,6 +40,7 @@ import static java.util.stream.Collectors.toList;
  */
 public abstract class VisualizationConverter {
     private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectReader SORT_ITEMS_READER = MAPPER.readerFor(new TypeReference<List<SortItem>>() {});
 
     /**
      * Generate Execution from Visualization object.
@@ -137,10 +139,9 @@ public abstract class VisualizationConverter {
     }
 
     static List<SortItem> parseSorting(final String properties) throws Exception {
-        JsonNode jsonProperties = parseProperties(properties);
-        JsonNode nodeSortItems = jsonProperties.get("sortItems");
-        TypeReference<List<SortItem>> mapType = new TypeReference<List<SortItem>>() {};
-        return MAPPER.convertValue(nodeSortItems, mapType);
+        // sort items are read from the parsed tree directly, without converting it through a buffer
+        JsonNode nodeSortItems = MAPPER.readTree(properties).get("sortItems");
+        return nodeSortItems != null ? SORT_ITEMS_READER.readValue(nodeSortItems) : null;
     }
 
     private static List<Dimension> getDimensions(final VisualizationObject visualizationObject,
@@ -232,10 +233,6 @@ public abstract class VisualizationConverter {
         return dimensions;
     }
 
-    private static JsonNode parseProperties(final String properties) throws Exception {
-        return MAPPER.readValue(properties, JsonNode.class);
-    }
-
     private static List<AttributeItem> convertAttributes(final List<VisualizationAttribute> attributes) {
         return attributes.stream()
                 .map(AttributeItem.class::cast)
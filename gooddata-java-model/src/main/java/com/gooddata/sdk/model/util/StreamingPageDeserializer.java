@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.model.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.gooddata.sdk.common.collections.Page;
+import com.gooddata.sdk.common.collections.PageDeserializer;
+import com.gooddata.sdk.common.collections.Paging;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Streaming counterpart of {@link PageDeserializer}. Items of the page are read one by one as the parser reaches them
+ * and handed to the consumer, so the memory needed doesn't depend on the size of the page. The parser must be backed
+ * by an {@link com.fasterxml.jackson.databind.ObjectMapper} able to read the items.
+ *
+ * @param <E> type of the items
+ */
+public class StreamingPageDeserializer<E> {
+
+    private static final TypeReference<Map<String, String>> LINKS_TYPE = new TypeReference<Map<String, String>>() {};
+
+    private static final String PAGING_NODE = "paging";
+    private static final String LINKS_NODE = "links";
+
+    private final Class<E> elementType;
+    private final String rootNode;
+    private final String collectionName;
+
+    /**
+     * Creates deserializer of page with the items in the {@code items} field of the top level object.
+     *
+     * @param elementType type of the items
+     */
+    public StreamingPageDeserializer(final Class<E> elementType) {
+        this(elementType, null, "items");
+    }
+
+    /**
+     * Creates deserializer of page optionally wrapped in the root object.
+     *
+     * @param elementType    type of the items
+     * @param rootNode       name of the field wrapping the page or null when the page isn't wrapped
+     * @param collectionName name of the field containing the items
+     */
+    public StreamingPageDeserializer(final Class<E> elementType, final String rootNode, final String collectionName) {
+        this.elementType = notNull(elementType, "elementType");
+        this.rootNode = rootNode;
+        this.collectionName = notNull(collectionName, "collectionName");
+    }
+
+    /**
+     * Reads the page handing its items to the consumer in the order they're read.
+     *
+     * @param parser   parser positioned before or at the start of the page
+     * @param consumer consumer of the items
+     * @return page without the items, containing its paging and links only, or null when the page is null
+     * @throws IOException when the page can't be read
+     */
+    public Page<E> deserialize(final JsonParser parser, final Consumer<? super E> consumer) throws IOException {
+        notNull(parser, "parser");
+        notNull(consumer, "consumer");
+
+        JsonToken token = parser.currentToken() != null ? parser.currentToken() : parser.nextToken();
+        if (token == null || token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (rootNode != null) {
+            expect(parser, token, JsonToken.START_OBJECT);
+            if (parser.nextToken() != JsonToken.FIELD_NAME || !rootNode.equals(parser.getCurrentName())) {
+                throw new JsonMappingException(parser, "Expected root node " + rootNode, parser.getCurrentLocation());
+            }
+            token = parser.nextToken();
+        }
+        expect(parser, token, JsonToken.START_OBJECT);
+
+        Paging paging = null;
+        Map<String, String> links = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.getCurrentName();
+            token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            if (PAGING_NODE.equals(field)) {
+                paging = parser.readValueAs(Paging.class);
+            } else if (LINKS_NODE.equals(field)) {
+                links = parser.readValueAs(LINKS_TYPE);
+            } else if (collectionName.equals(field)) {
+                expect(parser, token, JsonToken.START_ARRAY);
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    consumer.accept(parser.readValueAs(elementType));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (rootNode != null) {
+            parser.nextToken();
+        }
+        return new Page<>(Collections.emptyList(), paging, links);
+    }
+
+    private static void expect(final JsonParser parser, final JsonToken actual, final JsonToken expected)
+            throws JsonMappingException {
+        if (actual != expected) {
+            throw new JsonMappingException(parser, "Expected " + expected + " but was " + actual,
+                    parser.getCurrentLocation());
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.model.executeafm
+
+import com.gooddata.sdk.model.executeafm.afm.Afm
+import com.gooddata.sdk.model.executeafm.afm.AttributeItem
+import com.gooddata.sdk.model.executeafm.afm.MeasureItem
+import com.gooddata.sdk.model.executeafm.afm.NativeTotalItem
+import com.gooddata.sdk.model.executeafm.afm.ObjQualifierConverter
+import com.gooddata.sdk.model.executeafm.afm.SimpleMeasureDefinition
+import com.gooddata.sdk.model.executeafm.afm.filter.ComparisonCondition
+import com.gooddata.sdk.model.executeafm.afm.filter.ComparisonConditionOperator
+import com.gooddata.sdk.model.executeafm.afm.filter.ExpressionFilter
+import com.gooddata.sdk.model.executeafm.afm.filter.MeasureValueFilter
+import com.gooddata.sdk.model.executeafm.afm.filter.NegativeAttributeFilter
+import com.gooddata.sdk.model.executeafm.afm.filter.PositiveAttributeFilter
+import com.gooddata.sdk.model.executeafm.afm.filter.RelativeDateFilter
+import com.gooddata.sdk.model.executeafm.afm.filter.UriAttributeFilterElements
+import com.gooddata.sdk.model.executeafm.resultspec.Dimension
+import com.gooddata.sdk.model.executeafm.resultspec.ResultSpec
+import com.gooddata.sdk.model.executeafm.resultspec.TotalItem
+import spock.lang.Specification
+
+import static net.javacrumbs.jsonunit.JsonMatchers.jsonEquals
+import static spock.util.matcher.HamcrestSupport.that
+
+class ExecutionCanonicalizerTest extends Specification {
+
+    private static final UriObjQualifier ATTR_URI = new UriObjQualifier('/gdc/md/projectId/obj/1')
+    private static final UriObjQualifier FACT_URI = new UriObjQualifier('/gdc/md/projectId/obj/2')
+    private static final IdentifierObjQualifier ATTR_ID = new IdentifierObjQualifier('label.attr')
+    private static final IdentifierObjQualifier FACT_ID = new IdentifierObjQualifier('fact.amount')
+    private static final IdentifierObjQualifier UNKNOWN_ID = new IdentifierObjQualifier('unknown')
+
+    private static final ObjQualifierConverter CONVERTER = { qualifier ->
+        Optional.ofNullable([(ATTR_ID): ATTR_URI, (FACT_ID): FACT_URI][qualifier])
+    } as ObjQualifierConverter
+
+    def "should convert identifiers to uris"() {
+        given:
+        def afm = new Afm(
+                [new AttributeItem(ATTR_ID, 'a1'), new AttributeItem(UNKNOWN_ID, 'a2')],
+                [new PositiveAttributeFilter(ATTR_ID, new UriAttributeFilterElements('/e/1')),
+                 new MeasureValueFilter(new LocalIdentifierQualifier('m1'),
+                         new ComparisonCondition(ComparisonConditionOperator.GREATER_THAN, 1G))],
+                [new MeasureItem(new SimpleMeasureDefinition(FACT_ID), 'm1'),
+                 new MeasureItem(new SimpleMeasureDefinition(UNKNOWN_ID), 'm2')],
+                null)
+
+        when:
+        def canonical = new ExecutionCanonicalizer(CONVERTER).canonicalize(afm)
+
+        then:
+        canonical.attributes*.displayForm == [ATTR_URI, UNKNOWN_ID]
+        canonical.filters.find { it instanceof PositiveAttributeFilter }.objQualifier == ATTR_URI
+        canonical.measures*.definition*.objQualifiers == [[FACT_URI] as Set, [UNKNOWN_ID] as Set]
+        afm.attributes*.displayForm == [ATTR_ID, UNKNOWN_ID]
+    }
+
+    def "should ask converter once per identifier"() {
+        given:
+        def converter = Mock(ObjQualifierConverter)
+        def afm = new Afm(
+                [new AttributeItem(ATTR_ID, 'a1')],
+                [new PositiveAttributeFilter(ATTR_ID, new UriAttributeFilterElements('/e/1'))],
+                null, null)
+
+        when:
+        new ExecutionCanonicalizer(converter).canonicalize(afm)
+
+        then:
+        1 * converter.convertToUriQualifier(ATTR_ID) >> Optional.of(ATTR_URI)
+    }
+
+    def "should strip no-op filters and sort the others"() {
+        given:
+        def afm = new Afm(null, [
+                new RelativeDateFilter(ATTR_URI, 'GDC.time.year', null, null),
+                new NegativeAttributeFilter(ATTR_URI, new UriAttributeFilterElements([])),
+                new MeasureValueFilter(new LocalIdentifierQualifier('m1')),
+                new PositiveAttributeFilter(ATTR_URI, new UriAttributeFilterElements('/e/2', '/e/1', '/e/2')),
+                new ExpressionFilter('[/gdc/md/projectId/obj/3] = 1'),
+                new ExpressionFilter('[/gdc/md/projectId/obj/3] = 1'),
+        ], null, null)
+
+        when:
+        def canonical = new ExecutionCanonicalizer().canonicalize(afm)
+
+        then:
+        canonical.filters == [
+                new ExpressionFilter('[/gdc/md/projectId/obj/3] = 1'),
+                new PositiveAttributeFilter(ATTR_URI, new UriAttributeFilterElements('/e/1', '/e/2'))
+        ]
+    }
+
+    def "should omit empty filters"() {
+        when:
+        def canonical = new ExecutionCanonicalizer().canonicalize(new Afm(null,
+                [new RelativeDateFilter(ATTR_URI, 'GDC.time.year', null, null)], [], null))
+
+        then:
+        canonical.filters == null
+        canonical.measures == null
+    }
+
+    def "should sort attributes laid out by result spec but keep measures, dimensions and their totals"() {
+        given:
+        def afm = new Afm(
+                [new AttributeItem(ATTR_URI, 'b'), new AttributeItem(ATTR_URI, 'a')], null,
+                [new MeasureItem(new SimpleMeasureDefinition(FACT_URI), 'm2'),
+                 new MeasureItem(new SimpleMeasureDefinition(FACT_URI), 'm1')],
+                [new NativeTotalItem('m2', ['b']), new NativeTotalItem('m1', ['b'])])
+        def spec = new ResultSpec([
+                new Dimension(['b', 'a'], [new TotalItem('m2', 'sum', 'b'), new TotalItem('m1', 'sum', 'b')] as LinkedHashSet),
+                new Dimension('measureGroup')], null)
+
+        when:
+        def canonical = new ExecutionCanonicalizer().canonicalize(new Execution(afm, spec))
+
+        then:
+        canonical.afm.attributes*.localIdentifier == ['a', 'b']
+        canonical.afm.measures*.localIdentifier == ['m2', 'm1']
+        canonical.afm.nativeTotals*.measureIdentifier == ['m1', 'm2']
+        canonical.resultSpec.dimensions*.itemIdentifiers == [['b', 'a'], ['measureGroup']]
+        canonical.resultSpec.dimensions[0].totals*.measureIdentifier == ['m2', 'm1']
+    }
+
+    def "should keep order of attributes determining default dimensions"() {
+        given:
+        def afm = new Afm([new AttributeItem(ATTR_URI, 'b'), new AttributeItem(ATTR_URI, 'a')], null, null, null)
+
+        expect:
+        new ExecutionCanonicalizer().canonicalize(new Execution(afm)).afm.attributes*.localIdentifier == ['b', 'a']
+    }
+
+    def "should hash equivalent executions equally"() {
+        given:
+        def canonicalizer = new ExecutionCanonicalizer(CONVERTER)
+        def first = new Execution(new Afm(
+                [new AttributeItem(ATTR_ID, 'a1')],
+                [new PositiveAttributeFilter(ATTR_URI, '/e/1', '/e/2'), new ExpressionFilter('x')],
+                [new MeasureItem(new SimpleMeasureDefinition(FACT_ID), 'm1')], null))
+        def second = new Execution(new Afm(
+                [new AttributeItem(ATTR_URI, 'a1')],
+                [new ExpressionFilter('x'), new PositiveAttributeFilter(ATTR_ID, '/e/2', '/e/1'),
+                 new RelativeDateFilter(ATTR_URI, 'GDC.time.year', null, null)],
+                [new MeasureItem(new SimpleMeasureDefinition(FACT_URI), 'm1')], []))
+        def different = new Execution(new Afm(
+                [new AttributeItem(ATTR_URI, 'a1')], null,
+                [new MeasureItem(new SimpleMeasureDefinition(FACT_URI), 'm1')], null))
+
+        expect:
+        hash(canonicalizer, first) == hash(canonicalizer, second)
+        hash(canonicalizer, first) ==~ /[0-9a-f]{64}/
+        hash(canonicalizer, first) != hash(canonicalizer, different)
+        that canonicalizer.canonicalize(first), jsonEquals(canonicalizer.canonicalize(second))
+    }
+
+    def "should hash parts separately"() {
+        expect:
+        ExecutionCanonicalizer.hash('ab', 'c') != ExecutionCanonicalizer.hash('a', 'bc')
+        ExecutionCanonicalizer.hash('p', new ResultPage([0], [1])) == ExecutionCanonicalizer.hash('p', new ResultPage([0], [1]))
+    }
+
+    def "should collect object qualifiers"() {
+        given:
+        def afm = new Afm(
+                [new AttributeItem(ATTR_ID, 'a1')],
+                [new PositiveAttributeFilter(ATTR_URI, '/e/1')],
+                [new MeasureItem(new SimpleMeasureDefinition(FACT_ID, null as String, null,
+                        [new NegativeAttributeFilter(UNKNOWN_ID, '/e/2')]), 'm1')], null)
+
+        expect:
+        ExecutionCanonicalizer.getObjQualifiers(afm) == [ATTR_ID, ATTR_URI, FACT_ID, UNKNOWN_ID] as Set
+    }
+
+    private static String hash(ExecutionCanonicalizer canonicalizer, Execution execution) {
+        ExecutionCanonicalizer.hash(canonicalizer.canonicalize(execution))
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.model.executeafm.result
+
+import spock.lang.Specification
+
+import static com.gooddata.sdk.common.util.ResourceUtils.readObjectFromResource
+
+class ColumnarExecutionResultTest extends Specification {
+
+    def "should create columns of two dimensional result"() {
+        given:
+        ExecutionResult result = readObjectFromResource('/executeafm/result/executionResultFull.json', ExecutionResult)
+
+        when:
+        ColumnarExecutionResult columnar = ColumnarExecutionResult.of(result)
+
+        then:
+        columnar.rowCount == 2
+        columnar.columnCount == 4
+        columnar.getValue(0, 0) == -12958511.8099999d
+        columnar.getValue(1, 3) == 9999d
+        columnar.getColumn(2) == [-2748323.76d, 12340d] as double[]
+        columnar.getColumnValues(1).sum() == 25315434.8199999d + 5853d
+        columnar.getNulls(0).isEmpty()
+
+        columnar.dimensionCount == 2
+        columnar.getHeaderCount(0) == 1
+        columnar.getHeaderItem(0, 0, 1).name == 'Employee2'
+        columnar.getHeaderItem(1, 0, 0).name == 'Cost of Goods Sold'
+        columnar.toString()
+    }
+
+    def "should create single column of one dimensional result with nulls"() {
+        given:
+        ExecutionResult result = new ExecutionResult(['1.5', null, '2'] as String[], new Paging())
+
+        when:
+        ColumnarExecutionResult columnar = ColumnarExecutionResult.of(result)
+
+        then:
+        columnar.rowCount == 3
+        columnar.columnCount == 1
+        columnar.getValue(0, 0) == 1.5d
+        columnar.isNull(1, 0)
+        Double.isNaN(columnar.getValue(1, 0))
+        columnar.getNulls(0) == BitSet.valueOf([2L] as long[])
+        columnar.getColumnValues(0).toArray() == [1.5d, 2d] as double[]
+        columnar.dimensionCount == 0
+    }
+
+    def "should fill missing cells of ragged rows with nulls"() {
+        given:
+        ExecutionResult result = new ExecutionResult([['1', '2'], ['3']] as String[][], new Paging())
+
+        when:
+        ColumnarExecutionResult columnar = ColumnarExecutionResult.of(result)
+
+        then:
+        columnar.columnCount == 2
+        columnar.isNull(1, 1)
+        !columnar.isNull(1, 0)
+    }
+
+    def "should dictionary encode header items"() {
+        given:
+        ExecutionResult result = new ExecutionResult(['1', '2', '3', '4'] as String[], new Paging())
+        result.addHeaderItems([[
+                new AttributeHeaderItem('2019', '/e/1'),
+                new AttributeHeaderItem('2019', '/e/1'),
+                new AttributeHeaderItem('2020', '/e/2'),
+                new ResultTotalHeaderItem('sum')
+        ]])
+
+        when:
+        ColumnarExecutionResult columnar = ColumnarExecutionResult.of(result)
+
+        then:
+        columnar.getHeaderDictionary(0, 0)*.name == ['2019', '2020', 'sum']
+        columnar.getHeaderIndexes(0, 0) == [0, 0, 1, 2] as int[]
+        columnar.getHeaderItem(0, 0, 1).is(columnar.getHeaderItem(0, 0, 0))
+    }
+
+    def "should create empty view of result without data"() {
+        when:
+        ColumnarExecutionResult columnar = ColumnarExecutionResult.of(new ExecutionResult(new String[0], new Paging()))
+
+        then:
+        columnar.rowCount == 0
+        columnar.columnCount == 0
+    }
+
+    def "should fail on non-numeric value"() {
+        when:
+        ColumnarExecutionResult.of(new ExecutionResult(['abc'] as String[], new Paging()))
+
+        then:
+        IllegalArgumentException e = thrown()
+        e.message.contains('abc')
+    }
+
+    def "should fail on row out of range"() {
+        when:
+        ColumnarExecutionResult.of(new ExecutionResult(['1'] as String[], new Paging())).getValue(1, 0)
+
+        then:
+        thrown(IndexOutOfBoundsException)
+    }
+}
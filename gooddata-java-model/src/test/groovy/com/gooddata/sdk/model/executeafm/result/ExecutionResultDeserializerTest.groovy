@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.model.executeafm.result
+
+import com.fasterxml.jackson.annotation.JsonSubTypes
+import com.fasterxml.jackson.databind.JsonMappingException
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.gooddata.sdk.common.util.ResourceUtils.OBJECT_MAPPER
+
+class ExecutionResultDeserializerTest extends Specification {
+
+    def "should deserialize nested data with nulls"() {
+        when:
+        ExecutionResult result = read('"data": [["1", null], [], null, "2"]')
+
+        then:
+        result.data.size() == 4
+        result.data[0].asList() == [new DataValue('1'), Data.NULL]
+        result.data[1].asList() == []
+        result.data[2].isNull()
+        result.data[3].textValue() == '2'
+    }
+
+    def "should know all header item types declared for Jackson"() {
+        given:
+        def declared = ResultHeaderItem.getAnnotation(JsonSubTypes).value().collectEntries { [(it.name()): it.value()] }
+
+        expect:
+        ExecutionResultDeserializer.HEADER_ITEM_TYPES == declared
+    }
+
+    def "should deserialize all kinds of header items"() {
+        when:
+        ExecutionResult result = read('''"headerItems": [[[
+                {"attributeHeaderItem": {"name": "a", "uri": "/a"}},
+                {"measureHeaderItem": {"name": "m", "order": 2}},
+                {"totalHeaderItem": {"name": "Sum", "type": "sum"}}
+            ]]]''')
+
+        then:
+        def items = result.headerItems[0][0]
+        items[0] instanceof AttributeHeaderItem
+        items[0].name == 'a'
+        items[0].uri == '/a'
+        items[1] instanceof ResultMeasureHeaderItem
+        items[1].name == 'm'
+        items[1].order == 2
+        items[2] instanceof ResultTotalHeaderItem
+        items[2].name == 'Sum'
+        items[2].type == 'sum'
+    }
+
+    def "should deserialize totals with nulls"() {
+        when:
+        ExecutionResult result = read('"totals": [[["1", null]], []], "totalTotals": null')
+
+        then:
+        result.totals == [[['1', null]], []]
+        result.totalTotals == null
+    }
+
+    def "should deserialize empty result"() {
+        when:
+        ExecutionResult result = read('')
+
+        then:
+        result.data == null
+        result.paging == null
+        result.headerItems == null
+    }
+
+    @Unroll
+    def "should fail on #description"() {
+        when:
+        read(content)
+
+        then:
+        thrown(JsonMappingException)
+
+        where:
+        description                 | content
+        'numeric data'              | '"data": [1]'
+        'data object'               | '"data": [{}]'
+        'unknown header item'       | '"headerItems": [[[{"unknownHeaderItem": {"name": "a"}}]]]'
+        'header item without name'  | '"headerItems": [[[{"attributeHeaderItem": {"uri": "/a"}}]]]'
+        'unknown header item field' | '"headerItems": [[[{"attributeHeaderItem": {"name": "a", "x": 1}}]]]'
+        'structured total'          | '"totals": [[[["1"]]]]'
+        'unknown field'             | '"unknown": 1'
+    }
+
+    private static ExecutionResult read(String content) {
+        OBJECT_MAPPER.readValue("{\"executionResult\": {$content}}", ExecutionResult)
+    }
+}
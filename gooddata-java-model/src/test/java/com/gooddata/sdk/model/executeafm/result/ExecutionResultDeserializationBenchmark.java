@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.model.executeafm.result;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Spliterators.spliteratorUnknownSize;
+import static java.util.stream.StreamSupport.stream;
+
+/**
+ * Measures time and memory allocated by deserialization of a huge {@link ExecutionResult}. Not run by the build,
+ * run the main method with the test classpath, optionally passing number of rows and columns:
+ * <pre>
+ * java -cp ... com.gooddata.sdk.model.executeafm.result.ExecutionResultDeserializationBenchmark 10000 100
+ * </pre>
+ * Each variant is run 10 times after the warm-up, the best run is reported. The allocated bytes are measured by
+ * {@code com.sun.management.ThreadMXBean} when available.
+ * <p>
+ * The "tree-based" variant is the former deserialization, bean deserialization of the result with the data read
+ * by {@link JsonParser#readValueAsTree()}, copied here and applied by mix-ins, so both are compared on one revision.
+ */
+public class ExecutionResultDeserializationBenchmark {
+
+    private static final int WARM_UP = 5;
+    private static final int RUNS = 10;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final ObjectMapper TREE_BASED_MAPPER = new ObjectMapper()
+            .addMixIn(ExecutionResult.class, TreeBasedExecutionResultMixIn.class)
+            .addMixIn(Data.class, TreeBasedDataMixIn.class);
+
+    public static void main(final String... args) throws IOException {
+        final int rows = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        final int columns = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        final byte[] payload = MAPPER.writeValueAsBytes(createResult(rows, columns));
+        System.out.printf("%d x %d cells with header items, %.1f MB payload%n", rows, columns,
+                payload.length / 1024.0 / 1024.0);
+
+        final ObjectReader reader = MAPPER.readerFor(ExecutionResult.class);
+        final ObjectReader treeBasedReader = TREE_BASED_MAPPER.readerFor(ExecutionResult.class);
+        measure("streaming", () -> reader.readValue(payload));
+        measure("tree-based", () -> treeBasedReader.readValue(payload));
+    }
+
+    private static ExecutionResult createResult(final int rows, final int columns) {
+        final String[][] data = new String[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                data[i][j] = String.valueOf(i * 31 + j);
+            }
+        }
+        final ExecutionResult result = new ExecutionResult(data,
+                new Paging(asList(rows, columns), asList(0, 0), asList(rows, columns)));
+        final List<ResultHeaderItem> rowItems = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            rowItems.add(new AttributeHeaderItem("element " + i, "/gdc/md/PROJECT/obj/1/elements?id=" + i));
+        }
+        final List<ResultHeaderItem> columnItems = new ArrayList<>(columns);
+        for (int j = 0; j < columns; j++) {
+            columnItems.add(new ResultMeasureHeaderItem("measure " + j, j));
+        }
+        result.setHeaderItems(asList(singletonList(rowItems), singletonList(columnItems)));
+        return result;
+    }
+
+    private static void measure(final String name, final Deserialization deserialization) throws IOException {
+        for (int i = 0; i < WARM_UP; i++) {
+            deserialization.run();
+        }
+        long bestTime = Long.MAX_VALUE;
+        long bestAllocated = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            final long allocatedBefore = allocatedBytes();
+            final long start = System.nanoTime();
+            deserialization.run();
+            bestTime = Math.min(bestTime, System.nanoTime() - start);
+            bestAllocated = Math.min(bestAllocated, allocatedBytes() - allocatedBefore);
+        }
+        System.out.printf("%-20s %6d ms %8s MB allocated%n", name, bestTime / 1_000_000,
+                bestAllocated < 0 ? "n/a" : String.valueOf(bestAllocated / 1024 / 1024));
+    }
+
+    /**
+     * @return bytes allocated by the current thread or negative value when not supported by the JVM
+     */
+    private static long allocatedBytes() {
+        final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * Restores bean deserialization of {@link ExecutionResult} by its constructor.
+     */
+    @JsonDeserialize(using = JsonDeserializer.None.class)
+    private abstract static class TreeBasedExecutionResultMixIn {
+        @JsonCreator
+        TreeBasedExecutionResultMixIn(@JsonProperty("data") final DataList data,
+                                      @JsonProperty("paging") final Paging paging,
+                                      @JsonProperty("headerItems") final List<List<List<ResultHeaderItem>>> headerItems,
+                                      @JsonProperty("totals") final List<List<List<String>>> totals,
+                                      @JsonProperty("totalTotals") final List<List<List<String>>> totalTotals,
+                                      @JsonProperty("warnings") final List<Warning> warnings) {
+        }
+    }
+
+    @JsonDeserialize(using = TreeBasedDataDeserializer.class)
+    private interface TreeBasedDataMixIn {
+    }
+
+    /**
+     * Former {@link Data} deserializer, reading each data node into a tree and each of its elements again from the tree.
+     */
+    private static class TreeBasedDataDeserializer extends JsonDeserializer<Data> {
+        @Override
+        public Data deserialize(final JsonParser jp, final DeserializationContext ctxt) throws IOException {
+            final JsonNode root = jp.readValueAsTree();
+            if (root.isArray()) {
+                final List<Data> list = stream(spliteratorUnknownSize(root.elements(), Spliterator.ORDERED), false)
+                        .map(elem -> {
+                            try {
+                                return ctxt.readValue(elem.traverse(jp.getCodec()), Data.class);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }).collect(Collectors.toList());
+                return new DataList(list);
+            } else if (root.isTextual()) {
+                return new DataValue(root.textValue());
+            } else if (root.isNull()) {
+                return Data.NULL;
+            } else {
+                throw JsonMappingException.from(jp, "Unknown value of type: " + root.getNodeType());
+            }
+        }
+
+        @Override
+        public Data getNullValue(final DeserializationContext ctxt) {
+            return Data.NULL;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Deserialization {
+        ExecutionResult run() throws IOException;
+    }
+}
@@ -26,6 +26,7 @@ public class AttributeElementsTest {
         final List<AttributeElement> elementsList = elements.getElements();
         assertThat(elementsList, is(notNullValue()));
         assertThat(elementsList, hasSize(3));
+        assertThat(elements.getTotal(), is(3));
     }
 
     @Test
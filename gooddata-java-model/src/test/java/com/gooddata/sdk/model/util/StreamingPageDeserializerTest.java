@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.model.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.gooddata.sdk.common.collections.Page;
+import com.gooddata.sdk.model.auditevent.AuditEvent;
+import com.gooddata.sdk.model.project.User;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.gooddata.sdk.common.util.ResourceUtils.OBJECT_MAPPER;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+
+public class StreamingPageDeserializerTest {
+
+    private final StreamingPageDeserializer<AuditEvent> eventsDeserializer =
+            new StreamingPageDeserializer<>(AuditEvent.class, "events", "items");
+
+    @Test
+    public void shouldStreamWrappedPage() throws Exception {
+        final List<String> ids = new ArrayList<>();
+        final Page<AuditEvent> page = read("/auditevents/auditEvents.json", eventsDeserializer,
+                event -> ids.add(event.getId()));
+
+        assertThat(ids, contains("123", "456"));
+        assertThat(page.getPageItems(), is(empty()));
+        assertThat(page.getPaging().getNextUri(), is("/gdc/domains/default/auditEvents?offset=456"));
+        assertThat(page.getLinks().get("self"), is("/gdc/domains/default/auditEvents"));
+    }
+
+    @Test
+    public void shouldStreamPageWithoutWrapper() throws Exception {
+        final List<User> users = new ArrayList<>();
+        final Page<User> page = read("/project/project-users.json",
+                new StreamingPageDeserializer<>(User.class, null, "users"), users::add);
+
+        assertThat(users, hasSize(1));
+        assertThat(users.get(0).getLogin(), is("ateam+ads-testing@gooddata.com"));
+        assertThat(page.getPaging(), is(nullValue()));
+        assertThat(page.hasNextPage(), is(false));
+    }
+
+    @Test
+    public void shouldSkipUnknownFields() throws Exception {
+        final List<String> items = new ArrayList<>();
+        final Page<String> page = read("{\"unknown\":{\"items\":[\"x\"]},\"items\":[\"a\",\"b\"],\"paging\":null}",
+                new StreamingPageDeserializer<>(String.class), items::add);
+
+        assertThat(items, contains("a", "b"));
+        assertThat(page.getPaging(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldReturnNullForNullPage() throws Exception {
+        final JsonParser parser = OBJECT_MAPPER.getFactory().createParser("null");
+        assertThat(eventsDeserializer.deserialize(parser, event -> {}), is(nullValue()));
+    }
+
+    @Test(expectedExceptions = JsonMappingException.class)
+    public void shouldFailOnUnexpectedRootNode() throws Exception {
+        read("{\"users\":{\"items\":[]}}", eventsDeserializer, event -> {});
+    }
+
+    private static <E> Page<E> read(final String resourceOrJson, final StreamingPageDeserializer<E> deserializer,
+                                    final Consumer<E> consumer) throws IOException {
+        final JsonParser parser;
+        if (resourceOrJson.startsWith("/")) {
+            final InputStream input = StreamingPageDeserializerTest.class.getResourceAsStream(resourceOrJson);
+            parser = OBJECT_MAPPER.getFactory().createParser(input);
+        } else {
+            parser = OBJECT_MAPPER.getFactory().createParser(resourceOrJson);
+        }
+        try {
+            return deserializer.deserialize(parser, consumer);
+        } finally {
+            parser.close();
+        }
+    }
+}
@@ -7,14 +7,28 @@ package com.gooddata.sdk.service;
 
 import static com.gooddata.sdk.common.util.Validate.notNull;
 import static java.lang.String.format;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
 import static org.springframework.http.HttpMethod.GET;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gooddata.sdk.common.GoodDataException;
 import com.gooddata.sdk.common.GoodDataRestException;
+import com.gooddata.sdk.common.collections.Page;
+import com.gooddata.sdk.common.collections.PageBrowser;
+import com.gooddata.sdk.common.collections.PageRequest;
+import com.gooddata.sdk.model.util.StreamingPageDeserializer;
+import com.gooddata.sdk.service.util.SharedExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpMessageConverterExtractor;
@@ -22,10 +36,22 @@ import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Parent for GoodData services providing helpers for REST API calls and polling.
@@ -34,11 +60,13 @@ public abstract class AbstractService {
 
     protected final RestTemplate restTemplate;
 
+    private final AsyncRestOperations asyncRestOperations;
+
     private final GoodDataSettings settings;
 
     protected final ObjectMapper mapper = new ObjectMapper();
 
-    private final ResponseExtractor<ClientHttpResponse> reusableResponseExtractor = ReusableClientHttpResponse::new;
+    private final Logger logger = LoggerFactory.getLogger(AbstractService.class);
 
     /**
      * Sets RESTful HTTP Spring template. Should be called from constructor of concrete service extending
@@ -48,41 +76,363 @@ public abstract class AbstractService {
      * @param settings settings
      */
     public AbstractService(final RestTemplate restTemplate, final GoodDataSettings settings) {
+        this(restTemplate, null, settings);
+    }
+
+    /**
+     * Sets RESTful HTTP Spring template and non-blocking REST operations. Should be called from constructor
+     * of concrete service extending this abstract one.
+     *
+     * @param restTemplate RESTful HTTP Spring template
+     * @param asyncRestOperations non-blocking REST operations (can be null when not supported)
+     * @param settings settings
+     */
+    public AbstractService(final RestTemplate restTemplate, final AsyncRestOperations asyncRestOperations,
+                           final GoodDataSettings settings) {
         this.restTemplate = notNull(restTemplate, "restTemplate");
+        this.asyncRestOperations = asyncRestOperations;
         this.settings = notNull(settings, "settings");
     }
 
+    /**
+     * @return true when the service was created with non-blocking REST operations
+     */
+    protected final boolean hasAsyncRestOperations() {
+        return asyncRestOperations != null;
+    }
+
+    /**
+     * Non-blocking REST operations used by {@link CompletableFuture} based variants of service methods.
+     *
+     * @return configured non-blocking REST operations
+     * @throws UnsupportedOperationException when the service was created without them
+     */
+    protected final AsyncRestOperations getAsyncRestOperations() {
+        if (asyncRestOperations == null) {
+            throw new UnsupportedOperationException("Asynchronous calls not supported. Please use GoodDataRestProvider "
+                    + "providing AsyncRestOperations (e.g. AsyncGoodDataRestProvider) and add "
+                    + "org.apache.httpcomponents:httpasyncclient to dependencies.");
+        }
+        return asyncRestOperations;
+    }
+
+    /**
+     * Converts the result to {@link CompletableFuture} for the non-blocking variants of service methods. Unlike
+     * {@link FutureResult#toCompletableFuture()} the {@link PollResult} is polled using {@link AsyncRestOperations}
+     * when its service has them.
+     *
+     * @param result result to be converted
+     * @param <T>    result type
+     * @return future of the result value
+     */
+    protected final <T> CompletableFuture<T> toNonBlockingFuture(final FutureResult<T> result) {
+        notNull(result, "result");
+        if (result instanceof PollResult) {
+            return ((PollResult<T>) result).toNonBlockingFuture();
+        }
+        return result.toCompletableFuture();
+    }
+
+    /**
+     * @return settings the service was created with
+     */
+    protected final GoodDataSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Creates browser of the paged listing, prefetching the pages when configured
+     * by {@link GoodDataSettings#setPagePrefetchDepth(int)}.
+     *
+     * @param startPage    request of the first page
+     * @param pageProvider provides the page for a page request
+     * @param <T>          type of the items
+     * @return browser of the paged listing
+     */
+    protected final <T> PageBrowser<T> createPageBrowser(final PageRequest startPage,
+                                                         final Function<PageRequest, Page<T>> pageProvider) {
+        final int depth = settings.getPagePrefetchDepth();
+        return depth > 0
+                ? new PrefetchingPageBrowser<>(startPage, pageProvider, depth)
+                : new PageBrowser<>(startPage, pageProvider);
+    }
+
+    /**
+     * Reads the pages of the paged listing one by one, starting with the given one and following the next page links.
+     *
+     * @param startPage  request of the first page
+     * @param pageReader reads the page for a page request, returns the page containing at least its paging
+     */
+    protected final void readAllPages(final PageRequest startPage, final Function<PageRequest, Page<?>> pageReader) {
+        notNull(startPage, "startPage");
+        notNull(pageReader, "pageReader");
+        PageRequest request = startPage;
+        while (request != null) {
+            final Page<?> page = pageReader.apply(request);
+            final PageRequest next = page != null ? page.getNextPage() : null;
+            if (request.equals(next)) {
+                throw new IllegalStateException("page reader does not iterate properly, returns the same page");
+            }
+            request = next;
+        }
+    }
+
+    /**
+     * Reads the page from the given URI handing its items to the consumer as they're parsed, without holding
+     * the whole page in memory.
+     *
+     * @param uri          URI of the page
+     * @param deserializer deserializer of the page
+     * @param consumer     consumer of the items
+     * @param <E>          type of the items
+     * @return page without the items, containing its paging and links only, or null when the response is empty
+     */
+    protected final <E> Page<E> readPage(final URI uri, final StreamingPageDeserializer<E> deserializer,
+                                         final Consumer<? super E> consumer) {
+        notNull(uri, "uri");
+        notNull(deserializer, "deserializer");
+        notNull(consumer, "consumer");
+        return restTemplate.execute(uri, GET,
+                request -> request.getHeaders().setAccept(singletonList(MediaType.APPLICATION_JSON)),
+                response -> {
+                    final JsonParser parser = getObjectMapper().getFactory().createParser(response.getBody());
+                    try {
+                        return deserializer.deserialize(parser, consumer);
+                    } finally {
+                        parser.close();
+                    }
+                });
+    }
+
+    /**
+     * @return mapper used by the REST template to read the responses, so the responses read directly are read
+     * the same way
+     */
+    protected final ObjectMapper getObjectMapper() {
+        final List<HttpMessageConverter<?>> converters = restTemplate.getMessageConverters();
+        if (converters != null) {
+            for (HttpMessageConverter<?> converter : converters) {
+                if (converter instanceof MappingJackson2HttpMessageConverter) {
+                    return ((MappingJackson2HttpMessageConverter) converter).getObjectMapper();
+                }
+            }
+        }
+        return mapper;
+    }
+
+    /**
+     * Polls until the handler is done. The calling thread performs the polling requests using the REST template
+     * (even when {@link AsyncRestOperations} are available) and sleeps between them.
+     *
+     * @param handler poll handler
+     * @param timeout timeout value
+     * @param unit    timeout unit, polls without timeout when null
+     * @param <R>     result type
+     * @return the result of the handler
+     * @throws GoodDataException when polling fails, the timeout expires or the thread was interrupted
+     */
     final <R> R poll(final PollHandler<?,R> handler, long timeout, final TimeUnit unit) {
         notNull(handler, "handler");
-        final long start = System.currentTimeMillis();
-        while (true) {
-            if (pollOnce(handler)) {
-                return handler.getResult();
-            }
-            if (unit != null && start + unit.toMillis(timeout) < System.currentTimeMillis()) {
+        final PollState state = new PollState(getDeadline(timeout, unit));
+        while (!pollOnce(handler, state)) {
+            if (state.deadline < System.currentTimeMillis()) {
                 throw new GoodDataException("timeout");
             }
-
             try {
-                Thread.sleep(settings.getPollSleep());
+                Thread.sleep(getPollInterval(handler, state));
             } catch (InterruptedException e) {
                 throw new GoodDataException("interrupted");
             }
         }
+        return handler.getResult();
+    }
+
+    /**
+     * Polls using {@link GoodDataSettings#getPollScheduler()} without blocking the calling thread.
+     * The polling stops when the returned future is cancelled.
+     * <p>
+     * Threads of the scheduler only initiate the attempts. Each attempt is a blocking request of the REST template
+     * performed on {@link SharedExecutors#getBlockingCalls()}, so slow responses don't delay other pollings.
+     * Cancellation doesn't interrupt an attempt in progress, it only prevents the next one.
+     *
+     * @param handler poll handler
+     * @param timeout timeout value
+     * @param unit    timeout unit, polls without timeout when null
+     * @param <R>     result type
+     * @return future completed by the result of the handler or by {@link GoodDataException} when polling fails or
+     * the timeout expires
+     */
+    final <R> CompletableFuture<R> pollAsync(final PollHandler<?,R> handler, final long timeout, final TimeUnit unit) {
+        return pollAsync(handler, timeout, unit, false);
+    }
+
+    /**
+     * Polls the same way as {@link #pollAsync(PollHandler, long, TimeUnit)}, but when nonBlocking is requested and
+     * {@link AsyncRestOperations} are available, the attempts are performed by them instead of the REST template.
+     *
+     * @param handler     poll handler
+     * @param timeout     timeout value
+     * @param unit        timeout unit, polls without timeout when null
+     * @param nonBlocking whether to poll using {@link AsyncRestOperations}
+     * @param <R>         result type
+     * @return future completed by the result of the handler
+     */
+    final <R> CompletableFuture<R> pollAsync(final PollHandler<?,R> handler, final long timeout, final TimeUnit unit,
+                                             final boolean nonBlocking) {
+        notNull(handler, "handler");
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        final PollState state = new PollState(getDeadline(timeout, unit));
+        try {
+            settings.getPollScheduler().execute(() -> pollAttempt(handler, result, state, nonBlocking));
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new GoodDataException("Unable to schedule polling", e));
+        }
+        return result;
+    }
+
+    /**
+     * Waits for the result of {@link #pollAsync(PollHandler, long, TimeUnit)}.
+     *
+     * @param future  polling future
+     * @param timeout timeout value
+     * @param unit    timeout unit, waits without timeout when null
+     * @param <R>     result type
+     * @return the result
+     * @throws GoodDataException when polling fails, the timeout expires or the thread was interrupted
+     */
+    protected final <R> R await(final CompletableFuture<R> future, final long timeout, final TimeUnit unit) {
+        try {
+            return unit != null ? future.get(timeout, unit) : future.get();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            throw new GoodDataException("interrupted");
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new GoodDataException("timeout");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GoodDataException("Polling failed", e.getCause());
+        }
+    }
+
+    private <R> void pollAttempt(final PollHandler<?,R> handler, final CompletableFuture<R> result,
+                                 final PollState state, final boolean nonBlocking) {
+        if (result.isDone()) {
+            return;
+        }
+        final CompletableFuture<Boolean> attempt;
+        try {
+            attempt = nonBlocking && asyncRestOperations != null
+                    ? pollOnceAsync(handler, state)
+                    : supplyAsync(() -> pollOnce(handler, state), SharedExecutors.getBlockingCalls());
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new GoodDataException("Unable to schedule polling", e));
+            return;
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        attempt.whenComplete((done, e) -> {
+            if (e != null) {
+                result.completeExceptionally(unwrap(e));
+            } else if (done) {
+                result.complete(handler.getResult());
+            } else if (state.deadline < System.currentTimeMillis()) {
+                result.completeExceptionally(new GoodDataException("timeout"));
+            } else if (!result.isDone()) {
+                try {
+                    settings.getPollScheduler().schedule(() -> pollAttempt(handler, result, state, nonBlocking),
+                            getPollInterval(handler, state), TimeUnit.MILLISECONDS);
+                } catch (RuntimeException ex) {
+                    result.completeExceptionally(ex instanceof RejectedExecutionException
+                            ? new GoodDataException("Unable to schedule polling", ex) : ex);
+                }
+            }
+        });
+    }
+
+    private static long getDeadline(final long timeout, final TimeUnit unit) {
+        return unit != null ? System.currentTimeMillis() + unit.toMillis(timeout) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Interval before the next polling attempt, {@code Retry-After} header of the last response (up to
+     * {@link GoodDataSettings#getMaxPollRetryAfter()}) takes precedence over
+     * {@link GoodDataSettings#getPollIntervalStrategy(Class)}. The interval is passed to
+     * {@link GoodDataSettings#getPollIntervalListener()}.
+     */
+    private long getPollInterval(final PollHandler<?,?> handler, final PollState state) {
+        final HttpHeaders headers = state.response.getHeaders();
+        final Long retryAfter = headers != null ? getRetryAfter(headers) : null;
+        final long interval = retryAfter != null
+                ? Math.min(retryAfter, settings.getMaxPollRetryAfter())
+                : settings.getPollIntervalStrategy(getClass()).getInterval(state.attempts, state.response);
+        final URI uri = state.getUri(handler);
+        logger.debug("Polling {} again in {} ms (attempt {}{})", uri, interval, state.attempts,
+                retryAfter != null ? ", Retry-After" : "");
+        final PollIntervalListener listener = settings.getPollIntervalListener();
+        if (listener != null) {
+            try {
+                listener.onPollInterval(getClass(), uri, state.attempts, interval, retryAfter != null);
+            } catch (RuntimeException e) {
+                logger.warn("Poll interval listener failed", e);
+            }
+        }
+        return interval;
     }
 
     final <P> boolean pollOnce(final PollHandler<P,?> handler) {
         notNull(handler, "handler");
-        final ClientHttpResponse response;
+        return pollOnce(handler, new PollState(Long.MAX_VALUE));
+    }
+
+    private <P> boolean pollOnce(final PollHandler<P,?> handler, final PollState state) {
         try {
-            response = restTemplate.execute(handler.getPolling(), GET, null, reusableResponseExtractor);
+            return Boolean.TRUE.equals(restTemplate.execute(state.getUri(handler), GET, null,
+                    response -> handlePollResponse(handler, response, state)));
         } catch (GoodDataRestException e) {
-            handler.handlePollException(e);
-            throw new GoodDataException("Handler " + handler.getClass().getName() + " didn't handle exception", e);
+            throw handlePollException(handler, e);
         }
+    }
+
+    private <P> CompletableFuture<Boolean> pollOnceAsync(final PollHandler<P,?> handler, final PollState state) {
+        return asyncRestOperations.execute(state.getUri(handler), GET, null,
+                response -> handlePollResponse(handler, response, state))
+                .handle((done, e) -> {
+                    if (e != null) {
+                        final Throwable cause = unwrap(e);
+                        if (cause instanceof GoodDataRestException) {
+                            throw handlePollException(handler, (GoodDataRestException) cause);
+                        }
+                        if (cause instanceof RuntimeException) {
+                            throw (RuntimeException) cause;
+                        }
+                        throw new GoodDataException("Polling failed", cause);
+                    }
+                    return done;
+                });
+    }
 
+    private static GoodDataException handlePollException(final PollHandler<?,?> handler,
+                                                         final GoodDataRestException e) {
+        handler.handlePollException(e);
+        return new GoodDataException("Handler " + handler.getClass().getName() + " didn't handle exception", e);
+    }
+
+    /**
+     * Handles the polling response while its body is still streamed from the connection. The body is buffered only
+     * when {@link PollHandler#isFinished(ClientHttpResponse)} reads it, so it can be read again to extract the result.
+     */
+    private <P> boolean handlePollResponse(final PollHandler<P,?> handler, final ClientHttpResponse httpResponse,
+                                           final PollState state) {
+        final PollResponse response = new PollResponse(httpResponse);
         try {
-            if (handler.isFinished(response)) {
+            response.startRecording();
+            final boolean finished = handler.isFinished(response);
+            response.stopRecording();
+            if (finished) {
                 final P data = extractData(response, handler.getPollClass());
                 handler.handlePollResult(data);
             } else if (HttpStatus.Series.CLIENT_ERROR.equals(response.getStatusCode().series())) {
@@ -92,46 +442,152 @@ public abstract class AbstractService {
             }
         } catch (IOException e) {
             throw new GoodDataException("I/O error occurred during HTTP response extraction", e);
+        } finally {
+            response.release();
+        }
+        final boolean done = handler.isDone();
+        if (!done) {
+            state.update(response);
         }
-        return handler.isDone();
+        return done;
     }
 
+    /**
+     * Parses {@code Retry-After} header given either as delay in seconds or as HTTP date.
+     *
+     * @param headers response headers
+     * @return delay in milliseconds or null when the header is missing or invalid
+     */
+    static Long getRetryAfter(final HttpHeaders headers) {
+        final String value = headers.getFirst(RETRY_AFTER);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                return Math.max(0, headers.getFirstDate(RETRY_AFTER) - System.currentTimeMillis());
+            } catch (IllegalArgumentException ignored) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Extracts the response body. Returns null for {@link Void} and the response itself for {@link ClientHttpResponse},
+     * which allows poll handlers to stream the body of the response finishing the polling.
+     *
+     * @param response response
+     * @param cls      class of the body
+     * @param <T>      type of the body
+     * @return extracted body
+     * @throws IOException when the body can't be read
+     */
     protected final <T> T extractData(ClientHttpResponse response, Class<T> cls) throws IOException {
         notNull(response, "response");
         notNull(cls, "cls");
         if (Void.class.isAssignableFrom(cls)) {
             return null;
         }
+        if (ClientHttpResponse.class.equals(cls)) {
+            return cls.cast(response);
+        }
         return new HttpMessageConverterExtractor<>(cls, restTemplate.getMessageConverters()).extractData(response);
     }
 
-    private static class ReusableClientHttpResponse implements ClientHttpResponse {
+    /**
+     * Unwraps the cause of failed {@link CompletableFuture} stage.
+     *
+     * @param e exception the stage failed with
+     * @return the cause of {@link CompletionException} or the given exception
+     */
+    protected static Throwable unwrap(final Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    /**
+     * State of a single polling, accessed by one polling attempt at a time.
+     */
+    private static class PollState {
+        private final long deadline;
+        private URI location;
+        private int attempts;
+        private ClientHttpResponse response;
+
+        private PollState(final long deadline) {
+            this.deadline = deadline;
+        }
+
+        /**
+         * @return URI to poll, the {@code Location} of the last 202 Accepted response or the handler's polling URI
+         */
+        private URI getUri(final PollHandler<?,?> handler) {
+            return location != null ? location : handler.getPolling();
+        }
 
-        private byte[] body;
+        /**
+         * Records unfinished polling attempt, follows {@code Location} of 202 Accepted response.
+         */
+        private void update(final ClientHttpResponse response) {
+            this.attempts++;
+            this.response = response;
+            try {
+                final HttpHeaders headers = response.getHeaders();
+                final URI redirect = headers != null ? headers.getLocation() : null;
+                if (redirect != null && HttpStatus.ACCEPTED.value() == response.getRawStatusCode()) {
+                    location = location != null ? location.resolve(redirect) : redirect;
+                }
+            } catch (IOException | IllegalArgumentException ignored) {
+                // keep polling the original URI
+            }
+        }
+    }
+
+    /**
+     * Polling response streaming the body from the connection. While recording, the read part of the body is kept,
+     * so the body can be read again from the beginning after recording stops.
+     */
+    private static class PollResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
         private final HttpStatus statusCode;
         private final int rawStatusCode;
         private final String statusText;
         private final HttpHeaders headers;
+        private ByteArrayOutputStream recorded;
+        private boolean recording;
+        private InputStream body;
 
-        public ReusableClientHttpResponse(ClientHttpResponse response) {
+        private PollResponse(final ClientHttpResponse response) {
+            this.response = response;
             try {
-                final InputStream bodyStream = response.getBody();
-                if (bodyStream != null) {
-                    body = FileCopyUtils.copyToByteArray(bodyStream);
-                }
                 statusCode = response.getStatusCode();
                 rawStatusCode = response.getRawStatusCode();
                 statusText = response.getStatusText();
                 headers = response.getHeaders();
             } catch (IOException e) {
-                throw new RuntimeException("Unable to read from HTTP response", e);
-            } finally {
-                if (response != null) {
-                    response.close();
-                }
+                throw new GoodDataException("Unable to read from HTTP response", e);
             }
         }
 
+        private void startRecording() {
+            recording = true;
+        }
+
+        private void stopRecording() {
+            recording = false;
+        }
+
+        /**
+         * Drops the body, status line and headers remain available.
+         */
+        private void release() {
+            recording = false;
+            recorded = null;
+            body = null;
+        }
+
         @Override
         public HttpStatus getStatusCode() {
             return statusCode;
@@ -153,13 +609,65 @@ public abstract class AbstractService {
         }
 
         @Override
-        public InputStream getBody() {
-            return body != null ? new ByteArrayInputStream(body) : StreamUtils.emptyInput();
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                final InputStream responseBody = response.getBody();
+                body = responseBody != null ? responseBody : StreamUtils.emptyInput();
+            }
+            final InputStream remaining = recording ? new RecordingInputStream(body) : body;
+            if (recorded == null || recorded.size() == 0) {
+                if (recording) {
+                    recorded = new ByteArrayOutputStream();
+                }
+                return remaining;
+            }
+            final InputStream replay = new ByteArrayInputStream(recorded.toByteArray());
+            if (!recording) {
+                recorded = null;
+            }
+            return new SequenceInputStream(replay, remaining);
         }
 
         @Override
         public void close() {
-            //already closed
+            response.close();
+        }
+
+        private class RecordingInputStream extends FilterInputStream {
+
+            private RecordingInputStream(final InputStream in) {
+                super(in);
+            }
+
+            @Override
+            public int read() throws IOException {
+                final int b = super.read();
+                if (b >= 0 && recording) {
+                    recorded.write(b);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(final byte[] b, final int off, final int len) throws IOException {
+                final int count = super.read(b, off, len);
+                if (count > 0 && recording) {
+                    recorded.write(b, off, count);
+                }
+                return count;
+            }
+
+            @Override
+            public long skip(final long n) throws IOException {
+                final byte[] skipped = new byte[(int) Math.min(n, 8192)];
+                final int count = read(skipped, 0, skipped.length);
+                return Math.max(count, 0);
+            }
+
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
         }
     }
 
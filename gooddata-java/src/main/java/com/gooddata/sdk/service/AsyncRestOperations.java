@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.ResponseExtractor;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of the {@link org.springframework.web.client.RestTemplate} operations used by services.
+ * Returned futures are completed by the underlying HTTP client, no thread is waiting for the response.
+ * <p>
+ * Futures are completed exceptionally by {@link com.gooddata.sdk.common.GoodDataRestException} in case of unexpected
+ * HTTP status and by {@link org.springframework.web.client.RestClientException} in case of client-side (I/O,
+ * conversion) error.
+ *
+ * @see GoodDataRestProvider#getAsyncRestOperations()
+ */
+public interface AsyncRestOperations {
+
+    /**
+     * Retrieve a representation by doing a GET on the URI template.
+     *
+     * @param url          the URI template (path part only)
+     * @param responseType the type of the return value
+     * @param uriVariables the variables to expand the template
+     * @param <T>          type of the return value
+     * @return future of the converted object
+     */
+    <T> CompletableFuture<T> getForObject(String url, Class<T> responseType, Object... uriVariables);
+
+    /**
+     * Create a new resource by POSTing the given object to the URI template.
+     *
+     * @param url          the URI template (path part only)
+     * @param request      the object to be POSTed (may be {@code null})
+     * @param responseType the type of the return value
+     * @param uriVariables the variables to expand the template
+     * @param <T>          type of the return value
+     * @return future of the converted object
+     */
+    <T> CompletableFuture<T> postForObject(String url, Object request, Class<T> responseType, Object... uriVariables);
+
+    /**
+     * Execute the HTTP method to the given URI, writing the given request object and extracting the response
+     * with the given {@link ResponseExtractor}. The extractor is called once the whole response was received, off
+     * the I/O thread of the HTTP client, it shouldn't block.
+     *
+     * @param url               the URI (path part only or absolute)
+     * @param method            the HTTP method
+     * @param request           the object to be sent as request body (may be {@code null})
+     * @param responseExtractor object that extracts the return value from the response
+     * @param <T>               type of the return value
+     * @return future of the extracted object
+     */
+    <T> CompletableFuture<T> execute(URI url, HttpMethod method, Object request, ResponseExtractor<T> responseExtractor);
+}
@@ -18,7 +18,11 @@ import java.util.List;
 
 /**
  * Intercepts the request-response to check for X-GDC-DEPRECATED header and log it's content.
+ *
+ * @deprecated causes the request body to be buffered in memory, use
+ * {@link com.gooddata.sdk.service.httpcomponents.DeprecationWarningHttpResponseInterceptor} instead
  */
+@Deprecated
 public class DeprecationWarningRequestInterceptor implements ClientHttpRequestInterceptor {
 
     private static final Logger logger = LoggerFactory.getLogger("com.gooddata.sdk.DeprecationWarning");
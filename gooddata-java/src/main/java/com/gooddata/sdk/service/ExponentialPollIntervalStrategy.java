@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service;
+
+import com.gooddata.sdk.common.util.GoodDataToStringBuilder;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.util.Objects;
+
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Polls first after the initial interval, then multiplies the interval after each attempt up to the maximum.
+ * Use multiplier {@code 1} for fixed interval.
+ */
+public class ExponentialPollIntervalStrategy implements PollIntervalStrategy {
+
+    private final long initialInterval;
+    private final double multiplier;
+    private final long maxInterval;
+
+    /**
+     * Creates new strategy.
+     *
+     * @param initialInterval interval after the first attempt in milliseconds
+     * @param multiplier      multiplier applied to the interval after each attempt, at least 1
+     * @param maxInterval     maximum interval in milliseconds
+     */
+    public ExponentialPollIntervalStrategy(final long initialInterval, final double multiplier,
+                                           final long maxInterval) {
+        isTrue(initialInterval >= 0, "initialInterval must be not negative");
+        isTrue(multiplier >= 1, "multiplier must be at least 1");
+        isTrue(maxInterval >= initialInterval, "maxInterval must be at least initialInterval");
+        this.initialInterval = initialInterval;
+        this.multiplier = multiplier;
+        this.maxInterval = maxInterval;
+    }
+
+    @Override
+    public long getInterval(final int attempt, final ClientHttpResponse response) {
+        final double interval = initialInterval * Math.pow(multiplier, Math.max(0, attempt - 1));
+        return interval >= maxInterval ? maxInterval : (long) interval;
+    }
+
+    public long getInitialInterval() {
+        return initialInterval;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public long getMaxInterval() {
+        return maxInterval;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final ExponentialPollIntervalStrategy that = (ExponentialPollIntervalStrategy) o;
+        return initialInterval == that.initialInterval
+                && Double.compare(that.multiplier, multiplier) == 0
+                && maxInterval == that.maxInterval;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(initialInterval, multiplier, maxInterval);
+    }
+
+    @Override
+    public String toString() {
+        return GoodDataToStringBuilder.defaultToString(this);
+    }
+}
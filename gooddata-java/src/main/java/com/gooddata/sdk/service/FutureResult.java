@@ -6,7 +6,9 @@
 package com.gooddata.sdk.service;
 
 import com.gooddata.sdk.common.GoodDataException;
+import com.gooddata.sdk.service.util.SharedExecutors;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -40,6 +42,19 @@ public interface FutureResult<T> {
      */
     T get(final long timeout, final TimeUnit unit);
 
+    /**
+     * Returns {@link CompletableFuture} completed when the result is available, without blocking the calling thread.
+     * Cancelling the returned future stops the polling of {@link PollResult}.
+     * <p>
+     * The default implementation waits for the result by {@link #get()} on {@link SharedExecutors#getBlockingCalls()},
+     * cancelling the returned future doesn't stop the waiting then.
+     *
+     * @return future of the result value, completed exceptionally by {@link GoodDataException} when polling fails
+     */
+    default CompletableFuture<T> toCompletableFuture() {
+        return CompletableFuture.supplyAsync(this::get, SharedExecutors.getBlockingCalls());
+    }
+
     /**
      * Get URI used for polling
      *
@@ -50,4 +50,15 @@ public interface GoodDataRestProvider {
     default Optional<DataStoreService> getDataStoreService(final Supplier<String> stagingUriSupplier) {
         return Optional.empty();
     }
+
+    /**
+     * Configured non-blocking REST operations if provided. By default empty.
+     * Services use them to provide {@link java.util.concurrent.CompletableFuture} based variants of their methods.
+     *
+     * @return asyncRestOperations (empty by default)
+     * @see com.gooddata.sdk.service.httpcomponents.AsyncGoodDataRestProvider
+     */
+    default Optional<AsyncRestOperations> getAsyncRestOperations() {
+        return Optional.empty();
+    }
 }
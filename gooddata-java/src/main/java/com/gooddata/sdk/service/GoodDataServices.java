@@ -63,9 +63,11 @@ class GoodDataServices {
     GoodDataServices(final GoodDataRestProvider goodDataRestProvider) {
         this.goodDataRestProvider = goodDataRestProvider;
 
+        final AsyncRestOperations asyncRestOperations = goodDataRestProvider.getAsyncRestOperations().orElse(null);
+
         accountService = new AccountService(getRestTemplate(), getSettings());
-        projectService = new ProjectService(getRestTemplate(), accountService, getSettings());
-        metadataService = new MetadataService(getRestTemplate(), getSettings());
+        projectService = new ProjectService(getRestTemplate(), asyncRestOperations, accountService, getSettings());
+        metadataService = new MetadataService(getRestTemplate(), asyncRestOperations, getSettings());
         modelService = new ModelService(getRestTemplate(), getSettings());
         gdcService = new GdcService(getRestTemplate(), getSettings());
         exportService = new ExportService(getRestTemplate(), getSettings());
@@ -77,7 +79,8 @@ class GoodDataServices {
         outputStageService = new OutputStageService(getRestTemplate(), getSettings());
         projectTemplateService = new ProjectTemplateService(getRestTemplate(), getSettings());
         auditEventService = new AuditEventService(getRestTemplate(), accountService, getSettings());
-        executeAfmService = new ExecuteAfmService(getRestTemplate(), getSettings());
+        executeAfmService = new ExecuteAfmService(getRestTemplate(), asyncRestOperations, metadataService,
+                getSettings());
         lcmService = new LcmService(getRestTemplate(), getSettings());
 
         final Optional<DataStoreService> dataStoreService = goodDataRestProvider.getDataStoreService(() -> gdcService.getRootLinks().getUserStagingUri());
@@ -88,7 +91,9 @@ class GoodDataServices {
             logger.info("GoodDataRestProvider provided empty DataStoreService - WebDAV related operations are not supported");
         }
 
-        datasetService = new DatasetService(getRestTemplate(), this.dataStoreService, getSettings());
+        datasetService = new DatasetService(getRestTemplate(), asyncRestOperations, this.dataStoreService, getSettings());
+        executeAfmService.getResultCache().ifPresent(resultCache ->
+                datasetService.addDataUpdateListener(project -> resultCache.invalidateProject(project.getId())));
         processService = new ProcessService(getRestTemplate(), accountService, this.dataStoreService, getSettings());
     }
 
@@ -6,6 +6,10 @@
 package com.gooddata.sdk.service;
 
 import com.gooddata.sdk.common.gdc.Header;
+import com.gooddata.sdk.service.executeafm.ExecutionResultCacheSettings;
+import com.gooddata.sdk.service.md.IdentifierCacheSettings;
+import com.gooddata.sdk.service.md.ObjCacheSettings;
+import com.gooddata.sdk.service.md.QueryCatalogSettings;
 import com.gooddata.sdk.service.retry.RetrySettings;
 import com.gooddata.sdk.common.util.GoodDataToStringBuilder;
 import org.apache.commons.lang3.StringUtils;
@@ -39,8 +43,24 @@ public class GoodDataSettings {
     private int connectionRequestTimeout = secondsToMillis(10);
     private int socketTimeout = secondsToMillis(60);
     private int pollSleep = secondsToMillis(5);
+    private int maxPollRetryAfter = secondsToMillis(60);
+    private int uploadConcurrency = 4;
+    private int bulkGetChunkSize = 500;
+    private int bulkGetConcurrency = 4;
+    private int pagePrefetchDepth;
+    private int resultPageConcurrency = 4;
+    private boolean executionCoalescing;
+    private boolean executionCanonicalization;
     private String userAgent;
     private RetrySettings retrySettings;
+    private ObjCacheSettings objCacheSettings;
+    private QueryCatalogSettings queryCatalogSettings;
+    private IdentifierCacheSettings identifierCacheSettings;
+    private ExecutionResultCacheSettings executionResultCacheSettings;
+    private PollScheduler pollScheduler;
+    private PollIntervalStrategy pollIntervalStrategy;
+    private Map<Class<? extends AbstractService>, PollIntervalStrategy> servicePollIntervalStrategies = new HashMap<>();
+    private PollIntervalListener pollIntervalListener;
     private Map<String, String> presetHeaders = new HashMap<>(2);
 
     private static final String UNKNOWN_VERSION = "UNKNOWN";
@@ -182,7 +202,7 @@ public class GoodDataSettings {
     }
 
     /**
-     * Get sleep time in milliseconds between poll retries
+     * Get sleep time in milliseconds between poll retries, used unless {@link PollIntervalStrategy} is set
      *
      * @see AbstractService#poll(PollHandler, long, TimeUnit)
      */
@@ -211,6 +231,290 @@ public class GoodDataSettings {
         setPollSleep(secondsToMillis(pollSleep));
     }
 
+    /**
+     * Set strategy deciding interval between poll retries of all services. Overrides {@link #getPollSleep()},
+     * which is used as fixed interval by default. Use e.g. {@link ExponentialPollIntervalStrategy} to poll quick tasks
+     * sooner.
+     *
+     * @param pollIntervalStrategy strategy or null to use the default one
+     * @see #setPollIntervalStrategy(Class, PollIntervalStrategy)
+     */
+    public void setPollIntervalStrategy(final PollIntervalStrategy pollIntervalStrategy) {
+        this.pollIntervalStrategy = pollIntervalStrategy;
+    }
+
+    /**
+     * Set strategy deciding interval between poll retries of given service (and its subclasses), e.g. short intervals
+     * for quick AFM executions and long ones for ETL process executions.
+     *
+     * @param service service class
+     * @param pollIntervalStrategy strategy or null to use the strategy of all services
+     */
+    public void setPollIntervalStrategy(final Class<? extends AbstractService> service,
+                                        final PollIntervalStrategy pollIntervalStrategy) {
+        notNull(service, "service");
+        if (pollIntervalStrategy == null) {
+            servicePollIntervalStrategies.remove(service);
+        } else {
+            servicePollIntervalStrategies.put(service, pollIntervalStrategy);
+        }
+    }
+
+    /**
+     * Get strategy deciding interval between poll retries of given service
+     *
+     * @param service service class
+     * @return strategy configured for the service (or its closest superclass), the strategy set for all services or
+     * fixed interval of {@link #getPollSleep()}
+     */
+    public PollIntervalStrategy getPollIntervalStrategy(final Class<? extends AbstractService> service) {
+        notNull(service, "service");
+        for (Class<?> cls = service; cls != null; cls = cls.getSuperclass()) {
+            final PollIntervalStrategy strategy = servicePollIntervalStrategies.get(cls);
+            if (strategy != null) {
+                return strategy;
+            }
+        }
+        if (pollIntervalStrategy != null) {
+            return pollIntervalStrategy;
+        }
+        return new ExponentialPollIntervalStrategy(pollSleep, 1, pollSleep);
+    }
+
+    /**
+     * Get maximum interval in milliseconds between poll retries requested by {@code Retry-After} header of the polled
+     * API, longer intervals are shortened to this value.
+     * <p>
+     * The default value is 60 seconds.
+     *
+     * @return maximum interval in milliseconds
+     */
+    public int getMaxPollRetryAfter() {
+        return maxPollRetryAfter;
+    }
+
+    /**
+     * Set maximum interval between poll retries requested by {@code Retry-After} header of the polled API
+     *
+     * @param maxPollRetryAfter maximum interval in milliseconds
+     */
+    public void setMaxPollRetryAfter(final int maxPollRetryAfter) {
+        isTrue(maxPollRetryAfter >= 0, "maxPollRetryAfter must be not negative");
+        this.maxPollRetryAfter = maxPollRetryAfter;
+    }
+
+    /**
+     * Set maximum interval between poll retries requested by {@code Retry-After} header of the polled API
+     *
+     * @param maxPollRetryAfter maximum interval in seconds
+     */
+    public void setMaxPollRetryAfterSeconds(final int maxPollRetryAfter) {
+        setMaxPollRetryAfter(secondsToMillis(maxPollRetryAfter));
+    }
+
+    /**
+     * Get listener notified about the intervals between poll retries of all services
+     *
+     * @return listener or null when not set
+     */
+    public PollIntervalListener getPollIntervalListener() {
+        return pollIntervalListener;
+    }
+
+    /**
+     * Set listener notified about the intervals between poll retries of all services, e.g. to monitor how long
+     * the polled tasks take or how often the API asks to back off
+     *
+     * @param pollIntervalListener listener or null to remove it
+     */
+    public void setPollIntervalListener(final PollIntervalListener pollIntervalListener) {
+        this.pollIntervalListener = pollIntervalListener;
+    }
+
+    /**
+     * Get scheduler driving polling of all services
+     *
+     * @return configured scheduler or {@link PollScheduler#getDefault()} when not set
+     */
+    public PollScheduler getPollScheduler() {
+        return pollScheduler != null ? pollScheduler : PollScheduler.getDefault();
+    }
+
+    /**
+     * Set scheduler driving polling of all services, the shared {@link PollScheduler#getDefault()} is used by default
+     *
+     * @param pollScheduler scheduler
+     */
+    public void setPollScheduler(final PollScheduler pollScheduler) {
+        this.pollScheduler = pollScheduler;
+    }
+
+    /**
+     * Set maximum number of files uploaded to the staging area (WebDAV) in parallel by a single call,
+     * e.g. when loading datasets by {@link com.gooddata.sdk.service.dataset.DatasetService}.
+     * The uploads share connections with other requests, so the concurrency is also bounded by {@link #getMaxConnections()}.
+     * <p>
+     * The default value is 4.
+     *
+     * @param uploadConcurrency maximum number of parallel uploads
+     */
+    public void setUploadConcurrency(final int uploadConcurrency) {
+        isTrue(uploadConcurrency > 0, "uploadConcurrency must be greater than zero");
+        this.uploadConcurrency = uploadConcurrency;
+    }
+
+    /**
+     * Maximum number of files uploaded to the staging area in parallel by a single call
+     *
+     * @return maximum number of parallel uploads
+     */
+    public int getUploadConcurrency() {
+        return uploadConcurrency;
+    }
+
+    /**
+     * Set maximum number of URIs requested by a single bulk get of metadata objects, e.g. by
+     * {@link com.gooddata.sdk.service.md.MetadataService#getObjsByUris(com.gooddata.sdk.model.project.Project, java.util.Collection)},
+     * or by a single request for usages of metadata objects building
+     * {@link com.gooddata.sdk.service.md.MetadataService#getDependencyGraph(com.gooddata.sdk.model.project.Project, Class[])}.
+     * Larger collections of URIs are split into chunks of this size.
+     * <p>
+     * The default value is 500.
+     *
+     * @param bulkGetChunkSize maximum number of URIs per request
+     */
+    public void setBulkGetChunkSize(final int bulkGetChunkSize) {
+        isTrue(bulkGetChunkSize > 0, "bulkGetChunkSize must be greater than zero");
+        this.bulkGetChunkSize = bulkGetChunkSize;
+    }
+
+    /**
+     * Maximum number of URIs requested by a single bulk get of metadata objects
+     *
+     * @return maximum number of URIs per request
+     */
+    public int getBulkGetChunkSize() {
+        return bulkGetChunkSize;
+    }
+
+    /**
+     * Set maximum number of bulk get chunks requested in parallel by a single call.
+     * The requests share connections with other requests, so the concurrency is also bounded by {@link #getMaxConnections()}.
+     * <p>
+     * The default value is 4.
+     *
+     * @param bulkGetConcurrency maximum number of parallel bulk get requests
+     */
+    public void setBulkGetConcurrency(final int bulkGetConcurrency) {
+        isTrue(bulkGetConcurrency > 0, "bulkGetConcurrency must be greater than zero");
+        this.bulkGetConcurrency = bulkGetConcurrency;
+    }
+
+    /**
+     * Maximum number of bulk get chunks requested in parallel by a single call
+     *
+     * @return maximum number of parallel bulk get requests
+     */
+    public int getBulkGetConcurrency() {
+        return bulkGetConcurrency;
+    }
+
+    /**
+     * Set number of pages of paged listings (e.g. {@link com.gooddata.sdk.service.project.ProjectService#listProjects()})
+     * requested in background ahead of the page being processed, when iterating over all the items
+     * by {@link com.gooddata.sdk.common.collections.PageBrowser#allItemsStream()}. Zero turns the prefetching off.
+     * <p>
+     * The default value is 0.
+     *
+     * @param pagePrefetchDepth number of pages requested ahead
+     * @see PrefetchingPageBrowser
+     */
+    public void setPagePrefetchDepth(final int pagePrefetchDepth) {
+        isTrue(pagePrefetchDepth >= 0, "pagePrefetchDepth must not be negative");
+        this.pagePrefetchDepth = pagePrefetchDepth;
+    }
+
+    /**
+     * Number of pages of paged listings requested in background ahead of the page being processed
+     *
+     * @return number of pages requested ahead, zero when the pages are not prefetched
+     */
+    public int getPagePrefetchDepth() {
+        return pagePrefetchDepth;
+    }
+
+    /**
+     * Set maximum number of pages of AFM execution result requested in parallel by a single call, e.g. by
+     * {@link com.gooddata.sdk.service.executeafm.ExecuteAfmService#getResultGrid(com.gooddata.sdk.model.executeafm.response.ExecutionResponse, java.util.List)}.
+     * The requests share connections with other requests, so the concurrency is also bounded by {@link #getMaxConnections()}.
+     * <p>
+     * The default value is 4.
+     *
+     * @param resultPageConcurrency maximum number of parallel result page requests
+     */
+    public void setResultPageConcurrency(final int resultPageConcurrency) {
+        isTrue(resultPageConcurrency > 0, "resultPageConcurrency must be greater than zero");
+        this.resultPageConcurrency = resultPageConcurrency;
+    }
+
+    /**
+     * Maximum number of pages of AFM execution result requested in parallel by a single call
+     *
+     * @return maximum number of parallel result page requests
+     */
+    public int getResultPageConcurrency() {
+        return resultPageConcurrency;
+    }
+
+    /**
+     * Set whether identical AFM executions submitted concurrently, e.g. by many users rendering the same dashboard,
+     * share single request. When enabled, {@link com.gooddata.sdk.service.executeafm.ExecuteAfmService} posts
+     * the execution of the same project only once while it's in flight and polls the same execution result only once,
+     * all the callers get the same response and result.
+     * <p>
+     * The default value is false.
+     *
+     * @param executionCoalescing true to coalesce identical concurrent executions
+     */
+    public void setExecutionCoalescing(final boolean executionCoalescing) {
+        this.executionCoalescing = executionCoalescing;
+    }
+
+    /**
+     * Whether identical AFM executions submitted concurrently share single request
+     *
+     * @return true when identical concurrent executions are coalesced
+     */
+    public boolean isExecutionCoalescing() {
+        return executionCoalescing;
+    }
+
+    /**
+     * Set whether AFM executions are normalized to canonical form before they're posted, see
+     * {@link com.gooddata.sdk.model.executeafm.ExecutionCanonicalizer}. Semantically identical executions, differing
+     * e.g. only in the order of filters or in the kind of object qualifiers, are then posted in the same form, so they
+     * share the execution cache of the API and the coalescing and result caching of
+     * {@link com.gooddata.sdk.service.executeafm.ExecuteAfmService}. Identifiers are resolved to URIs by single
+     * metadata request per execution, which is spared when the identifiers are cached, see
+     * {@link #setIdentifierCacheSettings(IdentifierCacheSettings)}.
+     * <p>
+     * The default value is false.
+     *
+     * @param executionCanonicalization true to canonicalize executions before they're posted
+     */
+    public void setExecutionCanonicalization(final boolean executionCanonicalization) {
+        this.executionCanonicalization = executionCanonicalization;
+    }
+
+    /**
+     * Whether AFM executions are normalized to canonical form before they're posted
+     *
+     * @return true when executions are canonicalized
+     */
+    public boolean isExecutionCanonicalization() {
+        return executionCanonicalization;
+    }
+
     /**
      * GoodData User agent
      * @return user agent string formatted with default suffix (identifying the SDK)
@@ -247,6 +551,70 @@ public class GoodDataSettings {
         this.retrySettings = retrySettings;
     }
 
+    /**
+     * Settings of metadata objects cache, see {@link com.gooddata.sdk.service.md.ObjCache}
+     * @return metadata objects cache settings or null when objects are not cached
+     */
+    public ObjCacheSettings getObjCacheSettings() {
+        return objCacheSettings;
+    }
+
+    /**
+     * Set metadata objects cache settings, objects are not cached by default
+     * @param objCacheSettings metadata objects cache settings, null to disable the cache
+     */
+    public void setObjCacheSettings(ObjCacheSettings objCacheSettings) {
+        this.objCacheSettings = objCacheSettings;
+    }
+
+    /**
+     * Settings of metadata query entries catalog, see {@link com.gooddata.sdk.service.md.QueryCatalog}
+     * @return metadata query catalog settings or null when query entries are not cataloged
+     */
+    public QueryCatalogSettings getQueryCatalogSettings() {
+        return queryCatalogSettings;
+    }
+
+    /**
+     * Set metadata query entries catalog settings, query entries are not cataloged by default
+     * @param queryCatalogSettings metadata query catalog settings, null to disable the catalog
+     */
+    public void setQueryCatalogSettings(QueryCatalogSettings queryCatalogSettings) {
+        this.queryCatalogSettings = queryCatalogSettings;
+    }
+
+    /**
+     * Settings of identifier to URI resolution cache, see {@link com.gooddata.sdk.service.md.IdentifierCache}
+     * @return identifier cache settings or null when identifiers are not cached
+     */
+    public IdentifierCacheSettings getIdentifierCacheSettings() {
+        return identifierCacheSettings;
+    }
+
+    /**
+     * Set identifier to URI resolution cache settings, identifiers are not cached by default
+     * @param identifierCacheSettings identifier cache settings, null to disable the cache
+     */
+    public void setIdentifierCacheSettings(IdentifierCacheSettings identifierCacheSettings) {
+        this.identifierCacheSettings = identifierCacheSettings;
+    }
+
+    /**
+     * Settings of execution result cache, see {@link com.gooddata.sdk.service.executeafm.ExecutionResultCache}
+     * @return execution result cache settings or null when results are not cached
+     */
+    public ExecutionResultCacheSettings getExecutionResultCacheSettings() {
+        return executionResultCacheSettings;
+    }
+
+    /**
+     * Set execution result cache settings, results are not cached by default
+     * @param executionResultCacheSettings execution result cache settings, null to disable the cache
+     */
+    public void setExecutionResultCacheSettings(ExecutionResultCacheSettings executionResultCacheSettings) {
+        this.executionResultCacheSettings = executionResultCacheSettings;
+    }
+
     /**
      * Set preset header
      * @param header header name
@@ -274,15 +642,34 @@ public class GoodDataSettings {
                 && connectionRequestTimeout == that.connectionRequestTimeout
                 && socketTimeout == that.socketTimeout
                 && pollSleep == that.pollSleep
+                && maxPollRetryAfter == that.maxPollRetryAfter
+                && uploadConcurrency == that.uploadConcurrency
+                && bulkGetChunkSize == that.bulkGetChunkSize
+                && bulkGetConcurrency == that.bulkGetConcurrency
+                && pagePrefetchDepth == that.pagePrefetchDepth
+                && resultPageConcurrency == that.resultPageConcurrency
+                && executionCoalescing == that.executionCoalescing
+                && executionCanonicalization == that.executionCanonicalization
                 && Objects.equals(userAgent, that.userAgent)
                 && Objects.equals(retrySettings, that.retrySettings)
+                && Objects.equals(objCacheSettings, that.objCacheSettings)
+                && Objects.equals(queryCatalogSettings, that.queryCatalogSettings)
+                && Objects.equals(identifierCacheSettings, that.identifierCacheSettings)
+                && Objects.equals(executionResultCacheSettings, that.executionResultCacheSettings)
+                && Objects.equals(pollScheduler, that.pollScheduler)
+                && Objects.equals(pollIntervalStrategy, that.pollIntervalStrategy)
+                && Objects.equals(servicePollIntervalStrategies, that.servicePollIntervalStrategies)
+                && Objects.equals(pollIntervalListener, that.pollIntervalListener)
                 && Objects.equals(presetHeaders, that.presetHeaders);
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(maxConnections, connectionTimeout, connectionRequestTimeout, socketTimeout, pollSleep,
-                userAgent, retrySettings, presetHeaders);
+                maxPollRetryAfter, uploadConcurrency, bulkGetChunkSize, bulkGetConcurrency, pagePrefetchDepth, resultPageConcurrency,
+                executionCoalescing, executionCanonicalization, userAgent, retrySettings, objCacheSettings,
+                queryCatalogSettings, identifierCacheSettings, executionResultCacheSettings, pollScheduler,
+                pollIntervalStrategy, servicePollIntervalStrategies, pollIntervalListener, presetHeaders);
     }
 
     @Override
@@ -20,7 +20,11 @@ import static com.gooddata.sdk.common.util.Validate.notNull;
  * Intercepts client-side HTTP requests and sets HTTP headers passed to constructor of this class.
  * Implementations of this interface can be registered with the RestTemplate, as to modify the outgoing
  * ClientHttpRequest and/or the incoming ClientHttpResponse.
+ *
+ * @deprecated causes the request body to be buffered in memory, use
+ * {@link com.gooddata.sdk.service.httpcomponents.HeaderSettingHttpRequestInterceptor} instead
  */
+@Deprecated
 public class HeaderSettingRequestInterceptor implements ClientHttpRequestInterceptor {
 
     private final Map<String, String> headers;
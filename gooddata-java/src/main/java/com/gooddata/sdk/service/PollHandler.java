@@ -44,7 +44,8 @@ public interface PollHandler<P,R> {
     Class<R> getResultClass();
 
     /**
-     * Get class of the polling object.
+     * Get class of the polling object. Use {@link ClientHttpResponse} to handle the response finishing the polling
+     * while its body is streamed.
      *
      * @return polling class
      */
@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service;
+
+import java.net.URI;
+
+/**
+ * Notified about each interval chosen before the next polling attempt, e.g. to record how long the polled tasks take.
+ * Can be configured by {@link GoodDataSettings#setPollIntervalListener(PollIntervalListener)}.
+ * <p>
+ * The listener is called on the polling thread, so it should return quickly.
+ */
+@FunctionalInterface
+public interface PollIntervalListener {
+
+    /**
+     * Called before waiting for the next polling attempt.
+     *
+     * @param service    class of the polling service
+     * @param uri        URI to be polled next
+     * @param attempt    number of polling attempts made so far which didn't finish the polling (starts from 1)
+     * @param interval   interval before the next attempt in milliseconds
+     * @param retryAfter true when the interval was given by {@code Retry-After} header of the polled API
+     */
+    void onPollInterval(Class<? extends AbstractService> service, URI uri, int attempt, long interval,
+                        boolean retryAfter);
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service;
+
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Decides how long to wait before the next polling attempt. Can be configured per service using
+ * {@link GoodDataSettings#setPollIntervalStrategy(Class, PollIntervalStrategy)}.
+ * <p>
+ * The strategy is not consulted when the polled API sends {@code Retry-After} header, its value (up to
+ * {@link GoodDataSettings#getMaxPollRetryAfter()}) is used instead.
+ *
+ * @see ExponentialPollIntervalStrategy
+ */
+@FunctionalInterface
+public interface PollIntervalStrategy {
+
+    /**
+     * Returns the interval before the next polling attempt.
+     *
+     * @param attempt  number of polling attempts made so far which didn't finish the polling (starts from 1)
+     * @param response response of the last polling attempt (body is not available)
+     * @return interval in milliseconds
+     */
+    long getInterval(int attempt, ClientHttpResponse response);
+}
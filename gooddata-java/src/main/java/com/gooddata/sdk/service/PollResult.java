@@ -5,7 +5,9 @@
  */
 package com.gooddata.sdk.service;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import static com.gooddata.sdk.common.util.Validate.notNull;
 
@@ -18,6 +20,8 @@ public final class PollResult<T> implements FutureResult<T> {
 
     private final PollHandler<?,T> handler;
 
+    private CompletableFuture<T> future;
+
     /**
      * Creates a new instance of the result to be eventually retrieved by polling on the REST API.<p>
      * For internal use by services employing polling.
@@ -32,7 +36,11 @@ public final class PollResult<T> implements FutureResult<T> {
 
     @Override
     public boolean isDone() {
-        return handler.isDone() || service.pollOnce(handler);
+        if (handler.isDone()) {
+            return true;
+        }
+        final CompletableFuture<T> pending = getPending();
+        return pending != null ? pending.isDone() : service.pollOnce(handler);
     }
 
     @Override
@@ -45,9 +53,43 @@ public final class PollResult<T> implements FutureResult<T> {
         if (handler.isDone()) {
             return handler.getResult();
         }
+        final CompletableFuture<T> pending = getPending();
+        if (pending != null) {
+            // wait on dependent stage, so the timeout doesn't cancel the polling shared with other callers
+            return service.await(pending.thenApply(Function.identity()), timeout, unit);
+        }
         return service.poll(handler, timeout, unit);
     }
 
+    @Override
+    public CompletableFuture<T> toCompletableFuture() {
+        return subscribe(false);
+    }
+
+    /**
+     * Same as {@link #toCompletableFuture()}, but polls using {@link AsyncRestOperations} of the service when it has
+     * them. When the polling is already in progress, it's shared regardless of how it was started.
+     *
+     * @return future of the result value
+     */
+    CompletableFuture<T> toNonBlockingFuture() {
+        return subscribe(true);
+    }
+
+    private synchronized CompletableFuture<T> subscribe(final boolean nonBlocking) {
+        if (handler.isDone()) {
+            return CompletableFuture.completedFuture(handler.getResult());
+        }
+        if (future == null || future.isCancelled()) {
+            future = service.pollAsync(handler, 0, null, nonBlocking);
+        }
+        return future;
+    }
+
+    private synchronized CompletableFuture<T> getPending() {
+        return future != null && !future.isCancelled() ? future : null;
+    }
+
     /**
      * Get URI used for polling
      *
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+import static com.gooddata.sdk.service.util.SharedExecutors.daemonThreadFactory;
+
+/**
+ * Schedules polling attempts of all {@link PollHandler}s. Instead of a thread sleeping between the attempts of each
+ * polled task, a single shared {@link ScheduledExecutorService} fires the next attempt when it is due, so thousands
+ * of outstanding {@link FutureResult}s need only a few threads.
+ * <p>
+ * Threads of the scheduler never wait for the polling requests. They initiate the non-blocking request when
+ * the service is provided with {@link AsyncRestOperations}, otherwise they hand the blocking request over to
+ * {@link com.gooddata.sdk.service.util.SharedExecutors#getBlockingCalls()}.
+ */
+public final class PollScheduler {
+
+    private static final String THREAD_NAME_PREFIX = "gooddata-poll-";
+
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Creates new scheduler backed by given executor. Lifecycle of the executor is managed by the caller.
+     *
+     * @param executor executor to schedule polling attempts on
+     */
+    public PollScheduler(final ScheduledExecutorService executor) {
+        this.executor = notNull(executor, "executor");
+    }
+
+    /**
+     * Returns scheduler shared by all services. It's backed by daemon threads, so it doesn't need to be shut down.
+     *
+     * @return shared scheduler
+     */
+    public static PollScheduler getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Executes given attempt as soon as possible.
+     *
+     * @param attempt polling attempt
+     */
+    void execute(final Runnable attempt) {
+        executor.execute(attempt);
+    }
+
+    /**
+     * Executes given attempt after the delay.
+     *
+     * @param attempt polling attempt
+     * @param delay   delay
+     * @param unit    delay unit
+     * @return future representing the pending attempt
+     */
+    ScheduledFuture<?> schedule(final Runnable attempt, final long delay, final TimeUnit unit) {
+        return executor.schedule(attempt, delay, unit);
+    }
+
+    private static class DefaultHolder {
+        private static final PollScheduler INSTANCE = new PollScheduler(createDefaultExecutor());
+
+        private static ScheduledExecutorService createDefaultExecutor() {
+            final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(
+                    Math.max(2, Runtime.getRuntime().availableProcessors()), daemonThreadFactory(THREAD_NAME_PREFIX));
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+}
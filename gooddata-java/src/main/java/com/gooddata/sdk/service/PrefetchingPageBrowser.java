@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service;
+
+import com.gooddata.sdk.common.GoodDataException;
+import com.gooddata.sdk.common.collections.Page;
+import com.gooddata.sdk.common.collections.PageBrowser;
+import com.gooddata.sdk.common.collections.PageRequest;
+import com.gooddata.sdk.service.util.SharedExecutors;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * {@link PageBrowser} requesting the following pages in background while the current one is being processed.
+ * As the request for a page is known only from the page preceding it, each page is requested as soon as the previous
+ * one is received, up to the look-ahead depth of pages ahead of the consumer. Iterating over all the items then takes
+ * roughly the time of receiving the pages rather than the time of receiving and processing them.
+ * <p>
+ * The stream returned by {@link #allItemsStream()} should be closed when not consumed completely, to cancel the pages
+ * requested ahead.
+ *
+ * @param <T> type of the items
+ * @see GoodDataSettings#setPagePrefetchDepth(int)
+ */
+public class PrefetchingPageBrowser<T> extends PageBrowser<T> {
+
+    private final Function<PageRequest, Page<T>> pageProvider;
+    private final int depth;
+    private final Executor executor;
+
+    /**
+     * Creates browser requesting the pages on the shared executor backed by daemon threads.
+     *
+     * @param startPage    request of the first page
+     * @param pageProvider provides the page for a page request
+     * @param depth        maximum number of pages requested ahead of the consumer
+     */
+    public PrefetchingPageBrowser(final PageRequest startPage, final Function<PageRequest, Page<T>> pageProvider,
+                                  final int depth) {
+        this(startPage, pageProvider, depth, SharedExecutors.getBlockingCalls());
+    }
+
+    /**
+     * Creates browser requesting the pages on given executor. Lifecycle of the executor is managed by the caller.
+     *
+     * @param startPage    request of the first page
+     * @param pageProvider provides the page for a page request
+     * @param depth        maximum number of pages requested ahead of the consumer
+     * @param executor     executor to request the pages on
+     */
+    public PrefetchingPageBrowser(final PageRequest startPage, final Function<PageRequest, Page<T>> pageProvider,
+                                  final int depth, final Executor executor) {
+        super(startPage, pageProvider);
+        isTrue(depth > 0, "depth must be greater than zero");
+        this.pageProvider = pageProvider;
+        this.depth = depth;
+        this.executor = notNull(executor, "executor");
+    }
+
+    @Override
+    public Stream<T> allItemsStream() {
+        final PrefetchingPageIterator pages = new PrefetchingPageIterator();
+        return Stream.concat(getPageItems().stream(),
+                StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED), false)
+                        .flatMap(page -> page.getPageItems().stream()))
+                .onClose(pages::close);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return super.equals(o) && depth == ((PrefetchingPageBrowser<?>) o).depth;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + depth;
+    }
+
+    private class PrefetchingPageIterator implements Iterator<Page<T>> {
+
+        private final Deque<CompletableFuture<Page<T>>> ahead = new ArrayDeque<>();
+        private CompletableFuture<Page<T>> last = CompletableFuture.completedFuture(PrefetchingPageBrowser.this);
+        private boolean finished = !hasNextPage();
+        private Page<T> next;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !finished) {
+                requestPages();
+                next = join(ahead.poll());
+                if (next == null || !next.hasNextPage()) {
+                    finished = true;
+                    close();
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Page<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Page<T> page = next;
+            next = null;
+            return page;
+        }
+
+        void close() {
+            finished = true;
+            CompletableFuture<Page<T>> page;
+            while ((page = ahead.poll()) != null) {
+                page.cancel(false);
+            }
+        }
+
+        private void requestPages() {
+            while (ahead.size() < depth) {
+                last = last.thenApplyAsync(previous -> previous != null && previous.hasNextPage()
+                        ? requestPage(previous.getNextPage())
+                        : null, executor);
+                ahead.add(last);
+            }
+        }
+
+        private Page<T> requestPage(final PageRequest request) {
+            final Page<T> page = pageProvider.apply(request);
+            if (request.equals(page.getNextPage())) {
+                throw new IllegalStateException("page provider does not iterate properly, returns the same page");
+            }
+            if (page.getPageItems().isEmpty() && page.getNextPage() != null) {
+                throw new IllegalStateException("page has no results, yet claims there is next page");
+            }
+            return page;
+        }
+
+        private Page<T> join(final CompletableFuture<Page<T>> page) {
+            try {
+                return page.join();
+            } catch (CompletionException e) {
+                close();
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new GoodDataException("Unable to get page", e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Cache of values bounded by their total weight, backing the caches of the services. Values are evicted when they
+ * expire by {@link WeightedCacheSettings#getTimeToLive()}, in the least recently used order when their total weight
+ * exceeds {@link WeightedCacheSettings#getMaxWeight()} and when they're invalidated. The cache keeps generation
+ * changed by each invalidation, so the value requested from the API before the invalidation isn't cached.
+ * <p>
+ * For internal use by services caching API responses. The cache is thread safe.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+public final class WeightedCache<K, V> {
+
+    private final WeightedCacheSettings settings;
+    private final ToLongFunction<? super V> weigher;
+    private final LongSupplier ticker;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long generation;
+
+    /**
+     * Creates new cache.
+     *
+     * @param settings settings of the cache
+     * @param weigher  computes weight (size in bytes) of the value
+     * @param ticker   source of nanosecond time the values expire by
+     */
+    public WeightedCache(final WeightedCacheSettings settings, final ToLongFunction<? super V> weigher,
+                         final LongSupplier ticker) {
+        this.settings = notNull(settings, "settings");
+        this.weigher = notNull(weigher, "weigher");
+        this.ticker = notNull(ticker, "ticker");
+    }
+
+    /**
+     * Returns value of given key and records the cache hit or miss.
+     *
+     * @param key key
+     * @return value or null when not cached or expired
+     */
+    public synchronized V get(final K key) {
+        final Entry<V> cached = entries.get(key);
+        if (cached != null && cached.expiration - ticker.getAsLong() > 0) {
+            hitCount++;
+            return cached.value;
+        }
+        if (cached != null) {
+            remove(key);
+            evictionCount++;
+        }
+        missCount++;
+        return null;
+    }
+
+    /**
+     * Returns generation of the cache contents, which changes by each invalidation.
+     *
+     * @return current generation
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Caches value of given key unless it's heavier than {@link WeightedCacheSettings#getMaxEntryWeight()}
+     * or the cache was invalidated since the given generation.
+     *
+     * @param key        key
+     * @param value      value
+     * @param generation generation of the cache before the value was requested from the API
+     * @return true when the value was cached
+     */
+    public synchronized boolean put(final K key, final V value, final long generation) {
+        notNull(value, "value");
+        final long valueWeight = weigher.applyAsLong(value);
+        if (valueWeight > settings.getMaxEntryWeight() || generation != this.generation) {
+            return false;
+        }
+        remove(key);
+        entries.put(key, new Entry<>(value, valueWeight,
+                ticker.getAsLong() + TimeUnit.MILLISECONDS.toNanos(settings.getTimeToLive())));
+        weight += valueWeight;
+        final Iterator<Map.Entry<K, Entry<V>>> leastRecentlyUsed = entries.entrySet().iterator();
+        while (weight > settings.getMaxWeight() && leastRecentlyUsed.hasNext()) {
+            weight -= leastRecentlyUsed.next().getValue().weight;
+            leastRecentlyUsed.remove();
+            evictionCount++;
+        }
+        return true;
+    }
+
+    /**
+     * Evicts the value of given key.
+     *
+     * @param key key
+     */
+    public synchronized void invalidate(final K key) {
+        generation++;
+        remove(key);
+    }
+
+    /**
+     * Evicts the values matching given predicate.
+     *
+     * @param predicate predicate of the values to evict
+     */
+    public synchronized void invalidateIf(final Predicate<? super V> predicate) {
+        notNull(predicate, "predicate");
+        generation++;
+        final Iterator<Entry<V>> cached = entries.values().iterator();
+        while (cached.hasNext()) {
+            final Entry<V> entry = cached.next();
+            if (predicate.test(entry.value)) {
+                weight -= entry.weight;
+                cached.remove();
+            }
+        }
+    }
+
+    /**
+     * Evicts all the values.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * @return number of cached values
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return total weight (size in bytes) of cached values
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * @return number of requests for a value served from the cache
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return number of requests for a value, which had to be obtained from the API
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return ratio of requests served from the cache, zero when there was no request yet
+     */
+    public synchronized double getHitRate() {
+        final long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * @return number of values evicted because they expired or the weight limit was exceeded
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "WeightedCache[size=" + entries.size() + ", weight=" + weight + ", hitCount=" + hitCount
+                + ", missCount=" + missCount + ", evictionCount=" + evictionCount + "]";
+    }
+
+    private void remove(final K key) {
+        final Entry<V> removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight;
+        }
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long weight;
+        private final long expiration;
+
+        private Entry(final V value, final long weight, final long expiration) {
+            this.value = value;
+            this.weight = weight;
+            this.expiration = expiration;
+        }
+    }
+}
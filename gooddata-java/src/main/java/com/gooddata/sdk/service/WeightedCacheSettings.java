@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service;
+
+import com.gooddata.sdk.common.util.GoodDataToStringBuilder;
+
+import java.util.Objects;
+
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Contains settings common to the caches bounded by the total weight of cached values, where the weight is the size
+ * of the value representation in bytes. The defaults are given by the particular cache settings.
+ *
+ * @see WeightedCache
+ */
+public abstract class WeightedCacheSettings {
+
+    private long maxWeight;
+    private long maxEntryWeight;
+    private long timeToLive;
+
+    /**
+     * Creates settings of given defaults.
+     *
+     * @param maxWeight      default maximum total weight
+     * @param maxEntryWeight default maximum weight of single value
+     * @param timeToLive     default time to live in milliseconds
+     */
+    protected WeightedCacheSettings(final long maxWeight, final long maxEntryWeight, final long timeToLive) {
+        this.maxWeight = maxWeight;
+        this.maxEntryWeight = maxEntryWeight;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Maximum total weight (in bytes) of cached values, the least recently used values are evicted when exceeded.
+     *
+     * @return maximum total weight
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public void setMaxWeight(final long maxWeight) {
+        isTrue(maxWeight > 0, "maxWeight must be greater than zero");
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Maximum weight (in bytes) of single cached value, heavier values are not cached at all,
+     * so few huge values can't evict all the others.
+     *
+     * @return maximum weight of single value
+     */
+    public long getMaxEntryWeight() {
+        return maxEntryWeight;
+    }
+
+    public void setMaxEntryWeight(final long maxEntryWeight) {
+        isTrue(maxEntryWeight > 0, "maxEntryWeight must be greater than zero");
+        this.maxEntryWeight = maxEntryWeight;
+    }
+
+    /**
+     * Time in milliseconds the value is cached for since it was obtained from the API.
+     *
+     * @return time to live milliseconds
+     */
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(final long timeToLive) {
+        isTrue(timeToLive > 0, "timeToLive must be greater than zero");
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final WeightedCacheSettings that = (WeightedCacheSettings) o;
+        return maxWeight == that.maxWeight
+                && maxEntryWeight == that.maxEntryWeight
+                && timeToLive == that.timeToLive;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxWeight, maxEntryWeight, timeToLive);
+    }
+
+    @Override
+    public String toString() {
+        return GoodDataToStringBuilder.defaultToString(this);
+    }
+}
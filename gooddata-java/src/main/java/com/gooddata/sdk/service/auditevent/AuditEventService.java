@@ -7,12 +7,14 @@ package com.gooddata.sdk.service.auditevent;
 
 import com.gooddata.sdk.common.GoodDataException;
 import com.gooddata.sdk.common.GoodDataRestException;
+import com.gooddata.sdk.common.collections.Page;
 import com.gooddata.sdk.common.collections.PageBrowser;
 import com.gooddata.sdk.common.collections.PageRequest;
 import com.gooddata.sdk.common.util.SpringMutableUri;
 import com.gooddata.sdk.model.account.Account;
 import com.gooddata.sdk.model.auditevent.AuditEvent;
 import com.gooddata.sdk.model.auditevent.AuditEvents;
+import com.gooddata.sdk.model.util.StreamingPageDeserializer;
 import com.gooddata.sdk.service.AbstractService;
 import com.gooddata.sdk.service.GoodDataSettings;
 import com.gooddata.sdk.service.account.AccountService;
@@ -20,6 +22,9 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriTemplate;
 
+import java.net.URI;
+import java.util.function.Consumer;
+
 import static com.gooddata.sdk.common.util.Validate.notEmpty;
 import static com.gooddata.sdk.common.util.Validate.notNull;
 import static org.springframework.http.HttpStatus.UNAUTHORIZED;
@@ -32,6 +37,9 @@ public class AuditEventService extends AbstractService {
     public static final UriTemplate ADMIN_URI_TEMPLATE = new UriTemplate(AuditEvent.ADMIN_URI);
     public static final UriTemplate USER_URI_TEMPLATE = new UriTemplate(AuditEvent.USER_URI);
 
+    private static final StreamingPageDeserializer<AuditEvent> EVENTS_DESERIALIZER =
+            new StreamingPageDeserializer<>(AuditEvent.class, "events", "items");
+
     private final AccountService accountService;
 
     /**
@@ -67,7 +75,25 @@ public class AuditEventService extends AbstractService {
         notNull(page, "page");
 
         final String uri = ADMIN_URI_TEMPLATE.expand(domainId).toString();
-        return new PageBrowser<>(page, (p) -> doListAuditEvents(getAuditEventsUri(p, uri)));
+        return createPageBrowser(page, (p) -> doListAuditEvents(getAuditEventsUri(p, uri)));
+    }
+
+    /**
+     * Read all audit events for the given domain id starting with the given page, handing them to the consumer
+     * as they're received. Unlike {@link #listAuditEvents(String, PageRequest)}, the pages are not held in memory,
+     * so even pages of huge sizes can be read.
+     * @param domainId domain id
+     * @param page request parameters of the first page
+     * @param consumer consumer of the events
+     * @throws AuditEventsForbiddenException if current user is not admin of the given domain
+     */
+    public void listAuditEvents(final String domainId, final PageRequest page, final Consumer<? super AuditEvent> consumer) {
+        notEmpty(domainId, "domainId");
+        notNull(page, "page");
+        notNull(consumer, "consumer");
+
+        final String uri = ADMIN_URI_TEMPLATE.expand(domainId).toString();
+        readAllPages(page, (p) -> doReadAuditEvents(getAuditEventsUri(p, uri), consumer));
     }
 
     /**
@@ -96,7 +122,27 @@ public class AuditEventService extends AbstractService {
 
         final String uri = USER_URI_TEMPLATE.expand(account.getId()).toString();
 
-        return new PageBrowser<>(page, (p) -> doListAuditEvents(getAuditEventsUri(p, uri)));
+        return createPageBrowser(page, (p) -> doListAuditEvents(getAuditEventsUri(p, uri)));
+    }
+
+    /**
+     * Read all audit events for the given account starting with the given page, handing them to the consumer
+     * as they're received. Unlike {@link #listAuditEvents(Account, PageRequest)}, the pages are not held in memory,
+     * so even pages of huge sizes can be read.
+     * @param account account with valid id
+     * @param page request parameters of the first page
+     * @param consumer consumer of the events
+     * @throws AuditEventsForbiddenException if audit events are not enabled for the given user or the current user is
+     * not domain admin
+     */
+    public void listAuditEvents(final Account account, final PageRequest page, final Consumer<? super AuditEvent> consumer) {
+        notNull(account, "account");
+        notEmpty(account.getId(), "account.id");
+        notNull(page, "page");
+        notNull(consumer, "consumer");
+
+        final String uri = USER_URI_TEMPLATE.expand(account.getId()).toString();
+        readAllPages(page, (p) -> doReadAuditEvents(getAuditEventsUri(p, uri), consumer));
     }
 
     /**
@@ -135,6 +181,20 @@ public class AuditEventService extends AbstractService {
         }
     }
 
+    private Page<AuditEvent> doReadAuditEvents(final String uri, final Consumer<? super AuditEvent> consumer) {
+        try {
+            return readPage(URI.create(uri), EVENTS_DESERIALIZER, consumer);
+        } catch (GoodDataRestException e) {
+            if (UNAUTHORIZED.value() == e.getStatusCode()) {
+                throw new AuditEventsForbiddenException(e);
+            } else {
+                throw e;
+            }
+        } catch (RestClientException e) {
+            throw new GoodDataException("Unable to list audit events: " + uri, e);
+        }
+    }
+
     private String getAuditEventsUri(final PageRequest page, final String uri) {
         return page.updateWithPageParams(new SpringMutableUri(uri)).toUriString();
     }
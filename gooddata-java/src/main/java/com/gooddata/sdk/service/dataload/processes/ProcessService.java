@@ -431,7 +431,7 @@ public class ProcessService extends AbstractService {
                                                 final PageRequest startPage) {
         notNull(project, "project");
         notNull(startPage, "startPage");
-        return new PageBrowser<>(startPage, page -> listSchedules(getSchedulesUri(project, page)));
+        return createPageBrowser(startPage, page -> listSchedules(getSchedulesUri(project, page)));
     }
 
     /**
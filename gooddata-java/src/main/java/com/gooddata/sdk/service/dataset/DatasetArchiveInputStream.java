@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.dataset;
+
+import com.gooddata.sdk.model.dataset.DatasetManifest;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * ZIP archive of dataset sources and their manifest, which is compressed on the fly while being read (uploaded).
+ * The archive is written by another thread through a pipe, so it's never materialized in memory or on disk.
+ * When writing of the archive fails for any reason, reading of the archive fails as well, so truncated archive is
+ * never read as complete one. The dataset being written at the time is available by {@link #getFailedDataset()}.
+ */
+class DatasetArchiveInputStream extends PipedInputStream {
+
+    static final int PIPE_SIZE = 64 * 1024;
+
+    private final PipedOutputStream output;
+    private final Collection<DatasetManifest> datasets;
+    private final String manifestFileName;
+    private final byte[] manifest;
+    private final DatasetUploadListener listener;
+
+    private volatile DatasetManifest failedDataset;
+    private volatile Throwable failure;
+
+    DatasetArchiveInputStream(final Collection<DatasetManifest> datasets, final String manifestFileName,
+                              final byte[] manifest, final DatasetUploadListener listener) throws IOException {
+        super(PIPE_SIZE);
+        this.output = new PipedOutputStream(this);
+        this.datasets = notNull(datasets, "datasets");
+        this.manifestFileName = notNull(manifestFileName, "manifestFileName");
+        this.manifest = notNull(manifest, "manifest");
+        this.listener = notNull(listener, "listener");
+    }
+
+    /**
+     * Starts writing the archive using given executor. The executor's thread is occupied until the archive is
+     * written or this stream is closed.
+     *
+     * @param executor executor to write the archive
+     */
+    void start(final Executor executor) {
+        notNull(executor, "executor").execute(this::write);
+    }
+
+    /**
+     * @return dataset being written when the archive failed or null when it failed while writing the manifest
+     */
+    DatasetManifest getFailedDataset() {
+        return failedDataset;
+    }
+
+    /**
+     * @return failure of writing the archive or null
+     */
+    Throwable getFailure() {
+        return failure;
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+        checkFailure();
+        final int read = super.read();
+        if (read < 0) {
+            checkFailure();
+        }
+        return read;
+    }
+
+    @Override
+    public synchronized int read(final byte[] b, final int off, final int len) throws IOException {
+        checkFailure();
+        final int read = super.read(b, off, len);
+        if (read < 0) {
+            checkFailure();
+        }
+        return read;
+    }
+
+    private void checkFailure() throws IOException {
+        if (failure != null) {
+            final DatasetManifest dataset = failedDataset;
+            throw new IOException(dataset != null
+                    ? "Unable to compress dataset " + dataset.getDataSet()
+                    : "Unable to compress dataset manifest", failure);
+        }
+    }
+
+    private void write() {
+        final ZipOutputStream zip = new ZipOutputStream(output);
+        DatasetManifest current = null;
+        try {
+            for (DatasetManifest dataset : datasets) {
+                current = dataset;
+                final ProgressInputStream source = new ProgressInputStream(dataset, listener);
+                zip.putNextEntry(new ZipEntry(dataset.getFile()));
+                StreamUtils.copy(source, zip);
+                zip.closeEntry();
+                listener.uploadFinished(dataset, source.getUploaded());
+            }
+            current = null;
+            zip.putNextEntry(new ZipEntry(manifestFileName));
+            zip.write(manifest);
+            zip.closeEntry();
+            zip.finish();
+        } catch (Throwable e) {
+            // recorded before the pipe is closed, so the reader never sees end of truncated archive
+            failedDataset = current;
+            failure = e;
+        } finally {
+            try {
+                output.close();
+            } catch (IOException ignored) {
+                // the reader has closed the pipe
+            }
+        }
+    }
+}
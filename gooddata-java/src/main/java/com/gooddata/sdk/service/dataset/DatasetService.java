@@ -15,8 +15,11 @@ import com.gooddata.sdk.model.project.Project;
 import com.gooddata.sdk.service.*;
 import com.gooddata.sdk.service.gdc.DataStoreException;
 import com.gooddata.sdk.service.gdc.DataStoreService;
+import com.gooddata.sdk.service.util.SharedExecutors;
 import com.gooddata.sdk.service.project.model.ModelService;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
@@ -28,11 +31,20 @@ import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 import static com.gooddata.sdk.common.util.Validate.notEmpty;
 import static com.gooddata.sdk.common.util.Validate.notNull;
 import static com.gooddata.sdk.common.util.Validate.notNullState;
+import static com.gooddata.sdk.service.util.SharedExecutors.daemonThreadFactory;
 import static java.lang.String.format;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
@@ -46,16 +58,54 @@ public class DatasetService extends AbstractService {
 
     public static final UriTemplate UPLOADS_INFO_TEMPLATE = new UriTemplate(UploadsInfo.URI);
     private static final String MANIFEST_FILE_NAME = "upload_info.json";
+    private static final String ARCHIVE_FILE_NAME = "upload.zip";
     private static final String ETL_PULL_DEFAULT_ERROR_MESSAGE = "ETL Pull failed with status %s";
 
+    private final Logger logger = LoggerFactory.getLogger(DatasetService.class);
+
     private final DataStoreService dataStoreService;
+    private final List<Consumer<? super Project>> dataUpdateListeners = new CopyOnWriteArrayList<>();
 
     public DatasetService(final RestTemplate restTemplate, final DataStoreService dataStoreService,
                           final GoodDataSettings settings) {
-        super(restTemplate, settings);
+        this(restTemplate, null, dataStoreService, settings);
+    }
+
+    /**
+     * Constructs service supporting also non-blocking variants of its methods.
+     * @param restTemplate        RESTful HTTP Spring template
+     * @param asyncRestOperations non-blocking REST operations
+     * @param dataStoreService    data store service (can be null when WebDAV is not supported)
+     * @param settings            settings
+     */
+    public DatasetService(final RestTemplate restTemplate, final AsyncRestOperations asyncRestOperations,
+                          final DataStoreService dataStoreService, final GoodDataSettings settings) {
+        super(restTemplate, asyncRestOperations, settings);
         this.dataStoreService = dataStoreService;
     }
 
+    /**
+     * Registers listener notified when the data of a project were successfully updated by this service, i.e. when
+     * the task of {@link #loadDatasets(Project, Collection)} or {@link #updateProjectData(Project, String)} finished.
+     * Can be used e.g. to invalidate the results computed from the former data. The listener is called after the
+     * result of the task is set, its failure is logged and doesn't affect the task.
+     *
+     * @param listener listener called with the updated project
+     */
+    public void addDataUpdateListener(final Consumer<? super Project> listener) {
+        dataUpdateListeners.add(notNull(listener, "listener"));
+    }
+
+    private void notifyDataUpdated(final Project project) {
+        for (Consumer<? super Project> listener : dataUpdateListeners) {
+            try {
+                listener.accept(project);
+            } catch (RuntimeException e) {
+                logger.warn("Data update listener failed for project {}", project.getId(), e);
+            }
+        }
+    }
+
     /**
      * Obtains manifest from given project by given datasetId
      *
@@ -82,6 +132,56 @@ public class DatasetService extends AbstractService {
         }
     }
 
+    /**
+     * Obtains manifest from given project by given datasetId without blocking the calling thread.
+     *
+     * @param project   project to which manifest belongs
+     * @param datasetId id of dataset
+     * @return future of manifest for dataset, completed exceptionally the same way as
+     * {@link #getDatasetManifest(Project, String)}
+     * @throws UnsupportedOperationException if the service doesn't support non-blocking calls
+     */
+    public CompletableFuture<DatasetManifest> getDatasetManifestAsync(Project project, String datasetId) {
+        notNull(project, "project");
+        notNull(project.getId(), "project.id");
+        notEmpty(datasetId, "datasetId");
+        return getAsyncRestOperations().getForObject(DatasetManifest.URI, DatasetManifest.class, project.getId(), datasetId)
+                .handle((manifest, e) -> {
+                    if (e == null) {
+                        return manifest;
+                    }
+                    final Throwable cause = unwrap(e);
+                    if (cause instanceof GoodDataRestException && ((GoodDataRestException) cause).getStatusCode() == 404) {
+                        throw new DatasetNotFoundException(datasetId, (GoodDataRestException) cause);
+                    }
+                    throw new DatasetException("Unable to get manifest", datasetId, cause);
+                });
+    }
+
+    /**
+     * Lists datasets (links) in project without blocking the calling thread.
+     *
+     * @param project project to list datasets in
+     * @return future of collection of dataset links or empty list
+     * @throws UnsupportedOperationException if the service doesn't support non-blocking calls
+     * @see #listDatasetLinks(Project)
+     */
+    public CompletableFuture<Collection<Link>> listDatasetLinksAsync(final Project project) {
+        notNull(project, "project");
+        notNull(project.getId(), "project.id");
+        return getAsyncRestOperations().getForObject(DatasetLinks.URI, DatasetLinks.class, project.getId())
+                .handle((result, e) -> {
+                    if (e != null) {
+                        throw new GoodDataException("Unable to list datasets for project " + project.getId(), unwrap(e));
+                    }
+                    if (result == null) {
+                        throw new GoodDataException("Unable to list datasets for project " + project.getId(),
+                                new GoodDataException("Empty response from API call"));
+                    }
+                    return result.getLinks() == null ? emptyList() : result.getLinks();
+                });
+    }
+
     /**
      * Loads dataset into platform. Uploads given dataset and manifest to staging area and triggers ETL pull.
      * The call is asynchronous returning {@link FutureResult} to let caller wait for results.
@@ -135,26 +235,77 @@ public class DatasetService extends AbstractService {
      * in case the ETL pull task fails
      * @throws DatasetException if there is a problem to serialize manifest or upload dataset
      * @see <a href="https://developer.gooddata.com/article/multiload-of-csv-data">batch upload reference</a>
+     * @see #loadDatasets(Project, Collection, DatasetUploadListener)
      */
     public FutureResult<Void> loadDatasets(final Project project, final Collection<DatasetManifest> datasets) {
+        return loadDatasets(project, datasets, new DatasetUploadListener() {});
+    }
+
+    /**
+     * Loads datasets into platform. Uploads given datasets and their manifests to staging area and triggers ETL pull.
+     * The call is asynchronous returning {@link FutureResult} to let caller wait for results.
+     * Uploaded files are deleted from staging area when finished.
+     * <p>
+     * Sources of the datasets are uploaded in parallel, at most {@link GoodDataSettings#getUploadConcurrency()}
+     * at once. All the sources are attempted to upload even when some of them fail, the manifest is uploaded and
+     * the ETL pull triggered as soon as all of them are uploaded successfully.
+     *
+     * @param project  project to which dataset belongs
+     * @param datasets map dataset manifests
+     * @param listener listener notified about progress of the uploads
+     * @return {@link FutureResult} of the task, which can throw {@link DatasetException}
+     * in case the ETL pull task fails
+     * @throws DatasetException if there is a problem to serialize manifest or upload datasets, in the latter case
+     * it contains names of all datasets which failed to upload and their failures (as suppressed exceptions)
+     * @see <a href="https://developer.gooddata.com/article/multiload-of-csv-data">batch upload reference</a>
+     * @see #loadDatasets(Project, Collection, DatasetUploadMode, DatasetUploadListener)
+     */
+    public FutureResult<Void> loadDatasets(final Project project, final Collection<DatasetManifest> datasets,
+                                           final DatasetUploadListener listener) {
+        return loadDatasets(project, datasets, DatasetUploadMode.FILES, listener);
+    }
+
+    /**
+     * Loads datasets into platform. Uploads given datasets and their manifests to staging area the given way and
+     * triggers ETL pull. The call is asynchronous returning {@link FutureResult} to let caller wait for results.
+     * Uploaded files are deleted from staging area when finished.
+     * <p>
+     * In {@link DatasetUploadMode#ZIP} mode the datasets are compressed one by one into single archive as it's being
+     * uploaded, the dataset is reported to the listener as finished once its source is compressed.
+     *
+     * @param project  project to which dataset belongs
+     * @param datasets map dataset manifests
+     * @param mode     way the datasets are uploaded
+     * @param listener listener notified about progress of the uploads
+     * @return {@link FutureResult} of the task, which can throw {@link DatasetException}
+     * in case the ETL pull task fails
+     * @throws DatasetException if there is a problem to serialize manifest or upload datasets
+     * @see #loadDatasets(Project, Collection, DatasetUploadListener)
+     */
+    public FutureResult<Void> loadDatasets(final Project project, final Collection<DatasetManifest> datasets,
+                                           final DatasetUploadMode mode, final DatasetUploadListener listener) {
         if (dataStoreService == null) {
             throw new UnsupportedOperationException("WebDAV calls not supported. Please add com.github.lookfirst:sardine to dependencies.");
         }
 
         notNull(project, "project");
+        notNull(mode, "mode");
+        notNull(listener, "listener");
         validateUploadManifests(datasets);
         final List<String> datasetsNames = new ArrayList<>(datasets.size());
+        for (DatasetManifest datasetManifest : datasets) {
+            datasetsNames.add(datasetManifest.getDataSet());
+        }
         try {
             final String dirPath = "/" + project.getId() + "_" + RandomStringUtils.randomAlphabetic(3) + "/";
-            for (DatasetManifest datasetManifest : datasets) {
-                datasetsNames.add(datasetManifest.getDataSet());
-                dataStoreService.upload(dirPath + datasetManifest.getFile(), datasetManifest.getSource());
+            final byte[] manifestJson = mapper.writeValueAsString(new DatasetManifests(datasets)).getBytes(UTF_8);
+            if (mode == DatasetUploadMode.ZIP) {
+                uploadArchive(dirPath, datasets, manifestJson, listener);
+            } else {
+                uploadSources(dirPath, datasets, listener);
+                dataStoreService.upload(dirPath + MANIFEST_FILE_NAME, new ByteArrayInputStream(manifestJson));
             }
 
-            final String manifestJson = mapper.writeValueAsString(new DatasetManifests(datasets));
-            final ByteArrayInputStream inputStream = new ByteArrayInputStream(manifestJson.getBytes(UTF_8));
-            dataStoreService.upload(dirPath + MANIFEST_FILE_NAME, inputStream);
-
             return pullLoad(project, dirPath, datasetsNames);
         } catch (IOException e) {
             throw new DatasetException("Unable to serialize manifest", datasetsNames, e);
@@ -163,6 +314,134 @@ public class DatasetService extends AbstractService {
         }
     }
 
+    /**
+     * Loads datasets into platform without blocking the calling thread. The datasets are uploaded to the staging area
+     * by a background thread (WebDAV calls are blocking), the ETL pull task is then polled without blocking
+     * when the service supports non-blocking calls. Cancelling the returned future stops the polling, upload already
+     * in progress is finished.
+     *
+     * @param project  project to which dataset belongs
+     * @param datasets map dataset manifests
+     * @param mode     way the datasets are uploaded
+     * @param listener listener notified about progress of the uploads
+     * @return future completed when the datasets are loaded, completed exceptionally by {@link DatasetException}
+     * when the upload or the ETL pull task fails
+     * @throws UnsupportedOperationException if WebDAV calls are not supported
+     * @see #loadDatasets(Project, Collection, DatasetUploadMode, DatasetUploadListener)
+     */
+    public CompletableFuture<Void> loadDatasetsAsync(final Project project, final Collection<DatasetManifest> datasets,
+                                                     final DatasetUploadMode mode,
+                                                     final DatasetUploadListener listener) {
+        if (dataStoreService == null) {
+            throw new UnsupportedOperationException("WebDAV calls not supported. Please add com.github.lookfirst:sardine to dependencies.");
+        }
+        notNull(project, "project");
+        notNull(mode, "mode");
+        notNull(listener, "listener");
+        validateUploadManifests(datasets);
+        final CompletableFuture<CompletableFuture<Void>> upload = CompletableFuture.supplyAsync(
+                () -> toNonBlockingFuture(loadDatasets(project, datasets, mode, listener)),
+                SharedExecutors.getBlockingCalls());
+        final CompletableFuture<Void> load = upload.thenCompose(polling -> polling);
+        load.whenComplete((result, e) -> {
+            if (load.isCancelled()) {
+                upload.thenAccept(polling -> polling.cancel(false));
+            }
+        });
+        return load;
+    }
+
+    /**
+     * Loads datasets into platform without blocking the calling thread, uploading the sources as separate files.
+     *
+     * @param project  project to which dataset belongs
+     * @param datasets map dataset manifests
+     * @return future completed when the datasets are loaded, completed exceptionally by {@link DatasetException}
+     * when the upload or the ETL pull task fails
+     * @see #loadDatasetsAsync(Project, Collection, DatasetUploadMode, DatasetUploadListener)
+     */
+    public CompletableFuture<Void> loadDatasetsAsync(final Project project, final Collection<DatasetManifest> datasets) {
+        return loadDatasetsAsync(project, datasets, DatasetUploadMode.FILES, new DatasetUploadListener() {});
+    }
+
+    private void uploadSources(final String dirPath, final Collection<DatasetManifest> datasets,
+                               final DatasetUploadListener listener) {
+        final int concurrency = Math.min(datasets.size(),
+                Math.min(getSettings().getUploadConcurrency(), getSettings().getMaxConnections()));
+        final ExecutorService executor = concurrency > 1 ? createUploadExecutor(concurrency) : null;
+        try {
+            final Map<DatasetManifest, CompletableFuture<Void>> uploads = new LinkedHashMap<>(datasets.size());
+            for (DatasetManifest datasetManifest : datasets) {
+                uploads.put(datasetManifest, CompletableFuture.runAsync(
+                        () -> uploadSource(dirPath, datasetManifest, listener),
+                        executor != null ? executor : Runnable::run));
+            }
+
+            final List<String> failedDatasets = new ArrayList<>();
+            Throwable failure = null;
+            for (Map.Entry<DatasetManifest, CompletableFuture<Void>> upload : uploads.entrySet()) {
+                try {
+                    upload.getValue().join();
+                } catch (CompletionException e) {
+                    failedDatasets.add(upload.getKey().getDataSet());
+                    final Throwable cause = unwrap(e);
+                    if (failure == null) {
+                        failure = cause;
+                    } else if (failure != cause) {
+                        failure.addSuppressed(cause);
+                    }
+                }
+            }
+            if (!failedDatasets.isEmpty()) {
+                throw new DatasetException("Unable to upload", failedDatasets, failure);
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private void uploadArchive(final String dirPath, final Collection<DatasetManifest> datasets,
+                               final byte[] manifestJson, final DatasetUploadListener listener) throws IOException {
+        final ExecutorService executor = createUploadExecutor(1);
+        try (DatasetArchiveInputStream archive =
+                     new DatasetArchiveInputStream(datasets, MANIFEST_FILE_NAME, manifestJson, listener)) {
+            archive.start(executor);
+            try {
+                dataStoreService.upload(dirPath + ARCHIVE_FILE_NAME, archive);
+            } catch (DataStoreException e) {
+                final DatasetManifest failedDataset = archive.getFailedDataset();
+                if (failedDataset == null) {
+                    throw e;
+                }
+                final Throwable failure = archive.getFailure();
+                final DatasetException exception =
+                        new DatasetException("Unable to upload", failedDataset.getDataSet(), failure);
+                listener.uploadFailed(failedDataset, failure instanceof Exception ? (Exception) failure : exception);
+                throw exception;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void uploadSource(final String dirPath, final DatasetManifest datasetManifest,
+                              final DatasetUploadListener listener) {
+        final ProgressInputStream source = new ProgressInputStream(datasetManifest, listener);
+        try {
+            dataStoreService.upload(dirPath + datasetManifest.getFile(), source);
+        } catch (RuntimeException e) {
+            listener.uploadFailed(datasetManifest, e);
+            throw e;
+        }
+        listener.uploadFinished(datasetManifest, source.getUploaded());
+    }
+
+    private static ExecutorService createUploadExecutor(final int concurrency) {
+        return Executors.newFixedThreadPool(concurrency, daemonThreadFactory("gooddata-upload-"));
+    }
+
     private void validateUploadManifests(final Collection<DatasetManifest> datasets) {
         notEmpty(datasets, "datasets");
         for (DatasetManifest datasetManifest : datasets) {
@@ -178,7 +457,7 @@ public class DatasetService extends AbstractService {
         }
     }
 
-    private FutureResult<Void> pullLoad(Project project, final String dirPath, final Collection<String> datasets) {
+    private FutureResult<Void> pullLoad(final Project project, final String dirPath, final Collection<String> datasets) {
         notNull(project.getId(), "project.id");
         final PullTask pullTask = restTemplate
                 .postForObject(Pull.URI, new Pull(dirPath), PullTask.class, project.getId());
@@ -194,6 +473,7 @@ public class DatasetService extends AbstractService {
                     throw new DatasetException(message, datasets);
                 }
                 setResult(null);
+                notifyDataUpdated(project);
             }
 
             @Override
@@ -309,6 +589,7 @@ public class DatasetService extends AbstractService {
                     throw new GoodDataException(errorMessage);
                 }
                 setResult(null);
+                notifyDataUpdated(project);
             }
 
             @Override
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.dataset;
+
+import com.gooddata.sdk.model.dataset.DatasetManifest;
+
+/**
+ * Listener notified about progress of uploading dataset sources to the staging area performed by
+ * {@link DatasetService#loadDatasets(com.gooddata.sdk.model.project.Project, java.util.Collection, DatasetUploadListener)}.
+ * Sources are uploaded in parallel, so the methods can be called concurrently from multiple threads.
+ */
+public interface DatasetUploadListener {
+
+    /**
+     * Called whenever another part of the dataset source is uploaded.
+     *
+     * @param dataset       dataset being uploaded
+     * @param uploadedBytes total number of bytes of the source uploaded so far
+     */
+    default void uploadProgress(DatasetManifest dataset, long uploadedBytes) {
+    }
+
+    /**
+     * Called when the dataset source is successfully uploaded.
+     *
+     * @param dataset       uploaded dataset
+     * @param uploadedBytes total number of bytes of the source
+     */
+    default void uploadFinished(DatasetManifest dataset, long uploadedBytes) {
+    }
+
+    /**
+     * Called when the upload of the dataset source fails.
+     *
+     * @param dataset dataset which failed to upload
+     * @param cause   the failure
+     */
+    default void uploadFailed(DatasetManifest dataset, Exception cause) {
+    }
+}
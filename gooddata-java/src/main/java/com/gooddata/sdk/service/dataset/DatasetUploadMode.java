@@ -0,0 +1,23 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.dataset;
+
+/**
+ * Way the datasets are uploaded to the staging area by {@link DatasetService}.
+ */
+public enum DatasetUploadMode {
+
+    /**
+     * Each dataset source and the manifest is uploaded as a separate file, the sources are uploaded in parallel.
+     */
+    FILES,
+
+    /**
+     * All dataset sources together with the manifest are compressed on the fly into single ZIP archive
+     * streamed to the staging area. No temporary file is created.
+     */
+    ZIP
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.dataset;
+
+import com.gooddata.sdk.model.dataset.DatasetManifest;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+
+/**
+ * Reports bytes read from the dataset source (i.e. uploaded) to the {@link DatasetUploadListener}.
+ */
+class ProgressInputStream extends FilterInputStream {
+
+    private final DatasetManifest datasetManifest;
+    private final DatasetUploadListener listener;
+    private long uploaded;
+
+    ProgressInputStream(final DatasetManifest datasetManifest, final DatasetUploadListener listener) {
+        super(datasetManifest.getSource());
+        this.datasetManifest = datasetManifest;
+        this.listener = listener;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int read = super.read();
+        if (read >= 0) {
+            progress(1);
+        }
+        return read;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        final int read = super.read(b, off, len);
+        if (read > 0) {
+            progress(read);
+        }
+        return read;
+    }
+
+    /**
+     * @return number of bytes read so far
+     */
+    long getUploaded() {
+        return uploaded;
+    }
+
+    private void progress(final int read) {
+        uploaded += read;
+        listener.uploadProgress(datasetManifest, uploaded);
+    }
+}
@@ -5,20 +5,59 @@
  */
 package com.gooddata.sdk.service.executeafm;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.gooddata.sdk.common.GoodDataException;
 import com.gooddata.sdk.common.GoodDataRestException;
 import com.gooddata.sdk.model.executeafm.Execution;
+import com.gooddata.sdk.model.executeafm.ExecutionCanonicalizer;
+import com.gooddata.sdk.model.executeafm.IdentifierObjQualifier;
 import com.gooddata.sdk.model.executeafm.ResultPage;
+import com.gooddata.sdk.model.executeafm.UriObjQualifier;
 import com.gooddata.sdk.model.executeafm.VisualizationExecution;
 import com.gooddata.sdk.model.executeafm.response.ExecutionResponse;
 import com.gooddata.sdk.model.executeafm.result.ExecutionResult;
+import com.gooddata.sdk.model.md.Obj;
+import com.gooddata.sdk.model.md.visualization.VisualizationClass;
+import com.gooddata.sdk.model.md.visualization.VisualizationConverter;
+import com.gooddata.sdk.model.md.visualization.VisualizationObject;
 import com.gooddata.sdk.model.project.Project;
 import com.gooddata.sdk.service.*;
+import com.gooddata.sdk.service.md.MetadataService;
+import com.gooddata.sdk.service.md.ObjNotFoundException;
+import com.gooddata.sdk.service.util.SharedExecutors;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.gooddata.sdk.common.util.Validate.noNullElements;
 import static com.gooddata.sdk.common.util.Validate.notNull;
+import static com.gooddata.sdk.common.util.Validate.notNullState;
+import static org.springframework.util.Assert.isTrue;
 
 /**
  * Service for executing reports with new visualization structures like AFM or Visualization Object.
@@ -49,6 +88,12 @@ public class ExecuteAfmService extends AbstractService {
      */
     public static final String RESULT_LIMIT = "limit";
 
+    private final ConcurrentMap<String, CompletableFuture<ExecutionResponse>> pendingExecutions =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CoalescedResult> pendingResults = new ConcurrentHashMap<>();
+    private final ExecutionResultCache resultCache;
+    private final MetadataService metadataService;
+
     /**
      * Constructor.
      * @param restTemplate rest template
@@ -56,21 +101,98 @@ public class ExecuteAfmService extends AbstractService {
      */
     public ExecuteAfmService(final RestTemplate restTemplate, final GoodDataSettings settings) {
         super(restTemplate, settings);
+        this.resultCache = createResultCache(settings);
+        this.metadataService = null;
+    }
+
+    /**
+     * Constructor of service supporting also non-blocking variants of its methods.
+     * @param restTemplate        rest template
+     * @param asyncRestOperations non-blocking REST operations
+     * @param settings            settings
+     */
+    public ExecuteAfmService(final RestTemplate restTemplate, final AsyncRestOperations asyncRestOperations,
+                             final GoodDataSettings settings) {
+        this(restTemplate, asyncRestOperations, null, settings);
+    }
+
+    /**
+     * Constructor of service supporting also non-blocking variants of its methods, which resolves identifiers
+     * of the executions by the given metadata service when {@link GoodDataSettings#isExecutionCanonicalization()}.
+     * @param restTemplate        rest template
+     * @param asyncRestOperations non-blocking REST operations
+     * @param metadataService     metadata service resolving identifiers, null to keep the identifiers
+     * @param settings            settings
+     */
+    public ExecuteAfmService(final RestTemplate restTemplate, final AsyncRestOperations asyncRestOperations,
+                             final MetadataService metadataService, final GoodDataSettings settings) {
+        super(restTemplate, asyncRestOperations, settings);
+        this.resultCache = createResultCache(settings);
+        this.metadataService = metadataService;
+    }
+
+    private static ExecutionResultCache createResultCache(final GoodDataSettings settings) {
+        return settings.getExecutionResultCacheSettings() != null
+                ? new ExecutionResultCache(settings.getExecutionResultCacheSettings())
+                : null;
     }
 
     /**
-     * Executes the given AFM execution returning the execution response
+     * Cache of execution results used by {@link #getExecutionResult(Project, Execution, ResultPage)}, configured
+     * by {@link GoodDataSettings#setExecutionResultCacheSettings(ExecutionResultCacheSettings)}.
+     *
+     * @return execution result cache or empty when the results are not cached
+     */
+    public Optional<ExecutionResultCache> getResultCache() {
+        return Optional.ofNullable(resultCache);
+    }
+
+    /**
+     * Executes the given AFM execution returning the execution response.
+     * When {@link GoodDataSettings#isExecutionCoalescing()} is enabled, identical execution of the same project already
+     * in flight is not posted again, its response is returned instead.
+     * When {@link GoodDataSettings#isExecutionCanonicalization()} is enabled, the execution is posted in its canonical
+     * form, see {@link ExecutionCanonicalizer}. The identifiers it contains are then resolved to URIs first, which
+     * costs one more request per execution unless they're served by
+     * {@link MetadataService#getIdentifierCache()}.
      * @param project project of the execution
      * @param execution execution
      * @return response of the submitted execution
      */
     public ExecutionResponse executeAfm(final Project project, final Execution execution) {
         final String projectId = notNull(notNull(project, "project").getId(), "projectId");
+        return executeCanonicalAfm(projectId, canonicalize(project, notNull(execution, "execution")));
+    }
+
+    private ExecutionResponse executeCanonicalAfm(final String projectId, final Execution execution) {
+        if (!getSettings().isExecutionCoalescing()) {
+            return postAfm(projectId, execution);
+        }
+
+        final String fingerprint = ExecutionFingerprint.of(projectId, execution);
+        final CompletableFuture<ExecutionResponse> flight = new CompletableFuture<>();
+        final CompletableFuture<ExecutionResponse> pending = pendingExecutions.putIfAbsent(fingerprint, flight);
+        if (pending != null) {
+            return join(pending);
+        }
+        try {
+            final ExecutionResponse response = postAfm(projectId, execution);
+            flight.complete(response);
+            return response;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingExecutions.remove(fingerprint, flight);
+        }
+    }
+
+    private ExecutionResponse postAfm(final String projectId, final Execution execution) {
         final ExecutionResponse response;
         try {
             response = restTemplate.postForObject(
                     AFM_EXECUTION_URI,
-                    notNull(execution, "execution"),
+                    execution,
                     ExecutionResponse.class,
                     projectId);
         } catch (GoodDataException | RestClientException e) {
@@ -84,6 +206,53 @@ public class ExecuteAfmService extends AbstractService {
         return response;
     }
 
+    /**
+     * Executes the given AFM execution without blocking the calling thread
+     * @param project project of the execution
+     * @param execution execution
+     * @return future of response of the submitted execution
+     * @throws UnsupportedOperationException if the service doesn't support non-blocking calls
+     * @see #executeAfm(Project, Execution)
+     */
+    public CompletableFuture<ExecutionResponse> executeAfmAsync(final Project project, final Execution execution) {
+        final String projectId = notNull(notNull(project, "project").getId(), "projectId");
+        notNull(execution, "execution");
+        if (!getSettings().isExecutionCanonicalization()) {
+            return executeCanonicalAfmAsync(projectId, execution);
+        }
+        return canonicalizeAsync(project, execution)
+                .thenCompose(canonical -> executeCanonicalAfmAsync(projectId, canonical));
+    }
+
+    private CompletableFuture<ExecutionResponse> executeCanonicalAfmAsync(final String projectId,
+                                                                          final Execution execution) {
+        if (!getSettings().isExecutionCoalescing()) {
+            return postExecutionAsync(AFM_EXECUTION_URI, execution, projectId, "Unable to execute AFM");
+        }
+
+        final String fingerprint = ExecutionFingerprint.of(projectId, execution);
+        final CompletableFuture<ExecutionResponse> pending = pendingExecutions.get(fingerprint);
+        if (pending != null) {
+            return pending.thenApply(Function.identity());
+        }
+        final CompletableFuture<ExecutionResponse> flight = new CompletableFuture<>();
+        final CompletableFuture<ExecutionResponse> raced = pendingExecutions.putIfAbsent(fingerprint, flight);
+        if (raced != null) {
+            return raced.thenApply(Function.identity());
+        }
+        postExecutionAsync(AFM_EXECUTION_URI, execution, projectId, "Unable to execute AFM")
+                .whenComplete((response, e) -> {
+                    pendingExecutions.remove(fingerprint, flight);
+                    if (e != null) {
+                        flight.completeExceptionally(unwrap(e));
+                    } else {
+                        flight.complete(response);
+                    }
+                });
+        // dependent stage, so cancelling by one caller doesn't fail the execution shared with other callers
+        return flight.thenApply(Function.identity());
+    }
+
     /**
      * Executes the given execution returning the execution response
      * @param project project of the execution
@@ -110,13 +279,281 @@ public class ExecuteAfmService extends AbstractService {
         return response;
     }
 
+    /**
+     * Executes the given execution without blocking the calling thread
+     * @param project project of the execution
+     * @param execution execution
+     * @return future of response of the submitted execution
+     * @throws UnsupportedOperationException if the service doesn't support non-blocking calls
+     * @see #executeVisualization(Project, VisualizationExecution)
+     */
+    public CompletableFuture<ExecutionResponse> executeVisualizationAsync(final Project project,
+                                                                          final VisualizationExecution execution) {
+        final String projectId = notNull(notNull(project, "project").getId(), "projectId");
+        return postExecutionAsync(VISUALIZATION_EXECUTION_URI, notNull(execution, "execution"), projectId,
+                "Unable to execute visualization");
+    }
+
+    private CompletableFuture<ExecutionResponse> postExecutionAsync(final String uri, final Object execution,
+                                                                    final String projectId, final String errorMessage) {
+        return getAsyncRestOperations().postForObject(uri, execution, ExecutionResponse.class, projectId)
+                .handle((response, e) -> {
+                    if (e != null) {
+                        throw new GoodDataException(errorMessage, unwrap(e));
+                    }
+                    if (response == null) {
+                        throw new GoodDataException("Empty response when execution posted to API");
+                    }
+                    return response;
+                });
+    }
+
+    /**
+     * Executes the given AFM execution and gets the given page of its result, waiting for the result to be computed.
+     * The result is served from the {@link #getResultCache()} if configured, identical execution of the same project
+     * and page is then not posted again until the cached result expires or the project data are invalidated.
+     * Executions are identified in their canonical form when {@link GoodDataSettings#isExecutionCanonicalization()}.
+     * @param project project of the execution
+     * @param execution execution
+     * @param page desired result page specification
+     * @return execution result
+     * @throws ExecutionResultException when the result can't be computed
+     */
+    public ExecutionResult getExecutionResult(final Project project, final Execution execution, final ResultPage page) {
+        final String projectId = notNull(notNull(project, "project").getId(), "projectId");
+        notNull(execution, "execution");
+        notNull(page, "page");
+        final Execution canonical = canonicalize(project, execution);
+        if (resultCache == null) {
+            return getResult(executeCanonicalAfm(projectId, canonical), page).get();
+        }
+
+        final String fingerprint = ExecutionFingerprint.of(projectId, canonical, page);
+        final InputStream cached = resultCache.get(fingerprint);
+        if (cached != null) {
+            return readCachedResult(cached);
+        }
+        final long generation = resultCache.getGeneration();
+        final ExecutionResult result = getResult(executeCanonicalAfm(projectId, canonical), page).get();
+        cacheResult(projectId, fingerprint, result, generation);
+        return result;
+    }
+
+    private ExecutionResult readCachedResult(final InputStream cached) {
+        try {
+            return getObjectMapper().readValue(cached, ExecutionResult.class);
+        } catch (IOException e) {
+            throw new GoodDataException("Unable to read cached execution result", e);
+        }
+    }
+
+    private void cacheResult(final String projectId, final String fingerprint, final ExecutionResult result,
+                             final long generation) {
+        try {
+            resultCache.put(projectId, fingerprint, getObjectMapper().writeValueAsBytes(result), generation);
+        } catch (JsonProcessingException e) {
+            throw new GoodDataException("Unable to cache execution result", e);
+        }
+    }
+
+    /**
+     * Executes visualization objects, e.g. those rendered by widgets of an
+     * {@link com.gooddata.sdk.model.md.dashboard.AnalyticalDashboard}, and gets the given page of their results.
+     * The visualization objects and then their visualization classes are loaded by single bulk request each
+     * (chunked by {@link GoodDataSettings#getBulkGetChunkSize()}). The objects are converted to AFM executions
+     * by {@link VisualizationConverter} in parallel by {@link SharedExecutors#getWorkers()} and each execution is
+     * posted as soon as it's converted, without blocking any thread when the service supports non-blocking calls.
+     * The results of all of them are then polled by the shared {@link GoodDataSettings#getPollScheduler()}, so no
+     * thread waits for single result. The results are served from and stored to the {@link #getResultCache()}
+     * the same way as by {@link #getExecutionResult(Project, Execution, ResultPage)}.
+     * @param project project of the visualization objects
+     * @param visualizationObjectUris URIs of the visualization objects
+     * @param page desired result page specification
+     * @return execution results by URIs of the visualization objects, in the order of the URIs
+     * @throws IllegalStateException when the service was created without metadata service
+     * @throws ObjNotFoundException when some of the visualization objects or classes don't exist
+     * @throws ExecutionResultException when some of the results can't be computed
+     */
+    public Map<String, ExecutionResult> executeVisualizationObjects(final Project project,
+                                                                    final Collection<String> visualizationObjectUris,
+                                                                    final ResultPage page) {
+        return executeVisualizationObjects(project, visualizationObjectUris, page, 0, null);
+    }
+
+    /**
+     * Executes visualization objects and gets the given page of their results as
+     * {@link #executeVisualizationObjects(Project, Collection, ResultPage)}, waiting for all the results up to given
+     * time. The pending executions are cancelled when the time expires.
+     * @param project project of the visualization objects
+     * @param visualizationObjectUris URIs of the visualization objects
+     * @param page desired result page specification
+     * @param timeout timeout value
+     * @param unit timeout unit, waits without timeout when null
+     * @return execution results by URIs of the visualization objects, in the order of the URIs
+     * @throws IllegalStateException when the service was created without metadata service
+     * @throws ObjNotFoundException when some of the visualization objects or classes don't exist
+     * @throws ExecutionResultException when some of the results can't be computed
+     * @throws GoodDataException when the timeout expires
+     */
+    public Map<String, ExecutionResult> executeVisualizationObjects(final Project project,
+                                                                    final Collection<String> visualizationObjectUris,
+                                                                    final ResultPage page, final long timeout,
+                                                                    final TimeUnit unit) {
+        notNull(project, "project");
+        noNullElements(visualizationObjectUris, "visualizationObjectUris");
+        notNull(page, "page");
+        notNullState(metadataService, "metadataService");
+        final Set<String> uris = new LinkedHashSet<>(visualizationObjectUris);
+        if (uris.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, VisualizationObject> objects = getObjs(project, uris, VisualizationObject.class);
+        final Map<String, VisualizationClass> classes = getObjs(project, objects.values().stream()
+                .map(VisualizationObject::getVisualizationClassUri)
+                .collect(Collectors.toCollection(LinkedHashSet::new)), VisualizationClass.class);
+
+        final String projectId = notNull(project.getId(), "projectId");
+        final List<CompletableFuture<ExecutionResult>> polls = new CopyOnWriteArrayList<>();
+        final Map<String, CompletableFuture<ExecutionResult>> results = new LinkedHashMap<>();
+        for (String uri : uris) {
+            final VisualizationObject object = objects.get(uri);
+            final VisualizationClass visualizationClass = classes.get(object.getVisualizationClassUri());
+            results.put(uri, CompletableFuture
+                    .supplyAsync(() -> VisualizationConverter.convertToExecution(object, visualizationClass),
+                            SharedExecutors.getWorkers())
+                    .thenCompose(execution -> canonicalizeInBatch(project, execution))
+                    .thenCompose(canonical -> getExecutionResultInBatch(projectId, canonical, page, polls)));
+        }
+        final long deadline = unit != null ? System.currentTimeMillis() + unit.toMillis(timeout) : 0;
+        try {
+            final Map<String, ExecutionResult> executed = new LinkedHashMap<>();
+            results.forEach((uri, result) -> executed.put(uri, unit != null
+                    ? await(result, Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)
+                    : join(result)));
+            return executed;
+        } finally {
+            results.values().forEach(result -> result.cancel(false));
+            polls.forEach(poll -> poll.cancel(false));
+        }
+    }
+
+    private CompletableFuture<Execution> canonicalizeInBatch(final Project project, final Execution execution) {
+        if (!getSettings().isExecutionCanonicalization()) {
+            return CompletableFuture.completedFuture(execution);
+        }
+        return hasAsyncRestOperations()
+                ? canonicalizeAsync(project, execution)
+                : CompletableFuture.supplyAsync(() -> canonicalize(project, execution), SharedExecutors.getBlockingCalls());
+    }
+
+    /**
+     * Gets the result of canonical execution as {@link #getExecutionResult(Project, Execution, ResultPage)}, but
+     * without blocking the calling thread. Polling of the result is added to the given polls, so it can be cancelled.
+     */
+    private CompletableFuture<ExecutionResult> getExecutionResultInBatch(final String projectId,
+                                                                         final Execution canonical,
+                                                                         final ResultPage page,
+                                                                         final List<CompletableFuture<ExecutionResult>> polls) {
+        final String fingerprint = resultCache != null ? ExecutionFingerprint.of(projectId, canonical, page) : null;
+        final long generation;
+        if (resultCache != null) {
+            final InputStream cached = resultCache.get(fingerprint);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(readCachedResult(cached));
+            }
+            generation = resultCache.getGeneration();
+        } else {
+            generation = 0;
+        }
+        final CompletableFuture<ExecutionResponse> executed = hasAsyncRestOperations()
+                ? executeCanonicalAfmAsync(projectId, canonical)
+                : CompletableFuture.supplyAsync(() -> executeCanonicalAfm(projectId, canonical),
+                        SharedExecutors.getBlockingCalls());
+        return executed.thenCompose(response -> {
+            final CompletableFuture<ExecutionResult> poll =
+                    resultAsync(pollResult(pagedResultUri(response.getExecutionResultUri(), page)));
+            polls.add(poll);
+            return poll.thenApply(result -> {
+                if (resultCache != null) {
+                    cacheResult(projectId, fingerprint, result, generation);
+                }
+                return result;
+            });
+        });
+    }
+
+    private <T extends Obj> Map<String, T> getObjs(final Project project, final Collection<String> uris,
+                                                   final Class<T> cls) {
+        final Map<String, T> objs = new HashMap<>();
+        for (Obj obj : metadataService.getObjsByUris(project, uris)) {
+            if (cls.isInstance(obj)) {
+                objs.put(obj.getUri(), cls.cast(obj));
+            }
+        }
+        for (String uri : uris) {
+            if (!objs.containsKey(uri)) {
+                throw new ObjNotFoundException(uri);
+            }
+        }
+        return objs;
+    }
+
+    /**
+     * Normalizes the execution to canonical form when enabled, identifiers are resolved to URIs by single request.
+     * Canonicalization is only an optimization, so the execution is just normalized structurally when the identifiers
+     * can't be resolved.
+     */
+    private Execution canonicalize(final Project project, final Execution execution) {
+        if (!getSettings().isExecutionCanonicalization()) {
+            return execution;
+        }
+        final Set<String> identifiers = getIdentifiers(execution);
+        if (metadataService == null || identifiers.isEmpty()) {
+            return new ExecutionCanonicalizer().canonicalize(execution);
+        }
+        Map<String, String> uris;
+        try {
+            uris = metadataService.identifiersToUris(project, identifiers);
+        } catch (GoodDataException e) {
+            uris = Collections.emptyMap();
+        }
+        return canonicalize(execution, uris);
+    }
+
+    private CompletableFuture<Execution> canonicalizeAsync(final Project project, final Execution execution) {
+        final Set<String> identifiers = getIdentifiers(execution);
+        if (metadataService == null || identifiers.isEmpty()) {
+            return CompletableFuture.completedFuture(new ExecutionCanonicalizer().canonicalize(execution));
+        }
+        return metadataService.identifiersToUrisAsync(project, identifiers)
+                .exceptionally(e -> Collections.emptyMap())
+                .thenApply(uris -> canonicalize(execution, uris));
+    }
+
+    private static Execution canonicalize(final Execution execution, final Map<String, String> uris) {
+        return new ExecutionCanonicalizer(qualifier -> Optional.ofNullable(uris.get(qualifier.getIdentifier()))
+                .map(UriObjQualifier::new))
+                .canonicalize(execution);
+    }
+
+    private static Set<String> getIdentifiers(final Execution execution) {
+        if (execution.getAfm() == null) {
+            return Collections.emptySet();
+        }
+        return ExecutionCanonicalizer.getObjQualifiers(execution.getAfm()).stream()
+                .filter(qualifier -> qualifier instanceof IdentifierObjQualifier)
+                .map(qualifier -> ((IdentifierObjQualifier) qualifier).getIdentifier())
+                .collect(Collectors.toSet());
+    }
+
     /**
      * Get for result of given response.
      * @param executionResponse response to get the result
      * @return future of execution result
      */
     public FutureResult<ExecutionResult> getResult(final ExecutionResponse executionResponse) {
-        return new PollResult<>(this, new ExecutionPollHandler(notNull(executionResponse, "executionResponse").getExecutionResultUri()));
+        return pollResult(notNull(executionResponse, "executionResponse").getExecutionResultUri());
     }
 
     /**
@@ -127,14 +564,229 @@ public class ExecuteAfmService extends AbstractService {
      */
     public FutureResult<ExecutionResult> getResult(final ExecutionResponse executionResponse, final ResultPage page) {
         final String executionResultUri = notNull(executionResponse, "executionResponse").getExecutionResultUri();
+        return pollResult(pagedResultUri(executionResultUri, notNull(page, "page")));
+    }
+
+    /**
+     * Get for result of given response without blocking the calling thread. The result is polled without blocking
+     * when the service supports non-blocking calls, otherwise the blocking polling requests are made by
+     * a background thread. Cancelling the returned future stops the polling.
+     * @param executionResponse response to get the result
+     * @return future of execution result, completed exceptionally by {@link ExecutionResultException} when polling fails
+     * @see #getResult(ExecutionResponse)
+     */
+    public CompletableFuture<ExecutionResult> getResultAsync(final ExecutionResponse executionResponse) {
+        return resultAsync(getResult(executionResponse));
+    }
+
+    /**
+     * Get for page of result of given response without blocking the calling thread.
+     * Cancelling the returned future stops the polling.
+     * @param executionResponse response to get the result
+     * @param page desired result page specification
+     * @return future of execution result, completed exceptionally by {@link ExecutionResultException} when polling fails
+     * @see #getResultAsync(ExecutionResponse)
+     */
+    public CompletableFuture<ExecutionResult> getResultAsync(final ExecutionResponse executionResponse,
+                                                             final ResultPage page) {
+        return resultAsync(getResult(executionResponse, page));
+    }
 
-        final String pagedResultUri = UriComponentsBuilder.fromUriString(executionResultUri)
+    private CompletableFuture<ExecutionResult> resultAsync(final FutureResult<ExecutionResult> result) {
+        return result instanceof CoalescedResult
+                ? ((CoalescedResult) result).subscribe(true)
+                : toNonBlockingFuture(result);
+    }
+
+    private static String pagedResultUri(final String executionResultUri, final ResultPage page) {
+        return UriComponentsBuilder.fromUriString(executionResultUri)
                 .replaceQueryParam(RESULT_OFFSET, page.getOffsetsQueryParam())
                 .replaceQueryParam(RESULT_LIMIT, page.getLimitsQueryParam())
                 .build(true)
                 .toUriString();
+    }
+
+    /**
+     * Creates result polling the given URI. When executions are coalesced, the result being polled is shared by all
+     * the callers asking for the same URI, so it's polled only once.
+     */
+    private FutureResult<ExecutionResult> pollResult(final String uri) {
+        if (!getSettings().isExecutionCoalescing()) {
+            return new PollResult<>(this, new ExecutionPollHandler(uri));
+        }
+        final CoalescedResult pending = pendingResults.get(uri);
+        return pending != null ? pending : new CoalescedResult(uri);
+    }
+
+    /**
+     * Get the whole result of given response assembled from pages of given limits. The first page tells the total size
+     * of the result, remaining pages are then requested in parallel, at most
+     * {@link GoodDataSettings#getResultPageConcurrency()} at once. Data of the pages are placed into single grid,
+     * header items and totals are concatenated per dimension.
+     * @param executionResponse response to get the result
+     * @param pageLimits page limits of the result dimensions, result must have one or two dimensions
+     * @return whole execution result
+     * @throws ExecutionResultException when the result can't be computed
+     */
+    public ExecutionResult getResultGrid(final ExecutionResponse executionResponse, final List<Integer> pageLimits) {
+        final List<ExecutionResult> tiles = new ArrayList<>();
+        final ExecutionResult first = fetchTiles(executionResponse, pageLimits, tiles::add, null);
+        if (first != null) {
+            return first;
+        }
+        return ResultGrid.assemble(tiles);
+    }
 
-        return new PollResult<>(this, new ExecutionPollHandler(pagedResultUri));
+    /**
+     * Get the whole result of given response as blocks of rows, i.e. of items of the first dimension. Each block
+     * contains {@code pageLimits[0]} rows and all the items of the other dimension, its paging tells the position of
+     * the block. Pages are requested as by {@link #getResultGrid(ExecutionResponse, List)}, but only the pages
+     * of the blocks not consumed yet are kept in memory.
+     * @param executionResponse response to get the result
+     * @param pageLimits page limits of the result dimensions, result must have one or two dimensions
+     * @param consumer consumer of the row blocks, called in the order of the rows
+     * @throws ExecutionResultException when the result can't be computed
+     */
+    public void getResultRowBlocks(final ExecutionResponse executionResponse, final List<Integer> pageLimits,
+                                   final Consumer<? super ExecutionResult> consumer) {
+        notNull(consumer, "consumer");
+        final List<ExecutionResult> block = new ArrayList<>();
+        final ExecutionResult first = fetchTiles(executionResponse, pageLimits, block::add, () -> {
+            consumer.accept(ResultGrid.assemble(block));
+            block.clear();
+        });
+        if (first != null) {
+            consumer.accept(first);
+        }
+    }
+
+    /**
+     * Fetches the first page and then all the remaining pages in parallel, handing them to the consumer in row-major
+     * order, notifying end of each row of pages.
+     * @return the first page when it's the whole result or lacks paging, null otherwise
+     */
+    private ExecutionResult fetchTiles(final ExecutionResponse executionResponse, final List<Integer> pageLimits,
+                                       final Consumer<ExecutionResult> tileConsumer, final Runnable rowEnd) {
+        notNull(executionResponse, "executionResponse");
+        noNullElements(pageLimits, "pageLimits");
+        isTrue(pageLimits.size() == 1 || pageLimits.size() == 2, "only results of one or two dimensions are supported");
+        pageLimits.forEach(limit -> isTrue(limit > 0, "pageLimits must be greater than zero"));
+
+        final List<Integer> zeros = Collections.nCopies(pageLimits.size(), 0);
+        final ExecutionResult first = getResult(executionResponse, new ResultPage(zeros, pageLimits)).get();
+        if (first.getPaging() == null || first.getPaging().getTotal() == null) {
+            return first;
+        }
+        final List<Integer> totals = first.getPaging().getTotal();
+        isTrue(totals.size() == pageLimits.size(), "pageLimits must match the result dimensions");
+        final List<ResultPage> pages = ResultGrid.tile(totals, pageLimits);
+        if (pages.size() == 1) {
+            return first;
+        }
+
+        final int rowLength = pageLimits.size() == 1
+                ? 1 : Math.max(1, (totals.get(1) + pageLimits.get(1) - 1) / pageLimits.get(1));
+        final Iterator<ResultPage> remaining = pages.subList(1, pages.size()).iterator();
+        final Deque<CompletableFuture<ExecutionResult>> pending = new ArrayDeque<>();
+        final int concurrency = getSettings().getResultPageConcurrency();
+        try {
+            ExecutionResult tile = first;
+            for (int index = 0; tile != null; index++) {
+                while (pending.size() < concurrency && remaining.hasNext()) {
+                    final ResultPage page = remaining.next();
+                    // polled by the poll scheduler, so no thread waits for the page between the attempts
+                    pending.add(getResultAsync(executionResponse, page));
+                }
+                tileConsumer.accept(tile);
+                if (rowEnd != null && (index + 1) % rowLength == 0) {
+                    rowEnd.run();
+                }
+                tile = pending.isEmpty() ? null : join(pending.poll());
+            }
+        } finally {
+            pending.forEach(page -> page.cancel(false));
+        }
+        return null;
+    }
+
+    private static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GoodDataException("Unable to execute AFM", e.getCause());
+        }
+    }
+
+    /**
+     * Result polled once for all the callers asking for the same URI. The polling starts when the result is first
+     * requested, not when it's created. Each caller waits for its own dependent future, the polling is cancelled when
+     * all of them are cancelled.
+     */
+    private final class CoalescedResult implements FutureResult<ExecutionResult> {
+        private final String uri;
+        private final PollResult<ExecutionResult> polled;
+        private CompletableFuture<ExecutionResult> polling;
+        private int waiting;
+
+        private CoalescedResult(final String uri) {
+            this.uri = uri;
+            this.polled = new PollResult<>(ExecuteAfmService.this, new ExecutionPollHandler(uri));
+        }
+
+        @Override
+        public boolean isDone() {
+            return polled.isDone();
+        }
+
+        @Override
+        public ExecutionResult get() {
+            return get(0, null);
+        }
+
+        @Override
+        public ExecutionResult get(final long timeout, final TimeUnit unit) {
+            return await(toCompletableFuture(), timeout, unit);
+        }
+
+        @Override
+        public CompletableFuture<ExecutionResult> toCompletableFuture() {
+            return subscribe(false);
+        }
+
+        private CompletableFuture<ExecutionResult> subscribe(final boolean nonBlocking) {
+            final CoalescedResult pending = pendingResults.putIfAbsent(uri, this);
+            if (pending != null && pending != this) {
+                return pending.subscribe(nonBlocking);
+            }
+            return doSubscribe(nonBlocking);
+        }
+
+        private synchronized CompletableFuture<ExecutionResult> doSubscribe(final boolean nonBlocking) {
+            if (polling == null || polling.isCancelled()) {
+                polling = nonBlocking ? toNonBlockingFuture(polled) : polled.toCompletableFuture();
+                polling.whenComplete((result, e) -> pendingResults.remove(uri, this));
+            } else if (polling.isDone()) {
+                pendingResults.remove(uri, this);
+            }
+            waiting++;
+            final CompletableFuture<ExecutionResult> dependent = polling.thenApply(Function.identity());
+            dependent.whenComplete((result, e) -> unsubscribe());
+            return dependent;
+        }
+
+        private synchronized void unsubscribe() {
+            if (--waiting == 0 && !polling.isDone()) {
+                polling.cancel(false);
+            }
+        }
+
+        @Override
+        public String getPollingUri() {
+            return polled.getPollingUri();
+        }
     }
 
     private static final class ExecutionPollHandler extends SimplePollHandler<ExecutionResult> {
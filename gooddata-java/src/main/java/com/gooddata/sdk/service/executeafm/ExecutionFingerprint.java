@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.executeafm;
+
+import com.gooddata.sdk.common.GoodDataException;
+import com.gooddata.sdk.model.executeafm.ExecutionCanonicalizer;
+
+import static com.gooddata.sdk.common.util.Validate.noNullElements;
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Computes fingerprints identifying executions, i.e. {@link ExecutionCanonicalizer#hash(Object...)} of the project
+ * and the execution and optionally other parts, like the result page. The JSON is canonical in ordering of properties
+ * and map entries, so equal executions always have equal fingerprints.
+ */
+final class ExecutionFingerprint {
+
+    private ExecutionFingerprint() {
+    }
+
+    /**
+     * @param projectId project of the execution
+     * @param parts     execution object posted to the API and other parts identifying the request
+     * @return hex encoded fingerprint
+     */
+    static String of(final String projectId, final Object... parts) {
+        notNull(projectId, "projectId");
+        noNullElements(parts, "parts");
+        final Object[] fingerprinted = new Object[parts.length + 1];
+        fingerprinted[0] = projectId;
+        System.arraycopy(parts, 0, fingerprinted, 1, parts.length);
+        try {
+            return ExecutionCanonicalizer.hash(fingerprinted);
+        } catch (IllegalArgumentException e) {
+            throw new GoodDataException("Unable to serialize execution", e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.executeafm;
+
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.gooddata.sdk.service.WeightedCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.function.LongSupplier;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Cache of execution results used by {@link ExecuteAfmService} when configured by {@link ExecutionResultCacheSettings}.
+ * Results are cached in their serialized form keyed by fingerprint of the project, the execution (AFM and result spec)
+ * and the result page, so each caller obtains its own instance which can be modified freely. The serialized results are
+ * kept on heap or in direct buffers, see {@link ExecutionResultCacheSettings#isOffHeap()}. Results are evicted when they
+ * expire, in the least recently used order when the total weight exceeds the limit and when the data of their project
+ * are invalidated, e.g. after the data are loaded by
+ * {@link com.gooddata.sdk.service.dataset.DatasetService#loadDatasets(com.gooddata.sdk.model.project.Project, java.util.Collection)}.
+ * <p>
+ * The cache is thread safe.
+ */
+public final class ExecutionResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionResultCache.class);
+
+    private final ExecutionResultCacheSettings settings;
+    private final WeightedCache<String, CachedResult> results;
+
+    ExecutionResultCache(final ExecutionResultCacheSettings settings) {
+        this(settings, System::nanoTime);
+    }
+
+    ExecutionResultCache(final ExecutionResultCacheSettings settings, final LongSupplier ticker) {
+        this.settings = notNull(settings, "settings");
+        this.results = new WeightedCache<>(settings, result -> result.length, ticker);
+    }
+
+    /**
+     * Returns serialized result of given fingerprint and records the cache hit or miss.
+     *
+     * @param fingerprint result fingerprint
+     * @return stream of the serialized result or null when not cached or expired
+     */
+    InputStream get(final String fingerprint) {
+        final CachedResult cached = results.get(fingerprint);
+        return cached != null ? cached.open() : null;
+    }
+
+    /**
+     * Returns generation of the cache contents, which changes by each invalidation. The result obtained from the API is
+     * cached only when no invalidation happened since, so the data changed meanwhile are not cached.
+     *
+     * @return current generation
+     */
+    long getGeneration() {
+        return results.getGeneration();
+    }
+
+    /**
+     * Caches serialized result of given fingerprint unless it's heavier than
+     * {@link ExecutionResultCacheSettings#getMaxEntryWeight()} or the cache was invalidated since the given generation.
+     * The off-heap result isn't cached when its direct buffer can't be allocated.
+     *
+     * @param projectId   project of the result
+     * @param fingerprint result fingerprint
+     * @param body        serialized result
+     * @param generation  generation of the cache before the result was requested from the API
+     */
+    void put(final String projectId, final String fingerprint, final byte[] body, final long generation) {
+        if (body.length > settings.getMaxEntryWeight()) {
+            return;
+        }
+        // allocate and copy outside of the lock
+        final CachedResult cached;
+        try {
+            cached = new CachedResult(projectId, body, settings.isOffHeap());
+        } catch (OutOfMemoryError e) {
+            logger.warn("Unable to allocate direct buffer of {} bytes for execution result, not caching it: {}",
+                    body.length, e.getMessage());
+            return;
+        }
+        results.put(fingerprint, cached, generation);
+    }
+
+    /**
+     * Evicts all the results of given project from the cache, e.g. when the data of the project changed.
+     *
+     * @param projectId project ID
+     */
+    public void invalidateProject(final String projectId) {
+        notNull(projectId, "projectId");
+        results.invalidateIf(result -> projectId.equals(result.projectId));
+    }
+
+    /**
+     * Evicts all the results from the cache.
+     */
+    public void invalidateAll() {
+        results.invalidateAll();
+    }
+
+    /**
+     * @return number of cached results
+     */
+    public int size() {
+        return results.size();
+    }
+
+    /**
+     * @return total weight (size in bytes) of cached results, kept off-heap when
+     * {@link ExecutionResultCacheSettings#isOffHeap()}
+     */
+    public long getWeight() {
+        return results.getWeight();
+    }
+
+    /**
+     * @return number of requests for a result served from the cache
+     */
+    public long getHitCount() {
+        return results.getHitCount();
+    }
+
+    /**
+     * @return number of requests for a result, which had to be obtained from the API
+     */
+    public long getMissCount() {
+        return results.getMissCount();
+    }
+
+    /**
+     * @return ratio of requests served from the cache, zero when there was no request yet
+     */
+    public double getHitRate() {
+        return results.getHitRate();
+    }
+
+    /**
+     * @return number of results evicted because they expired or the weight limit was exceeded
+     */
+    public long getEvictionCount() {
+        return results.getEvictionCount();
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionResultCache[offHeap=" + settings.isOffHeap() + ", " + results + "]";
+    }
+
+    private static class CachedResult {
+        private final String projectId;
+        private final byte[] body;
+        private final ByteBuffer offHeapBody;
+        private final int length;
+
+        private CachedResult(final String projectId, final byte[] body, final boolean offHeap) {
+            this.projectId = projectId;
+            this.length = body.length;
+            if (offHeap) {
+                this.body = null;
+                this.offHeapBody = ByteBuffer.allocateDirect(body.length);
+                offHeapBody.put(body);
+                // cast keeps the code linkable on Java 8, where flip() isn't overridden by ByteBuffer
+                ((Buffer) offHeapBody).flip();
+            } else {
+                this.body = body;
+                this.offHeapBody = null;
+            }
+        }
+
+        private InputStream open() {
+            return offHeapBody != null
+                    ? new ByteBufferBackedInputStream(offHeapBody.duplicate())
+                    : new ByteArrayInputStream(body);
+        }
+    }
+}
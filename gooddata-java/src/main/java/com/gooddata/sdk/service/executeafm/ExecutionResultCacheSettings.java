@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.executeafm;
+
+import com.gooddata.sdk.service.WeightedCacheSettings;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contains settings for the execution result cache of {@link ExecuteAfmService}.
+ * The cache is bounded by the total weight of cached results, where the weight is the size of the result
+ * representation in bytes.
+ * <p>
+ * The default maximum total weight is 64 MiB, the default maximum weight of single result is 8 MiB
+ * and the default time to live is 5 minutes.
+ *
+ * @see ExecutionResultCache
+ */
+public class ExecutionResultCacheSettings extends WeightedCacheSettings {
+
+    private boolean offHeap;
+
+    public ExecutionResultCacheSettings() {
+        super(64 * 1024 * 1024, 8 * 1024 * 1024, TimeUnit.MINUTES.toMillis(5));
+    }
+
+    /**
+     * Whether the results are kept in direct buffers outside of the Java heap, so the cache doesn't add to the heap
+     * size and the garbage collection work.
+     * <p>
+     * The direct buffers are bounded by {@code -XX:MaxDirectMemorySize} (by default the maximum heap size), which is
+     * shared with the other direct buffers of the application, e.g. those of NIO channels. Keep
+     * {@link #getMaxWeight()} well below that limit. A result whose buffer can't be allocated is not cached.
+     * <p>
+     * The default value is false.
+     *
+     * @return true when the results are cached off-heap
+     */
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    public void setOffHeap(final boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return super.equals(o) && offHeap == ((ExecutionResultCacheSettings) o).offHeap;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), offHeap);
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.executeafm;
+
+import com.gooddata.sdk.model.executeafm.ResultPage;
+import com.gooddata.sdk.model.executeafm.result.Data;
+import com.gooddata.sdk.model.executeafm.result.ExecutionResult;
+import com.gooddata.sdk.model.executeafm.result.Paging;
+import com.gooddata.sdk.model.executeafm.result.ResultHeaderItem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.gooddata.sdk.common.util.Validate.notEmpty;
+import static com.gooddata.sdk.common.util.Validate.notNullState;
+
+/**
+ * Splits result of one or two dimensions to pages (tiles) and assembles the fetched tiles back to single result.
+ * Data of the tiles are placed to the grid by the offsets of their paging, header items are concatenated per dimension
+ * and totals are concatenated along the dimension their values belong to.
+ */
+final class ResultGrid {
+
+    private ResultGrid() {
+    }
+
+    /**
+     * Tiles the whole result space in row-major order, the first tile starts at zero offsets.
+     *
+     * @param totals total sizes of the dimensions
+     * @param limits page limits of the dimensions
+     * @return pages covering the whole result
+     */
+    static List<ResultPage> tile(final List<Integer> totals, final List<Integer> limits) {
+        final List<ResultPage> pages = new ArrayList<>();
+        if (totals.size() == 1) {
+            for (int offset = 0; offset == 0 || offset < totals.get(0); offset += limits.get(0)) {
+                pages.add(new ResultPage(Collections.singletonList(offset), limits));
+            }
+        } else {
+            for (int row = 0; row == 0 || row < totals.get(0); row += limits.get(0)) {
+                for (int column = 0; column == 0 || column < totals.get(1); column += limits.get(1)) {
+                    pages.add(new ResultPage(Arrays.asList(row, column), limits));
+                }
+            }
+        }
+        return pages;
+    }
+
+    /**
+     * Assembles the tiles to single result covering the region of the tiles.
+     *
+     * @param tiles fetched tiles covering rectangular region of the result
+     * @return assembled result
+     */
+    static ExecutionResult assemble(final List<ExecutionResult> tiles) {
+        notEmpty(tiles, "tiles");
+        final int dimensions = paging(tiles.get(0)).getOffset().size();
+        final int[] origin = new int[dimensions];
+        final int[] extent = new int[dimensions];
+        Arrays.fill(origin, Integer.MAX_VALUE);
+        for (ExecutionResult tile : tiles) {
+            for (int d = 0; d < dimensions; d++) {
+                origin[d] = Math.min(origin[d], offset(tile, d));
+                extent[d] = Math.max(extent[d], offset(tile, d) + count(tile, d));
+            }
+        }
+        for (int d = 0; d < dimensions; d++) {
+            extent[d] -= origin[d];
+        }
+
+        final ExecutionResult first = tiles.stream()
+                .filter(tile -> isAt(tile, origin, -1))
+                .findFirst()
+                .orElse(tiles.get(0));
+        final Paging paging = new Paging(toList(extent), toList(origin), paging(first).getTotal());
+
+        final ExecutionResult result;
+        if (dimensions == 1) {
+            final String[] data = new String[extent[0]];
+            for (ExecutionResult tile : tiles) {
+                final List<Data> values = tile.getData();
+                for (int i = 0; i < count(tile, 0); i++) {
+                    data[offset(tile, 0) - origin[0] + i] = values.get(i).textValue();
+                }
+            }
+            result = new ExecutionResult(data, paging);
+        } else {
+            final String[][] data = new String[extent[0]][extent[1]];
+            for (ExecutionResult tile : tiles) {
+                final List<Data> rows = tile.getData();
+                for (int i = 0; i < count(tile, 0); i++) {
+                    final List<Data> row = rows.get(i).asList();
+                    final String[] target = data[offset(tile, 0) - origin[0] + i];
+                    for (int j = 0; j < count(tile, 1); j++) {
+                        target[offset(tile, 1) - origin[1] + j] = row.get(j).textValue();
+                    }
+                }
+            }
+            result = new ExecutionResult(data, paging);
+        }
+
+        result.setHeaderItems(mergeHeaderItems(tiles, origin));
+        result.setTotals(dimensions == 1 ? first.getTotals() : mergeTotals(tiles, origin));
+        result.setTotalTotals(first.getTotalTotals());
+        result.setWarnings(first.getWarnings());
+        return result;
+    }
+
+    /**
+     * Header items of each dimension are concatenated from the tiles along the dimension.
+     */
+    private static List<List<List<ResultHeaderItem>>> mergeHeaderItems(final List<ExecutionResult> tiles,
+                                                                     final int[] origin) {
+        if (tiles.get(0).getHeaderItems() == null) {
+            return null;
+        }
+        final List<List<List<ResultHeaderItem>>> merged = new ArrayList<>();
+        for (int d = 0; d < origin.length; d++) {
+            final List<List<ResultHeaderItem>> headers = new ArrayList<>();
+            for (ExecutionResult tile : tilesAlong(tiles, origin, d)) {
+                final List<List<ResultHeaderItem>> tileHeaders = tile.getHeaderItems().get(d);
+                for (int h = 0; h < tileHeaders.size(); h++) {
+                    if (headers.size() <= h) {
+                        headers.add(new ArrayList<>());
+                    }
+                    headers.get(h).addAll(tileHeaders.get(h));
+                }
+            }
+            merged.add(headers);
+        }
+        return merged;
+    }
+
+    /**
+     * Values of totals of a dimension belong to the items of the other dimension, so they are concatenated from
+     * the tiles along the other dimension.
+     */
+    private static List<List<List<String>>> mergeTotals(final List<ExecutionResult> tiles, final int[] origin) {
+        if (tiles.get(0).getTotals() == null) {
+            return null;
+        }
+        final List<List<List<String>>> merged = new ArrayList<>();
+        for (int d = 0; d < origin.length; d++) {
+            final List<List<String>> totals = new ArrayList<>();
+            for (ExecutionResult tile : tilesAlong(tiles, origin, 1 - d)) {
+                final List<List<String>> tileTotals = tile.getTotals() != null && tile.getTotals().size() > d
+                        ? tile.getTotals().get(d) : Collections.emptyList();
+                for (int t = 0; t < tileTotals.size(); t++) {
+                    if (totals.size() <= t) {
+                        totals.add(new ArrayList<>());
+                    }
+                    totals.get(t).addAll(tileTotals.get(t));
+                }
+            }
+            merged.add(totals);
+        }
+        return merged;
+    }
+
+    /**
+     * @return tiles at the origin of all the dimensions but the given one, sorted by offset in the given dimension
+     */
+    private static List<ExecutionResult> tilesAlong(final List<ExecutionResult> tiles, final int[] origin,
+                                                    final int dimension) {
+        return tiles.stream()
+                .filter(tile -> isAt(tile, origin, dimension))
+                .sorted(Comparator.comparingInt(tile -> offset(tile, dimension)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return true when the tile is at the origin in all the dimensions but the given one
+     */
+    private static boolean isAt(final ExecutionResult tile, final int[] origin, final int except) {
+        for (int d = 0; d < origin.length; d++) {
+            if (d != except && offset(tile, d) != origin[d]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Paging paging(final ExecutionResult tile) {
+        return notNullState(tile.getPaging(), "paging");
+    }
+
+    private static int offset(final ExecutionResult tile, final int dimension) {
+        return paging(tile).getOffset().get(dimension);
+    }
+
+    private static int count(final ExecutionResult tile, final int dimension) {
+        return paging(tile).getCount().get(dimension);
+    }
+
+    private static List<Integer> toList(final int[] values) {
+        return Arrays.stream(values).boxed().collect(Collectors.toList());
+    }
+}
@@ -23,16 +23,18 @@ import com.gooddata.sdk.service.*;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriTemplate;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.function.Function;
 
 import static com.gooddata.sdk.common.util.Validate.notNull;
 import static com.gooddata.sdk.common.util.Validate.notNullState;
-import static org.springframework.http.HttpMethod.GET;
 import static org.springframework.http.HttpMethod.POST;
 
 /**
@@ -73,7 +75,24 @@ public class ExportService extends AbstractService {
                                      final OutputStream output) {
         notNull(reportDefinition, "reportDefinition");
         final ReportRequest request = new ExecuteReportDefinition(reportDefinition);
-        return exportReport(request, format, output);
+        return exportReport(request, format, toOutputStream(output));
+    }
+
+    /**
+     * Export the given report definition in the given format to the given file. Interrupted download is resumed.
+     *
+     * @param reportDefinition report definition
+     * @param format           export format
+     * @param target           target file
+     * @return polling result
+     * @throws NoDataExportException in case report contains no data
+     * @throws ExportException       on error
+     */
+    public FutureResult<Void> exportToFile(final ReportDefinition reportDefinition, final ExportFormat format,
+                                           final Path target) {
+        notNull(reportDefinition, "reportDefinition");
+        final ReportRequest request = new ExecuteReportDefinition(reportDefinition);
+        return exportReport(request, format, toFile(target));
     }
 
     /**
@@ -90,15 +109,31 @@ public class ExportService extends AbstractService {
                                      final OutputStream output) {
         notNull(report, "report");
         final ReportRequest request = new ExecuteReport(report);
-        return exportReport(request, format, output);
+        return exportReport(request, format, toOutputStream(output));
     }
 
-    private FutureResult<Void> exportReport(final ReportRequest request, final ExportFormat format, final OutputStream output) {
-        notNull(output, "output");
+    /**
+     * Export the given report in the given format to the given file. Interrupted download is resumed.
+     *
+     * @param report report
+     * @param format export format
+     * @param target target file
+     * @return polling result
+     * @throws NoDataExportException in case report contains no data
+     * @throws ExportException       on error
+     */
+    public FutureResult<Void> exportToFile(final Report report, final ExportFormat format, final Path target) {
+        notNull(report, "report");
+        final ReportRequest request = new ExecuteReport(report);
+        return exportReport(request, format, toFile(target));
+    }
+
+    private FutureResult<Void> exportReport(final ReportRequest request, final ExportFormat format,
+                                            final Function<String, ResponseExtractor<?>> writer) {
         notNull(format, "format");
         final JsonNode execResult = executeReport(ReportRequest.URI, request);
         final String uri = exportReport(execResult, format);
-        return new PollResult<>(this, new SimplePollHandler<Void>(uri, Void.class) {
+        return new PollResult<>(this, new ExportPollHandler(uri, writer, "Unable to export report") {
             @Override
             public boolean isFinished(ClientHttpResponse response) throws IOException {
                 switch (response.getStatusCode()) {
@@ -112,20 +147,6 @@ public class ExportService extends AbstractService {
                         throw new ExportException("Unable to export report, unknown HTTP response code: " + response.getStatusCode());
                 }
             }
-
-            @Override
-            public void handlePollException(final GoodDataRestException e) {
-                throw new ExportException("Unable to export report", e);
-            }
-
-            @Override
-            protected void onFinish() {
-                try {
-                    restTemplate.execute(uri, GET, null, new OutputStreamResponseExtractor(output));
-                } catch (GoodDataException | RestClientException e) {
-                    throw new ExportException("Unable to export report", e);
-                }
-            }
         });
     }
 
@@ -169,10 +190,28 @@ public class ExportService extends AbstractService {
      * @throws ExportException if export fails
      */
     public FutureResult<Void> exportPdf(final GoodDataEndpoint endpoint, final ProjectDashboard dashboard, final Tab tab, final OutputStream output) {
+        return exportDashboardPdf(endpoint, dashboard, tab, toOutputStream(output));
+    }
+
+    /**
+     * Export the given dashboard tab in PDF format to the given file. Interrupted download is resumed.
+     *
+     * @param endpoint  endpoint for which the export is generated
+     * @param dashboard dashboard
+     * @param tab       tab
+     * @param target    target file
+     * @return polling result
+     * @throws ExportException if export fails
+     */
+    public FutureResult<Void> exportPdfToFile(final GoodDataEndpoint endpoint, final ProjectDashboard dashboard, final Tab tab, final Path target) {
+        return exportDashboardPdf(endpoint, dashboard, tab, toFile(target));
+    }
+
+    private FutureResult<Void> exportDashboardPdf(final GoodDataEndpoint endpoint, final ProjectDashboard dashboard,
+                                                  final Tab tab, final Function<String, ResponseExtractor<?>> writer) {
         notNull(endpoint, "endpoint");
         notNull(dashboard, "dashboard");
         notNull(tab, "tab");
-        notNull(output, "output");
 
         final String projectId = extractProjectId(dashboard);
         final String projectUri = PROJECT_TEMPLATE.expand(projectId).toString();
@@ -186,7 +225,8 @@ public class ExportService extends AbstractService {
             throw new ExportException("Unable to export dashboard: " + dashboardUri, e);
         }
 
-        return new PollResult<>(this, new SimplePollHandler<Void>(notNullState(task, "export pdf task").getUri(), Void.class) {
+        return new PollResult<>(this, new ExportPollHandler(notNullState(task, "export pdf task").getUri(), writer,
+                "Unable to export dashboard: " + dashboardUri) {
             @Override
             public boolean isFinished(ClientHttpResponse response) throws IOException {
                 switch (response.getStatusCode()) {
@@ -199,20 +239,6 @@ public class ExportService extends AbstractService {
                                 ", unknown HTTP response code: " + response.getStatusCode());
                 }
             }
-
-            @Override
-            protected void onFinish() {
-                try {
-                    restTemplate.execute(task.getUri(), GET, null, new OutputStreamResponseExtractor(output));
-                } catch (GoodDataException | RestClientException e) {
-                    throw new ExportException("Unable to export dashboard: " + dashboardUri, e);
-                }
-            }
-
-            @Override
-            public void handlePollException(final GoodDataRestException e) {
-                throw new ExportException("Unable to export dashboard: " + dashboardUri, e);
-            }
         });
     }
 
@@ -225,7 +251,20 @@ public class ExportService extends AbstractService {
      */
     public FutureResult<Void> exportCsv(final Report report, final OutputStream output) {
         notNull(report, "report");
-        return exportCsv(report, new ExecuteReport(report), output);
+        return exportRawCsv(report, new ExecuteReport(report), toOutputStream(output));
+    }
+
+    /**
+     * Export the given Report using the raw export (without columns/rows limitations) to the given file.
+     * Interrupted download is resumed.
+     * @param report report
+     * @param target target file
+     * @return polling result
+     * @throws ExportException in case export fails
+     */
+    public FutureResult<Void> exportCsvToFile(final Report report, final Path target) {
+        notNull(report, "report");
+        return exportRawCsv(report, new ExecuteReport(report), toFile(target));
     }
 
     /**
@@ -237,13 +276,26 @@ public class ExportService extends AbstractService {
      */
     public FutureResult<Void> exportCsv(final ReportDefinition definition, final OutputStream output) {
         final ReportRequest request = new ExecuteReportDefinition(definition);
-        return exportCsv(definition, request, output);
+        return exportRawCsv(definition, request, toOutputStream(output));
+    }
+
+    /**
+     * Export the given Report Definition using the raw export (without columns/rows limitations) to the given file.
+     * Interrupted download is resumed.
+     * @param definition report definition
+     * @param target target file
+     * @return polling result
+     * @throws ExportException in case export fails
+     */
+    public FutureResult<Void> exportCsvToFile(final ReportDefinition definition, final Path target) {
+        final ReportRequest request = new ExecuteReportDefinition(definition);
+        return exportRawCsv(definition, request, toFile(target));
     }
 
-    private FutureResult<Void> exportCsv(final AbstractObj obj, final ReportRequest request, final OutputStream output) {
+    private FutureResult<Void> exportRawCsv(final AbstractObj obj, final ReportRequest request,
+                                            final Function<String, ResponseExtractor<?>> writer) {
         notNull(obj, "obj");
         notNull(request, "request");
-        notNull(output, "output");
 
         final String projectId = extractProjectId(obj);
         final String uri = obj.getUri();
@@ -258,7 +310,7 @@ public class ExportService extends AbstractService {
             throw new ExportException("Empty response, unable to export: " + uri);
         }
 
-        return new PollResult<>(this, new SimplePollHandler<Void>(response.getUri(), Void.class) {
+        return new PollResult<>(this, new ExportPollHandler(response.getUri(), writer, "Unable to export: " + uri) {
             @Override
             public boolean isFinished(ClientHttpResponse response) throws IOException {
                 switch (response.getStatusCode()) {
@@ -273,21 +325,48 @@ public class ExportService extends AbstractService {
                                 ", unknown HTTP response code: " + response.getStatusCode());
                 }
             }
+        });
+    }
 
-            @Override
-            protected void onFinish() {
-                try {
-                    restTemplate.execute(getPolling(), GET, null, new OutputStreamResponseExtractor(output));
-                } catch (GoodDataException | RestClientException e) {
-                    throw new ExportException("Unable to export: " + uri, e);
-                }
-            }
+    private static Function<String, ResponseExtractor<?>> toOutputStream(final OutputStream output) {
+        notNull(output, "output");
+        return uri -> new OutputStreamResponseExtractor(output);
+    }
 
-            @Override
-            public void handlePollException(final GoodDataRestException e) {
-                throw new ExportException("Unable to export: " + uri, e);
+    private Function<String, ResponseExtractor<?>> toFile(final Path target) {
+        notNull(target, "target");
+        return uri -> new ResumableFileDownload(restTemplate, uri, target);
+    }
+
+    /**
+     * Writes the body of the response finishing the polling to the target, so the export is downloaded only once.
+     */
+    private abstract static class ExportPollHandler extends AbstractPollHandler<ClientHttpResponse, Void> {
+
+        private final ResponseExtractor<?> writer;
+        private final String errorMessage;
+
+        private ExportPollHandler(final String pollingUri, final Function<String, ResponseExtractor<?>> writer,
+                                  final String errorMessage) {
+            super(pollingUri, ClientHttpResponse.class, Void.class);
+            this.writer = writer.apply(pollingUri);
+            this.errorMessage = errorMessage;
+        }
+
+        @Override
+        public void handlePollResult(final ClientHttpResponse response) {
+            try {
+                writer.extractData(response);
+            } catch (IOException | GoodDataRestException | RestClientException e) {
+                throw new ExportException(errorMessage, e);
             }
-        });
+            setResult(null);
+        }
+
+        @Override
+        public void handlePollException(final GoodDataRestException e) {
+            throw new ExportException(errorMessage, e);
+        }
     }
 
     static String extractProjectId(final AbstractObj obj) {
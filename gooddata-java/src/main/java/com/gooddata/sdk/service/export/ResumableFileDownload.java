@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.export;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.springframework.http.HttpMethod.GET;
+
+/**
+ * Writes the downloaded body to the file through {@link FileChannel}. When the connection breaks,
+ * the download is resumed from the last written byte using HTTP {@code Range} request. If the server doesn't honour
+ * the range, the file is rewritten from the beginning.
+ */
+class ResumableFileDownload implements ResponseExtractor<Long> {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+    static final int MAX_RESUME_ATTEMPTS = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final RestTemplate restTemplate;
+    private final String uri;
+    private final Path target;
+
+    ResumableFileDownload(final RestTemplate restTemplate, final String uri, final Path target) {
+        this.restTemplate = notNull(restTemplate, "restTemplate");
+        this.uri = notNull(uri, "uri");
+        this.target = notNull(target, "target");
+    }
+
+    /**
+     * Writes body of the given response to the target file, resuming the download when the body can't be read.
+     *
+     * @param response response to write
+     * @return size of the written file
+     * @throws IOException when the file can't be written or the download can't be resumed
+     */
+    @Override
+    public Long extractData(final ClientHttpResponse response) throws IOException {
+        final FileChannel channel = FileChannel.open(target, CREATE, WRITE, TRUNCATE_EXISTING);
+        try {
+            // the body is a plain stream read into an array anyway, so a direct buffer would only add a copy
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            IOException failure = transfer(response.getBody(), channel, buffer);
+            int attempts = 0;
+            while (failure != null) {
+                if (++attempts > MAX_RESUME_ATTEMPTS) {
+                    throw failure;
+                }
+                final long position = channel.position();
+                logger.debug("Download of {} broken at byte {}, resuming (attempt {})", uri, position, attempts, failure);
+                try {
+                    failure = restTemplate.execute(uri, GET,
+                            request -> request.getHeaders().set(HttpHeaders.RANGE, "bytes=" + position + "-"),
+                            resumed -> resume(resumed, channel, buffer, position));
+                } catch (ResourceAccessException e) {
+                    failure = e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e);
+                }
+            }
+            return channel.size();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static IOException resume(final ClientHttpResponse response, final FileChannel channel,
+                                      final byte[] buffer, final long position) throws IOException {
+        final String contentRange = response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE);
+        if (HttpStatus.PARTIAL_CONTENT.value() == response.getRawStatusCode()
+                && contentRange != null && contentRange.startsWith("bytes " + position + "-")) {
+            channel.position(position);
+        } else {
+            channel.truncate(0);
+            channel.position(0);
+        }
+        return transfer(response.getBody(), channel, buffer);
+    }
+
+    /**
+     * @return null when the whole body was written, the exception when reading the body failed
+     * @throws IOException when writing to the file failed
+     */
+    private static IOException transfer(final InputStream body, final FileChannel channel, final byte[] buffer)
+            throws IOException {
+        while (true) {
+            final int read;
+            try {
+                read = body.read(buffer);
+            } catch (IOException e) {
+                return e;
+            }
+            if (read < 0) {
+                return null;
+            }
+            final ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+            while (chunk.hasRemaining()) {
+                channel.write(chunk);
+            }
+        }
+    }
+}
@@ -62,7 +62,11 @@ public class DataStoreService {
         sardine = new GdcSardine(new CustomHttpClientBuilder(notNull(restProvider.getHttpClient(), "httpClient")));
     }
 
-    private UriPrefixer getPrefixer() {
+    /**
+     * Lazily resolves the staging area, the uploads of {@link com.gooddata.sdk.service.dataset.DatasetService} call it
+     * from multiple threads.
+     */
+    private synchronized UriPrefixer getPrefixer() {
         if (prefixer == null) {
             final String uriString = stagingUriSupplier.get();
             final URI uri = URI.create(uriString);
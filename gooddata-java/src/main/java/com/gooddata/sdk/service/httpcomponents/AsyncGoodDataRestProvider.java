@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.httpcomponents;
+
+import com.gooddata.http.client.GoodDataHttpClient;
+import com.gooddata.http.client.LoginSSTRetrievalStrategy;
+import com.gooddata.http.client.SSTRetrievalStrategy;
+import com.gooddata.http.client.SimpleSSTRetrievalStrategy;
+import com.gooddata.sdk.common.GoodDataException;
+import com.gooddata.sdk.service.AsyncRestOperations;
+import com.gooddata.sdk.service.GoodDataEndpoint;
+import com.gooddata.sdk.service.GoodDataSettings;
+import org.apache.http.HttpHost;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Optional;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+import static com.gooddata.sdk.service.util.SharedExecutors.daemonThreadFactory;
+
+/**
+ * {@link com.gooddata.sdk.service.GoodDataRestProvider} providing, in addition to the standard blocking
+ * REST template, non-blocking {@link AsyncRestOperations} backed by Apache HttpAsyncClient. Services use them for their
+ * {@link java.util.concurrent.CompletableFuture} based methods, so many requests can be in flight without a thread
+ * waiting for each of them.
+ * <p>
+ * Both clients are configured according to {@link GoodDataSettings}, retries configured by
+ * {@link com.gooddata.sdk.service.retry.RetrySettings} are applied to the blocking REST template only.
+ * The provider should be {@link #close() closed} when no longer needed to release the non-blocking client.
+ * <p>
+ * Requires optional dependency {@code org.apache.httpcomponents:httpasyncclient}.
+ */
+public final class AsyncGoodDataRestProvider extends SingleEndpointGoodDataRestProvider implements Closeable {
+
+    private final CloseableHttpAsyncClient asyncHttpClient;
+    private final AsyncRestOperations asyncRestOperations;
+
+    /**
+     * Creates new instance authenticating by login and password.
+     * @param endpoint endpoint of GoodData API
+     * @param settings settings
+     * @param login API user login
+     * @param password API user password
+     */
+    public AsyncGoodDataRestProvider(final GoodDataEndpoint endpoint, final GoodDataSettings settings,
+                                     final String login, final String password) {
+        this(endpoint, settings, new LoginSSTRetrievalStrategy(notNull(login, "login"), notNull(password, "password")));
+    }
+
+    /**
+     * Creates new instance authenticating by pre created SST.
+     * @param endpoint endpoint of GoodData API
+     * @param settings settings
+     * @param sst super secure token
+     */
+    public AsyncGoodDataRestProvider(final GoodDataEndpoint endpoint, final GoodDataSettings settings,
+                                     final String sst) {
+        this(endpoint, settings, new SimpleSSTRetrievalStrategy(notNull(sst, "sst")));
+    }
+
+    /**
+     * Creates new instance authenticating by SST obtained by given strategy.
+     * @param endpoint endpoint of GoodData API
+     * @param settings settings
+     * @param sstStrategy strategy used to obtain SST
+     */
+    public AsyncGoodDataRestProvider(final GoodDataEndpoint endpoint, final GoodDataSettings settings,
+                                     final SSTRetrievalStrategy sstStrategy) {
+        super(endpoint, settings, (builder, builderEndpoint, builderSettings) ->
+                new GoodDataHttpClient(builder.build(), createHttpHost(builderEndpoint), sstStrategy));
+        notNull(sstStrategy, "sstStrategy");
+
+        this.asyncHttpClient = createHttpAsyncClientBuilder(settings).build();
+        this.asyncHttpClient.start();
+        this.asyncRestOperations = new HttpAsyncClientRestOperations(asyncHttpClient,
+                createHttpClientBuilder(settings).build(), sstStrategy, endpoint, settings,
+                restTemplate.getMessageConverters());
+    }
+
+    @Override
+    public Optional<AsyncRestOperations> getAsyncRestOperations() {
+        return Optional.of(asyncRestOperations);
+    }
+
+    /**
+     * @return configured non-blocking http client
+     */
+    public CloseableHttpAsyncClient getAsyncHttpClient() {
+        return asyncHttpClient;
+    }
+
+    /**
+     * Shuts down the non-blocking http client.
+     */
+    @Override
+    public void close() {
+        try {
+            asyncHttpClient.close();
+        } catch (IOException e) {
+            throw new GoodDataException("Unable to close async http client", e);
+        }
+    }
+
+    /**
+     * Creates non-blocking http client builder, applying given settings.
+     * @param settings settings to apply
+     * @return configured builder
+     */
+    private HttpAsyncClientBuilder createHttpAsyncClientBuilder(final GoodDataSettings settings) {
+        final IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                .setConnectTimeout(settings.getConnectionTimeout())
+                .setSoTimeout(settings.getSocketTimeout())
+                .build();
+
+        return HttpAsyncClientBuilder.create()
+                .setUserAgent(settings.getGoodDataUserAgent())
+                .setMaxConnPerRoute(settings.getMaxConnections())
+                .setMaxConnTotal(settings.getMaxConnections())
+                .setDefaultIOReactorConfig(ioReactorConfig)
+                .setDefaultRequestConfig(createRequestConfig(settings))
+                .addInterceptorLast(new HeaderSettingHttpRequestInterceptor())
+                .addInterceptorLast(new DeprecationWarningHttpResponseInterceptor())
+                .setThreadFactory(daemonThreadFactory("gooddata-async-io-"));
+    }
+
+    private static HttpHost createHttpHost(final GoodDataEndpoint endpoint) {
+        notNull(endpoint, "endpoint");
+        return new HttpHost(endpoint.getHostname(), endpoint.getPort(), endpoint.getProtocol());
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.httpcomponents;
+
+import com.gooddata.sdk.common.gdc.Header;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpCoreContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+
+/**
+ * Apache HTTP client response interceptor checking the response for X-GDC-DEPRECATED header and logging its content.
+ * Unlike the REST template interceptor it doesn't require the request body to be buffered in memory.
+ */
+public class DeprecationWarningHttpResponseInterceptor implements HttpResponseInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger("com.gooddata.sdk.DeprecationWarning");
+
+    @Override
+    public void process(final HttpResponse response, final HttpContext context) {
+        if (logger.isWarnEnabled()) {
+            final org.apache.http.Header deprecated = response.getFirstHeader(Header.GDC_DEPRECATED);
+            if (deprecated != null) {
+                final HttpRequest request = context != null ? HttpCoreContext.adapt(context).getRequest() : null;
+                final org.apache.http.Header version = request != null ? request.getFirstHeader(Header.GDC_VERSION) : null;
+                logger.warn("Resource path={} version={} deprecated {}", getPath(request),
+                        version != null ? version.getValue() : "UNKNOWN", deprecated.getValue());
+            }
+        }
+    }
+
+    private static String getPath(final HttpRequest request) {
+        if (request == null) {
+            return "UNKNOWN";
+        }
+        final String uri = request.getRequestLine().getUri();
+        try {
+            return URI.create(uri).getPath();
+        } catch (IllegalArgumentException e) {
+            return uri;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.httpcomponents;
+
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.protocol.HttpContext;
+
+import java.util.Map;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Apache HTTP client request interceptor setting HTTP headers passed in the {@link HttpContext} under
+ * {@link #PRESET_HEADERS} attribute. Unlike the REST template interceptor it doesn't require the request body
+ * to be buffered in memory, so it can be used together with streaming requests.
+ * <p>
+ * Headers are set (overriding the same headers set before) only to requests carrying the attribute, so the http
+ * client can be shared with other components (e.g. WebDAV client) without affecting their requests.
+ */
+public class HeaderSettingHttpRequestInterceptor implements HttpRequestInterceptor {
+
+    /**
+     * Name of the {@link HttpContext} attribute holding map of HTTP header names to header values.
+     */
+    public static final String PRESET_HEADERS = "com.gooddata.sdk.presetHeaders";
+
+    @Override
+    public void process(final HttpRequest request, final HttpContext context) {
+        notNull(request, "request");
+        notNull(context, "context");
+        @SuppressWarnings("unchecked")
+        final Map<String, String> headers = (Map<String, String>) context.getAttribute(PRESET_HEADERS);
+        if (headers != null) {
+            headers.forEach(request::setHeader);
+        }
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.httpcomponents;
+
+import com.gooddata.http.client.SSTRetrievalStrategy;
+import com.gooddata.sdk.common.GoodDataException;
+import com.gooddata.sdk.common.UriPrefixer;
+import com.gooddata.sdk.service.AsyncRestOperations;
+import com.gooddata.sdk.service.GoodDataEndpoint;
+import com.gooddata.sdk.service.GoodDataSettings;
+import com.gooddata.sdk.service.util.ResponseErrorHandler;
+import com.gooddata.sdk.service.util.SharedExecutors;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpMessageConverterExtractor;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriTemplateHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+/**
+ * {@link AsyncRestOperations} performing HTTP operations using the non-blocking Apache {@link HttpAsyncClient}.
+ * It provides the same functionality as the REST template configured by {@link SingleEndpointGoodDataRestProvider}:
+ * <ul>
+ *     <li>Prepends the URI path with API endpoint</li>
+ *     <li>Uses {@link ResponseErrorHandler} to convert error responses</li>
+ *     <li>Sets default headers from {@link GoodDataSettings} (using {@link HeaderSettingHttpRequestInterceptor} the
+ *     http client should be configured with)</li>
+ * </ul>
+ * Requests are authenticated by GoodData temporary token (TT), which is (re)obtained using the super secure token (SST)
+ * provided by {@link SSTRetrievalStrategy} whenever the API responds by authentication challenge (the same way
+ * {@link com.gooddata.http.client.GoodDataHttpClient} does).
+ * Obtaining the SST is the only blocking operation, it's performed once (and on SST expiration) by
+ * {@link SharedExecutors#getBlockingCalls()}.
+ * <p>
+ * Responses are extracted (e.g. JSON deserialized) by {@link SharedExecutors#getWorkers()}, so large bodies don't hold
+ * the I/O reactor thread of the client, which serves all the other requests.
+ */
+public class HttpAsyncClientRestOperations implements AsyncRestOperations {
+
+    static final String TOKEN_URI = "/gdc/account/token";
+    static final String TT_HEADER = "X-GDC-AuthTT";
+    static final String SST_HEADER = "X-GDC-AuthSST";
+
+    private final HttpAsyncClient httpClient;
+    private final HttpClient sstHttpClient;
+    private final SSTRetrievalStrategy sstStrategy;
+    private final HttpHost httpHost;
+    private final UriPrefixer prefixer;
+    private final Map<String, String> presetHeaders;
+    private final List<HttpMessageConverter<?>> messageConverters;
+    private final ResponseErrorHandler errorHandler;
+    private final UriTemplateHandler uriTemplateHandler;
+
+    private final Object authLock = new Object();
+    private volatile String sst;
+    private CompletableFuture<String> tt = completedFuture(null);
+
+    /**
+     * Creates new instance.
+     *
+     * @param httpClient        started non-blocking http client used to perform requests
+     * @param sstHttpClient     blocking http client used by the SST retrieval strategy
+     * @param sstStrategy       strategy obtaining SST
+     * @param endpoint          API endpoint
+     * @param settings          settings
+     * @param messageConverters converters used to write requests and read responses
+     */
+    public HttpAsyncClientRestOperations(final HttpAsyncClient httpClient, final HttpClient sstHttpClient,
+                                         final SSTRetrievalStrategy sstStrategy, final GoodDataEndpoint endpoint,
+                                         final GoodDataSettings settings,
+                                         final List<HttpMessageConverter<?>> messageConverters) {
+        this.httpClient = notNull(httpClient, "httpClient");
+        this.sstHttpClient = notNull(sstHttpClient, "sstHttpClient");
+        this.sstStrategy = notNull(sstStrategy, "sstStrategy");
+        notNull(endpoint, "endpoint");
+        this.httpHost = new HttpHost(endpoint.getHostname(), endpoint.getPort(), endpoint.getProtocol());
+        this.prefixer = new UriPrefixer(endpoint.toUri());
+        this.presetHeaders = notNull(settings, "settings").getPresetHeaders();
+        this.messageConverters = notNull(messageConverters, "messageConverters");
+        this.errorHandler = new ResponseErrorHandler(messageConverters);
+        final DefaultUriBuilderFactory uriBuilderFactory = new DefaultUriBuilderFactory();
+        uriBuilderFactory.setEncodingMode(DefaultUriBuilderFactory.EncodingMode.URI_COMPONENT);
+        this.uriTemplateHandler = uriBuilderFactory;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getForObject(final String url, final Class<T> responseType,
+                                                 final Object... uriVariables) {
+        notNull(url, "url");
+        notNull(responseType, "responseType");
+        return execute(uriTemplateHandler.expand(url, uriVariables), HttpMethod.GET, null,
+                new HttpMessageConverterExtractor<>(responseType, messageConverters));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> postForObject(final String url, final Object request, final Class<T> responseType,
+                                                  final Object... uriVariables) {
+        notNull(url, "url");
+        notNull(responseType, "responseType");
+        return execute(uriTemplateHandler.expand(url, uriVariables), HttpMethod.POST, request,
+                new HttpMessageConverterExtractor<>(responseType, messageConverters));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> execute(final URI url, final HttpMethod method, final Object request,
+                                            final ResponseExtractor<T> responseExtractor) {
+        notNull(url, "url");
+        notNull(method, "method");
+        notNull(responseExtractor, "responseExtractor");
+
+        final URI uri = prefixer.mergeUris(url);
+        final RequestBody body;
+        try {
+            body = writeBody(request);
+        } catch (IOException e) {
+            final CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new RestClientException("Unable to write request body", e));
+            return failed;
+        }
+
+        final CompletableFuture<String> token = getToken();
+        return token
+                .thenCompose(tt -> send(createRequest(method, uri, body, tt), createContext()))
+                .thenCompose(response -> {
+                    if (response.getStatusLine().getStatusCode() == HttpStatus.SC_UNAUTHORIZED) {
+                        return refreshToken(token)
+                                .thenCompose(tt -> send(createRequest(method, uri, body, tt), createContext()));
+                    }
+                    return completedFuture(response);
+                })
+                .thenApplyAsync(response -> extract(method, uri, response, responseExtractor),
+                        SharedExecutors.getWorkers());
+    }
+
+    private <T> T extract(final HttpMethod method, final URI uri, final HttpResponse httpResponse,
+                          final ResponseExtractor<T> responseExtractor) {
+        final ClientHttpResponse response = new AsyncClientHttpResponse(httpResponse);
+        try {
+            if (errorHandler.hasError(response)) {
+                errorHandler.handleError(response);
+            }
+            return responseExtractor.extractData(response);
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": "
+                    + e.getMessage(), e);
+        } finally {
+            response.close();
+        }
+    }
+
+    private RequestBody writeBody(final Object request) throws IOException {
+        if (request == null) {
+            return null;
+        }
+        final BufferingOutputMessage message = new BufferingOutputMessage();
+        for (HttpMessageConverter<?> converter : messageConverters) {
+            if (converter.canWrite(request.getClass(), null)) {
+                @SuppressWarnings("unchecked")
+                final HttpMessageConverter<Object> objectConverter = (HttpMessageConverter<Object>) converter;
+                objectConverter.write(request, null, message);
+                return new RequestBody(message.body.toByteArray(), message.headers.getContentType());
+            }
+        }
+        throw new RestClientException("No HttpMessageConverter for " + request.getClass().getName());
+    }
+
+    private HttpUriRequest createRequest(final HttpMethod method, final URI uri, final RequestBody body,
+                                         final String token) {
+        final RequestBuilder builder = RequestBuilder.create(method.name()).setUri(uri);
+        if (token != null) {
+            builder.setHeader(TT_HEADER, token);
+        }
+        if (body != null) {
+            final ByteArrayEntity entity = new ByteArrayEntity(body.content);
+            if (body.contentType != null) {
+                entity.setContentType(body.contentType.toString());
+            }
+            builder.setEntity(entity);
+        }
+        return builder.build();
+    }
+
+    private HttpContext createContext() {
+        final HttpClientContext context = HttpClientContext.create();
+        context.setAttribute(HeaderSettingHttpRequestInterceptor.PRESET_HEADERS, presetHeaders);
+        return context;
+    }
+
+    private CompletableFuture<HttpResponse> send(final HttpUriRequest request, final HttpContext context) {
+        final CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+        httpClient.execute(request, context, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(final HttpResponse result) {
+                future.complete(result);
+            }
+
+            @Override
+            public void failed(final Exception e) {
+                future.completeExceptionally(new ResourceAccessException("I/O error on " + request.getMethod()
+                        + " request for \"" + request.getURI() + "\": " + e.getMessage(),
+                        e instanceof IOException ? (IOException) e : new IOException(e)));
+            }
+
+            @Override
+            public void cancelled() {
+                future.cancel(false);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * @return current TT, null until the API asks for authentication for the first time
+     */
+    private CompletableFuture<String> getToken() {
+        synchronized (authLock) {
+            return tt;
+        }
+    }
+
+    private CompletableFuture<String> refreshToken(final CompletableFuture<String> staleToken) {
+        synchronized (authLock) {
+            if (tt == staleToken) {
+                tt = obtainToken();
+            }
+            return tt;
+        }
+    }
+
+    private CompletableFuture<String> obtainToken() {
+        final String currentSst = sst;
+        final CompletableFuture<String> future = (currentSst != null ? completedFuture(currentSst) : obtainSst())
+                .thenCompose(this::requestToken)
+                .thenCompose(token -> token != null ? completedFuture(token) : obtainSst()
+                        .thenCompose(this::requestToken)
+                        .thenApply(refreshed -> {
+                            if (refreshed == null) {
+                                throw new GoodDataException("Unable to obtain TT after successfully obtained SST");
+                            }
+                            return refreshed;
+                        }));
+        future.whenComplete((token, e) -> {
+            if (e != null) {
+                synchronized (authLock) {
+                    if (tt == future) {
+                        tt = completedFuture(null);
+                    }
+                }
+            }
+        });
+        return future;
+    }
+
+    private CompletableFuture<String> obtainSst() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                sst = sstStrategy.obtainSst(sstHttpClient, httpHost);
+                return sst;
+            } catch (IOException e) {
+                throw new GoodDataException("Unable to obtain SST", e);
+            }
+        }, SharedExecutors.getBlockingCalls());
+    }
+
+    /**
+     * @return TT or null when the SST has expired
+     */
+    private CompletableFuture<String> requestToken(final String sst) {
+        final HttpUriRequest request = RequestBuilder.get(prefixer.mergeUris(TOKEN_URI))
+                .setHeader(SST_HEADER, sst)
+                .setHeader("Accept", MediaType.APPLICATION_JSON_VALUE)
+                .build();
+        return send(request, HttpClientContext.create()).thenApply(response -> {
+            final int status = response.getStatusLine().getStatusCode();
+            if (status == HttpStatus.SC_UNAUTHORIZED) {
+                return null;
+            }
+            if (status != HttpStatus.SC_OK || response.getFirstHeader(TT_HEADER) == null) {
+                throw new GoodDataException("Unable to obtain TT, HTTP status: " + response.getStatusLine());
+            }
+            return response.getFirstHeader(TT_HEADER).getValue();
+        });
+    }
+
+    private static class RequestBody {
+        private final byte[] content;
+        private final MediaType contentType;
+
+        private RequestBody(final byte[] content, final MediaType contentType) {
+            this.content = content;
+            this.contentType = contentType;
+        }
+    }
+
+    private static class BufferingOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    /**
+     * Adapts the fully received {@link HttpResponse} to the {@link ClientHttpResponse}.
+     */
+    private static class AsyncClientHttpResponse implements ClientHttpResponse {
+
+        private final HttpResponse response;
+        private HttpHeaders headers;
+
+        private AsyncClientHttpResponse(final HttpResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public org.springframework.http.HttpStatus getStatusCode() {
+            return org.springframework.http.HttpStatus.valueOf(getRawStatusCode());
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return response.getStatusLine().getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() {
+            return response.getStatusLine().getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            if (headers == null) {
+                headers = new HttpHeaders();
+                for (org.apache.http.Header header : response.getAllHeaders()) {
+                    headers.add(header.getName(), header.getValue());
+                }
+            }
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            final HttpEntity entity = response.getEntity();
+            return entity != null ? entity.getContent() : StreamUtils.emptyInput();
+        }
+
+        @Override
+        public void close() {
+            // the whole response is already consumed by the client
+        }
+    }
+}
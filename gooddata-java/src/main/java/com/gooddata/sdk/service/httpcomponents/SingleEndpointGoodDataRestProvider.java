@@ -6,6 +6,7 @@
 package com.gooddata.sdk.service.httpcomponents;
 
 import com.gooddata.sdk.common.UriPrefixingClientHttpRequestFactory;
+import com.gooddata.sdk.common.gdc.Header;
 import com.gooddata.sdk.service.*;
 import com.gooddata.sdk.service.gdc.DataStoreService;
 import com.gooddata.sdk.service.retry.RetryableRestTemplate;
@@ -18,14 +19,23 @@ import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 
 import static com.gooddata.sdk.common.util.Validate.notNull;
-import static java.util.Arrays.asList;
 
 /**
  * {@link GoodDataRestProvider} capable to be used with single API endpoint using the
@@ -35,6 +45,8 @@ import static java.util.Arrays.asList;
  *     <li>Configures {@link ResponseErrorHandler}</li>
  *     <li>Configures connection according to {@link GoodDataSettings}</li>
  *     <li>Set default headers from {@link GoodDataSettings} including User-Agent</li>
+ *     <li>Logs usage of deprecated resources</li>
+ *     <li>Streams request bodies without buffering them in memory</li>
  *     <li>Configures retries in case it's requested</li>
  * </ul>
  *
@@ -113,8 +125,11 @@ public abstract class SingleEndpointGoodDataRestProvider implements GoodDataRest
         notNull(settings, "settings");
         this.httpClient = notNull(httpClient, "httpClient");
 
+        final HttpComponentsClientHttpRequestFactory httpComponentsFactory =
+                new PresetHeadersClientHttpRequestFactory(httpClient, settings.getPresetHeaders());
+        httpComponentsFactory.setBufferRequestBody(false);
         final UriPrefixingClientHttpRequestFactory factory = new UriPrefixingClientHttpRequestFactory(
-                new HttpComponentsClientHttpRequestFactory(httpClient),
+                httpComponentsFactory,
                 endpoint.toUri()
         );
 
@@ -124,10 +139,6 @@ public abstract class SingleEndpointGoodDataRestProvider implements GoodDataRest
         } else {
             restTemplate = RetryableRestTemplate.create(settings.getRetrySettings(), factory);
         }
-        restTemplate.setInterceptors(asList(
-                new HeaderSettingRequestInterceptor(settings.getPresetHeaders()),
-                new DeprecationWarningRequestInterceptor()));
-
         restTemplate.setErrorHandler(new ResponseErrorHandler(restTemplate.getMessageConverters()));
 
         return restTemplate;
@@ -147,15 +158,111 @@ public abstract class SingleEndpointGoodDataRestProvider implements GoodDataRest
         socketConfig.setSoTimeout(settings.getSocketTimeout());
         connectionManager.setDefaultSocketConfig(socketConfig.build());
 
+        return HttpClientBuilder.create()
+                .setUserAgent(settings.getGoodDataUserAgent())
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(createRequestConfig(settings));
+    }
+
+    /**
+     * Creates default request config, applying given settings.
+     * @param settings settings to apply
+     * @return request config
+     */
+    protected RequestConfig createRequestConfig(final GoodDataSettings settings) {
         final RequestConfig.Builder requestConfig = RequestConfig.copy(RequestConfig.DEFAULT);
         requestConfig.setConnectTimeout(settings.getConnectionTimeout());
         requestConfig.setConnectionRequestTimeout(settings.getConnectionRequestTimeout());
         requestConfig.setSocketTimeout(settings.getSocketTimeout());
         requestConfig.setCookieSpec(CookieSpecs.STANDARD);
+        return requestConfig.build();
+    }
 
-        return HttpClientBuilder.create()
-                .setUserAgent(settings.getGoodDataUserAgent())
-                .setConnectionManager(connectionManager)
-                .setDefaultRequestConfig(requestConfig.build());
+    /**
+     * Sets the preset headers to each request created by the REST template right before it's executed (overriding
+     * the same headers set by the REST template) and checks the response for X-GDC-DEPRECATED header.
+     * Unlike the REST template interceptors it doesn't buffer the request body in memory and it doesn't depend
+     * on the configuration of the http client.
+     */
+    private static class PresetHeadersClientHttpRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+        private final Map<String, String> presetHeaders;
+
+        private PresetHeadersClientHttpRequestFactory(final HttpClient httpClient,
+                                                      final Map<String, String> presetHeaders) {
+            super(httpClient);
+            this.presetHeaders = notNull(presetHeaders, "presetHeaders");
+        }
+
+        @Override
+        public ClientHttpRequest createRequest(final URI uri, final HttpMethod httpMethod) throws IOException {
+            return new PresetHeadersClientHttpRequest(super.createRequest(uri, httpMethod), presetHeaders);
+        }
+    }
+
+    private static class PresetHeadersClientHttpRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+
+        private static final Logger deprecationLogger = LoggerFactory.getLogger("com.gooddata.sdk.DeprecationWarning");
+
+        private final ClientHttpRequest request;
+        private final Map<String, String> presetHeaders;
+
+        private PresetHeadersClientHttpRequest(final ClientHttpRequest request, final Map<String, String> presetHeaders) {
+            this.request = request;
+            this.presetHeaders = presetHeaders;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            presetHeaders.forEach(request.getHeaders()::set);
+            final ClientHttpResponse response = request.execute();
+            if (deprecationLogger.isWarnEnabled()) {
+                final String deprecated = response.getHeaders().getFirst(Header.GDC_DEPRECATED);
+                if (deprecated != null) {
+                    final String version = request.getHeaders().getFirst(Header.GDC_VERSION);
+                    deprecationLogger.warn("Resource path={} version={} deprecated {}", request.getURI().getPath(),
+                            version != null ? version : "UNKNOWN", deprecated);
+                }
+            }
+            return response;
+        }
+
+        @Override
+        public void setBody(final Body body) {
+            if (request instanceof StreamingHttpOutputMessage) {
+                ((StreamingHttpOutputMessage) request).setBody(body);
+            } else {
+                try {
+                    body.writeTo(request.getBody());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return request.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return request.getMethod();
+        }
+
+        @Override
+        public String getMethodValue() {
+            return request.getMethodValue();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
     }
 }
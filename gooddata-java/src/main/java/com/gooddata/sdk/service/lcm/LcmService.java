@@ -96,7 +96,7 @@ public class LcmService extends AbstractService {
         notNull(filter, "filter");
         notNull(startPage, "startPage");
         final String accountId = notNull(account, "account").getId();
-        return new PageBrowser<>(startPage, page -> listLcmEntities(getLcmEntitiesUri(accountId, filter, page)));
+        return createPageBrowser(startPage, page -> listLcmEntities(getLcmEntitiesUri(accountId, filter, page)));
     }
 
     private URI getLcmEntitiesUri(final String accountId) {
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import com.gooddata.sdk.common.GoodDataException;
+import com.gooddata.sdk.model.md.AttributeElement;
+import com.gooddata.sdk.model.md.AttributeElements;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Iterates over attribute elements loaded page by page, so only the current page (and the prefetched one) is kept
+ * in memory. The iteration ends when the total number of elements reported by the API is reached. The API may return
+ * less elements than requested even when there are more of them, so when the total is not reported, the iteration
+ * ends only by an empty page.
+ */
+class AttributeElementsIterator implements Iterator<AttributeElement>, AutoCloseable {
+
+    private final IntFunction<AttributeElements> pageLoader;
+    private final Executor prefetchExecutor;
+
+    private Iterator<AttributeElement> page = Collections.emptyIterator();
+    private CompletableFuture<AttributeElements> prefetched;
+    private int offset;
+    private boolean last;
+
+    /**
+     * @param pageLoader       loads page of elements starting at given offset
+     * @param prefetchExecutor executor to load the next page on while the current one is iterated,
+     *                         null to load pages on demand
+     */
+    AttributeElementsIterator(final IntFunction<AttributeElements> pageLoader, final Executor prefetchExecutor) {
+        this.pageLoader = notNull(pageLoader, "pageLoader");
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!page.hasNext() && !last) {
+            page = nextPage().iterator();
+        }
+        return page.hasNext();
+    }
+
+    @Override
+    public AttributeElement next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.next();
+    }
+
+    /**
+     * Cancels loading of the prefetched page.
+     */
+    @Override
+    public void close() {
+        last = true;
+        if (prefetched != null) {
+            prefetched.cancel(false);
+            prefetched = null;
+        }
+    }
+
+    private List<AttributeElement> nextPage() {
+        final AttributeElements loaded = prefetched != null ? join(prefetched) : pageLoader.apply(offset);
+        prefetched = null;
+        final List<AttributeElement> elements = loaded.getElements();
+        offset += elements.size();
+        last = elements.isEmpty() || (loaded.getTotal() != null && offset >= loaded.getTotal());
+        if (!last && prefetchExecutor != null) {
+            final int nextOffset = offset;
+            prefetched = CompletableFuture.supplyAsync(() -> pageLoader.apply(nextOffset), prefetchExecutor);
+        }
+        return elements;
+    }
+
+    private AttributeElements join(final CompletableFuture<AttributeElements> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            last = true;
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GoodDataException("Unable to get attribute elements", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import com.gooddata.sdk.common.GoodDataException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Iterates over results of bulk requests for the given URIs loaded in chunks, e.g. metadata objects or their usages.
+ * At most {@code concurrency} chunks are requested in parallel ahead of the consumer, so the memory needed doesn't
+ * depend on the number of URIs. Chunks are returned in the order of the URIs, regardless of the order in which
+ * they're loaded.
+ *
+ * @param <R> type of the chunk result
+ */
+class BulkGetChunks<R> implements Iterator<R>, AutoCloseable {
+
+    private final Function<List<String>, R> loader;
+    private final Executor executor;
+    private final Iterator<String> uris;
+    private final int chunkSize;
+    private final int concurrency;
+    private final Deque<CompletableFuture<R>> pending = new ArrayDeque<>();
+
+    /**
+     * @param loader      loads result of single chunk of URIs
+     * @param executor    executor to run the loader on
+     * @param uris        URIs of the objects
+     * @param chunkSize   maximum number of URIs in a chunk
+     * @param concurrency maximum number of chunks loaded in parallel
+     */
+    BulkGetChunks(final Function<List<String>, R> loader, final Executor executor,
+                  final Collection<String> uris, final int chunkSize, final int concurrency) {
+        this.loader = notNull(loader, "loader");
+        this.executor = notNull(executor, "executor");
+        this.uris = notNull(uris, "uris").iterator();
+        isTrue(chunkSize > 0, "chunkSize must be greater than zero");
+        isTrue(concurrency > 0, "concurrency must be greater than zero");
+        this.chunkSize = chunkSize;
+        this.concurrency = concurrency;
+        requestChunks();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public R next() {
+        final CompletableFuture<R> chunk = pending.poll();
+        if (chunk == null) {
+            throw new NoSuchElementException();
+        }
+        requestChunks();
+        try {
+            return chunk.join();
+        } catch (CompletionException e) {
+            close();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GoodDataException("Unable to load chunk", e.getCause());
+        }
+    }
+
+    /**
+     * Cancels the chunks requested ahead of the consumer.
+     */
+    @Override
+    public void close() {
+        CompletableFuture<R> chunk;
+        while ((chunk = pending.poll()) != null) {
+            chunk.cancel(false);
+        }
+    }
+
+    private void requestChunks() {
+        while (pending.size() < concurrency && uris.hasNext()) {
+            final List<String> chunk = new ArrayList<>(chunkSize);
+            while (chunk.size() < chunkSize && uris.hasNext()) {
+                chunk.add(uris.next());
+            }
+            pending.add(CompletableFuture.supplyAsync(() -> loader.apply(chunk), executor));
+        }
+    }
+}
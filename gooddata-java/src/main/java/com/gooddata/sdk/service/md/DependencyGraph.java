@@ -0,0 +1,359 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Immutable graph of dependencies among metadata objects of a project, built by
+ * {@link MetadataService#getDependencyGraph(com.gooddata.sdk.model.project.Project, Class[])}. Objects are nodes
+ * identified by URI and an edge leads from the object using another object to the used one, so impact of a change
+ * can be analyzed locally, without further API calls.
+ * <p>
+ * Nodes are numbered internally and edges are kept in compressed int arrays for both directions, so even graphs
+ * of huge projects need little memory. The graph can be saved by {@link #writeTo(OutputStream)} and loaded by
+ * {@link #readFrom(InputStream)} to be reused between runs.
+ */
+public final class DependencyGraph {
+
+    private static final int MAGIC = 0x47444447;
+    private static final int VERSION = 1;
+
+    private final String[] uris;
+    private final String[] categories;
+    private final Map<String, Integer> ids;
+    private final int[] usesOffsets;
+    private final int[] usesTargets;
+    private final int[] usedByOffsets;
+    private final int[] usedByTargets;
+
+    private DependencyGraph(final String[] uris, final String[] categories, final int[] users, final int[] used,
+                            final int edgeCount) {
+        this.uris = uris;
+        this.categories = categories;
+        this.ids = new HashMap<>(uris.length * 4 / 3 + 1);
+        for (int id = 0; id < uris.length; id++) {
+            ids.put(uris[id], id);
+        }
+        usesOffsets = new int[uris.length + 1];
+        usesTargets = new int[edgeCount];
+        usedByOffsets = new int[uris.length + 1];
+        usedByTargets = new int[edgeCount];
+        index(users, used, edgeCount, usesOffsets, usesTargets);
+        index(used, users, edgeCount, usedByOffsets, usedByTargets);
+    }
+
+    /**
+     * @return number of objects in the graph
+     */
+    public int size() {
+        return uris.length;
+    }
+
+    /**
+     * @return number of dependencies in the graph
+     */
+    public int getEdgeCount() {
+        return usesTargets.length;
+    }
+
+    /**
+     * @return URIs of all the objects in the graph
+     */
+    public Collection<String> getUris() {
+        return Collections.unmodifiableList(Arrays.asList(uris));
+    }
+
+    /**
+     * @param uri object URI
+     * @return true when the object is in the graph
+     */
+    public boolean contains(final String uri) {
+        return ids.containsKey(notNull(uri, "uri"));
+    }
+
+    /**
+     * @param uri object URI
+     * @return category of the object (e.g. {@code metric}, {@code report}) or null when the object is not in the graph
+     */
+    public String getCategory(final String uri) {
+        final Integer id = ids.get(notNull(uri, "uri"));
+        return id != null ? categories[id] : null;
+    }
+
+    /**
+     * Only the objects in the graph are returned, i.e. the objects of the types the graph was built for and the objects
+     * using them. Other objects used by the users (e.g. attributes used by a report when only metrics were requested)
+     * are not included.
+     *
+     * @param uri object URI
+     * @return URIs of the objects in the graph directly used by the given object
+     */
+    public Set<String> getUses(final String uri) {
+        return traverse(uri, usesOffsets, usesTargets, false);
+    }
+
+    /**
+     * @param uri object URI
+     * @return URIs of the objects directly using the given object
+     */
+    public Set<String> getUsedBy(final String uri) {
+        return traverse(uri, usedByOffsets, usedByTargets, false);
+    }
+
+    /**
+     * Only the objects in the graph are returned, see {@link #getUses(String)}.
+     *
+     * @param uri object URI
+     * @return URIs of all the objects in the graph used by the given object directly or through other objects
+     */
+    public Set<String> getTransitiveUses(final String uri) {
+        return traverse(uri, usesOffsets, usesTargets, true);
+    }
+
+    /**
+     * Finds all the objects affected by a change of the given object.
+     *
+     * @param uri object URI
+     * @return URIs of all the objects using the given object directly or through other objects
+     */
+    public Set<String> getTransitiveUsedBy(final String uri) {
+        return traverse(uri, usedByOffsets, usedByTargets, true);
+    }
+
+    /**
+     * Writes the graph to the stream, the stream is not closed.
+     *
+     * @param output stream to write to
+     * @throws IOException when writing fails
+     */
+    public void writeTo(final OutputStream output) throws IOException {
+        notNull(output, "output");
+        final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(output));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(uris.length);
+        for (int id = 0; id < uris.length; id++) {
+            data.writeUTF(uris[id]);
+            data.writeUTF(categories[id] != null ? categories[id] : "");
+        }
+        data.writeInt(usesTargets.length);
+        for (int user = 0; user < uris.length; user++) {
+            for (int i = usesOffsets[user]; i < usesOffsets[user + 1]; i++) {
+                data.writeInt(user);
+                data.writeInt(usesTargets[i]);
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Writes the graph to the file, the file is overwritten when exists.
+     *
+     * @param file file to write to
+     * @throws IOException when writing fails
+     */
+    public void writeTo(final Path file) throws IOException {
+        notNull(file, "file");
+        final OutputStream output = Files.newOutputStream(file);
+        try {
+            writeTo(output);
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * Reads the graph written by {@link #writeTo(OutputStream)}, the stream is not closed.
+     *
+     * @param input stream to read from
+     * @return the graph
+     * @throws IOException when reading fails or the stream doesn't contain a graph
+     */
+    public static DependencyGraph readFrom(final InputStream input) throws IOException {
+        notNull(input, "input");
+        final DataInputStream data = new DataInputStream(new BufferedInputStream(input));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a dependency graph");
+        }
+        final int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported dependency graph version " + version);
+        }
+        final int nodeCount = data.readInt();
+        final String[] uris = new String[nodeCount];
+        final String[] categories = new String[nodeCount];
+        for (int id = 0; id < nodeCount; id++) {
+            uris[id] = data.readUTF();
+            final String category = data.readUTF();
+            categories[id] = category.isEmpty() ? null : category.intern();
+        }
+        final int edgeCount = data.readInt();
+        final int[] users = new int[edgeCount];
+        final int[] used = new int[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            users[i] = checkId(data.readInt(), nodeCount);
+            used[i] = checkId(data.readInt(), nodeCount);
+        }
+        return new DependencyGraph(uris, categories, users, used, edgeCount);
+    }
+
+    /**
+     * Reads the graph written by {@link #writeTo(Path)}.
+     *
+     * @param file file to read from
+     * @return the graph
+     * @throws IOException when reading fails or the file doesn't contain a graph
+     */
+    public static DependencyGraph readFrom(final Path file) throws IOException {
+        notNull(file, "file");
+        final InputStream input = Files.newInputStream(file);
+        try {
+            return readFrom(input);
+        } finally {
+            input.close();
+        }
+    }
+
+    private Set<String> traverse(final String uri, final int[] offsets, final int[] targets, final boolean transitive) {
+        final Integer start = ids.get(notNull(uri, "uri"));
+        if (start == null) {
+            return Collections.emptySet();
+        }
+        final BitSet visited = new BitSet(uris.length);
+        visited.set(start);
+        final Set<String> result = new LinkedHashSet<>();
+        int[] queue = new int[16];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        while (head < tail) {
+            final int node = queue[head++];
+            for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                final int target = targets[i];
+                if (visited.get(target)) {
+                    continue;
+                }
+                visited.set(target);
+                result.add(uris[target]);
+                if (transitive) {
+                    if (tail == queue.length) {
+                        queue = Arrays.copyOf(queue, queue.length * 2);
+                    }
+                    queue[tail++] = target;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int checkId(final int id, final int nodeCount) throws IOException {
+        if (id < 0 || id >= nodeCount) {
+            throw new IOException("Invalid node " + id);
+        }
+        return id;
+    }
+
+    /**
+     * Fills compressed adjacency of given edges, the targets of each source are sorted and unique.
+     */
+    private static void index(final int[] sources, final int[] targets, final int edgeCount,
+                              final int[] offsets, final int[] adjacency) {
+        for (int i = 0; i < edgeCount; i++) {
+            offsets[sources[i] + 1]++;
+        }
+        for (int node = 1; node < offsets.length; node++) {
+            offsets[node] += offsets[node - 1];
+        }
+        final int[] next = Arrays.copyOf(offsets, offsets.length - 1);
+        for (int i = 0; i < edgeCount; i++) {
+            adjacency[next[sources[i]]++] = targets[i];
+        }
+        for (int node = 0; node < offsets.length - 1; node++) {
+            Arrays.sort(adjacency, offsets[node], offsets[node + 1]);
+        }
+    }
+
+    /**
+     * Collects objects and dependencies of the graph, duplicate dependencies are ignored.
+     */
+    static class Builder {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> uris = new ArrayList<>();
+        private final List<String> categories = new ArrayList<>();
+        private final Set<Long> edges = new HashSet<>();
+
+        /**
+         * Adds the object unless already added, fills its category when not known yet.
+         *
+         * @param uri      object URI
+         * @param category object category, may be null
+         * @return node ID
+         */
+        int addNode(final String uri, final String category) {
+            final Integer id = ids.get(uri);
+            if (id != null) {
+                if (category != null && categories.get(id) == null) {
+                    categories.set(id, category.intern());
+                }
+                return id;
+            }
+            ids.put(uri, uris.size());
+            uris.add(uri);
+            categories.add(category != null ? category.intern() : null);
+            return uris.size() - 1;
+        }
+
+        /**
+         * Adds dependency of the objects.
+         *
+         * @param user         URI of the object using the other one
+         * @param userCategory category of the object using the other one, may be null
+         * @param used         URI of the used object
+         */
+        void addEdge(final String user, final String userCategory, final String used) {
+            final long userId = addNode(user, userCategory);
+            final long usedId = addNode(used, null);
+            if (userId != usedId) {
+                edges.add(userId << 32 | usedId);
+            }
+        }
+
+        DependencyGraph build() {
+            final int[] users = new int[edges.size()];
+            final int[] used = new int[edges.size()];
+            int i = 0;
+            for (long edge : edges) {
+                users[i] = (int) (edge >>> 32);
+                used[i] = (int) edge;
+                i++;
+            }
+            return new DependencyGraph(uris.toArray(new String[0]), categories.toArray(new String[0]), users, used,
+                    users.length);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import com.gooddata.sdk.common.GoodDataException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Two-way cache of metadata object identifiers and URIs used by {@link MetadataService} when configured
+ * by {@link IdentifierCacheSettings}. Only identifiers which are neither cached nor being resolved by another caller
+ * are sent to the API, concurrent callers resolving the same identifier wait for the single request.
+ * <p>
+ * The cache is filled by resolved identifiers, by query entries obtained by
+ * {@link MetadataService#find(com.gooddata.sdk.model.project.Project, Class, com.gooddata.sdk.model.md.Restriction...)}
+ * and by {@link #prefill(String, Map)}. Pairs are evicted in the least recently used order when the size exceeds
+ * the limit and when the objects are updated or removed using {@link MetadataService}. Identifiers which don't exist
+ * are not cached.
+ * <p>
+ * The cache is thread safe.
+ */
+public final class IdentifierCache {
+
+    private final IdentifierCacheSettings settings;
+    private final LinkedHashMap<Key, String> uris = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Key> identifiers = new HashMap<>();
+    private final Map<Key, CompletableFuture<String>> pending = new HashMap<>();
+
+    private long hitCount;
+    private long missCount;
+
+    IdentifierCache(final IdentifierCacheSettings settings) {
+        this.settings = notNull(settings, "settings");
+    }
+
+    /**
+     * Resolves identifiers of given project to URIs, the identifiers not cached are resolved by the loader.
+     *
+     * @param projectId   project ID
+     * @param identifiers identifiers to resolve
+     * @param loader      resolves given identifiers to URIs
+     * @return map of resolved identifiers as keys and URIs as values in the order of the given identifiers
+     */
+    Map<String, String> resolve(final String projectId, final Collection<String> identifiers,
+                                final Function<Collection<String>, Map<String, String>> loader) {
+        final Map<String, String> hits = new HashMap<>();
+        final Map<String, CompletableFuture<String>> awaited = new HashMap<>();
+        final Map<String, CompletableFuture<String>> loading = new LinkedHashMap<>();
+        synchronized (this) {
+            for (String identifier : identifiers) {
+                if (hits.containsKey(identifier) || awaited.containsKey(identifier)) {
+                    continue;
+                }
+                final Key key = new Key(projectId, identifier);
+                final String uri = uris.get(key);
+                if (uri != null) {
+                    hitCount++;
+                    hits.put(identifier, uri);
+                    continue;
+                }
+                missCount++;
+                CompletableFuture<String> resolution = pending.get(key);
+                if (resolution == null) {
+                    resolution = new CompletableFuture<>();
+                    pending.put(key, resolution);
+                    loading.put(identifier, resolution);
+                }
+                awaited.put(identifier, resolution);
+            }
+        }
+        if (!loading.isEmpty()) {
+            load(projectId, loading, loader);
+        }
+
+        final Map<String, String> result = new LinkedHashMap<>();
+        for (String identifier : identifiers) {
+            final String uri = hits.containsKey(identifier) ? hits.get(identifier) : join(awaited.get(identifier));
+            if (uri != null) {
+                result.put(identifier, uri);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns cached URIs of the given identifiers of the project.
+     *
+     * @param projectId   project ID
+     * @param identifiers identifiers
+     * @return map of cached identifiers as keys and URIs as values
+     */
+    synchronized Map<String, String> getCached(final String projectId, final Collection<String> identifiers) {
+        final Map<String, String> result = new LinkedHashMap<>();
+        for (String identifier : identifiers) {
+            final String uri = uris.get(new Key(projectId, identifier));
+            if (uri != null) {
+                hitCount++;
+                result.put(identifier, uri);
+            } else {
+                missCount++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Caches given identifiers and URIs of the project.
+     *
+     * @param projectId         project ID
+     * @param identifiersToUris map of identifiers as keys and URIs as values
+     */
+    public synchronized void prefill(final String projectId, final Map<String, String> identifiersToUris) {
+        notNull(projectId, "projectId");
+        notNull(identifiersToUris, "identifiersToUris");
+        identifiersToUris.forEach((identifier, uri) -> put(new Key(projectId, identifier), uri));
+    }
+
+    /**
+     * Returns cached URI of the given identifier.
+     *
+     * @param projectId  project ID
+     * @param identifier identifier
+     * @return URI or empty when not cached
+     */
+    public synchronized Optional<String> getUri(final String projectId, final String identifier) {
+        notNull(projectId, "projectId");
+        notNull(identifier, "identifier");
+        return Optional.ofNullable(uris.get(new Key(projectId, identifier)));
+    }
+
+    /**
+     * Returns cached identifier of the given URI.
+     *
+     * @param uri URI
+     * @return identifier or empty when not cached
+     */
+    public synchronized Optional<String> getIdentifier(final String uri) {
+        notNull(uri, "uri");
+        final Key key = identifiers.get(uri);
+        return key != null ? Optional.of(key.identifier) : Optional.empty();
+    }
+
+    /**
+     * Evicts the pair of the given URI from the cache.
+     *
+     * @param uri URI
+     */
+    public synchronized void invalidate(final String uri) {
+        notNull(uri, "uri");
+        final Key key = identifiers.remove(uri);
+        if (key != null) {
+            uris.remove(key);
+        }
+    }
+
+    /**
+     * Evicts all the pairs from the cache.
+     */
+    public synchronized void invalidateAll() {
+        uris.clear();
+        identifiers.clear();
+    }
+
+    /**
+     * @return number of cached pairs
+     */
+    public synchronized int size() {
+        return uris.size();
+    }
+
+    /**
+     * @return number of identifiers resolved from the cache
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return number of identifiers not found in the cache
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    private void load(final String projectId, final Map<String, CompletableFuture<String>> loading,
+                      final Function<Collection<String>, Map<String, String>> loader) {
+        final Map<String, String> loaded;
+        try {
+            loaded = loader.apply(new ArrayList<>(loading.keySet()));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                loading.keySet().forEach(identifier -> pending.remove(new Key(projectId, identifier)));
+            }
+            loading.values().forEach(resolution -> resolution.completeExceptionally(e));
+            throw e;
+        }
+        synchronized (this) {
+            for (String identifier : loading.keySet()) {
+                final Key key = new Key(projectId, identifier);
+                pending.remove(key);
+                final String uri = loaded.get(identifier);
+                if (uri != null) {
+                    put(key, uri);
+                }
+            }
+        }
+        loading.forEach((identifier, resolution) -> resolution.complete(loaded.get(identifier)));
+    }
+
+    private static String join(final CompletableFuture<String> resolution) {
+        try {
+            return resolution.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GoodDataException("Unable to get URIs from identifiers.", e.getCause());
+        }
+    }
+
+    private void put(final Key key, final String uri) {
+        final String previousUri = uris.put(key, uri);
+        if (previousUri != null && !previousUri.equals(uri)) {
+            identifiers.remove(previousUri);
+        }
+        final Key previousKey = identifiers.put(uri, key);
+        if (previousKey != null && !previousKey.equals(key)) {
+            uris.remove(previousKey);
+        }
+        final Iterator<Map.Entry<Key, String>> leastRecentlyUsed = uris.entrySet().iterator();
+        while (uris.size() > settings.getMaxSize() && leastRecentlyUsed.hasNext()) {
+            identifiers.remove(leastRecentlyUsed.next().getValue());
+            leastRecentlyUsed.remove();
+        }
+    }
+
+    private static class Key {
+        private final String projectId;
+        private final String identifier;
+
+        private Key(final String projectId, final String identifier) {
+            this.projectId = projectId;
+            this.identifier = identifier;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Key key = (Key) o;
+            return projectId.equals(key.projectId) && identifier.equals(key.identifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(projectId, identifier);
+        }
+    }
+}
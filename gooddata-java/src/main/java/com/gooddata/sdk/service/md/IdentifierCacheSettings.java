@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import com.gooddata.sdk.common.util.GoodDataToStringBuilder;
+
+import java.util.Objects;
+
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Contains settings for the identifier to URI resolution cache of {@link MetadataService}.
+ *
+ * @see IdentifierCache
+ */
+public class IdentifierCacheSettings {
+
+    private int maxSize = 100_000;
+
+    /**
+     * Maximum number of cached identifier and URI pairs across all projects, the least recently used pairs are
+     * evicted when exceeded.
+     * <p>
+     * The default value is 100 000.
+     *
+     * @return maximum number of cached pairs
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(final int maxSize) {
+        isTrue(maxSize > 0, "maxSize must be greater than zero");
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final IdentifierCacheSettings that = (IdentifierCacheSettings) o;
+        return maxSize == that.maxSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxSize);
+    }
+
+    @Override
+    public String toString() {
+        return GoodDataToStringBuilder.defaultToString(this);
+    }
+}
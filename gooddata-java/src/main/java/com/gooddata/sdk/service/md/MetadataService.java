@@ -11,20 +11,31 @@ import com.gooddata.sdk.model.md.*;
 import com.gooddata.sdk.model.md.report.ReportDefinition;
 import com.gooddata.sdk.model.project.Project;
 import com.gooddata.sdk.service.AbstractService;
+import com.gooddata.sdk.service.AsyncRestOperations;
 import com.gooddata.sdk.service.GoodDataSettings;
+import com.gooddata.sdk.service.util.SharedExecutors;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.web.util.UriTemplate;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.gooddata.sdk.common.util.Validate.noNullElements;
 import static com.gooddata.sdk.common.util.Validate.notNull;
 import static com.gooddata.sdk.common.util.Validate.notNullState;
 import static java.util.Arrays.asList;
+import static org.springframework.util.Assert.isTrue;
 
 /**
  * Query, create and update project metadata - attributes, facts, metrics, reports,...
@@ -32,10 +43,68 @@ import static java.util.Arrays.asList;
 public class MetadataService extends AbstractService {
 
     public static final UriTemplate OBJ_TEMPLATE = new UriTemplate(Obj.OBJ_URI);
+    /**
+     * Default number of attribute elements requested at once by {@link #streamAttributeElements(DisplayForm)}.
+     */
+    public static final int DEFAULT_ELEMENTS_PAGE_SIZE = 1000;
     private static final Set<String> IRREGULAR_PLURAL_WORD_SUFFIXES = new HashSet<>(asList("s", "ch", "sh", "x", "o"));
 
+    private final ObjCache objCache;
+    private final QueryCatalog queryCatalog;
+    private final IdentifierCache identifierCache;
+    private final ObjectMapper objMapper;
+
     public MetadataService(final RestTemplate restTemplate, final GoodDataSettings settings) {
-        super(restTemplate, settings);
+        this(restTemplate, null, settings);
+    }
+
+    /**
+     * Constructs service supporting also non-blocking variants of its methods.
+     * @param restTemplate        RESTful HTTP Spring template
+     * @param asyncRestOperations non-blocking REST operations
+     * @param settings            settings
+     */
+    public MetadataService(final RestTemplate restTemplate, final AsyncRestOperations asyncRestOperations,
+                           final GoodDataSettings settings) {
+        super(restTemplate, asyncRestOperations, settings);
+        this.objCache = settings.getObjCacheSettings() != null ? new ObjCache(settings.getObjCacheSettings()) : null;
+        this.queryCatalog = settings.getQueryCatalogSettings() != null
+                ? new QueryCatalog(settings.getQueryCatalogSettings()) : null;
+        this.identifierCache = settings.getIdentifierCacheSettings() != null
+                ? new IdentifierCache(settings.getIdentifierCacheSettings()) : null;
+        this.objMapper = getObjectMapper();
+    }
+
+    /**
+     * Cache of metadata objects obtained by {@link #getObjByUri(String, Class)}, {@link #getObjById(Project, String, Class)}
+     * and {@link #getObj(Project, Class, Restriction...)}, which exists only when configured
+     * by {@link GoodDataSettings#setObjCacheSettings(ObjCacheSettings)}.
+     *
+     * @return cache of metadata objects or empty when objects are not cached
+     */
+    public Optional<ObjCache> getObjCache() {
+        return Optional.ofNullable(objCache);
+    }
+
+    /**
+     * Catalog of query entries searched by {@link #find(Project, Class, Restriction...)} and methods based on it,
+     * which exists only when configured by {@link GoodDataSettings#setQueryCatalogSettings(QueryCatalogSettings)}.
+     *
+     * @return catalog of query entries or empty when query entries are not cataloged
+     */
+    public Optional<QueryCatalog> getQueryCatalog() {
+        return Optional.ofNullable(queryCatalog);
+    }
+
+    /**
+     * Cache of identifiers resolved by {@link #identifiersToUris(Project, Collection)} and
+     * {@link #findUris(Project, Restriction...)}, which exists only when configured
+     * by {@link GoodDataSettings#setIdentifierCacheSettings(IdentifierCacheSettings)}.
+     *
+     * @return cache of identifiers or empty when identifiers are not cached
+     */
+    public Optional<IdentifierCache> getIdentifierCache() {
+        return Optional.ofNullable(identifierCache);
     }
 
     /**
@@ -67,11 +136,15 @@ public class MetadataService extends AbstractService {
         if (response == null) {
             throw new ObjCreateException("Received empty response from API call.", obj);
         }
+        if (queryCatalog != null) {
+            queryCatalog.invalidate(project.getId());
+        }
         return response;
     }
 
     /**
-     * Get metadata object by URI (format is <code>/gdc/md/{PROJECT_ID}/obj/{OBJECT_ID}</code>)
+     * Get metadata object by URI (format is <code>/gdc/md/{PROJECT_ID}/obj/{OBJECT_ID}</code>).
+     * The object is served from the {@link #getObjCache()} if configured.
      *
      * @param uri URI in format <code>/gdc/md/{PROJECT_ID}/obj/{OBJECT_ID}</code>
      * @param cls class of the resulting object
@@ -84,8 +157,28 @@ public class MetadataService extends AbstractService {
     public <T extends Obj> T getObjByUri(String uri, Class<T> cls) {
         notNull(uri, "uri");
         notNull(cls, "cls");
+        if (objCache == null) {
+            return fetchObjByUri(uri, cls, cls);
+        }
+
+        final long generation = objCache.getGeneration();
+        final byte[] cached = objCache.get(uri);
+        final byte[] body = cached != null ? cached : fetchObjByUri(uri, cls, byte[].class);
+        final T result;
+        try {
+            result = objMapper.readValue(body, cls);
+        } catch (IOException e) {
+            throw new GoodDataException("Unable to read " + cls.getSimpleName().toLowerCase() + " " + uri, e);
+        }
+        if (cached == null) {
+            objCache.put(uri, body, generation);
+        }
+        return result;
+    }
+
+    private <R> R fetchObjByUri(final String uri, final Class<? extends Obj> cls, final Class<R> responseType) {
         try {
-            final T result = restTemplate.getForObject(uri, cls);
+            final R result = restTemplate.getForObject(uri, responseType);
 
             if (result != null) {
                 return result;
@@ -103,8 +196,41 @@ public class MetadataService extends AbstractService {
         }
     }
 
+    /**
+     * Get metadata object by URI (format is <code>/gdc/md/{PROJECT_ID}/obj/{OBJECT_ID}</code>) without blocking
+     * the calling thread.
+     *
+     * @param uri URI in format <code>/gdc/md/{PROJECT_ID}/obj/{OBJECT_ID}</code>
+     * @param cls class of the resulting object
+     * @param <T> type of the object to be returned
+     * @return future of the metadata object, completed exceptionally the same way as {@link #getObjByUri(String, Class)}
+     * @throws UnsupportedOperationException if the service doesn't support non-blocking calls
+     */
+    public <T extends Obj> CompletableFuture<T> getObjByUriAsync(String uri, Class<T> cls) {
+        notNull(uri, "uri");
+        notNull(cls, "cls");
+        return getAsyncRestOperations().getForObject(uri, cls).handle((result, e) -> {
+            if (e == null) {
+                if (result != null) {
+                    return result;
+                }
+                throw new GoodDataException("Received empty response from API call.");
+            }
+            final Throwable cause = unwrap(e);
+            if (cause instanceof GoodDataRestException) {
+                if (HttpStatus.NOT_FOUND.value() == ((GoodDataRestException) cause).getStatusCode()) {
+                    throw new ObjNotFoundException(uri, cls, (GoodDataRestException) cause);
+                }
+                throw (GoodDataRestException) cause;
+            }
+            throw new GoodDataException("Unable to get " + cls.getSimpleName().toLowerCase() + " " + uri, cause);
+        });
+    }
+
     /**
      * Retrieves a collection of objects corresponding to the supplied collection of URIs.
+     * When there are more URIs than {@link GoodDataSettings#getBulkGetChunkSize()}, they're requested in chunks
+     * loaded in parallel.
      *
      * @param project project that contains the objects to be retrieved
      * @param uris collection of URIs
@@ -114,9 +240,63 @@ public class MetadataService extends AbstractService {
         notNull(project, "project");
         notNull(project.getId(), "project.id");
         notNull(uris, "uris");
+        if (uris.size() <= getSettings().getBulkGetChunkSize()) {
+            return bulkGet(project.getId(), uris);
+        }
+        final List<Obj> result = new ArrayList<>(uris.size());
+        getObjsByUris(project, uris, result::add);
+        return result;
+    }
 
+    /**
+     * Retrieves objects corresponding to the supplied collection of URIs and passes them to the consumer as soon as
+     * each chunk of {@link GoodDataSettings#getBulkGetChunkSize()} URIs is loaded. Up to
+     * {@link GoodDataSettings#getBulkGetConcurrency()} chunks are loaded in parallel ahead of the consumer,
+     * which is always called from the calling thread.
+     *
+     * @param project  project that contains the objects to be retrieved
+     * @param uris     collection of URIs
+     * @param consumer consumer of metadata objects corresponding to the supplied URIs
+     */
+    public void getObjsByUris(Project project, Collection<String> uris, Consumer<? super Obj> consumer) {
+        notNull(consumer, "consumer");
+        final Stream<Obj> objs = streamObjsByUris(project, uris);
         try {
-            final BulkGet result = restTemplate.postForObject(BulkGet.URI, new BulkGetUris(uris), BulkGet.class, project.getId());
+            objs.forEach(consumer);
+        } finally {
+            objs.close();
+        }
+    }
+
+    /**
+     * Retrieves objects corresponding to the supplied collection of URIs as lazy stream. Chunks of
+     * {@link GoodDataSettings#getBulkGetChunkSize()} URIs are loaded while the stream is consumed, up to
+     * {@link GoodDataSettings#getBulkGetConcurrency()} chunks ahead of the consumer. The stream should be closed
+     * when not consumed completely, to cancel chunks requested ahead.
+     *
+     * @param project project that contains the objects to be retrieved
+     * @param uris    collection of URIs
+     * @return stream of metadata objects corresponding to the supplied URIs
+     */
+    public Stream<Obj> streamObjsByUris(Project project, Collection<String> uris) {
+        notNull(project, "project");
+        notNull(project.getId(), "project.id");
+        notNull(uris, "uris");
+        final String projectId = project.getId();
+        final BulkGetChunks<Collection<Obj>> chunks = new BulkGetChunks<>(chunk -> bulkGet(projectId, chunk), SharedExecutors.getWorkers(),
+                uris, getSettings().getBulkGetChunkSize(),
+                Math.min(getSettings().getBulkGetConcurrency(), getSettings().getMaxConnections()));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunks, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(chunks::close)
+                .flatMap(Collection::stream);
+    }
+
+    /**
+     * @see #getObjsByUris(Project, Collection)
+     */
+    Collection<Obj> bulkGet(final String projectId, final Collection<String> uris) {
+        try {
+            final BulkGet result = restTemplate.postForObject(BulkGet.URI, new BulkGetUris(uris), BulkGet.class, projectId);
 
             if (result != null) {
                 return result.getItems();
@@ -128,6 +308,38 @@ public class MetadataService extends AbstractService {
         }
     }
 
+    /**
+     * Retrieves a collection of objects corresponding to the supplied collection of URIs without blocking
+     * the calling thread.
+     *
+     * @param project project that contains the objects to be retrieved
+     * @param uris collection of URIs
+     * @return future of collection of metadata objects corresponding to the supplied URIs
+     * @throws UnsupportedOperationException if the service doesn't support non-blocking calls
+     * @see #getObjsByUris(Project, Collection)
+     */
+    public CompletableFuture<Collection<Obj>> getObjsByUrisAsync(Project project, Collection<String> uris) {
+        notNull(project, "project");
+        notNull(project.getId(), "project.id");
+        notNull(uris, "uris");
+
+        return getAsyncRestOperations().postForObject(BulkGet.URI, new BulkGetUris(uris), BulkGet.class, project.getId())
+                .handle((result, e) -> {
+                    if (e != null) {
+                        final Throwable cause = unwrap(e);
+                        if (cause instanceof GoodDataRestException) {
+                            throw (GoodDataRestException) cause;
+                        }
+                        throw new GoodDataException("Unable to get objects. Some of the supplied URIs may be malformed.",
+                                cause);
+                    }
+                    if (result == null) {
+                        throw new GoodDataException("Received empty response from API call.");
+                    }
+                    return result.getItems();
+                });
+    }
+
     /**
      * Update given metadata object.
      *
@@ -140,8 +352,16 @@ public class MetadataService extends AbstractService {
     public <T extends Updatable> T updateObj(T obj) {
         notNull(obj, "obj");
         notNull(obj.getUri(), "obj.uri");
+        invalidate(obj.getUri());
         try {
             restTemplate.put(obj.getUri(), obj);
+        } catch (GoodDataException | RestClientException e) {
+            throw new ObjUpdateException(obj, e);
+        } finally {
+            // evicts the object possibly cached by a concurrent read while the update was in progress
+            invalidate(obj.getUri());
+        }
+        try {
             return getObjByUri(obj.getUri(), (Class<T>) obj.getClass());
         } catch (GoodDataException | RestClientException e) {
             throw new ObjUpdateException(obj, e);
@@ -159,6 +379,7 @@ public class MetadataService extends AbstractService {
     public void removeObj(Obj obj) {
         notNull(obj, "obj");
         notNull(obj.getUri(), "obj.uri");
+        invalidate(obj.getUri());
         try {
             restTemplate.delete(obj.getUri());
         } catch (GoodDataRestException e) {
@@ -169,6 +390,8 @@ public class MetadataService extends AbstractService {
             }
         } catch (RestClientException e) {
             throw new GoodDataException("Unable to remove " + obj.getClass().getSimpleName().toLowerCase() + " " + obj.getUri(), e);
+        } finally {
+            invalidate(obj.getUri());
         }
     }
 
@@ -182,6 +405,7 @@ public class MetadataService extends AbstractService {
      */
     public void removeObjByUri(String uri) {
         notNull(uri, "uri");
+        invalidate(uri);
         try {
             restTemplate.delete(uri);
         } catch (GoodDataRestException e) {
@@ -192,6 +416,24 @@ public class MetadataService extends AbstractService {
             }
         } catch (RestClientException e) {
             throw new GoodDataException("Unable to remove " + uri, e);
+        } finally {
+            invalidate(uri);
+        }
+    }
+
+    private void invalidate(final String uri) {
+        if (objCache != null) {
+            objCache.invalidate(uri);
+        }
+        if (identifierCache != null) {
+            identifierCache.invalidate(uri);
+        }
+        if (queryCatalog != null) {
+            if (OBJ_TEMPLATE.matches(uri)) {
+                queryCatalog.invalidate(OBJ_TEMPLATE.match(uri).get("projectId"));
+            } else {
+                queryCatalog.invalidateAll();
+            }
         }
     }
 
@@ -215,6 +457,25 @@ public class MetadataService extends AbstractService {
         return getObjByUri(OBJ_TEMPLATE.expand(project.getId(), id).toString(), cls);
     }
 
+    /**
+     * Get metadata object by id without blocking the calling thread.
+     *
+     * @param project project where to search for the object
+     * @param id      id of the object
+     * @param cls     class of the resulting object
+     * @param <T>     type of the object to be returned
+     * @return future of the metadata object
+     * @throws UnsupportedOperationException if the service doesn't support non-blocking calls
+     * @see #getObjById(Project, String, Class)
+     */
+    public <T extends Obj> CompletableFuture<T> getObjByIdAsync(Project project, String id, Class<T> cls) {
+        notNull(project, "project");
+        notNull(project.getId(), "project.id");
+        notNull(id, "id");
+        notNull(cls, "cls");
+        return getObjByUriAsync(OBJ_TEMPLATE.expand(project.getId(), id).toString(), cls);
+    }
+
     /**
      * Get metadata object URI by restrictions like identifier, title or summary.
      *
@@ -259,6 +520,7 @@ public class MetadataService extends AbstractService {
 
     /**
      * Find metadata by restrictions like identifier, title or summary.
+     * The entries are looked up in the {@link #getQueryCatalog()} if configured.
      *
      * @param project      project where to search for the metadata
      * @param cls          class of searched metadata
@@ -273,11 +535,23 @@ public class MetadataService extends AbstractService {
         notNull(cls, "cls");
 
         final String type = getQueryType(cls);
+        if (queryCatalog != null) {
+            return queryCatalog.find(project.getId(), type, () -> query(project.getId(), type), restrictions);
+        }
+        return filterEntries(query(project.getId(), type), restrictions);
+    }
+
+    private Collection<Entry> query(final String projectId, final String type) {
         try {
-            final Query queryResult = restTemplate.getForObject(Query.URI, Query.class, project.getId(), type);
+            final Query queryResult = restTemplate.getForObject(Query.URI, Query.class, projectId, type);
 
             if (queryResult != null && queryResult.getEntries() != null) {
-                return filterEntries(queryResult.getEntries(), restrictions);
+                if (identifierCache != null) {
+                    identifierCache.prefill(projectId, queryResult.getEntries().stream()
+                            .filter(entry -> entry.getIdentifier() != null && entry.getUri() != null)
+                            .collect(Collectors.toMap(Entry::getIdentifier, Entry::getUri, (first, second) -> first)));
+                }
+                return queryResult.getEntries();
             } else {
                 throw new GoodDataException("Received empty response from API call.");
             }
@@ -367,6 +641,63 @@ public class MetadataService extends AbstractService {
         return usages;
     }
 
+    /**
+     * Builds graph of dependencies among all the objects of given types and the objects using them directly or through
+     * other objects (of any type). The objects are listed by {@link #find(Project, Class, Restriction...)} and their
+     * nearest usages are obtained by {@link #usedBy(Project, Collection, boolean, Class[])} in chunks of
+     * {@link GoodDataSettings#getBulkGetChunkSize()} URIs, up to {@link GoodDataSettings#getBulkGetConcurrency()}
+     * chunks in parallel. The usages of newly found users are then obtained the same way until no new user is found,
+     * so e.g. reports using metric through report definition are found even when only metrics are requested.
+     * <p>
+     * Objects used by the users, which are neither of the given types nor users themselves, are not in the graph,
+     * see {@link DependencyGraph#getUses(String)}.
+     *
+     * @param project project
+     * @param types   types of the objects to analyze, e.g. {@link Metric}, {@link Attribute}
+     * @return dependency graph
+     * @throws com.gooddata.sdk.common.GoodDataException if unable to query metadata
+     */
+    @SuppressWarnings("unchecked")
+    public DependencyGraph getDependencyGraph(Project project, Class<? extends Queryable>... types) {
+        notNull(project, "project");
+        notNull(project.getId(), "project.id");
+        noNullElements(types, "types");
+
+        final DependencyGraph.Builder builder = new DependencyGraph.Builder();
+        final Set<String> uris = new LinkedHashSet<>();
+        for (Class<? extends Queryable> type : types) {
+            for (Entry entry : find(project, type)) {
+                builder.addNode(entry.getUri(), entry.getCategory());
+                uris.add(entry.getUri());
+            }
+        }
+
+        final Set<String> visited = new HashSet<>(uris);
+        Set<String> pending = uris;
+        while (!pending.isEmpty()) {
+            final Set<String> found = new LinkedHashSet<>();
+            final BulkGetChunks<Collection<Usage>> chunks = new BulkGetChunks<>(chunk -> usedBy(project, chunk, true),
+                    SharedExecutors.getWorkers(), pending, getSettings().getBulkGetChunkSize(),
+                    Math.min(getSettings().getBulkGetConcurrency(), getSettings().getMaxConnections()));
+            try {
+                while (chunks.hasNext()) {
+                    for (Usage usage : chunks.next()) {
+                        for (Entry user : usage.getUsedBy()) {
+                            builder.addEdge(user.getUri(), user.getCategory(), usage.getUri());
+                            if (visited.add(user.getUri())) {
+                                found.add(user.getUri());
+                            }
+                        }
+                    }
+                }
+            } finally {
+                chunks.close();
+            }
+            pending = found;
+        }
+        return builder.build();
+    }
+
     /**
      * Find metadata URIs by restrictions. Identifier is the only supported restriction.
      *
@@ -387,6 +718,9 @@ public class MetadataService extends AbstractService {
             ids.add(restriction.getValue());
         }
 
+        if (identifierCache != null) {
+            return new ArrayList<>(resolveIdentifiers(project, ids).values());
+        }
         return getUrisForIdentifiers(project, ids).getUris();
     }
 
@@ -403,9 +737,59 @@ public class MetadataService extends AbstractService {
         notNull(project, "project" );
         noNullElements(identifiers, "identifiers");
 
+        if (identifierCache != null) {
+            return Collections.unmodifiableMap(resolveIdentifiers(project, identifiers));
+        }
         return getUrisForIdentifiers(project, identifiers).asIdentifierToUri();
     }
 
+    /**
+     * Find metadata URIs for given identifiers without blocking the calling thread.
+     *
+     * @param project     project where to search for the metadata
+     * @param identifiers query restrictions
+     * @return future of the map of identifiers as keys and metadata URIs as values
+     * @throws UnsupportedOperationException if the service doesn't support non-blocking calls
+     * @see #identifiersToUris(Project, Collection)
+     */
+    public CompletableFuture<Map<String, String>> identifiersToUrisAsync(Project project, Collection<String> identifiers) {
+        notNull(project, "project");
+        notNull(project.getId(), "project.id");
+        noNullElements(identifiers, "identifiers");
+
+        final Map<String, String> cached;
+        final Collection<String> missing;
+        if (identifierCache != null) {
+            cached = identifierCache.getCached(project.getId(), identifiers);
+            missing = identifiers.stream()
+                    .filter(identifier -> !cached.containsKey(identifier))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            if (missing.isEmpty()) {
+                return CompletableFuture.completedFuture(Collections.unmodifiableMap(cached));
+            }
+        } else {
+            cached = Collections.emptyMap();
+            missing = identifiers;
+        }
+
+        return getAsyncRestOperations().postForObject(IdentifiersAndUris.URI, new IdentifierToUri(missing),
+                IdentifiersAndUris.class, project.getId())
+                .handle((response, e) -> {
+                    if (e != null) {
+                        throw new GoodDataException("Unable to get URIs from identifiers.", unwrap(e));
+                    }
+                    final Map<String, String> resolved = notNullState(response, "identifiers to URIs response")
+                            .asIdentifierToUri();
+                    if (identifierCache == null) {
+                        return resolved;
+                    }
+                    identifierCache.prefill(project.getId(), resolved);
+                    final Map<String, String> result = new HashMap<>(cached);
+                    result.putAll(resolved);
+                    return Collections.unmodifiableMap(result);
+                });
+    }
+
     /**
      * Fetches attribute elements for given attribute using default display form.
      *
@@ -440,6 +824,60 @@ public class MetadataService extends AbstractService {
         }
     }
 
+    /**
+     * Streams attribute elements of given display form page by page, using the default page size of
+     * {@value #DEFAULT_ELEMENTS_PAGE_SIZE} elements and prefetching the next page.
+     *
+     * @param displayForm display form to fetch attributes for
+     * @return stream of attribute elements, empty if there is no link for elements
+     * @see #streamAttributeElements(DisplayForm, int, boolean)
+     */
+    public Stream<AttributeElement> streamAttributeElements(DisplayForm displayForm) {
+        return streamAttributeElements(displayForm, DEFAULT_ELEMENTS_PAGE_SIZE, true);
+    }
+
+    /**
+     * Streams attribute elements of given display form page by page, walking the elements resource using offset and
+     * limit until the total number of elements reported by the resource is reached, so the memory needed doesn't depend
+     * on the number of elements. Should the total be missing in the response, the walk ends by an empty page.
+     * The stream should be closed when not consumed completely, to cancel the prefetched page.
+     *
+     * @param displayForm display form to fetch attributes for
+     * @param pageSize    number of elements requested at once
+     * @param prefetch    whether to request the next page in background while the current one is consumed
+     * @return stream of attribute elements, empty if there is no link for elements
+     */
+    public Stream<AttributeElement> streamAttributeElements(DisplayForm displayForm, int pageSize, boolean prefetch) {
+        notNull(displayForm, "displayForm");
+        isTrue(pageSize > 0, "pageSize must be greater than zero");
+
+        final String elementsUri = displayForm.getElementsUri();
+        if (StringUtils.isEmpty(elementsUri)) {
+            return Stream.empty();
+        }
+
+        final AttributeElementsIterator elements = new AttributeElementsIterator(
+                offset -> getAttributeElementsPage(elementsUri, offset, pageSize),
+                prefetch ? SharedExecutors.getWorkers() : null);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(elements, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(elements::close);
+    }
+
+    private AttributeElements getAttributeElementsPage(final String elementsUri, final int offset, final int limit) {
+        // the elements URI obtained from the API is already encoded
+        final URI pageUri = UriComponentsBuilder.fromUriString(elementsUri)
+                .replaceQueryParam("offset", offset)
+                .replaceQueryParam("limit", limit)
+                .build(true)
+                .toUri();
+        try {
+            final AttributeElements attributeElements = restTemplate.getForObject(pageUri, AttributeElements.class);
+            return notNullState(attributeElements, "attributeElements");
+        } catch (GoodDataRestException | RestClientException e) {
+            throw new GoodDataException("Unable to get attribute elements from " + pageUri + ".", e);
+        }
+    }
+
     private Collection<Entry> filterEntries(Collection<Entry> entries, Restriction... restrictions) {
         if (restrictions == null || restrictions.length == 0) {
             return entries;
@@ -463,6 +901,12 @@ public class MetadataService extends AbstractService {
         return result;
     }
 
+    private Map<String, String> resolveIdentifiers(final Project project, final Collection<String> identifiers) {
+        notNull(project.getId(), "project.id");
+        return identifierCache.resolve(project.getId(), identifiers, missing ->
+                notNullState(getUrisForIdentifiers(project, missing), "identifiers to URIs response").asIdentifierToUri());
+    }
+
     private IdentifiersAndUris getUrisForIdentifiers(final Project project, final Collection<String> identifiers) {
         final IdentifiersAndUris response;
         try {
@@ -0,0 +1,232 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import com.gooddata.sdk.common.GoodDataException;
+import com.gooddata.sdk.model.md.Obj;
+import com.gooddata.sdk.service.util.SharedExecutors;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Loads metadata objects by URI in batches. Single-object requests issued within short window are collected and
+ * obtained by single {@link MetadataService#getObjsByUris(com.gooddata.sdk.model.project.Project, java.util.Collection)}
+ * (BulkGet) call per project, so walking the metadata graph object by object needs only a fraction of API calls.
+ * The batch is sent when the window elapses or when it reaches the maximum size, whichever comes first.
+ * <p>
+ * Objects of URIs not matching {@link MetadataService#OBJ_TEMPLATE} are obtained one by one using
+ * {@link MetadataService#getObjByUri(String, Class)}.
+ * <p>
+ * The loader is thread safe.
+ */
+public class ObjBatchLoader {
+
+    public static final long DEFAULT_WINDOW_MILLIS = 10;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private final MetadataService metadataService;
+    private final ScheduledExecutorService executor;
+    private final long windowMillis;
+    private final int maxBatchSize;
+
+    private final Map<String, Batch> batches = new HashMap<>();
+
+    /**
+     * Creates new loader with default window and batch size, backed by shared daemon threads.
+     *
+     * @param metadataService service used to obtain the objects
+     */
+    public ObjBatchLoader(final MetadataService metadataService) {
+        this(metadataService, SharedExecutors.getWorkers(), DEFAULT_WINDOW_MILLIS, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Creates new loader.
+     *
+     * @param metadataService service used to obtain the objects
+     * @param executor        executor used to wait for the window and to perform the (blocking) API calls,
+     *                        lifecycle of the executor is managed by the caller
+     * @param windowMillis    time in milliseconds the batch waits for other requests since its first request
+     * @param maxBatchSize    maximum number of objects obtained by single API call
+     */
+    public ObjBatchLoader(final MetadataService metadataService, final ScheduledExecutorService executor,
+                          final long windowMillis, final int maxBatchSize) {
+        this.metadataService = notNull(metadataService, "metadataService");
+        this.executor = notNull(executor, "executor");
+        isTrue(windowMillis >= 0, "windowMillis must not be negative");
+        isTrue(maxBatchSize > 0, "maxBatchSize must be greater than zero");
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Loads metadata object by URI (format is <code>/gdc/md/{PROJECT_ID}/obj/{OBJECT_ID}</code>) as a part of batch.
+     *
+     * @param uri URI in format <code>/gdc/md/{PROJECT_ID}/obj/{OBJECT_ID}</code>
+     * @param cls class of the resulting object
+     * @param <T> type of the object to be returned
+     * @return future of the metadata object, completed exceptionally by {@link ObjNotFoundException} when there is
+     * no object of given class on given URI or by {@link GoodDataException} when the API call fails
+     */
+    public <T extends Obj> CompletableFuture<T> load(final String uri, final Class<T> cls) {
+        notNull(uri, "uri");
+        notNull(cls, "cls");
+
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        if (!MetadataService.OBJ_TEMPLATE.matches(uri)) {
+            submit(() -> {
+                try {
+                    result.complete(metadataService.getObjByUri(uri, cls));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }, result);
+            return result;
+        }
+
+        final String projectId = MetadataService.OBJ_TEMPLATE.match(uri).get("projectId");
+        final Batch full;
+        synchronized (batches) {
+            Batch batch = batches.get(projectId);
+            if (batch == null) {
+                batch = new Batch(projectId);
+                batches.put(projectId, batch);
+                final Batch scheduled = batch;
+                try {
+                    batch.timer = executor.schedule(() -> flush(scheduled), windowMillis, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    batches.remove(projectId);
+                    result.completeExceptionally(new GoodDataException("Unable to schedule loading of " + uri, e));
+                    return result;
+                }
+            }
+            batch.add(new Request<>(uri, cls, result));
+            if (batch.requests.size() >= maxBatchSize) {
+                batches.remove(projectId);
+                full = batch;
+            } else {
+                full = null;
+            }
+        }
+        if (full != null) {
+            full.timer.cancel(false);
+            submit(full::load, full);
+        }
+        return result;
+    }
+
+    /**
+     * Sends all the pending batches immediately, not waiting for their windows to elapse.
+     */
+    public void flush() {
+        final List<Batch> pending;
+        synchronized (batches) {
+            pending = new ArrayList<>(batches.values());
+            batches.clear();
+        }
+        for (Batch batch : pending) {
+            batch.timer.cancel(false);
+            submit(batch::load, batch);
+        }
+    }
+
+    private void flush(final Batch batch) {
+        synchronized (batches) {
+            if (batches.get(batch.projectId) != batch) {
+                return;
+            }
+            batches.remove(batch.projectId);
+        }
+        batch.load();
+    }
+
+    private void submit(final Runnable task, final Batch batch) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            batch.fail(new GoodDataException("Unable to load objects", e));
+        }
+    }
+
+    private void submit(final Runnable task, final CompletableFuture<?> result) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new GoodDataException("Unable to load object", e));
+        }
+    }
+
+    private class Batch {
+        private final String projectId;
+        private final Map<String, List<Request<?>>> requests = new LinkedHashMap<>();
+        private ScheduledFuture<?> timer;
+
+        private Batch(final String projectId) {
+            this.projectId = projectId;
+        }
+
+        private void add(final Request<?> request) {
+            requests.computeIfAbsent(request.uri, uri -> new ArrayList<>(1)).add(request);
+        }
+
+        private void load() {
+            final Map<String, Obj> objs = new HashMap<>(requests.size());
+            try {
+                for (Obj obj : metadataService.bulkGet(projectId, requests.keySet())) {
+                    objs.put(obj.getUri(), obj);
+                }
+            } catch (RuntimeException e) {
+                fail(e);
+                return;
+            }
+            for (List<Request<?>> uriRequests : requests.values()) {
+                for (Request<?> request : uriRequests) {
+                    request.complete(objs.get(request.uri));
+                }
+            }
+        }
+
+        private void fail(final RuntimeException e) {
+            for (List<Request<?>> uriRequests : requests.values()) {
+                for (Request<?> request : uriRequests) {
+                    request.result.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private static class Request<T extends Obj> {
+        private final String uri;
+        private final Class<T> cls;
+        private final CompletableFuture<T> result;
+
+        private Request(final String uri, final Class<T> cls, final CompletableFuture<T> result) {
+            this.uri = uri;
+            this.cls = cls;
+            this.result = result;
+        }
+
+        private void complete(final Obj obj) {
+            if (cls.isInstance(obj)) {
+                result.complete(cls.cast(obj));
+            } else {
+                result.completeExceptionally(new ObjNotFoundException(uri, cls, null));
+            }
+        }
+    }
+}
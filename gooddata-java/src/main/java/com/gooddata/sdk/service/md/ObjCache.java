@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import com.gooddata.sdk.service.WeightedCache;
+
+import java.util.function.LongSupplier;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Cache of metadata objects used by {@link MetadataService} when configured by {@link ObjCacheSettings}.
+ * Objects are cached in their serialized form keyed by URI, so each caller obtains its own instance which can be
+ * modified freely. Objects are evicted when they expire, in the least recently used order when the total weight
+ * exceeds the limit and when they are updated or removed using {@link MetadataService}.
+ * <p>
+ * The cache is thread safe.
+ */
+public final class ObjCache {
+
+    private final WeightedCache<String, byte[]> objs;
+
+    ObjCache(final ObjCacheSettings settings) {
+        this(settings, System::nanoTime);
+    }
+
+    ObjCache(final ObjCacheSettings settings, final LongSupplier ticker) {
+        this.objs = new WeightedCache<>(notNull(settings, "settings"), body -> body.length, ticker);
+    }
+
+    /**
+     * Returns serialized object of given URI and records the cache hit or miss.
+     *
+     * @param uri object URI
+     * @return serialized object or null when not cached or expired
+     */
+    byte[] get(final String uri) {
+        return objs.get(uri);
+    }
+
+    /**
+     * Returns generation of the cache contents, which changes by each invalidation. The object obtained from the API is
+     * cached only when no invalidation happened since, so an object updated or removed meanwhile is not cached.
+     *
+     * @return current generation
+     */
+    long getGeneration() {
+        return objs.getGeneration();
+    }
+
+    /**
+     * Caches serialized object of given URI unless it's heavier than {@link ObjCacheSettings#getMaxEntryWeight()}
+     * or the cache was invalidated since the given generation.
+     *
+     * @param uri        object URI
+     * @param body       serialized object
+     * @param generation generation of the cache before the object was requested from the API
+     */
+    void put(final String uri, final byte[] body, final long generation) {
+        objs.put(uri, body, generation);
+    }
+
+    /**
+     * Evicts the object of given URI from the cache.
+     *
+     * @param uri object URI
+     */
+    public void invalidate(final String uri) {
+        objs.invalidate(notNull(uri, "uri"));
+    }
+
+    /**
+     * Evicts all the objects from the cache.
+     */
+    public void invalidateAll() {
+        objs.invalidateAll();
+    }
+
+    /**
+     * @return number of cached objects
+     */
+    public int size() {
+        return objs.size();
+    }
+
+    /**
+     * @return total weight (size in bytes) of cached objects
+     */
+    public long getWeight() {
+        return objs.getWeight();
+    }
+
+    /**
+     * @return number of requests for an object served from the cache
+     */
+    public long getHitCount() {
+        return objs.getHitCount();
+    }
+
+    /**
+     * @return number of requests for an object, which had to be obtained from the API
+     */
+    public long getMissCount() {
+        return objs.getMissCount();
+    }
+
+    /**
+     * @return number of objects evicted because they expired or the weight limit was exceeded
+     */
+    public long getEvictionCount() {
+        return objs.getEvictionCount();
+    }
+
+    @Override
+    public String toString() {
+        return "ObjCache[" + objs + "]";
+    }
+}
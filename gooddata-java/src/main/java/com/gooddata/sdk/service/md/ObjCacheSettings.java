@@ -0,0 +1,27 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import com.gooddata.sdk.service.WeightedCacheSettings;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contains settings for the metadata objects cache of {@link MetadataService}.
+ * The cache is bounded by the total weight of cached objects, where the weight is the size of the object
+ * representation in bytes.
+ * <p>
+ * The default maximum total weight is 32 MiB, the default maximum weight of single object is 1 MiB
+ * and the default time to live is 5 minutes.
+ *
+ * @see ObjCache
+ */
+public class ObjCacheSettings extends WeightedCacheSettings {
+
+    public ObjCacheSettings() {
+        super(32 * 1024 * 1024, 1024 * 1024, TimeUnit.MINUTES.toMillis(5));
+    }
+}
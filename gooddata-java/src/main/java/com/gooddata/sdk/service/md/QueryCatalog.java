@@ -0,0 +1,248 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import com.gooddata.sdk.model.md.Entry;
+import com.gooddata.sdk.model.md.Restriction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import static com.gooddata.sdk.common.util.Validate.notNull;
+
+/**
+ * Catalog of metadata query entries used by {@link MetadataService#find(com.gooddata.sdk.model.project.Project, Class,
+ * Restriction...)} when configured by {@link QueryCatalogSettings}. Entries are kept per project and type, indexed by
+ * URI, identifier, title and summary, so the restrictions are looked up in memory until the entries expire or
+ * the project metadata are modified using {@link MetadataService}.
+ * <p>
+ * Expired entries are refreshed incrementally: the listing is downloaded again, but only the entries which are new
+ * or whose {@link Entry#getUpdated()} changed are re-indexed and the entries no longer listed are dropped.
+ * <p>
+ * The catalog is thread safe.
+ */
+public final class QueryCatalog {
+
+    private final QueryCatalogSettings settings;
+    private final LongSupplier ticker;
+    private final Map<String, Map<String, TypeCatalog>> projects = new HashMap<>();
+
+    private long invalidations;
+    private long hitCount;
+    private long refreshCount;
+    private long reindexCount;
+
+    QueryCatalog(final QueryCatalogSettings settings) {
+        this(settings, System::nanoTime);
+    }
+
+    QueryCatalog(final QueryCatalogSettings settings, final LongSupplier ticker) {
+        this.settings = notNull(settings, "settings");
+        this.ticker = notNull(ticker, "ticker");
+    }
+
+    /**
+     * Returns entries of given project and type matching any of the restrictions in the order of the query listing.
+     * The listing is obtained by the loader when the entries aren't cataloged yet or expired.
+     *
+     * @param projectId    project ID
+     * @param type         query type
+     * @param loader       loads all the entries of the type
+     * @param restrictions restrictions, all entries are returned when none given
+     * @return matching entries
+     */
+    Collection<Entry> find(final String projectId, final String type, final Supplier<Collection<Entry>> loader,
+                           final Restriction... restrictions) {
+        final long invalidationsBeforeLoad;
+        synchronized (this) {
+            final TypeCatalog catalog = projects.getOrDefault(projectId, Collections.<String, TypeCatalog>emptyMap()).get(type);
+            if (catalog != null && catalog.expiration - ticker.getAsLong() > 0) {
+                hitCount++;
+                return catalog.find(restrictions);
+            }
+            invalidationsBeforeLoad = invalidations;
+        }
+        final Collection<Entry> entries = loader.get();
+        synchronized (this) {
+            final TypeCatalog catalog = projects.computeIfAbsent(projectId, id -> new HashMap<>())
+                    .computeIfAbsent(type, t -> new TypeCatalog());
+            reindexCount += catalog.refresh(entries);
+            refreshCount++;
+            // metadata modified while loading could be missing in the listing
+            catalog.expiration = invalidationsBeforeLoad == invalidations
+                    ? ticker.getAsLong() + TimeUnit.MILLISECONDS.toNanos(settings.getTimeToLive())
+                    : ticker.getAsLong();
+            return catalog.find(restrictions);
+        }
+    }
+
+    /**
+     * Expires entries of the given project, so they're refreshed on the next lookup.
+     *
+     * @param projectId project ID
+     */
+    public synchronized void invalidate(final String projectId) {
+        notNull(projectId, "projectId");
+        invalidations++;
+        final long now = ticker.getAsLong();
+        projects.getOrDefault(projectId, Collections.<String, TypeCatalog>emptyMap()).values()
+                .forEach(catalog -> catalog.expiration = now);
+    }
+
+    /**
+     * Drops all the entries from the catalog.
+     */
+    public synchronized void invalidateAll() {
+        invalidations++;
+        projects.clear();
+    }
+
+    /**
+     * @return number of cataloged entries
+     */
+    public synchronized int size() {
+        return projects.values().stream().flatMap(types -> types.values().stream()).mapToInt(c -> c.entries.size()).sum();
+    }
+
+    /**
+     * @return number of lookups served from the catalog
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return number of lookups which needed to download the query listing
+     */
+    public synchronized long getRefreshCount() {
+        return refreshCount;
+    }
+
+    /**
+     * @return number of entries indexed by the refreshes, unchanged entries are not counted
+     */
+    public synchronized long getReindexCount() {
+        return reindexCount;
+    }
+
+    private static class TypeCatalog {
+        private Map<String, IndexedEntry> byUri = new HashMap<>();
+        private final Map<String, List<IndexedEntry>> byIdentifier = new HashMap<>();
+        private final Map<String, List<IndexedEntry>> byTitle = new HashMap<>();
+        private final Map<String, List<IndexedEntry>> bySummary = new HashMap<>();
+        private List<Entry> entries = new ArrayList<>();
+        private long expiration;
+
+        /**
+         * @return number of (re)indexed entries
+         */
+        int refresh(final Collection<Entry> listing) {
+            final Map<String, IndexedEntry> refreshed = new HashMap<>(listing.size() * 4 / 3 + 1);
+            final List<Entry> refreshedEntries = new ArrayList<>(listing.size());
+            int reindexed = 0;
+            for (Entry entry : listing) {
+                if (refreshed.containsKey(entry.getUri())) {
+                    continue;
+                }
+                final IndexedEntry previous = byUri.remove(entry.getUri());
+                final IndexedEntry current;
+                if (previous != null && previous.entry.getUpdated() != null
+                        && previous.entry.getUpdated().equals(entry.getUpdated())) {
+                    current = previous;
+                    current.position = refreshedEntries.size();
+                } else {
+                    if (previous != null) {
+                        unindex(previous);
+                    }
+                    current = new IndexedEntry(entry, refreshedEntries.size());
+                    index(current);
+                    reindexed++;
+                }
+                refreshed.put(entry.getUri(), current);
+                refreshedEntries.add(current.entry);
+            }
+            byUri.values().forEach(this::unindex);
+            byUri = refreshed;
+            entries = refreshedEntries;
+            return reindexed;
+        }
+
+        Collection<Entry> find(final Restriction... restrictions) {
+            if (restrictions == null || restrictions.length == 0) {
+                return new ArrayList<>(entries);
+            }
+            final List<IndexedEntry> matching = new ArrayList<>();
+            for (Restriction restriction : restrictions) {
+                matching.addAll(index(restriction.getType()).getOrDefault(restriction.getValue(),
+                        Collections.emptyList()));
+            }
+            // keeps the order of the listing, stable sort keeps the order of restrictions matching the same entry
+            matching.sort(Comparator.comparingInt(indexed -> indexed.position));
+            final List<Entry> result = new ArrayList<>(matching.size());
+            matching.forEach(indexed -> result.add(indexed.entry));
+            return result;
+        }
+
+        private Map<String, List<IndexedEntry>> index(final Restriction.Type type) {
+            switch (type) {
+                case IDENTIFIER:
+                    return byIdentifier;
+                case TITLE:
+                    return byTitle;
+                case SUMMARY:
+                    return bySummary;
+                default:
+                    throw new IllegalArgumentException("Unsupported restriction type " + type);
+            }
+        }
+
+        private void index(final IndexedEntry indexed) {
+            add(byIdentifier, indexed.entry.getIdentifier(), indexed);
+            add(byTitle, indexed.entry.getTitle(), indexed);
+            add(bySummary, indexed.entry.getSummary(), indexed);
+        }
+
+        private void unindex(final IndexedEntry indexed) {
+            remove(byIdentifier, indexed.entry.getIdentifier(), indexed);
+            remove(byTitle, indexed.entry.getTitle(), indexed);
+            remove(bySummary, indexed.entry.getSummary(), indexed);
+        }
+
+        private static void add(final Map<String, List<IndexedEntry>> index, final String key, final IndexedEntry indexed) {
+            if (key != null) {
+                index.computeIfAbsent(key, k -> new ArrayList<>(1)).add(indexed);
+            }
+        }
+
+        private static void remove(final Map<String, List<IndexedEntry>> index, final String key, final IndexedEntry indexed) {
+            final List<IndexedEntry> indexedEntries = key != null ? index.get(key) : null;
+            if (indexedEntries != null) {
+                indexedEntries.removeIf(e -> e == indexed);
+                if (indexedEntries.isEmpty()) {
+                    index.remove(key);
+                }
+            }
+        }
+    }
+
+    private static class IndexedEntry {
+        private final Entry entry;
+        private int position;
+
+        private IndexedEntry(final Entry entry, final int position) {
+            this.entry = entry;
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import com.gooddata.sdk.common.util.GoodDataToStringBuilder;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.util.Assert.isTrue;
+
+/**
+ * Contains settings for the catalog of metadata query entries of {@link MetadataService}.
+ *
+ * @see QueryCatalog
+ */
+public class QueryCatalogSettings {
+
+    private long timeToLive = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Time in milliseconds the query entries of a type are served from the catalog since they were last refreshed
+     * from the API.
+     * <p>
+     * The default value is 1 minute.
+     *
+     * @return time to live milliseconds
+     */
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(final long timeToLive) {
+        isTrue(timeToLive > 0, "timeToLive must be greater than zero");
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final QueryCatalogSettings that = (QueryCatalogSettings) o;
+        return timeToLive == that.timeToLive;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(timeToLive);
+    }
+
+    @Override
+    public String toString() {
+        return GoodDataToStringBuilder.defaultToString(this);
+    }
+}
@@ -8,6 +8,7 @@ package com.gooddata.sdk.service.project;
 import com.gooddata.sdk.common.GoodDataException;
 import com.gooddata.sdk.common.GoodDataRestException;
 import com.gooddata.sdk.common.collections.Page;
+import com.gooddata.sdk.common.collections.CustomPageRequest;
 import com.gooddata.sdk.common.collections.PageBrowser;
 import com.gooddata.sdk.common.collections.PageRequest;
 import com.gooddata.sdk.common.util.SpringMutableUri;
@@ -29,8 +30,10 @@ import com.gooddata.sdk.model.project.Role;
 import com.gooddata.sdk.model.project.Roles;
 import com.gooddata.sdk.model.project.User;
 import com.gooddata.sdk.model.project.Users;
+import com.gooddata.sdk.model.util.StreamingPageDeserializer;
 import com.gooddata.sdk.service.AbstractPollHandler;
 import com.gooddata.sdk.service.AbstractService;
+import com.gooddata.sdk.service.AsyncRestOperations;
 import com.gooddata.sdk.service.FutureResult;
 import com.gooddata.sdk.service.GoodDataSettings;
 import com.gooddata.sdk.service.PollResult;
@@ -51,6 +54,8 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static com.gooddata.sdk.common.util.Validate.noNullElements;
@@ -75,6 +80,10 @@ public class ProjectService extends AbstractService {
     public static final UriTemplate PROJECT_USERS_TEMPLATE = new UriTemplate(Users.URI);
     public static final UriTemplate PROJECT_USER_TEMPLATE = new UriTemplate(User.URI);
     public static final UriTemplate LIST_PROJECTS_TEMPLATE = new UriTemplate(Projects.LIST_PROJECTS_URI);
+
+    private static final StreamingPageDeserializer<User> USERS_DESERIALIZER =
+            new StreamingPageDeserializer<>(User.class, null, "users");
+
     private final AccountService accountService;
 
     /**
@@ -85,7 +94,19 @@ public class ProjectService extends AbstractService {
      */
     public ProjectService(final RestTemplate restTemplate, final AccountService accountService,
                           final GoodDataSettings settings) {
-        super(restTemplate, settings);
+        this(restTemplate, null, accountService, settings);
+    }
+
+    /**
+     * Constructs service for GoodData project management supporting also non-blocking variants of its methods.
+     * @param restTemplate        RESTful HTTP Spring template
+     * @param asyncRestOperations non-blocking REST operations
+     * @param accountService      GoodData account service
+     * @param settings            settings
+     */
+    public ProjectService(final RestTemplate restTemplate, final AsyncRestOperations asyncRestOperations,
+                          final AccountService accountService, final GoodDataSettings settings) {
+        super(restTemplate, asyncRestOperations, settings);
         this.accountService = notNull(accountService, "accountService");
     }
 
@@ -109,7 +130,7 @@ public class ProjectService extends AbstractService {
      */
     public PageBrowser<Project> listProjects() {
         final String userId = accountService.getCurrent().getId();
-        return new PageBrowser<>(page -> listProjects(getProjectsUri(userId, page)));
+        return createPageBrowser(new CustomPageRequest(), page -> listProjects(getProjectsUri(userId, page)));
     }
 
     /**
@@ -121,7 +142,7 @@ public class ProjectService extends AbstractService {
     public PageBrowser<Project> listProjects(final PageRequest startPage) {
         notNull(startPage, "startPage");
         final String userId = accountService.getCurrent().getId();
-        return new PageBrowser<>(startPage, page -> listProjects(getProjectsUri(userId, page)));
+        return createPageBrowser(startPage, page -> listProjects(getProjectsUri(userId, page)));
     }
 
     private Page<Project> listProjects(final URI uri) {
@@ -222,6 +243,43 @@ public class ProjectService extends AbstractService {
         return getProjectByUri(PROJECT_TEMPLATE.expand(id).toString());
     }
 
+    /**
+     * Get project by URI without blocking the calling thread.
+     *
+     * @param uri URI of project resource (/gdc/projects/{id})
+     * @return future of project, completed exceptionally the same way as {@link #getProjectByUri(String)}
+     * @throws UnsupportedOperationException if the service doesn't support non-blocking calls
+     */
+    public CompletableFuture<Project> getProjectByUriAsync(final String uri) {
+        notEmpty(uri, "uri");
+        return getAsyncRestOperations().getForObject(uri, Project.class).handle((project, e) -> {
+            if (e == null) {
+                return project;
+            }
+            final Throwable cause = unwrap(e);
+            if (cause instanceof GoodDataRestException) {
+                if (HttpStatus.NOT_FOUND.value() == ((GoodDataRestException) cause).getStatusCode()) {
+                    throw new ProjectNotFoundException(uri, (GoodDataRestException) cause);
+                }
+                throw (GoodDataRestException) cause;
+            }
+            throw new GoodDataException("Unable to get project " + uri, cause);
+        });
+    }
+
+    /**
+     * Get project by id without blocking the calling thread.
+     *
+     * @param id id of project
+     * @return future of project
+     * @throws UnsupportedOperationException if the service doesn't support non-blocking calls
+     * @see #getProjectById(String)
+     */
+    public CompletableFuture<Project> getProjectByIdAsync(final String id) {
+        notEmpty(id, "id");
+        return getProjectByUriAsync(PROJECT_TEMPLATE.expand(id).toString());
+    }
+
     /**
      * Removes given project
      * @param project project to be removed
@@ -349,7 +407,7 @@ public class ProjectService extends AbstractService {
      */
     public PageBrowser<User> listUsers(final Project project) {
         notNull(project, "project");
-        return new PageBrowser<>(page -> listUsers(getUsersUri(project, page)));
+        return createPageBrowser(new CustomPageRequest(), page -> listUsers(getUsersUri(project, page)));
     }
 
     /**
@@ -362,7 +420,31 @@ public class ProjectService extends AbstractService {
     public PageBrowser<User> listUsers(final Project project, final PageRequest startPage) {
         notNull(project, "project");
         notNull(startPage, "startPage");
-        return new PageBrowser<>(startPage, page -> listUsers(getUsersUri(project, page)));
+        return createPageBrowser(startPage, page -> listUsers(getUsersUri(project, page)));
+    }
+
+    /**
+     * Read all users of given project starting with the given page, handing them to the consumer as they're received.
+     * Unlike {@link #listUsers(Project, PageRequest)}, the pages are not held in memory, so even pages of huge sizes
+     * can be read.
+     *
+     * @param project   project of users
+     * @param startPage page to be retrieved first
+     * @param consumer  consumer of the users
+     */
+    public void listUsers(final Project project, final PageRequest startPage, final Consumer<? super User> consumer) {
+        notNull(project, "project");
+        notNull(startPage, "startPage");
+        notNull(consumer, "consumer");
+        readAllPages(startPage, page -> readUsers(getUsersUri(project, page), consumer));
+    }
+
+    private Page<User> readUsers(final URI uri, final Consumer<? super User> consumer) {
+        try {
+            return readPage(uri, USERS_DESERIALIZER, consumer);
+        } catch (GoodDataException | RestClientException e) {
+            throw new GoodDataException("Unable to list users", e);
+        }
     }
 
     private Page<User> listUsers(final URI uri) {
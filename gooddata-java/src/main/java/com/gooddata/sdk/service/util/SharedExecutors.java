@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.gooddata.sdk.common.util.Validate.notEmpty;
+
+/**
+ * Holds executors shared by the services performing API calls in background. They're backed by daemon threads,
+ * so they don't need to be shut down.
+ */
+public final class SharedExecutors {
+
+    private SharedExecutors() {
+    }
+
+    /**
+     * Creates factory of daemon threads named by the given prefix and a sequence number.
+     *
+     * @param namePrefix prefix of the thread names
+     * @return thread factory
+     */
+    public static ThreadFactory daemonThreadFactory(final String namePrefix) {
+        notEmpty(namePrefix, "namePrefix");
+        final AtomicInteger threadCounter = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, namePrefix + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Returns executor of bounded number of threads (at least 2, at most number of processors) for short API calls
+     * done in parallel, e.g. loading chunks of metadata objects. The tasks must not wait for other tasks
+     * of the executor.
+     *
+     * @return shared executor
+     */
+    public static ScheduledExecutorService getWorkers() {
+        return WorkersHolder.INSTANCE;
+    }
+
+    /**
+     * Returns executor creating threads on demand for blocking calls of unpredictable duration, e.g. prefetching of
+     * pages or polling without non-blocking REST operations. Idle threads are released after a minute.
+     *
+     * @return shared executor
+     */
+    public static ExecutorService getBlockingCalls() {
+        return BlockingCallsHolder.INSTANCE;
+    }
+
+    private static class WorkersHolder {
+        private static final ScheduledExecutorService INSTANCE = createExecutor();
+
+        private static ScheduledExecutorService createExecutor() {
+            final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(
+                    Math.max(2, Runtime.getRuntime().availableProcessors()),
+                    daemonThreadFactory("gooddata-worker-"));
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+
+    private static class BlockingCallsHolder {
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(
+                daemonThreadFactory("gooddata-io-"));
+    }
+}
@@ -180,7 +180,7 @@ public class WarehouseService extends AbstractService {
      */
     public PageBrowser<Warehouse> listWarehouses(final PageRequest startPage) {
         notNull(startPage, "startPage");
-        return new PageBrowser<>(startPage, page -> listWarehouses(getWarehousesUri(page)));
+        return createPageBrowser(startPage, page -> listWarehouses(getWarehousesUri(page)));
     }
 
     private URI getWarehousesUri() {
@@ -229,7 +229,7 @@ public class WarehouseService extends AbstractService {
         notNull(warehouse.getId(), "warehouse.id");
         notNull(startPage, "startPage");
 
-        return new PageBrowser<>(startPage,
+        return createPageBrowser(startPage,
                 page -> listWarehouseUsers(warehouse, getWarehouseUsersUri(warehouse, page)));
     }
 
@@ -384,7 +384,7 @@ public class WarehouseService extends AbstractService {
      * @return {@link PageBrowser} pageable list of warehouse schemas
      */
     public PageBrowser<WarehouseSchema> listWarehouseSchemas(final Warehouse warehouse, final PageRequest startPage) {
-        return new PageBrowser<>(startPage,
+        return createPageBrowser(startPage,
                 page -> listWarehouseSchemas(getWarehouseSchemasUri(warehouse, page))
         );
     }
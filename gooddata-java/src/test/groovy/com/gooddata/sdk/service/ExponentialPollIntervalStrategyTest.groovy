@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service
+
+import nl.jqno.equalsverifier.EqualsVerifier
+import org.springframework.http.client.ClientHttpResponse
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class ExponentialPollIntervalStrategyTest extends Specification {
+
+    @Unroll
+    def "should return #interval ms for attempt #attempt"() {
+        given:
+        def strategy = new ExponentialPollIntervalStrategy(100, 2, 1000)
+
+        expect:
+        strategy.getInterval(attempt, Stub(ClientHttpResponse)) == interval
+
+        where:
+        attempt | interval
+        1       | 100
+        2       | 200
+        4       | 800
+        5       | 1000
+        1000    | 1000
+    }
+
+    def "should return fixed interval"() {
+        given:
+        def strategy = new ExponentialPollIntervalStrategy(300, 1, 300)
+
+        expect:
+        strategy.getInterval(1, null) == 300
+        strategy.getInterval(10, null) == 300
+    }
+
+    @Unroll
+    def "should not create with initial #initial multiplier #multiplier max #max"() {
+        when:
+        new ExponentialPollIntervalStrategy(initial, multiplier, max)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        initial | multiplier | max
+        -1      | 2          | 10
+        1       | 0.5        | 10
+        10      | 2          | 1
+    }
+
+    def "should verify equals"() {
+        expect:
+        EqualsVerifier.forClass(ExponentialPollIntervalStrategy).usingGetClass().verify()
+    }
+}
@@ -7,7 +7,10 @@ package com.gooddata.sdk.service
 
 import com.gooddata.sdk.service.gdc.GdcService
 import com.gooddata.sdk.common.gdc.Header
+import com.gooddata.sdk.service.httpcomponents.GoodDataHttpClientBuilder
+import com.gooddata.sdk.service.httpcomponents.SingleEndpointGoodDataRestProvider
 import org.apache.http.HttpHeaders
+import org.apache.http.impl.client.HttpClientBuilder
 
 import static net.jadler.Jadler.onRequest
 import static net.jadler.Jadler.verifyThatRequest
@@ -63,4 +66,24 @@ class GoodDataIT extends GoodDataITBase<GdcService> {
                 .havingHeader(Header.GDC_VERSION, hasItem(equalTo(API_VERSION)))
                 .receivedOnce()
     }
+
+    def "should send preset headers with custom http client"() {
+        given:
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .respond()
+                .withStatus(200)
+        def settings = createGoodDataSettings()
+        def provider = new SingleEndpointGoodDataRestProvider(endpoint, settings,
+                { builder, endpoint, s -> HttpClientBuilder.create().build() } as GoodDataHttpClientBuilder) {}
+
+        when:
+        new GoodData(provider).gdcService.getRootLinks()
+
+        then:
+        verifyThatRequest()
+                .havingHeader(Header.GDC_VERSION, hasItem(equalTo(API_VERSION)))
+                .havingHeader(HttpHeaders.ACCEPT, hasItem(equalTo(settings.presetHeaders[HttpHeaders.ACCEPT])))
+                .receivedOnce()
+    }
 }
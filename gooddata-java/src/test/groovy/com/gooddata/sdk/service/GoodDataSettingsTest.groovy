@@ -5,11 +5,16 @@
  */
 package com.gooddata.sdk.service
 
+import com.gooddata.sdk.service.dataload.processes.ProcessService
+import com.gooddata.sdk.service.executeafm.ExecuteAfmService
 import nl.jqno.equalsverifier.EqualsVerifier
 import nl.jqno.equalsverifier.Warning
+import org.springframework.web.client.RestTemplate
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.util.concurrent.ScheduledExecutorService
+
 class GoodDataSettingsTest extends Specification {
 
     GoodDataSettings settings
@@ -26,12 +31,64 @@ class GoodDataSettingsTest extends Specification {
             connectionRequestTimeout >= 0
             socketTimeout >= 0
             pollSleep >= 0
+            maxPollRetryAfter == 60000
+            pollIntervalListener == null
+            uploadConcurrency > 0
+            bulkGetChunkSize > 0
+            bulkGetConcurrency > 0
+            pagePrefetchDepth == 0
+            resultPageConcurrency == 4
+            !executionCoalescing
+            !executionCanonicalization
             goodDataUserAgent =~ /GoodData-Java-SDK\/UNKNOWN \(.*\) Apache-HttpClient\/\d\.\d\.\d/
             presetHeaders['Accept'] == 'application/json'
             presetHeaders.containsKey('X-GDC-Version')
+            pollScheduler.is(PollScheduler.default)
         }
     }
 
+    def "should poll by fixed poll sleep by default"() {
+        when:
+        settings.pollSleep = 1000
+        def strategy = settings.getPollIntervalStrategy(AbstractService)
+
+        then:
+        strategy.getInterval(1, null) == 1000
+        strategy.getInterval(5, null) == 1000
+    }
+
+    def "should get poll interval strategy of service"() {
+        given:
+        PollIntervalStrategy global = Stub(PollIntervalStrategy)
+        PollIntervalStrategy afm = Stub(PollIntervalStrategy)
+
+        when:
+        settings.pollIntervalStrategy = global
+        settings.setPollIntervalStrategy(ExecuteAfmService, afm)
+
+        then:
+        settings.getPollIntervalStrategy(ExecuteAfmService).is(afm)
+        settings.getPollIntervalStrategy(new ExecuteAfmService(Stub(RestTemplate), settings) {}.class).is(afm)
+        settings.getPollIntervalStrategy(ProcessService).is(global)
+
+        when:
+        settings.setPollIntervalStrategy(ExecuteAfmService, null)
+
+        then:
+        settings.getPollIntervalStrategy(ExecuteAfmService).is(global)
+    }
+
+    def "should set poll scheduler"() {
+        given:
+        def scheduler = new PollScheduler(Stub(ScheduledExecutorService))
+
+        when:
+        settings.pollScheduler = scheduler
+
+        then:
+        settings.pollScheduler.is(scheduler)
+    }
+
     @Unroll
     def "should set #name seconds"() {
         when:
@@ -41,7 +98,7 @@ class GoodDataSettingsTest extends Specification {
         settings."$name" == 53000
 
         where:
-        name << [ 'connectionTimeout', 'connectionRequestTimeout', 'socketTimeout', 'pollSleep' ]
+        name << [ 'connectionTimeout', 'connectionRequestTimeout', 'socketTimeout', 'pollSleep', 'maxPollRetryAfter' ]
     }
 
     @Unroll
@@ -58,7 +115,13 @@ class GoodDataSettingsTest extends Specification {
         'ConnectionRequestTimeout' | -1
         'SocketTimeout'            | -5
         'PollSleep'                | -5
+        'MaxPollRetryAfter'        | -1
         'MaxConnections'           | 0
+        'UploadConcurrency'        | 0
+        'BulkGetChunkSize'         | 0
+        'BulkGetConcurrency'       | 0
+        'PagePrefetchDepth'        | -1
+        'ResultPageConcurrency'    | 0
     }
 
     def "custom user agent should be prefix of default"() {
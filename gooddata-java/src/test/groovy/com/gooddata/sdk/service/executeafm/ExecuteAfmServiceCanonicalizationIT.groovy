@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.executeafm
+
+import com.gooddata.sdk.model.executeafm.Execution
+import com.gooddata.sdk.model.executeafm.IdentifierObjQualifier
+import com.gooddata.sdk.model.executeafm.ResultPage
+import com.gooddata.sdk.model.executeafm.UriObjQualifier
+import com.gooddata.sdk.model.executeafm.afm.Afm
+import com.gooddata.sdk.model.executeafm.afm.AttributeItem
+import com.gooddata.sdk.model.executeafm.afm.filter.ExpressionFilter
+import com.gooddata.sdk.model.executeafm.afm.filter.PositiveAttributeFilter
+import com.gooddata.sdk.model.executeafm.afm.filter.RelativeDateFilter
+import com.gooddata.sdk.model.executeafm.afm.filter.UriAttributeFilterElements
+import com.gooddata.sdk.model.executeafm.response.ExecutionResponse
+import com.gooddata.sdk.model.executeafm.result.ExecutionResult
+import com.gooddata.sdk.model.executeafm.result.Paging
+import com.gooddata.sdk.model.project.Project
+import com.gooddata.sdk.service.GoodDataITBase
+import com.gooddata.sdk.service.GoodDataSettings
+import spock.lang.Shared
+
+import static com.gooddata.sdk.common.util.ResourceUtils.OBJECT_MAPPER
+import static com.gooddata.sdk.common.util.ResourceUtils.readObjectFromResource
+import static net.jadler.Jadler.onRequest
+import static net.jadler.Jadler.verifyThatRequest
+import static net.javacrumbs.jsonunit.JsonMatchers.jsonEquals
+
+class ExecuteAfmServiceCanonicalizationIT extends GoodDataITBase<ExecuteAfmService> {
+
+    private static final String EXECUTE_PATH = '/gdc/app/projects/PROJECT_ID/executeAfm'
+    private static final String RESULT_PATH = '/gdc/app/projects/PROJECT_ID/executionResults/123'
+    private static final String IDENTIFIERS_PATH = '/gdc/md/PROJECT_ID/identifiers'
+    private static final String ATTR_URI = '/gdc/md/PROJECT_ID/obj/1'
+
+    @Shared
+    Project project = readObjectFromResource('/project/project.json', Project)
+
+    @Shared
+    Execution byIdentifier = new Execution(new Afm(
+            [new AttributeItem(new IdentifierObjQualifier('label.attr'), 'a1')],
+            [new PositiveAttributeFilter(new IdentifierObjQualifier('label.attr'),
+                     new UriAttributeFilterElements('/e/2', '/e/1')),
+             new ExpressionFilter('x')],
+            null, null))
+
+    @Shared
+    Execution byUri = new Execution(new Afm(
+            [new AttributeItem(new UriObjQualifier(ATTR_URI), 'a1')],
+            [new RelativeDateFilter(new UriObjQualifier('/gdc/md/PROJECT_ID/obj/2'), 'GDC.time.year', null, null),
+             new ExpressionFilter('x'),
+             new PositiveAttributeFilter(new UriObjQualifier(ATTR_URI), new UriAttributeFilterElements('/e/1', '/e/2'))],
+            null, null))
+
+    void setup() {
+        onRequest()
+                .havingMethodEqualTo('POST')
+                .havingPathEqualTo(IDENTIFIERS_PATH)
+        .respond()
+                .withBody('{"identifiers":[{"identifier":"label.attr","uri":"' + ATTR_URI + '"}]}')
+                .withStatus(200)
+        onRequest()
+                .havingMethodEqualTo('POST')
+                .havingPathEqualTo(EXECUTE_PATH)
+        .respond()
+                .withBody(OBJECT_MAPPER.writeValueAsString(new ExecutionResponse([], "$RESULT_PATH?q=456")))
+                .withStatus(200)
+        onRequest()
+                .havingMethodEqualTo('GET')
+                .havingPathEqualTo(RESULT_PATH)
+        .respond()
+                .withBody(OBJECT_MAPPER.writeValueAsString(
+                        new ExecutionResult(['1', '2'] as String[], new Paging([2], [0], [2]))))
+                .withStatus(200)
+    }
+
+    def "should post canonical execution"() {
+        when:
+        service.executeAfm(project, byIdentifier)
+
+        then:
+        verifyThatRequest()
+                .havingMethodEqualTo('POST')
+                .havingPathEqualTo(EXECUTE_PATH)
+                .havingBody(jsonEquals('''{"execution":{"afm":{
+                    "attributes":[{"displayForm":{"uri":"/gdc/md/PROJECT_ID/obj/1"},"localIdentifier":"a1"}],
+                    "filters":[
+                        {"expression":{"value":"x"}},
+                        {"positiveAttributeFilter":{"displayForm":{"uri":"/gdc/md/PROJECT_ID/obj/1"},
+                            "in":{"uris":["/e/1","/e/2"]}}}
+                    ]}}}'''))
+                .receivedOnce()
+        verifyThatRequest().havingMethodEqualTo('POST').havingPathEqualTo(IDENTIFIERS_PATH).receivedOnce()
+    }
+
+    def "should share cached result by equivalent executions"() {
+        given:
+        def page = new ResultPage([0], [10])
+
+        when:
+        service.getExecutionResult(project, byIdentifier, page)
+        ExecutionResult result = service.getExecutionResult(project, byUri, page)
+
+        then:
+        result.data*.textValue() == ['1', '2']
+        verifyThatRequest().havingMethodEqualTo('POST').havingPathEqualTo(EXECUTE_PATH).receivedOnce()
+        service.resultCache.get().hitCount == 1
+    }
+
+    @Override
+    protected GoodDataSettings createGoodDataSettings() {
+        final GoodDataSettings settings = super.createGoodDataSettings()
+        settings.setExecutionCanonicalization(true)
+        settings.setExecutionResultCacheSettings(new ExecutionResultCacheSettings())
+        return settings
+    }
+
+    @Override
+    protected ExecuteAfmService getService() {
+        return gd.executeAfmService
+    }
+}
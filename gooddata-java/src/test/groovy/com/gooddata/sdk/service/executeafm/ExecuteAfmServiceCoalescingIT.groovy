@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.executeafm
+
+import com.gooddata.sdk.common.GoodDataException
+import com.gooddata.sdk.model.executeafm.Execution
+import com.gooddata.sdk.model.executeafm.UriObjQualifier
+import com.gooddata.sdk.model.executeafm.afm.Afm
+import com.gooddata.sdk.model.executeafm.afm.AttributeItem
+import com.gooddata.sdk.model.executeafm.response.ExecutionResponse
+import com.gooddata.sdk.model.executeafm.result.ExecutionResult
+import com.gooddata.sdk.model.executeafm.result.Paging
+import com.gooddata.sdk.model.project.Project
+import com.gooddata.sdk.service.GoodDataITBase
+import com.gooddata.sdk.service.GoodDataSettings
+import spock.lang.Shared
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.TimeUnit
+
+import static com.gooddata.sdk.common.util.ResourceUtils.OBJECT_MAPPER
+import static com.gooddata.sdk.common.util.ResourceUtils.readObjectFromResource
+import static net.jadler.Jadler.onRequest
+import static net.jadler.Jadler.verifyThatRequest
+
+class ExecuteAfmServiceCoalescingIT extends GoodDataITBase<ExecuteAfmService> {
+
+    private static final String EXECUTE_PATH = '/gdc/app/projects/PROJECT_ID/executeAfm'
+    private static final String RESULT_PATH = '/gdc/app/projects/PROJECT_ID/executionResults/123'
+    private static final String RESULT_URI = "$RESULT_PATH?q=456"
+    private static final int CALLERS = 4
+
+    @Shared
+    Project project = readObjectFromResource('/project/project.json', Project)
+
+    @Shared
+    ExecutionResponse response = new ExecutionResponse([], RESULT_URI)
+
+    ExecutorService executor
+
+    void setup() {
+        executor = Executors.newFixedThreadPool(CALLERS)
+    }
+
+    void cleanup() {
+        executor.shutdownNow()
+    }
+
+    def "should post identical concurrent executions once"() {
+        given:
+        onRequest()
+                .havingMethodEqualTo('POST')
+                .havingPathEqualTo(EXECUTE_PATH)
+        .respond()
+                .withDelay(500, TimeUnit.MILLISECONDS)
+                .withBody(OBJECT_MAPPER.writeValueAsString(response))
+                .withStatus(200)
+
+        when:
+        List<ExecutionResponse> responses = concurrently { service.executeAfm(project, execution('a1')) }
+
+        then:
+        responses.every { it.executionResultUri == RESULT_URI }
+        verifyThatRequest().havingMethodEqualTo('POST').havingPathEqualTo(EXECUTE_PATH).receivedOnce()
+    }
+
+    def "should post different executions separately"() {
+        given:
+        onRequest()
+                .havingMethodEqualTo('POST')
+                .havingPathEqualTo(EXECUTE_PATH)
+        .respond()
+                .withDelay(200, TimeUnit.MILLISECONDS)
+                .withBody(OBJECT_MAPPER.writeValueAsString(response))
+                .withStatus(200)
+
+        when:
+        concurrently { int caller -> service.executeAfm(project, execution("a$caller")) }
+
+        then:
+        verifyThatRequest().havingMethodEqualTo('POST').havingPathEqualTo(EXECUTE_PATH).receivedTimes(CALLERS)
+    }
+
+    def "should fail all callers of failed execution"() {
+        given:
+        onRequest()
+                .havingMethodEqualTo('POST')
+                .havingPathEqualTo(EXECUTE_PATH)
+        .respond()
+                .withDelay(500, TimeUnit.MILLISECONDS)
+                .withStatus(400)
+
+        when:
+        List<Object> failures = concurrently {
+            try {
+                service.executeAfm(project, execution('a1'))
+            } catch (GoodDataException e) {
+                e
+            }
+        }
+
+        then:
+        failures.every { it instanceof GoodDataException && it.message == 'Unable to execute AFM' }
+        verifyThatRequest().havingMethodEqualTo('POST').havingPathEqualTo(EXECUTE_PATH).receivedOnce()
+    }
+
+    def "should poll identical concurrent results once"() {
+        given:
+        onRequest()
+                .havingMethodEqualTo('GET')
+                .havingPathEqualTo(RESULT_PATH)
+        .respond()
+                .withDelay(500, TimeUnit.MILLISECONDS)
+                .withBody(OBJECT_MAPPER.writeValueAsString(new ExecutionResult(['1'] as String[], new Paging([1], [0], [1]))))
+                .withStatus(200)
+
+        when:
+        List<ExecutionResult> results = concurrently { service.getResult(response).get() }
+
+        then:
+        results.every { it.is(results[0]) }
+        results[0].data*.textValue() == ['1']
+        verifyThatRequest().havingMethodEqualTo('GET').havingPathEqualTo(RESULT_PATH).receivedOnce()
+    }
+
+    def "should not poll result until it's requested"() {
+        when:
+        def result = service.getResult(response)
+        Thread.sleep(200)
+
+        then:
+        result.pollingUri == RESULT_URI
+        verifyThatRequest().havingMethodEqualTo('GET').havingPathEqualTo(RESULT_PATH).receivedNever()
+    }
+
+    def "should keep polling shared result when one caller cancels"() {
+        given:
+        onRequest()
+                .havingMethodEqualTo('GET')
+                .havingPathEqualTo(RESULT_PATH)
+        .respond()
+                .withDelay(500, TimeUnit.MILLISECONDS)
+                .withBody(OBJECT_MAPPER.writeValueAsString(new ExecutionResult(['1'] as String[], new Paging([1], [0], [1]))))
+                .withStatus(200)
+
+        when:
+        def cancelled = service.getResult(response).toCompletableFuture()
+        def waiting = service.getResult(response).toCompletableFuture()
+        cancelled.cancel(false)
+
+        then:
+        waiting.get(5, TimeUnit.SECONDS).data*.textValue() == ['1']
+        verifyThatRequest().havingMethodEqualTo('GET').havingPathEqualTo(RESULT_PATH).receivedOnce()
+    }
+
+    @Override
+    protected GoodDataSettings createGoodDataSettings() {
+        final GoodDataSettings settings = super.createGoodDataSettings()
+        settings.setExecutionCoalescing(true)
+        return settings
+    }
+
+    @Override
+    protected ExecuteAfmService getService() {
+        return gd.executeAfmService
+    }
+
+    private static Execution execution(String localIdentifier) {
+        new Execution(new Afm().addAttribute(
+                new AttributeItem(new UriObjQualifier('/gdc/md/PROJECT_ID/obj/1'), localIdentifier)))
+    }
+
+    private <T> List<T> concurrently(Closure<T> call) {
+        List<Future<T>> futures = (0..<CALLERS).collect { int caller -> executor.submit({ call(caller) } as Callable<T>) }
+        futures*.get(10, TimeUnit.SECONDS)
+    }
+}
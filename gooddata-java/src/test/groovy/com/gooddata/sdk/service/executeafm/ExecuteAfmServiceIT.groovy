@@ -20,6 +20,7 @@ import com.gooddata.sdk.model.executeafm.response.ExecutionResponse
 import com.gooddata.sdk.model.executeafm.response.MeasureGroupHeader
 import com.gooddata.sdk.model.executeafm.response.MeasureHeaderItem
 import com.gooddata.sdk.model.executeafm.response.ResultDimension
+import com.gooddata.sdk.model.executeafm.result.AttributeHeaderItem
 import com.gooddata.sdk.model.executeafm.result.ExecutionResult
 import com.gooddata.sdk.model.executeafm.result.Paging
 import com.gooddata.sdk.model.project.Project
@@ -125,6 +126,8 @@ class ExecuteAfmServiceIT extends GoodDataITBase<ExecuteAfmService> {
         order | resultQuery                                     | getResult
         '1st' | RESULT_QUERY                                    | {it.getResult(response)}
         '2nd' | "$RESULT_QUERY_BASE&offset=1%2C0&limit=10%2C10" | {it.getResult(response, new ResultPage([1, 0], [10, 10]))}
+        '1st async' | RESULT_QUERY                              | {it.getResultAsync(response)}
+        '2nd async' | "$RESULT_QUERY_BASE&offset=1%2C0&limit=10%2C10" | {it.getResultAsync(response, new ResultPage([1, 0], [10, 10]))}
     }
 
     @Unroll
@@ -188,6 +191,58 @@ class ExecuteAfmServiceIT extends GoodDataITBase<ExecuteAfmService> {
         ex.message == 'Unable to execute visualization'
     }
 
+    def "should get result grid from pages fetched in parallel"() {
+        given:
+        mockTiles()
+
+        when:
+        ExecutionResult grid = service.getResultGrid(response, [2, 2])
+
+        then:
+        grid.data.collect { it.asList()*.textValue() } == [['00', '01', '02'], ['10', '11', '12'], ['20', '21', '22']]
+        grid.paging.offset == [0, 0]
+        grid.paging.count == [3, 3]
+        grid.paging.total == [3, 3]
+        grid.headerItems[0][0]*.name == ['r0', 'r1', 'r2']
+        grid.headerItems[1][0]*.name == ['c0', 'c1', 'c2']
+    }
+
+    def "should get result row blocks"() {
+        given:
+        mockTiles()
+
+        when:
+        List<ExecutionResult> blocks = []
+        service.getResultRowBlocks(response, [2, 2]) { blocks.add(it) }
+
+        then:
+        blocks.size() == 2
+        blocks[0].data.collect { it.asList()*.textValue() } == [['00', '01', '02'], ['10', '11', '12']]
+        blocks[0].headerItems[0][0]*.name == ['r0', 'r1']
+        blocks[1].data.collect { it.asList()*.textValue() } == [['20', '21', '22']]
+        blocks[1].paging.offset == [2, 0]
+        blocks[1].headerItems[0][0]*.name == ['r2']
+        blocks[1].headerItems[1][0]*.name == ['c0', 'c1', 'c2']
+    }
+
+    private static void mockTiles() {
+        [[0, 0], [0, 2], [2, 0], [2, 2]].each { offset ->
+            def rows = (offset[0]..<Math.min(offset[0] + 2, 3))
+            def columns = (offset[1]..<Math.min(offset[1] + 2, 3))
+            ExecutionResult tile = new ExecutionResult(rows.collect { r -> columns.collect { c -> "$r$c" as String } } as String[][],
+                    new Paging([rows.size(), columns.size()], offset, [3, 3]))
+            tile.addHeaderItems([rows.collect { new AttributeHeaderItem("r$it", "/r$it") }])
+            tile.addHeaderItems([columns.collect { new AttributeHeaderItem("c$it", "/c$it") }])
+            onRequest()
+                    .havingMethodEqualTo('GET')
+                    .havingPathEqualTo(RESULT_PATH)
+                    .havingQueryStringEqualTo("$RESULT_QUERY_BASE&offset=${offset[0]}%2C${offset[1]}&limit=2%2C2")
+            .respond()
+                    .withBody(OBJECT_MAPPER.writeValueAsString(tile))
+                    .withStatus(200)
+        }
+    }
+
     @Override
     protected ExecuteAfmService getService() {
         return gd.executeAfmService
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.executeafm
+
+import com.gooddata.sdk.model.dataset.TaskState
+import com.gooddata.sdk.model.executeafm.Execution
+import com.gooddata.sdk.model.executeafm.ResultPage
+import com.gooddata.sdk.model.executeafm.UriObjQualifier
+import com.gooddata.sdk.model.executeafm.afm.Afm
+import com.gooddata.sdk.model.executeafm.afm.AttributeItem
+import com.gooddata.sdk.model.executeafm.response.ExecutionResponse
+import com.gooddata.sdk.model.executeafm.result.ExecutionResult
+import com.gooddata.sdk.model.executeafm.result.Paging
+import com.gooddata.sdk.model.project.Project
+import com.gooddata.sdk.service.GoodDataITBase
+import com.gooddata.sdk.service.GoodDataSettings
+import spock.lang.Shared
+
+import static com.gooddata.sdk.common.util.ResourceUtils.OBJECT_MAPPER
+import static com.gooddata.sdk.common.util.ResourceUtils.readObjectFromResource
+import static net.jadler.Jadler.onRequest
+import static net.jadler.Jadler.verifyThatRequest
+
+class ExecuteAfmServiceResultCacheIT extends GoodDataITBase<ExecuteAfmService> {
+
+    private static final String EXECUTE_PATH = '/gdc/app/projects/PROJECT_ID/executeAfm'
+    private static final String RESULT_PATH = '/gdc/app/projects/PROJECT_ID/executionResults/123'
+    private static final String STATUS_URI = '/gdc/md/PROJECT_ID/tasks/TASK_ID/status'
+
+    @Shared
+    Project project = readObjectFromResource('/project/project.json', Project)
+
+    @Shared
+    Execution execution = new Execution(new Afm().addAttribute(
+            new AttributeItem(new UriObjQualifier('/gdc/md/PROJECT_ID/obj/1'), 'a1')))
+
+    @Shared
+    ResultPage page = new ResultPage([0], [10])
+
+    ExecutionResultCache cache
+
+    void setup() {
+        onRequest()
+                .havingMethodEqualTo('POST')
+                .havingPathEqualTo(EXECUTE_PATH)
+        .respond()
+                .withBody(OBJECT_MAPPER.writeValueAsString(new ExecutionResponse([], "$RESULT_PATH?q=456")))
+                .withStatus(200)
+        onRequest()
+                .havingMethodEqualTo('GET')
+                .havingPathEqualTo(RESULT_PATH)
+        .respond()
+                .withBody(OBJECT_MAPPER.writeValueAsString(
+                        new ExecutionResult(['1', '2'] as String[], new Paging([2], [0], [2]))))
+                .withStatus(200)
+        cache = service.resultCache.orElseThrow { new IllegalStateException() }
+    }
+
+    def "should get cached result"() {
+        when:
+        ExecutionResult first = service.getExecutionResult(project, execution, page)
+        ExecutionResult second = service.getExecutionResult(project, execution, page)
+
+        then:
+        second.data*.textValue() == ['1', '2']
+        !second.is(first)
+        verifyThatRequest().havingMethodEqualTo('POST').havingPathEqualTo(EXECUTE_PATH).receivedOnce()
+        verifyThatRequest().havingMethodEqualTo('GET').havingPathEqualTo(RESULT_PATH).receivedOnce()
+        cache.hitCount == 1
+        cache.missCount == 1
+        cache.hitRate == 0.5d
+        cache.weight > 0
+    }
+
+    def "should cache results of different pages separately"() {
+        when:
+        service.getExecutionResult(project, execution, page)
+        service.getExecutionResult(project, execution, new ResultPage([10], [10]))
+
+        then:
+        verifyThatRequest().havingMethodEqualTo('GET').havingPathEqualTo(RESULT_PATH).receivedTimes(2)
+        cache.size() == 2
+    }
+
+    def "should invalidate cached results when project data are updated"() {
+        given:
+        onRequest()
+                .havingMethodEqualTo('POST')
+                .havingPathEqualTo('/gdc/md/PROJECT_ID/dml/manage')
+        .respond()
+                .withStatus(202)
+                .withBody("{\"uri\" : \"$STATUS_URI\"}")
+        onRequest()
+                .havingMethodEqualTo('GET')
+                .havingPathEqualTo(STATUS_URI)
+        .respond()
+                .withStatus(200)
+                .withBody(OBJECT_MAPPER.writeValueAsString(new TaskState('OK', STATUS_URI)))
+
+        when:
+        service.getExecutionResult(project, execution, page)
+        gd.datasetService.updateProjectData(project, 'DELETE FROM {attr.a}').get()
+        service.getExecutionResult(project, execution, page)
+
+        then:
+        verifyThatRequest().havingMethodEqualTo('GET').havingPathEqualTo(RESULT_PATH).receivedTimes(2)
+        cache.hitCount == 0
+        cache.size() == 1
+    }
+
+    @Override
+    protected GoodDataSettings createGoodDataSettings() {
+        final GoodDataSettings settings = super.createGoodDataSettings()
+        settings.setExecutionResultCacheSettings(new ExecutionResultCacheSettings(offHeap: true))
+        return settings
+    }
+
+    @Override
+    protected ExecuteAfmService getService() {
+        return gd.executeAfmService
+    }
+}
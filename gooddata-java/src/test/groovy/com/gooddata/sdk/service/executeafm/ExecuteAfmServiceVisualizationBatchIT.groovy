@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.executeafm
+
+import com.gooddata.sdk.common.GoodDataException
+import com.gooddata.sdk.model.executeafm.ResultPage
+import com.gooddata.sdk.model.executeafm.response.ExecutionResponse
+import com.gooddata.sdk.model.executeafm.result.ExecutionResult
+import com.gooddata.sdk.model.executeafm.result.Paging
+import com.gooddata.sdk.model.project.Project
+import com.gooddata.sdk.service.GoodDataITBase
+import com.gooddata.sdk.service.GoodDataSettings
+import com.gooddata.sdk.service.md.ObjNotFoundException
+import spock.lang.Shared
+
+import java.util.concurrent.TimeUnit
+
+import static com.gooddata.sdk.common.util.ResourceUtils.OBJECT_MAPPER
+import static com.gooddata.sdk.common.util.ResourceUtils.readObjectFromResource
+import static net.jadler.Jadler.onRequest
+import static net.jadler.Jadler.verifyThatRequest
+import static org.hamcrest.Matchers.containsString
+
+class ExecuteAfmServiceVisualizationBatchIT extends GoodDataITBase<ExecuteAfmService> {
+
+    private static final String BULK_GET_PATH = '/gdc/md/PROJECT_ID/objects/get'
+    private static final String EXECUTE_PATH = '/gdc/app/projects/PROJECT_ID/executeAfm'
+    private static final String RESULT_PATH = '/gdc/app/projects/PROJECT_ID/executionResults'
+    private static final String VIS_OBJ_1 = '/gdc/md/PROJECT_ID/obj/10'
+    private static final String VIS_OBJ_2 = '/gdc/md/PROJECT_ID/obj/11'
+    private static final String VIS_CLASS = '/gdc/md/PROJECT_ID/obj/20'
+
+    @Shared
+    Project project = readObjectFromResource('/project/project.json', Project)
+
+    @Shared
+    ResultPage page = new ResultPage([0], [10])
+
+    void setup() {
+        onRequest()
+                .havingMethodEqualTo('POST')
+                .havingPathEqualTo(BULK_GET_PATH)
+                .havingBody(containsString(VIS_OBJ_1))
+        .respond()
+                .withBody(objects(visualizationObject(VIS_OBJ_1, '/df/1'), visualizationObject(VIS_OBJ_2, '/df/2')))
+                .withStatus(200)
+        onRequest()
+                .havingMethodEqualTo('POST')
+                .havingPathEqualTo(BULK_GET_PATH)
+                .havingBody(containsString(VIS_CLASS))
+        .respond()
+                .withBody(objects('''{"visualizationClass":{
+                    "content":{"url":"local:table","icon":"icon","iconSelected":"iconSelected","checksum":"local"},
+                    "meta":{"title":"table","uri":"''' + VIS_CLASS + '''"}}}'''))
+                .withStatus(200)
+        [1, 2].each { id ->
+            onRequest()
+                    .havingMethodEqualTo('POST')
+                    .havingPathEqualTo(EXECUTE_PATH)
+                    .havingBody(containsString("/df/$id"))
+            .respond()
+                    .withBody(OBJECT_MAPPER.writeValueAsString(new ExecutionResponse([], "$RESULT_PATH/$id")))
+                    .withStatus(200)
+            onRequest()
+                    .havingMethodEqualTo('GET')
+                    .havingPathEqualTo("$RESULT_PATH/$id")
+            .respond()
+                    .withStatus(202)
+                    .withHeader('Location', "$RESULT_PATH/$id")
+            .thenRespond()
+                    .withBody(OBJECT_MAPPER.writeValueAsString(
+                            new ExecutionResult(["$id"] as String[], new Paging([1], [0], [1]))))
+                    .withStatus(200)
+        }
+    }
+
+    def "should execute visualization objects"() {
+        when:
+        Map<String, ExecutionResult> results = service.executeVisualizationObjects(project, [VIS_OBJ_2, VIS_OBJ_1], page)
+
+        then:
+        results.keySet() as List == [VIS_OBJ_2, VIS_OBJ_1]
+        results.values().collect { it.data*.textValue() } == [['2'], ['1']]
+        verifyThatRequest().havingMethodEqualTo('POST').havingPathEqualTo(BULK_GET_PATH).receivedTimes(2)
+        verifyThatRequest().havingMethodEqualTo('POST').havingPathEqualTo(EXECUTE_PATH).receivedTimes(2)
+        verifyThatRequest().havingMethodEqualTo('GET').havingPathEqualTo("$RESULT_PATH/1").receivedTimes(2)
+        verifyThatRequest().havingMethodEqualTo('GET').havingPathEqualTo("$RESULT_PATH/2").receivedTimes(2)
+    }
+
+    def "should serve repeated visualization objects from result cache"() {
+        given:
+        service.executeVisualizationObjects(project, [VIS_OBJ_1, VIS_OBJ_2], page)
+
+        when:
+        Map<String, ExecutionResult> results = service.executeVisualizationObjects(project, [VIS_OBJ_1, VIS_OBJ_2], page)
+
+        then:
+        results.values().collect { it.data*.textValue() } == [['1'], ['2']]
+        verifyThatRequest().havingMethodEqualTo('POST').havingPathEqualTo(EXECUTE_PATH).receivedTimes(2)
+        service.resultCache.get().hitCount == 2
+    }
+
+    def "should fail when visualization object doesn't exist"() {
+        when:
+        service.executeVisualizationObjects(project, [VIS_OBJ_1, '/gdc/md/PROJECT_ID/obj/12'], page)
+
+        then:
+        thrown(ObjNotFoundException)
+        verifyThatRequest().havingMethodEqualTo('POST').havingPathEqualTo(EXECUTE_PATH).receivedNever()
+    }
+
+    def "should fail when results aren't computed in time"() {
+        given:
+        onRequest()
+                .havingMethodEqualTo('GET')
+                .havingPathEqualTo("$RESULT_PATH/1")
+        .respond()
+                .withStatus(202)
+                .withHeader('Location', "$RESULT_PATH/1")
+
+        when:
+        service.executeVisualizationObjects(project, [VIS_OBJ_1, VIS_OBJ_2], page, 300, TimeUnit.MILLISECONDS)
+
+        then:
+        GoodDataException e = thrown()
+        e.message == 'timeout'
+    }
+
+    def "should execute no visualization objects"() {
+        expect:
+        service.executeVisualizationObjects(project, [], page).isEmpty()
+    }
+
+    private static String visualizationObject(final String uri, final String displayForm) {
+        return '''{"visualizationObject":{"meta":{"title":"vis","uri":"''' + uri + '''"},
+            "content":{"visualizationClass":{"uri":"''' + VIS_CLASS + '''"},"buckets":[{"localIdentifier":"attribute","items":[
+                {"visualizationAttribute":{"localIdentifier":"a1","displayForm":{"uri":"''' + displayForm + '''"}}}
+            ]}]}}}'''
+    }
+
+    private static String objects(final String... items) {
+        return '{"objects":{"items":[' + items.join(',') + ']}}'
+    }
+
+    @Override
+    protected GoodDataSettings createGoodDataSettings() {
+        final GoodDataSettings settings = super.createGoodDataSettings()
+        settings.setExecutionResultCacheSettings(new ExecutionResultCacheSettings())
+        return settings
+    }
+
+    @Override
+    protected ExecuteAfmService getService() {
+        return gd.executeAfmService
+    }
+}
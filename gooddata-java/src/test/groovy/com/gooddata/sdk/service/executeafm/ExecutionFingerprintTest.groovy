@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.executeafm
+
+import com.gooddata.sdk.model.executeafm.Execution
+import com.gooddata.sdk.model.executeafm.UriObjQualifier
+import com.gooddata.sdk.model.executeafm.afm.Afm
+import com.gooddata.sdk.model.executeafm.afm.AttributeItem
+import spock.lang.Specification
+
+class ExecutionFingerprintTest extends Specification {
+
+    def "should compute equal fingerprints of equal executions"() {
+        expect:
+        ExecutionFingerprint.of('p1', execution('a1')) == ExecutionFingerprint.of('p1', execution('a1'))
+        ExecutionFingerprint.of('p1', execution('a1')) ==~ /[0-9a-f]{64}/
+    }
+
+    def "should compute different fingerprints of different executions or projects"() {
+        expect:
+        ExecutionFingerprint.of('p1', execution('a1')) != ExecutionFingerprint.of('p1', execution('a2'))
+        ExecutionFingerprint.of('p1', execution('a1')) != ExecutionFingerprint.of('p2', execution('a1'))
+    }
+
+    private static Execution execution(String localIdentifier) {
+        new Execution(new Afm().addAttribute(new AttributeItem(new UriObjQualifier('/gdc/md/p/obj/1'), localIdentifier)))
+    }
+}
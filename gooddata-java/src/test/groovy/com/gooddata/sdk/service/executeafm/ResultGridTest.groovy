@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.executeafm
+
+import com.gooddata.sdk.model.executeafm.result.ExecutionResult
+import com.gooddata.sdk.model.executeafm.result.Paging
+import spock.lang.Specification
+
+class ResultGridTest extends Specification {
+
+    def "should tile result in row-major order"() {
+        expect:
+        ResultGrid.tile([3, 4], [2, 2])*.offsetsQueryParam == ['0%2C0', '0%2C2', '2%2C0', '2%2C2']
+    }
+
+    def "should assemble 2x2 tiles with row and column totals"() {
+        given:
+        def tiles = [[0, 0], [0, 2], [2, 0], [2, 2]].collect { row, column -> tile(row, column) }.reverse()
+
+        when:
+        ExecutionResult result = ResultGrid.assemble(tiles)
+
+        then:
+        result.paging.offset == [0, 0]
+        result.paging.count == [4, 4]
+        result.paging.total == [4, 4]
+        result.data*.asList()*.collect { it.textValue() } == (0..3).collect { row -> (0..3).collect { "$row$it" } }
+        result.totals == [
+                [['sum0', 'sum1', 'sum2', 'sum3'], ['max0', 'max1', 'max2', 'max3']],
+                [['rowSum0', 'rowSum1', 'rowSum2', 'rowSum3']]
+        ]
+    }
+
+    private static ExecutionResult tile(final int row, final int column) {
+        def data = (row..row + 1).collect { r -> (column..column + 1).collect { "$r$it" as String } as String[] }
+        def result = new ExecutionResult(data as String[][], new Paging([2, 2], [row, column], [4, 4]))
+        def columns = column..column + 1
+        def rows = row..row + 1
+        // totals of the first dimension belong to columns, those of the second one to rows
+        result.totals = [
+                [columns.collect { "sum$it" as String }, columns.collect { "max$it" as String }],
+                [rows.collect { "rowSum$it" as String }]
+        ]
+        return result
+    }
+}
@@ -17,11 +17,13 @@ import spock.lang.Shared
 import spock.lang.Unroll
 
 import java.nio.charset.StandardCharsets
+import java.nio.file.Files
 
 import static com.gooddata.sdk.common.util.ResourceUtils.OBJECT_MAPPER
 import static com.gooddata.sdk.common.util.ResourceUtils.readObjectFromResource
 import static net.jadler.Jadler.onRequest
 import static net.jadler.Jadler.port
+import static net.jadler.Jadler.verifyThatRequest
 
 class ExportServiceIT extends GoodDataITBase<ExportService> {
 
@@ -97,6 +99,10 @@ class ExportServiceIT extends GoodDataITBase<ExportService> {
 
         then:
         output.toString(StandardCharsets.US_ASCII.name()) == RESPONSE
+        verifyThatRequest()
+                .havingPathEqualTo(EXPORT_POLL_URI)
+                .havingMethodEqualTo('GET')
+                .receivedTimes(2)
 
         where:
         type         | toExport
@@ -132,6 +138,10 @@ class ExportServiceIT extends GoodDataITBase<ExportService> {
 
         then:
         output.toString(StandardCharsets.US_ASCII.name()) == RESPONSE
+        verifyThatRequest()
+                .havingPathEqualTo(CLIENT_EXPORT_POLL)
+                .havingMethodEqualTo('GET')
+                .receivedTimes(2)
     }
 
     def "should fail export dashboard"() {
@@ -154,6 +164,26 @@ class ExportServiceIT extends GoodDataITBase<ExportService> {
         CLIENT_EXPORT_POLL | 'GET'
     }
 
+    def "should export to file"() {
+        given:
+        def reportTarget = Files.createTempFile('report', '.csv')
+        def rawTarget = Files.createTempFile('raw', '.csv')
+        def dashboardTarget = Files.createTempFile('dashboard', '.pdf')
+
+        when:
+        service.exportToFile(REPORT, ExportFormat.CSV, reportTarget).get()
+        service.exportCsvToFile(DEFINITION, rawTarget).get()
+        service.exportPdfToFile(endpoint, DASHBOARD, DASHBOARD.tabs.first(), dashboardTarget).get()
+
+        then:
+        [reportTarget, rawTarget, dashboardTarget].every {
+            new String(Files.readAllBytes(it), StandardCharsets.US_ASCII) == RESPONSE
+        }
+
+        cleanup:
+        [reportTarget, rawTarget, dashboardTarget].each { Files.deleteIfExists(it) }
+    }
+
     def "should export raw"() {
         when:
         def output = new ByteArrayOutputStream()
@@ -161,6 +191,10 @@ class ExportServiceIT extends GoodDataITBase<ExportService> {
 
         then:
         output.toString(StandardCharsets.US_ASCII.name()) == RESPONSE
+        verifyThatRequest()
+                .havingPathEqualTo(RAW_EXPORT_POLL)
+                .havingMethodEqualTo('GET')
+                .receivedTimes(2)
     }
 
     def "should fail export raw"() {
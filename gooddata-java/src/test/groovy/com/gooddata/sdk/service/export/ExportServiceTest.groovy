@@ -78,6 +78,15 @@ class ExportServiceTest extends Specification {
         reportDefinition | null                        | /.*output.*/
     }
 
+    def "should fail export to file on invalid target"() {
+        when:
+        service.exportCsvToFile(report, null)
+
+        then:
+        def exc = thrown(IllegalArgumentException)
+        exc.message =~ /.*target.*/
+    }
+
     def "should extract project id"() {
         expect:
         ExportService.extractProjectId(dashboard) == 'PROJECT_ID'
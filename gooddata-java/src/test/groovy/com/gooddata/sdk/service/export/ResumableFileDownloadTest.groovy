@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.export
+
+import org.springframework.http.HttpHeaders
+import org.springframework.http.HttpMethod
+import org.springframework.http.client.ClientHttpRequest
+import org.springframework.http.client.ClientHttpResponse
+import org.springframework.web.client.RequestCallback
+import org.springframework.web.client.ResponseExtractor
+import org.springframework.web.client.RestTemplate
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ResumableFileDownloadTest extends Specification {
+
+    private static final String URI = '/gdc/exporter/result/123'
+    private static final String CONTENT = 'abcdefghij'
+
+    RestTemplate restTemplate = Mock(RestTemplate)
+    Path target
+
+    void setup() {
+        target = Files.createTempFile('download', '.csv')
+    }
+
+    void cleanup() {
+        Files.deleteIfExists(target)
+    }
+
+    def "should write whole body"() {
+        when:
+        def size = new ResumableFileDownload(restTemplate, URI, target).extractData(response(200, CONTENT))
+
+        then:
+        size == CONTENT.length()
+        content() == CONTENT
+        0 * restTemplate._
+    }
+
+    def "should resume broken download using range request"() {
+        given:
+        def headers = new HttpHeaders()
+        1 * restTemplate.execute(URI, HttpMethod.GET, _ as RequestCallback, _ as ResponseExtractor) >> { args ->
+            (args[2] as RequestCallback).doWithRequest(Stub(ClientHttpRequest) { getHeaders() >> headers })
+            (args[3] as ResponseExtractor).extractData(response(206, CONTENT.substring(4), "bytes 4-9/10"))
+        }
+
+        when:
+        def size = new ResumableFileDownload(restTemplate, URI, target).extractData(brokenResponse(CONTENT.substring(0, 4)))
+
+        then:
+        size == CONTENT.length()
+        content() == CONTENT
+        headers.getFirst(HttpHeaders.RANGE) == 'bytes=4-'
+    }
+
+    def "should restart download when range is not supported"() {
+        given:
+        1 * restTemplate.execute(URI, HttpMethod.GET, _ as RequestCallback, _ as ResponseExtractor) >> { args ->
+            (args[3] as ResponseExtractor).extractData(response(200, CONTENT))
+        }
+
+        when:
+        new ResumableFileDownload(restTemplate, URI, target).extractData(brokenResponse(CONTENT.substring(0, 4)))
+
+        then:
+        content() == CONTENT
+    }
+
+    def "should fail when download can't be resumed"() {
+        given:
+        restTemplate.execute(URI, HttpMethod.GET, _ as RequestCallback, _ as ResponseExtractor) >> { args ->
+            (args[3] as ResponseExtractor).extractData(brokenResponse(''))
+        }
+
+        when:
+        new ResumableFileDownload(restTemplate, URI, target).extractData(brokenResponse(CONTENT.substring(0, 4)))
+
+        then:
+        thrown(IOException)
+    }
+
+    private String content() {
+        new String(Files.readAllBytes(target), StandardCharsets.US_ASCII)
+    }
+
+    private ClientHttpResponse response(int status, String body, String contentRange = null) {
+        def headers = new HttpHeaders()
+        if (contentRange) {
+            headers.set(HttpHeaders.CONTENT_RANGE, contentRange)
+        }
+        Stub(ClientHttpResponse) {
+            getRawStatusCode() >> status
+            getHeaders() >> headers
+            getBody() >> new ByteArrayInputStream(body.getBytes(StandardCharsets.US_ASCII))
+        }
+    }
+
+    private ClientHttpResponse brokenResponse(String body) {
+        def stream = new SequenceInputStream(new ByteArrayInputStream(body.getBytes(StandardCharsets.US_ASCII)),
+                new InputStream() {
+                    @Override
+                    int read() throws IOException {
+                        throw new IOException('Connection reset')
+                    }
+                })
+        Stub(ClientHttpResponse) {
+            getRawStatusCode() >> 200
+            getHeaders() >> new HttpHeaders()
+            getBody() >> stream
+        }
+    }
+}
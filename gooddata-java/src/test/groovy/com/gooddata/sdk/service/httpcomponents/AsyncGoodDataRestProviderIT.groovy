@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.httpcomponents
+
+import com.gooddata.sdk.common.GoodDataRestException
+import com.gooddata.sdk.common.gdc.Header
+import com.gooddata.sdk.model.executeafm.Execution
+import com.gooddata.sdk.model.executeafm.UriObjQualifier
+import com.gooddata.sdk.model.executeafm.afm.Afm
+import com.gooddata.sdk.model.executeafm.afm.MeasureItem
+import com.gooddata.sdk.model.executeafm.afm.SimpleMeasureDefinition
+import com.gooddata.sdk.model.executeafm.response.ExecutionResponse
+import com.gooddata.sdk.model.md.Metric
+import com.gooddata.sdk.model.project.Project
+import com.gooddata.sdk.service.GoodDataEndpoint
+import com.gooddata.sdk.service.GoodDataSettings
+import com.gooddata.sdk.service.executeafm.ExecuteAfmService
+import com.gooddata.sdk.service.md.MetadataService
+import com.gooddata.sdk.service.md.ObjNotFoundException
+import org.springframework.http.HttpMethod
+import org.springframework.web.client.ResponseExtractor
+import spock.lang.Specification
+
+import java.util.concurrent.CompletionException
+
+import static com.gooddata.sdk.common.util.ResourceUtils.OBJECT_MAPPER
+import static com.gooddata.sdk.common.util.ResourceUtils.readFromResource
+import static com.gooddata.sdk.common.util.ResourceUtils.readObjectFromResource
+import static net.jadler.Jadler.closeJadler
+import static net.jadler.Jadler.initJadler
+import static net.jadler.Jadler.onRequest
+import static net.jadler.Jadler.port
+import static net.jadler.Jadler.verifyThatRequest
+import static net.javacrumbs.jsonunit.JsonMatchers.jsonEquals
+
+class AsyncGoodDataRestProviderIT extends Specification {
+
+    private static final String OBJ_URI = '/gdc/md/PROJECT_ID/obj/1'
+    private static final String SST = 'sst'
+    private static final String TT = 'tt'
+
+    AsyncGoodDataRestProvider provider
+
+    void setup() {
+        initJadler().withDefaultResponseContentType('application/json')
+        provider = new AsyncGoodDataRestProvider(new GoodDataEndpoint('localhost', port(), 'http'),
+                new GoodDataSettings(), SST)
+    }
+
+    void cleanup() {
+        provider.close()
+        closeJadler()
+    }
+
+    def "should get object without blocking"() {
+        given:
+        onRequest()
+                .havingMethodEqualTo('GET')
+                .havingPathEqualTo(OBJ_URI)
+        .respond()
+                .withBody(readFromResource('/md/metric.json'))
+
+        when:
+        Metric metric = metadataService().getObjByUriAsync(OBJ_URI, Metric).join()
+
+        then:
+        metric.title == 'Person Name'
+        verifyThatRequest()
+                .havingPathEqualTo(OBJ_URI)
+                .havingHeaderEqualTo('Accept', 'application/json')
+                .havingHeaderEqualTo(Header.GDC_VERSION, provider.settings.presetHeaders[Header.GDC_VERSION])
+                .receivedOnce()
+    }
+
+    def "should extract response off the I/O thread"() {
+        given:
+        onRequest()
+                .havingPathEqualTo(OBJ_URI)
+        .respond()
+                .withBody('"body"')
+
+        when:
+        String thread = provider.asyncRestOperations.get()
+                .execute(URI.create(OBJ_URI), HttpMethod.GET, null, { Thread.currentThread().name } as ResponseExtractor)
+                .join()
+
+        then:
+        thread.startsWith('gooddata-worker-')
+    }
+
+    def "should fail with ObjNotFoundException"() {
+        given:
+        onRequest()
+                .havingPathEqualTo(OBJ_URI)
+        .respond()
+                .withStatus(404)
+
+        when:
+        metadataService().getObjByUriAsync(OBJ_URI, Metric).join()
+
+        then:
+        def e = thrown(CompletionException)
+        e.cause instanceof ObjNotFoundException
+    }
+
+    def "should fail with GoodDataRestException"() {
+        given:
+        onRequest()
+                .havingPathEqualTo(OBJ_URI)
+        .respond()
+                .withStatus(500)
+
+        when:
+        metadataService().getObjByUriAsync(OBJ_URI, Metric).join()
+
+        then:
+        def e = thrown(CompletionException)
+        e.cause instanceof GoodDataRestException
+        (e.cause as GoodDataRestException).statusCode == 500
+    }
+
+    def "should obtain TT when challenged and repeat request"() {
+        given:
+        onRequest()
+                .havingPathEqualTo(OBJ_URI)
+        .respond()
+                .withStatus(401)
+                .withHeader('WWW-Authenticate', 'GoodData realm="GoodData API" cookie=GDCAuthTT')
+        onRequest()
+                .havingPathEqualTo(OBJ_URI)
+                .havingHeaderEqualTo('X-GDC-AuthTT', TT)
+        .respond()
+                .withBody(readFromResource('/md/metric.json'))
+        onRequest()
+                .havingMethodEqualTo('GET')
+                .havingPathEqualTo('/gdc/account/token')
+                .havingHeaderEqualTo('X-GDC-AuthSST', SST)
+        .respond()
+                .withHeader('X-GDC-AuthTT', TT)
+
+        when:
+        Metric first = metadataService().getObjByUriAsync(OBJ_URI, Metric).join()
+        Metric second = metadataService().getObjByUriAsync(OBJ_URI, Metric).join()
+
+        then:
+        first.title == 'Person Name'
+        second.title == 'Person Name'
+        verifyThatRequest()
+                .havingPathEqualTo('/gdc/account/token')
+                .receivedOnce()
+    }
+
+    def "should post execution"() {
+        given:
+        def execution = new Execution(new Afm().addMeasure(
+                new MeasureItem(new SimpleMeasureDefinition(new UriObjQualifier(OBJ_URI)), 'm1')))
+        def response = readObjectFromResource('/executeafm/response/executionResponse.json', ExecutionResponse)
+        onRequest()
+                .havingMethodEqualTo('POST')
+                .havingPathEqualTo('/gdc/app/projects/PROJECT_ID/executeAfm')
+                .havingBody(jsonEquals(execution))
+        .respond()
+                .withBody(OBJECT_MAPPER.writeValueAsString(response))
+
+        when:
+        ExecutionResponse executed = new ExecuteAfmService(provider.restTemplate,
+                provider.asyncRestOperations.get(), provider.settings)
+                .executeAfmAsync(readObjectFromResource('/project/project.json', Project), execution)
+                .join()
+
+        then:
+        executed.executionResultUri == response.executionResultUri
+    }
+
+    private MetadataService metadataService() {
+        new MetadataService(provider.restTemplate, provider.asyncRestOperations.get(), provider.settings)
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.httpcomponents
+
+import org.apache.http.client.protocol.HttpClientContext
+import org.apache.http.message.BasicHttpRequest
+import spock.lang.Specification
+
+import static com.gooddata.sdk.service.httpcomponents.HeaderSettingHttpRequestInterceptor.PRESET_HEADERS
+
+class HeaderSettingHttpRequestInterceptorTest extends Specification {
+
+    def interceptor = new HeaderSettingHttpRequestInterceptor()
+
+    def "should set headers from context"() {
+        given:
+        def request = new BasicHttpRequest('GET', '/gdc')
+        request.addHeader('Accept', 'text/plain')
+        def context = HttpClientContext.create()
+        context.setAttribute(PRESET_HEADERS, [Accept: 'application/json', 'X-GDC-Version': '3'])
+
+        when:
+        interceptor.process(request, context)
+
+        then:
+        request.getHeaders('Accept')*.value == ['application/json']
+        request.getFirstHeader('X-GDC-Version').value == '3'
+    }
+
+    def "should not touch request without headers in context"() {
+        given:
+        def request = new BasicHttpRequest('PUT', '/uploads/file.zip')
+
+        when:
+        interceptor.process(request, HttpClientContext.create())
+
+        then:
+        request.allHeaders.length == 0
+    }
+}
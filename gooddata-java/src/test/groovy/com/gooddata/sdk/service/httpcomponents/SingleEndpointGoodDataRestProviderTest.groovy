@@ -35,4 +35,12 @@ class SingleEndpointGoodDataRestProviderTest extends Specification {
         then:
         dataStoreService.isPresent()
     }
+
+    def "should stream request body"() {
+        when:
+        def provider = new SingleEndpointGoodDataRestProvider(new GoodDataEndpoint(), new GoodDataSettings(), Stub(GoodDataHttpClientBuilder)) {}
+
+        then:
+        provider.restTemplate.interceptors.empty
+    }
 }
@@ -6,23 +6,50 @@
 package com.gooddata.sdk.service;
 
 import com.gooddata.sdk.common.GoodDataException;
+import com.gooddata.sdk.common.GoodDataRestException;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.stubbing.Answer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.fail;
 
+@SuppressWarnings("unchecked")
 public class AbstractServiceTest {
 
     private AbstractService service;
@@ -36,8 +63,8 @@ public class AbstractServiceTest {
         service = new AbstractService(restTemplate, new GoodDataSettings()) {};
         final ClientHttpResponse response = mock(ClientHttpResponse.class);
         when(response.getStatusCode()).thenReturn(HttpStatus.OK);
-        when(restTemplate.execute(any(), any(HttpMethod.class), any(RequestCallback.class), any(ResponseExtractor.class)))
-                .thenReturn(response);
+        doAnswer(extractFrom(response)).when(restTemplate)
+                .execute(any(), any(HttpMethod.class), any(RequestCallback.class), any(ResponseExtractor.class));
     }
 
     @Test
@@ -54,4 +81,243 @@ public class AbstractServiceTest {
         PollHandler<?, ?> handler = mock(PollHandler.class);
         service.poll(handler, 5, TimeUnit.SECONDS);
     }
+
+    @Test
+    public void pollShouldRequestOnCallingThreadWithoutAsyncOperations() throws Exception {
+        service = new AbstractService(restTemplate, settingsWithPollSleep(0)) {};
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        recordThreads(threads);
+        PollHandler<?, String> handler = mock(PollHandler.class);
+        when(handler.isDone()).thenReturn(false, true);
+        when(handler.getResult()).thenReturn("result");
+
+        assertThat(service.poll(handler, 5, TimeUnit.SECONDS), is("result"));
+        assertThat(threads, is(asList(Thread.currentThread(), Thread.currentThread())));
+    }
+
+    @Test
+    public void pollShouldUseRestTemplateWithAsyncOperations() throws Exception {
+        final AsyncRestOperations asyncRestOperations = mock(AsyncRestOperations.class);
+        service = new AbstractService(restTemplate, asyncRestOperations, settingsWithPollSleep(0)) {};
+        PollHandler<?, String> handler = mock(PollHandler.class);
+        when(handler.isDone()).thenReturn(false, true);
+        when(handler.getResult()).thenReturn("result");
+
+        assertThat(service.poll(handler, 5, TimeUnit.SECONDS), is("result"));
+        verify(restTemplate, times(2))
+                .execute(any(), any(HttpMethod.class), any(RequestCallback.class), any(ResponseExtractor.class));
+        verifyZeroInteractions(asyncRestOperations);
+    }
+
+    @Test
+    public void pollResultFutureShouldUseRestTemplateWithAsyncOperations() throws Exception {
+        final AsyncRestOperations asyncRestOperations = mock(AsyncRestOperations.class);
+        service = new AbstractService(restTemplate, asyncRestOperations, settingsWithPollSleep(0)) {};
+        PollHandler<?, String> handler = mock(PollHandler.class);
+        when(handler.isDone()).thenReturn(false, false, true);
+        when(handler.getResult()).thenReturn("result");
+
+        assertThat(new PollResult<>(service, handler).toCompletableFuture().get(5, TimeUnit.SECONDS), is("result"));
+        verifyZeroInteractions(asyncRestOperations);
+    }
+
+    @Test
+    public void pollAsyncShouldRequestOffSchedulerThreadsWithoutAsyncOperations() throws Exception {
+        service = new AbstractService(restTemplate, settingsWithPollSleep(0)) {};
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        recordThreads(threads);
+        PollHandler<?, String> handler = mock(PollHandler.class);
+        when(handler.isDone()).thenReturn(false, true);
+
+        service.pollAsync(handler, 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+
+        assertThat(threads.size(), is(2));
+        for (Thread thread : threads) {
+            assertThat(thread.getName(), startsWith("gooddata-io-"));
+        }
+    }
+
+    @Test
+    public void pollAsyncShouldCompleteWithResult() throws Exception {
+        service = new AbstractService(restTemplate, settingsWithPollSleep(0)) {};
+        PollHandler<?, String> handler = mock(PollHandler.class);
+        when(handler.isDone()).thenReturn(false, false, true);
+        when(handler.getResult()).thenReturn("result");
+
+        final CompletableFuture<String> future = service.pollAsync(handler, 5, TimeUnit.SECONDS);
+
+        assertThat(future.get(5, TimeUnit.SECONDS), is("result"));
+        verify(restTemplate, times(3))
+                .execute(any(), any(HttpMethod.class), any(RequestCallback.class), any(ResponseExtractor.class));
+    }
+
+    @Test
+    public void pollAsyncShouldFailWhenOverTimeout() throws Exception {
+        service = new AbstractService(restTemplate, settingsWithPollSleep(10)) {};
+        PollHandler<?, ?> handler = mock(PollHandler.class);
+
+        final CompletableFuture<?> future = service.pollAsync(handler, 50, TimeUnit.MILLISECONDS);
+
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Exception expected");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(GoodDataException.class)));
+            assertThat(e.getCause().getMessage(), is("timeout"));
+        }
+    }
+
+    @Test
+    public void pollAsyncShouldStopWhenCancelled() throws Exception {
+        service = new AbstractService(restTemplate, settingsWithPollSleep(60_000)) {};
+        PollHandler<?, ?> handler = mock(PollHandler.class);
+
+        final CompletableFuture<?> future = service.pollAsync(handler, 0, null);
+        verify(restTemplate, timeout(5000))
+                .execute(any(), any(HttpMethod.class), any(RequestCallback.class), any(ResponseExtractor.class));
+        future.cancel(false);
+
+        assertThat(future.isCancelled(), is(true));
+    }
+
+    @Test
+    public void pollResultShouldProvideCompletableFuture() throws Exception {
+        service = new AbstractService(restTemplate, settingsWithPollSleep(0)) {};
+        PollHandler<?, String> handler = mock(PollHandler.class);
+        when(handler.isDone()).thenReturn(false, false, false, true);
+        when(handler.getResult()).thenReturn("result");
+
+        final PollResult<String> result = new PollResult<>(service, handler);
+
+        assertThat(result.toCompletableFuture().get(5, TimeUnit.SECONDS), is("result"));
+        assertThat(result.get(), is("result"));
+    }
+
+    @Test
+    public void pollAsyncShouldFollowLocationOfAcceptedResponse() throws Exception {
+        service = new AbstractService(restTemplate, settingsWithPollSleep(0)) {};
+        final ClientHttpResponse accepted = mock(ClientHttpResponse.class);
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setLocation(URI.create("/gdc/other"));
+        when(accepted.getStatusCode()).thenReturn(HttpStatus.ACCEPTED);
+        when(accepted.getRawStatusCode()).thenReturn(HttpStatus.ACCEPTED.value());
+        when(accepted.getHeaders()).thenReturn(headers);
+        doAnswer(extractFrom(accepted)).when(restTemplate).execute(eq(URI.create("/gdc/polling")),
+                any(HttpMethod.class), any(RequestCallback.class), any(ResponseExtractor.class));
+        PollHandler<?, ?> handler = mock(PollHandler.class);
+        when(handler.getPolling()).thenReturn(URI.create("/gdc/polling"));
+        when(handler.isDone()).thenReturn(false, true);
+
+        service.pollAsync(handler, 5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS);
+
+        verify(restTemplate).execute(eq(URI.create("/gdc/other")), any(HttpMethod.class), any(RequestCallback.class),
+                any(ResponseExtractor.class));
+    }
+
+    @Test
+    public void pollShouldLimitRetryAfterAndNotifyListener() throws Exception {
+        final GoodDataSettings settings = settingsWithPollSleep(60_000);
+        settings.setMaxPollRetryAfter(0);
+        final List<Long> intervals = new CopyOnWriteArrayList<>();
+        settings.setPollIntervalListener((cls, uri, attempt, interval, retryAfter) -> {
+            assertThat(uri, is(URI.create("/gdc/polling")));
+            assertThat(retryAfter, is(true));
+            intervals.add(interval);
+        });
+        service = new AbstractService(restTemplate, settings) {};
+        final ClientHttpResponse accepted = mock(ClientHttpResponse.class);
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "3600");
+        when(accepted.getStatusCode()).thenReturn(HttpStatus.ACCEPTED);
+        when(accepted.getRawStatusCode()).thenReturn(HttpStatus.ACCEPTED.value());
+        when(accepted.getHeaders()).thenReturn(headers);
+        doAnswer(extractFrom(accepted)).when(restTemplate)
+                .execute(any(), any(HttpMethod.class), any(RequestCallback.class), any(ResponseExtractor.class));
+        PollHandler<?, ?> handler = mock(PollHandler.class);
+        when(handler.getPolling()).thenReturn(URI.create("/gdc/polling"));
+        when(handler.isDone()).thenReturn(false, false, true);
+
+        service.poll(handler, 5, TimeUnit.SECONDS);
+
+        assertThat(intervals, is(asList(0L, 0L)));
+    }
+
+    @Test
+    public void shouldParseRetryAfter() throws Exception {
+        final HttpHeaders headers = new HttpHeaders();
+        assertThat(AbstractService.getRetryAfter(headers), is(nullValue()));
+
+        headers.set(HttpHeaders.RETRY_AFTER, "3");
+        assertThat(AbstractService.getRetryAfter(headers), is(3000L));
+
+        headers.setDate(HttpHeaders.RETRY_AFTER, System.currentTimeMillis() - 10_000);
+        assertThat(AbstractService.getRetryAfter(headers), is(0L));
+
+        headers.set(HttpHeaders.RETRY_AFTER, "invalid");
+        assertThat(AbstractService.getRetryAfter(headers), is(nullValue()));
+    }
+
+    @Test
+    public void pollShouldExtractStreamedBody() throws Exception {
+        final PollHandler<String, String> handler = new SimplePollHandler<String>("/gdc/polling", String.class) {
+            @Override
+            public void handlePollException(final GoodDataRestException e) {
+                throw new GoodDataException("failed", e);
+            }
+        };
+        mockBody("result");
+
+        assertThat(service.poll(handler, 5, TimeUnit.SECONDS), is("result"));
+    }
+
+    @Test
+    public void pollShouldExtractBodyReadByIsFinished() throws Exception {
+        final PollHandler<String, String> handler = new SimplePollHandler<String>("/gdc/polling", String.class) {
+            @Override
+            public boolean isFinished(final ClientHttpResponse response) throws IOException {
+                return "result".equals(StreamUtils.copyToString(response.getBody(), UTF_8));
+            }
+
+            @Override
+            public void handlePollException(final GoodDataRestException e) {
+                throw new GoodDataException("failed", e);
+            }
+        };
+        mockBody("result");
+
+        assertThat(service.poll(handler, 5, TimeUnit.SECONDS), is("result"));
+    }
+
+    private void mockBody(final String body) throws IOException {
+        final ClientHttpResponse response = mock(ClientHttpResponse.class);
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.TEXT_PLAIN);
+        when(response.getStatusCode()).thenReturn(HttpStatus.OK);
+        when(response.getRawStatusCode()).thenReturn(HttpStatus.OK.value());
+        when(response.getHeaders()).thenReturn(headers);
+        when(response.getBody()).thenReturn(new ByteArrayInputStream(body.getBytes(UTF_8)));
+        when(restTemplate.getMessageConverters()).thenReturn(new RestTemplate().getMessageConverters());
+        doAnswer(extractFrom(response)).when(restTemplate)
+                .execute(any(), any(HttpMethod.class), any(RequestCallback.class), any(ResponseExtractor.class));
+    }
+
+    private void recordThreads(final List<Thread> threads) throws IOException {
+        final ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getStatusCode()).thenReturn(HttpStatus.OK);
+        doAnswer(invocation -> {
+            threads.add(Thread.currentThread());
+            return extractFrom(response).answer(invocation);
+        }).when(restTemplate)
+                .execute(any(), any(HttpMethod.class), any(RequestCallback.class), any(ResponseExtractor.class));
+    }
+
+    private static Answer<Object> extractFrom(final ClientHttpResponse response) {
+        return invocation -> ((ResponseExtractor<?>) invocation.getArguments()[3]).extractData(response);
+    }
+
+    private static GoodDataSettings settingsWithPollSleep(final int pollSleep) {
+        final GoodDataSettings settings = new GoodDataSettings();
+        settings.setPollSleep(pollSleep);
+        return settings;
+    }
 }
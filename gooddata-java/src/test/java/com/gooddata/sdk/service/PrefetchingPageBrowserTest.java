@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service;
+
+import com.gooddata.sdk.common.GoodDataException;
+import com.gooddata.sdk.common.collections.CustomPageRequest;
+import com.gooddata.sdk.common.collections.Page;
+import com.gooddata.sdk.common.collections.PageRequest;
+import com.gooddata.sdk.common.collections.Paging;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PrefetchingPageBrowserTest {
+
+    private static final int PAGES = 4;
+
+    private final Map<PageRequest, Page<Integer>> pages = new HashMap<>();
+    private final List<Integer> requested = new ArrayList<>();
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        pages.clear();
+        requested.clear();
+        PageRequest request = new CustomPageRequest();
+        for (int i = 1; i <= PAGES; i++) {
+            final Page<Integer> page = new Page<>(asList(i * 10, i * 10 + 1),
+                    new Paging(String.valueOf(i), i < PAGES ? "/list?page=" + (i + 1) : null));
+            pages.put(request, page);
+            request = page.getNextPage();
+        }
+    }
+
+    @Test
+    public void shouldIterateOverAllItems() throws Exception {
+        final PrefetchingPageBrowser<Integer> browser = new PrefetchingPageBrowser<>(new CustomPageRequest(),
+                this::getPage, 2);
+
+        try (Stream<Integer> items = browser.allItemsStream()) {
+            assertThat(items.collect(Collectors.toList()), is(asList(10, 11, 20, 21, 30, 31, 40, 41)));
+        }
+        assertThat(requested, is(asList(10, 20, 30, 40)));
+    }
+
+    @Test
+    public void shouldIterateOverSinglePage() throws Exception {
+        final Page<Integer> single = new Page<>(singletonList(1), new Paging("0", null));
+        final PrefetchingPageBrowser<Integer> browser = new PrefetchingPageBrowser<>(new CustomPageRequest(),
+                request -> single, 3);
+
+        final List<Integer> items = new ArrayList<>();
+        browser.getAllItems().forEach(items::add);
+        assertThat(items, is(singletonList(1)));
+    }
+
+    @Test(timeOut = 10000)
+    public void shouldRequestPagesAhead() throws Exception {
+        final CountDownLatch prefetched = new CountDownLatch(3);
+        final PrefetchingPageBrowser<Integer> browser = new PrefetchingPageBrowser<>(new CustomPageRequest(),
+                request -> {
+                    final Page<Integer> page = getPage(request);
+                    prefetched.countDown();
+                    return page;
+                }, 2);
+
+        try (Stream<Integer> items = browser.allItemsStream()) {
+            items.limit(3).forEach(item -> {
+                if (item == 20) {
+                    // third page is requested while the second one is consumed
+                    await(prefetched);
+                }
+            });
+        }
+        assertThat(prefetched.getCount(), is(0L));
+    }
+
+    @Test(expectedExceptions = GoodDataException.class, expectedExceptionsMessageRegExp = "page failed")
+    public void shouldFailWhenPageFails() throws Exception {
+        final Function<PageRequest, Page<Integer>> provider = request -> {
+            if (pages.get(request).getPaging().getOffset().equals("3")) {
+                throw new GoodDataException("page failed");
+            }
+            return getPage(request);
+        };
+        new PrefetchingPageBrowser<>(new CustomPageRequest(), provider, 2).allItemsStream().count();
+    }
+
+    private synchronized Page<Integer> getPage(final PageRequest request) {
+        final Page<Integer> page = pages.get(request);
+        requested.add(page.getPageItems().get(0));
+        return page;
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class WeightedCacheTest {
+
+    private final AtomicLong time = new AtomicLong();
+
+    private WeightedCache<String, String> cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        final WeightedCacheSettings settings = new WeightedCacheSettings(10, 6, 1000) {};
+        cache = new WeightedCache<>(settings, String::length, time::get);
+    }
+
+    @Test
+    public void shouldInvalidateMatchingValues() throws Exception {
+        cache.put("a", "xa", cache.getGeneration());
+        cache.put("b", "yb", cache.getGeneration());
+        cache.put("c", "xc", cache.getGeneration());
+
+        cache.invalidateIf(value -> value.startsWith("x"));
+
+        assertThat(cache.get("a"), is(nullValue()));
+        assertThat(cache.get("b"), is("yb"));
+        assertThat(cache.get("c"), is(nullValue()));
+        assertThat(cache.getWeight(), is(2L));
+    }
+
+    @Test
+    public void shouldNotCacheValueOfPreviousGeneration() throws Exception {
+        final long generation = cache.getGeneration();
+        cache.invalidate("a");
+
+        assertThat(cache.put("a", "x", generation), is(false));
+        assertThat(cache.put("a", "x", cache.getGeneration()), is(true));
+        assertThat(cache.get("a"), is("x"));
+    }
+
+    @Test
+    public void shouldComputeHitRate() throws Exception {
+        assertThat(cache.getHitRate(), is(0.0));
+        cache.get("a");
+        cache.put("a", "x", cache.getGeneration());
+        cache.get("a");
+
+        assertThat(cache.getHitRate(), is(0.5));
+    }
+}
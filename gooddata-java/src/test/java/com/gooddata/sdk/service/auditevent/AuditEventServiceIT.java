@@ -14,11 +14,15 @@ import com.gooddata.sdk.model.auditevent.AuditEvent;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static com.gooddata.sdk.common.util.ResourceUtils.readFromResource;
 import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
 import static javax.servlet.http.HttpServletResponse.SC_UNAUTHORIZED;
 import static net.jadler.Jadler.onRequest;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -90,6 +94,36 @@ public class AuditEventServiceIT extends AbstractGoodDataIT {
         assertThat(page2.getPageItems(), hasSize(1));
     }
 
+    @Test
+    public void shouldReadAllAuditEvents() throws Exception {
+        onRequest()
+                .havingPathEqualTo("/gdc/domains/DOMAIN/auditEvents")
+            .respond()
+                .withBody(readFromResource("/auditevents/auditEvents.json"))
+        ;
+        onRequest()
+                .havingPathEqualTo("/gdc/domains/DOMAIN/auditEvents")
+                .havingParameterEqualTo("offset", "456")
+            .respond()
+                .withBody(readFromResource("/auditevents/auditEventsPage2.json"))
+        ;
+
+        final List<String> ids = new ArrayList<>();
+        service.listAuditEvents("DOMAIN", new AuditEventPageRequest(), event -> ids.add(event.getId()));
+        assertThat(ids, contains("123", "456", "456"));
+    }
+
+    @Test(expectedExceptions = AuditEventsForbiddenException.class)
+    public void shouldThrowOnForbiddenDomainWhenReadingAllAuditEvents() {
+        onRequest()
+                .havingPathEqualTo("/gdc/domains/DOMAIN/auditEvents")
+            .respond()
+                .withStatus(SC_UNAUTHORIZED)
+        ;
+
+        service.listAuditEvents("DOMAIN", new AuditEventPageRequest(), event -> {});
+    }
+
     @Test
     public void shouldReturnAuditEventsForUser() throws Exception {
         onRequest()
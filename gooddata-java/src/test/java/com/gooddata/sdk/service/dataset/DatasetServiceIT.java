@@ -18,11 +18,15 @@ import org.testng.annotations.Test;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static com.gooddata.sdk.common.util.ResourceUtils.OBJECT_MAPPER;
 import static com.gooddata.sdk.common.util.ResourceUtils.readFromResource;
 import static com.gooddata.sdk.common.util.ResourceUtils.readObjectFromResource;
+import static java.util.Collections.singletonList;
 import static net.jadler.Jadler.onRequest;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -100,6 +104,23 @@ public class DatasetServiceIT extends AbstractGoodDataIT {
 
     }
 
+    @Test
+    public void shouldLoadDatasetsAsync() throws Exception {
+        onRequest()
+                .havingPathEqualTo("/gdc/md/PROJECT/tasks/task/ID/status")
+            .respond()
+                .withStatus(202)
+                .withBody(readFromResource("/dataset/pullTaskStatusRunning.json"))
+            .thenRespond()
+                .withStatus(200)
+                .withBody(readFromResource("/dataset/pullTaskStatusOk.json"));
+
+        final DatasetManifest manifest = readObjectFromResource("/dataset/datasetManifest.json", DatasetManifest.class);
+        manifest.setSource(new ByteArrayInputStream(new byte[]{}));
+
+        gd.getDatasetService().loadDatasetsAsync(project, singletonList(manifest)).get(5, TimeUnit.SECONDS);
+    }
+
     @Test(expectedExceptions = DatasetException.class, expectedExceptionsMessageRegExp = ".*dataset.person.*Unable to load.*")
     public void shouldFailPolling() throws Exception {
         onRequest()
@@ -219,6 +240,31 @@ public class DatasetServiceIT extends AbstractGoodDataIT {
         gd.getDatasetService().updateProjectData(project, DML_MAQL).get();
     }
 
+    @Test
+    public void shouldNotifyDataUpdateListenersDespiteFailingOne() throws IOException {
+        onRequest()
+                .havingMethodEqualTo("POST")
+                .havingPathEqualTo("/gdc/md/PROJECT_ID/dml/manage")
+                .respond()
+                .withStatus(202)
+                .withBody("{\"uri\" : \"" + STATUS_URI + "\"}");
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(STATUS_URI)
+                .respond()
+                .withStatus(200)
+                .withBody(OBJECT_MAPPER.writeValueAsString(new TaskState("OK", STATUS_URI)));
+        final List<Project> updated = new ArrayList<>();
+        gd.getDatasetService().addDataUpdateListener(p -> {
+            throw new IllegalStateException("listener failure");
+        });
+        gd.getDatasetService().addDataUpdateListener(updated::add);
+
+        gd.getDatasetService().updateProjectData(project, DML_MAQL).get();
+
+        assertThat(updated, contains(project));
+    }
+
     @Test(expectedExceptions = GoodDataException.class)
     public void shouldFailUpdateProjectDataServerError() throws IOException {
         onRequest()
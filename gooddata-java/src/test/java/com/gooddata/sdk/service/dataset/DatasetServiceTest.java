@@ -16,22 +16,43 @@ import com.gooddata.sdk.service.gdc.DataStoreService;
 import org.hamcrest.Matchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static com.gooddata.sdk.common.util.ResourceUtils.OBJECT_MAPPER;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
-import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.endsWith;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.fail;
 
 public class DatasetServiceTest {
 
@@ -112,13 +133,166 @@ public class DatasetServiceTest {
 
     @Test(expectedExceptions = DatasetException.class)
     public void testLoadDatasetWhenUploadFails() {
-        doThrow(DataStoreException.class).when(dataStoreService).upload(anyString(), eq(stream));
+        doThrow(DataStoreException.class).when(dataStoreService).upload(anyString(), any(InputStream.class));
         when(manifest.getFile()).thenReturn("");
         when(manifest.getSource()).thenReturn(stream);
         when(manifest.getDataSet()).thenReturn(DATASET_ID);
         service.loadDatasets(project, manifest);
     }
 
+    @Test
+    public void testLoadDatasetsUploadsInParallel() throws Exception {
+        final CountDownLatch allStarted = new CountDownLatch(3);
+        doAnswer(invocation -> {
+            allStarted.countDown();
+            if (!allStarted.await(10, TimeUnit.SECONDS)) {
+                throw new DataStoreException("not uploaded in parallel", null);
+            }
+            final InputStream source = (InputStream) invocation.getArguments()[1];
+            while (source.read() >= 0) {
+                // upload
+            }
+            return null;
+        }).when(dataStoreService).upload(anyString(), any(InputStream.class));
+        final DatasetUploadListener listener = mock(DatasetUploadListener.class);
+        final List<DatasetManifest> manifests = asList(
+                createManifest("dataset.a", 1), createManifest("dataset.b", 2), createManifest("dataset.c", 3));
+
+        try {
+            service.loadDatasets(project, manifests, listener);
+        } catch (IllegalStateException ignored) {
+            // pull task not mocked
+        }
+
+        for (DatasetManifest datasetManifest : manifests) {
+            verify(listener).uploadFinished(datasetManifest, datasetManifest.getFile().length());
+        }
+        verify(listener, never()).uploadFailed(any(DatasetManifest.class), any(Exception.class));
+        verify(dataStoreService).upload(endsWith("upload_info.json"), any(InputStream.class));
+    }
+
+    @Test
+    public void testLoadDatasetsAggregatesUploadFailures() throws Exception {
+        final DataStoreException failureA = new DataStoreException("failed a", null);
+        final DataStoreException failureC = new DataStoreException("failed c", null);
+        doThrow(failureA).when(dataStoreService).upload(endsWith("a.csv"), any(InputStream.class));
+        doThrow(failureC).when(dataStoreService).upload(endsWith("c.csv"), any(InputStream.class));
+        final DatasetUploadListener listener = mock(DatasetUploadListener.class);
+        final DatasetManifest failedA = createManifest("dataset.a", 1);
+        final DatasetManifest failedC = createManifest("dataset.c", 3);
+
+        try {
+            service.loadDatasets(project, asList(failedA, createManifest("dataset.b", 2), failedC), listener);
+            fail("DatasetException expected");
+        } catch (DatasetException e) {
+            assertThat(e.getDatasets(), contains("dataset.a", "dataset.c"));
+            assertThat(e.getCause(), is(failureA));
+            assertThat(e.getCause().getSuppressed(), is(new Throwable[]{failureC}));
+        }
+
+        verify(listener).uploadFailed(failedA, failureA);
+        verify(listener).uploadFailed(failedC, failureC);
+        verify(dataStoreService, never()).upload(endsWith("upload_info.json"), any(InputStream.class));
+    }
+
+    @Test
+    public void testLoadDatasetsAsZip() throws Exception {
+        final Map<String, String> entries = new LinkedHashMap<>();
+        doAnswer(invocation -> {
+            try (ZipInputStream zip = new ZipInputStream((InputStream) invocation.getArguments()[1])) {
+                ZipEntry entry;
+                while ((entry = zip.getNextEntry()) != null) {
+                    entries.put(entry.getName(), StreamUtils.copyToString(zip, UTF_8));
+                }
+            }
+            return null;
+        }).when(dataStoreService).upload(endsWith("upload.zip"), any(InputStream.class));
+        final DatasetUploadListener listener = mock(DatasetUploadListener.class);
+        final DatasetManifest manifestA = createManifest("dataset.a", 1);
+
+        try {
+            service.loadDatasets(project, asList(manifestA, createManifest("dataset.b", 2)),
+                    DatasetUploadMode.ZIP, listener);
+        } catch (IllegalStateException ignored) {
+            // pull task not mocked
+        }
+
+        assertThat(entries.keySet(), contains("a.csv", "b.csv", "upload_info.json"));
+        assertThat(entries.get("a.csv"), is("a.csv"));
+        assertThat(entries.get("upload_info.json"), containsString("dataset.b"));
+        verify(listener).uploadFinished(manifestA, 5);
+        verify(dataStoreService, never()).upload(endsWith(".csv"), any(InputStream.class));
+    }
+
+    @Test
+    public void testLoadDatasetsAsZipWhenSourceFails() throws Exception {
+        doAnswer(invocation -> {
+            try {
+                StreamUtils.drain((InputStream) invocation.getArguments()[1]);
+            } catch (IOException e) {
+                throw new DataStoreException("Unable to upload", e);
+            }
+            return null;
+        }).when(dataStoreService).upload(anyString(), any(InputStream.class));
+        final IOException failure = new IOException("broken source");
+        final DatasetManifest brokenManifest = createManifest("dataset.b", 2);
+        brokenManifest.setSource(new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw failure;
+            }
+        });
+        final DatasetUploadListener listener = mock(DatasetUploadListener.class);
+
+        try {
+            service.loadDatasets(project, asList(createManifest("dataset.a", 1), brokenManifest),
+                    DatasetUploadMode.ZIP, listener);
+            fail("DatasetException expected");
+        } catch (DatasetException e) {
+            assertThat(e.getDatasets(), contains("dataset.b"));
+            assertThat(e.getCause(), is(failure));
+        }
+        verify(listener).uploadFailed(brokenManifest, failure);
+    }
+
+    @Test
+    public void testLoadDatasetsAsZipWhenListenerFails() throws Exception {
+        final List<IOException> readFailures = new ArrayList<>();
+        doAnswer(invocation -> {
+            try {
+                StreamUtils.drain((InputStream) invocation.getArguments()[1]);
+            } catch (IOException e) {
+                readFailures.add(e);
+                throw new DataStoreException("Unable to upload", e);
+            }
+            return null;
+        }).when(dataStoreService).upload(anyString(), any(InputStream.class));
+        final DatasetManifest manifestA = createManifest("dataset.a", 1);
+        final RuntimeException failure = new IllegalStateException("listener failed");
+        final DatasetUploadListener listener = mock(DatasetUploadListener.class);
+        doThrow(failure).when(listener).uploadFinished(manifestA, 5);
+
+        try {
+            service.loadDatasets(project, asList(manifestA, createManifest("dataset.b", 2)),
+                    DatasetUploadMode.ZIP, listener);
+            fail("DatasetException expected");
+        } catch (DatasetException e) {
+            assertThat(e.getDatasets(), contains("dataset.a"));
+            assertThat(e.getCause(), is(failure));
+        }
+        assertThat(readFailures.size(), is(1));
+        verify(listener).uploadFailed(manifestA, failure);
+        verify(dataStoreService, never()).upload(endsWith("upload_info.json"), any(InputStream.class));
+    }
+
+    private static DatasetManifest createManifest(final String dataset, final int length) {
+        final DatasetManifest datasetManifest = new DatasetManifest(dataset);
+        final String file = dataset.substring(dataset.indexOf('.') + 1) + ".csv";
+        datasetManifest.setFile(file);
+        datasetManifest.setSource(new ByteArrayInputStream(file.getBytes()));
+        return datasetManifest;
+    }
+
     @Test(expectedExceptions = IllegalArgumentException.class)
     public void testLoadDatasetByIdWithNullProject() {
         service.loadDataset(null, DATASET_ID, stream);
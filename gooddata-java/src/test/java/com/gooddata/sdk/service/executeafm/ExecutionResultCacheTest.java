@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.executeafm;
+
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ExecutionResultCacheTest {
+
+    private final AtomicLong time = new AtomicLong();
+
+    @DataProvider
+    public Object[][] storage() {
+        return new Object[][]{{false}, {true}};
+    }
+
+    private ExecutionResultCache createCache(final boolean offHeap) {
+        final ExecutionResultCacheSettings settings = new ExecutionResultCacheSettings();
+        settings.setMaxWeight(10);
+        settings.setMaxEntryWeight(6);
+        settings.setTimeToLive(1000);
+        settings.setOffHeap(offHeap);
+        return new ExecutionResultCache(settings, time::get);
+    }
+
+    @Test(dataProvider = "storage")
+    public void shouldCountHitsAndMisses(final boolean offHeap) throws Exception {
+        final ExecutionResultCache cache = createCache(offHeap);
+        assertThat(cache.get("a"), is(nullValue()));
+        cache.put("p", "a", new byte[]{1, 2, 3}, cache.getGeneration());
+
+        assertThat(read(cache.get("a")), is(new byte[]{1, 2, 3}));
+        assertThat(read(cache.get("a")), is(new byte[]{1, 2, 3}));
+        assertThat(cache.getHitCount(), is(2L));
+        assertThat(cache.getMissCount(), is(1L));
+        assertThat(cache.getHitRate(), is(2.0 / 3));
+        assertThat(cache.getWeight(), is(3L));
+    }
+
+    @Test
+    public void shouldHaveZeroHitRateWithoutRequests() throws Exception {
+        assertThat(createCache(false).getHitRate(), is(0.0));
+    }
+
+    @Test
+    public void shouldExpire() throws Exception {
+        final ExecutionResultCache cache = createCache(false);
+        cache.put("p", "a", new byte[3], cache.getGeneration());
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        assertThat(cache.get("a"), is(nullValue()));
+        assertThat(cache.size(), is(0));
+        assertThat(cache.getWeight(), is(0L));
+        assertThat(cache.getEvictionCount(), is(1L));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedByWeight() throws Exception {
+        final ExecutionResultCache cache = createCache(false);
+        cache.put("p", "a", new byte[4], cache.getGeneration());
+        cache.put("p", "b", new byte[4], cache.getGeneration());
+        cache.get("a");
+        cache.put("p", "c", new byte[4], cache.getGeneration());
+
+        assertThat(cache.get("b"), is(nullValue()));
+        assertThat(cache.size(), is(2));
+        assertThat(cache.getWeight(), is(8L));
+        assertThat(cache.getEvictionCount(), is(1L));
+    }
+
+    @Test
+    public void shouldNotCacheTooHeavyResult() throws Exception {
+        final ExecutionResultCache cache = createCache(false);
+        cache.put("p", "huge", new byte[7], cache.getGeneration());
+
+        assertThat(cache.get("huge"), is(nullValue()));
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void shouldInvalidateProject() throws Exception {
+        final ExecutionResultCache cache = createCache(false);
+        cache.put("p1", "a", new byte[2], cache.getGeneration());
+        cache.put("p2", "b", new byte[3], cache.getGeneration());
+        cache.put("p1", "c", new byte[4], cache.getGeneration());
+
+        cache.invalidateProject("p1");
+        assertThat(cache.size(), is(1));
+        assertThat(cache.getWeight(), is(3L));
+
+        cache.invalidateAll();
+        assertThat(cache.size(), is(0));
+        assertThat(cache.getWeight(), is(0L));
+    }
+
+    @Test
+    public void shouldNotCacheResultRequestedBeforeInvalidation() throws Exception {
+        final ExecutionResultCache cache = createCache(false);
+        final long generation = cache.getGeneration();
+        cache.invalidateProject("p");
+        cache.put("p", "a", new byte[2], generation);
+
+        assertThat(cache.get("a"), is(nullValue()));
+    }
+
+    private static byte[] read(final InputStream stream) throws Exception {
+        return IOUtils.toByteArray(stream);
+    }
+}
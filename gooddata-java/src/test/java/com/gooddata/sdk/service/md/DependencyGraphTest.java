@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+
+public class DependencyGraphTest {
+
+    private DependencyGraph graph;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        final DependencyGraph.Builder builder = new DependencyGraph.Builder();
+        builder.addNode("/fact", "fact");
+        builder.addEdge("/metric", "metric", "/fact");
+        builder.addEdge("/report", "report", "/metric");
+        builder.addEdge("/report", "report", "/metric");
+        builder.addEdge("/dashboard", "projectDashboard", "/report");
+        builder.addEdge("/otherMetric", "metric", "/fact");
+        graph = builder.build();
+    }
+
+    @Test
+    public void shouldFindDirectDependencies() throws Exception {
+        assertThat(graph.size(), is(5));
+        assertThat(graph.getEdgeCount(), is(4));
+        assertThat(graph.getUsedBy("/fact"), containsInAnyOrder("/metric", "/otherMetric"));
+        assertThat(graph.getUses("/report"), containsInAnyOrder("/metric"));
+        assertThat(graph.getUses("/fact"), is(empty()));
+        assertThat(graph.getCategory("/fact"), is("fact"));
+        assertThat(graph.getCategory("/unknown"), is(nullValue()));
+    }
+
+    @Test
+    public void shouldFindTransitiveDependencies() throws Exception {
+        assertThat(graph.getTransitiveUsedBy("/fact"),
+                containsInAnyOrder("/metric", "/otherMetric", "/report", "/dashboard"));
+        assertThat(graph.getTransitiveUses("/dashboard"), containsInAnyOrder("/report", "/metric", "/fact"));
+        assertThat(graph.getTransitiveUsedBy("/unknown"), is(empty()));
+    }
+
+    @Test
+    public void shouldSerialize() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        graph.writeTo(output);
+        final DependencyGraph read = DependencyGraph.readFrom(new ByteArrayInputStream(output.toByteArray()));
+
+        assertThat(read.getUris(), containsInAnyOrder(graph.getUris().toArray()));
+        assertThat(read.getEdgeCount(), is(graph.getEdgeCount()));
+        assertThat(read.getTransitiveUsedBy("/fact"), is(graph.getTransitiveUsedBy("/fact")));
+        assertThat(read.getCategory("/dashboard"), is("projectDashboard"));
+    }
+
+    @Test
+    public void shouldSerializeToFile() throws Exception {
+        final Path file = Files.createTempFile("dependencies", ".graph");
+        try {
+            graph.writeTo(file);
+            assertThat(DependencyGraph.readFrom(file).getUsedBy("/metric"), containsInAnyOrder("/report"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void shouldRejectInvalidInput() throws Exception {
+        DependencyGraph.readFrom(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}));
+    }
+}
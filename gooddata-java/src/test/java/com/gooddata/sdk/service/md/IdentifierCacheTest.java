@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import com.gooddata.sdk.common.GoodDataException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
+public class IdentifierCacheTest {
+
+    private final List<Collection<String>> requests = new ArrayList<>();
+
+    private IdentifierCache cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        final IdentifierCacheSettings settings = new IdentifierCacheSettings();
+        settings.setMaxSize(3);
+        cache = new IdentifierCache(settings);
+        requests.clear();
+    }
+
+    @Test
+    public void shouldResolveOnlyMissingIdentifiers() throws Exception {
+        cache.prefill("PROJECT", singletonMap("a", "/obj/1"));
+
+        final Map<String, String> result = cache.resolve("PROJECT", asList("b", "a", "unknown"), this::load);
+
+        assertThat(new ArrayList<>(result.keySet()), is(asList("b", "a")));
+        assertThat(result.get("b"), is("/obj/b"));
+        assertThat(requests, is(singletonList(asList("b", "unknown"))));
+        assertThat(cache.getIdentifier("/obj/b"), is(Optional.of("b")));
+        assertThat(cache.getUri("OTHER", "a"), is(Optional.empty()));
+        assertThat(cache.getHitCount(), is(1L));
+        assertThat(cache.getMissCount(), is(2L));
+    }
+
+    @Test
+    public void shouldEvictByUri() throws Exception {
+        cache.prefill("PROJECT", singletonMap("a", "/obj/1"));
+        cache.invalidate("/obj/1");
+
+        assertThat(cache.getUri("PROJECT", "a"), is(Optional.empty()));
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void shouldReplaceChangedPair() throws Exception {
+        cache.prefill("PROJECT", singletonMap("a", "/obj/1"));
+        cache.prefill("PROJECT", singletonMap("b", "/obj/1"));
+
+        assertThat(cache.getUri("PROJECT", "a"), is(Optional.empty()));
+        assertThat(cache.getIdentifier("/obj/1"), is(Optional.of("b")));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed() throws Exception {
+        final Map<String, String> pairs = new HashMap<>();
+        pairs.put("a", "/obj/a");
+        pairs.put("b", "/obj/b");
+        pairs.put("c", "/obj/c");
+        cache.prefill("PROJECT", pairs);
+        cache.resolve("PROJECT", singletonList("a"), this::load);
+        cache.prefill("PROJECT", singletonMap("d", "/obj/d"));
+
+        assertThat(cache.size(), is(3));
+        assertThat(cache.getUri("PROJECT", "a"), is(Optional.of("/obj/a")));
+        assertThat(cache.getUri("PROJECT", "d"), is(Optional.of("/obj/d")));
+    }
+
+    @Test(timeOut = 10000)
+    public void shouldCoalesceConcurrentMisses() throws Exception {
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<Map<String, String>> first = CompletableFuture.supplyAsync(() ->
+                cache.resolve("PROJECT", singletonList("a"), identifiers -> {
+                    loading.countDown();
+                    await(release);
+                    return load(identifiers);
+                }));
+        await(loading);
+
+        final CompletableFuture<Map<String, String>> second = CompletableFuture.supplyAsync(() ->
+                cache.resolve("PROJECT", asList("a", "b"), this::load));
+        while (cache.getMissCount() < 3) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertThat(first.join().get("a"), is("/obj/a"));
+        assertThat(second.join().get("a"), is("/obj/a"));
+        assertThat(second.join().get("b"), is("/obj/b"));
+        assertThat(requests, containsInAnyOrder(singletonList("a"), singletonList("b")));
+    }
+
+    @Test(expectedExceptions = GoodDataException.class)
+    public void shouldNotCacheFailure() throws Exception {
+        try {
+            cache.resolve("PROJECT", singletonList("a"), identifiers -> {
+                throw new GoodDataException("failed");
+            });
+        } finally {
+            assertThat(cache.resolve("PROJECT", singletonList("a"), this::load).get("a"), is("/obj/a"));
+        }
+    }
+
+    private synchronized Map<String, String> load(final Collection<String> identifiers) {
+        requests.add(new ArrayList<>(identifiers));
+        final Map<String, String> result = new HashMap<>();
+        identifiers.stream().filter(identifier -> !"unknown".equals(identifier))
+                .forEach(identifier -> result.put(identifier, "/obj/" + identifier));
+        return result;
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -25,6 +25,7 @@ import static java.lang.String.format;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static net.jadler.Jadler.onRequest;
+import static net.jadler.Jadler.verifyThatRequest;
 import static net.javacrumbs.jsonunit.JsonMatchers.jsonEquals;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
@@ -32,6 +33,7 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 
@@ -80,6 +82,50 @@ public class MetadataServiceIT extends AbstractGoodDataIT {
         assertThat(result.iterator().next().getTitle(), is(TITLE));
     }
 
+    @Test
+    public void shouldGetDependencyGraph() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo("/gdc/md/PROJECT_ID/query/attributes")
+            .respond()
+                .withStatus(200)
+                .withBody(readFromResource("/md/query.json"));
+        onRequest()
+                .havingMethodEqualTo("POST")
+                .havingPathEqualTo(USEDBY_URI)
+                .havingBody(containsString("/gdc/md/PROJ_ID/obj/127"))
+            .respond()
+                .withStatus(200)
+                .withBody("{\"useMany\":[{\"uri\":\"/gdc/md/PROJ_ID/obj/127\", \"entries\":["
+                        + "{\"link\":\"/gdc/md/PROJ_ID/obj/200\", \"category\":\"metric\"}]}]}");
+        onRequest()
+                .havingMethodEqualTo("POST")
+                .havingPathEqualTo(USEDBY_URI)
+                .havingBody(containsString("/gdc/md/PROJ_ID/obj/200"))
+            .respond()
+                .withStatus(200)
+                .withBody("{\"useMany\":[{\"uri\":\"/gdc/md/PROJ_ID/obj/200\", \"entries\":["
+                        + "{\"link\":\"/gdc/md/PROJ_ID/obj/300\", \"category\":\"report\"}]}]}");
+        onRequest()
+                .havingMethodEqualTo("POST")
+                .havingPathEqualTo(USEDBY_URI)
+                .havingBody(containsString("/gdc/md/PROJ_ID/obj/300"))
+            .respond()
+                .withStatus(200)
+                .withBody("{\"useMany\":[]}");
+
+        final DependencyGraph graph = gd.getMetadataService().getDependencyGraph(project, Attribute.class);
+
+        assertThat(graph.size(), is(4));
+        assertThat(graph.getUsedBy("/gdc/md/PROJ_ID/obj/127"), contains("/gdc/md/PROJ_ID/obj/200"));
+        assertThat(graph.getUses("/gdc/md/PROJ_ID/obj/200"), contains("/gdc/md/PROJ_ID/obj/127"));
+        assertThat(graph.getCategory("/gdc/md/PROJ_ID/obj/200"), is("metric"));
+        assertThat(graph.getTransitiveUsedBy("/gdc/md/PROJ_ID/obj/127"),
+                containsInAnyOrder("/gdc/md/PROJ_ID/obj/200", "/gdc/md/PROJ_ID/obj/300"));
+        assertThat(graph.getUsedBy("/gdc/md/PROJ_ID/obj/118").isEmpty(), is(true));
+        verifyThatRequest().havingMethodEqualTo("POST").havingPathEqualTo(USEDBY_URI).receivedTimes(3);
+    }
+
     @Test
     public void testGetObjsByUris() {
         onRequest()
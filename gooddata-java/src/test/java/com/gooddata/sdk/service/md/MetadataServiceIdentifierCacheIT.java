@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import com.gooddata.sdk.model.md.Restriction;
+import com.gooddata.sdk.model.project.Project;
+import com.gooddata.sdk.service.AbstractGoodDataIT;
+import com.gooddata.sdk.service.GoodDataSettings;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+import static com.gooddata.sdk.common.util.ResourceUtils.readFromResource;
+import static com.gooddata.sdk.common.util.ResourceUtils.readObjectFromResource;
+import static com.gooddata.sdk.common.util.ResourceUtils.readStringFromResource;
+import static java.util.Collections.singletonList;
+import static net.jadler.Jadler.onRequest;
+import static net.jadler.Jadler.verifyThatRequest;
+import static net.javacrumbs.jsonunit.JsonMatchers.jsonEquals;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+public class MetadataServiceIdentifierCacheIT extends AbstractGoodDataIT {
+
+    private static final String IDENTIFIERS_URI = "/gdc/md/PROJECT_ID/identifiers";
+    private static final String ID = "ID";
+    private static final String OBJ_URI = "/gdc/md/PROJECT_ID/obj";
+
+    private Project project;
+
+    @Override
+    protected GoodDataSettings createGoodDataSettings() {
+        final GoodDataSettings settings = super.createGoodDataSettings();
+        settings.setIdentifierCacheSettings(new IdentifierCacheSettings());
+        return settings;
+    }
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("POST")
+                .havingPathEqualTo(IDENTIFIERS_URI)
+                .havingBody(jsonEquals(readStringFromResource("/md/identifierToUri.json")))
+            .respond()
+                .withStatus(200)
+                .withBody(readFromResource("/md/identifiersAndUris.json"));
+        project = readObjectFromResource("/project/project.json", Project.class);
+    }
+
+    @Test
+    public void shouldResolveCachedIdentifiers() throws Exception {
+        final MetadataService service = gd.getMetadataService();
+
+        final Map<String, String> uris = service.identifiersToUris(project, singletonList(ID));
+        assertThat(uris.get(ID), is(OBJ_URI));
+        assertThat(service.findUris(project, Restriction.identifier(ID)), contains(OBJ_URI));
+        assertThat(service.identifiersToUris(project, singletonList(ID)).get(ID), is(OBJ_URI));
+
+        verifyThatRequest()
+                .havingMethodEqualTo("POST")
+                .havingPathEqualTo(IDENTIFIERS_URI)
+                .receivedOnce();
+    }
+
+    @Test
+    public void shouldResolveAgainAfterRemoval() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("DELETE")
+                .havingPathEqualTo(OBJ_URI)
+            .respond()
+                .withStatus(204);
+        final MetadataService service = gd.getMetadataService();
+
+        service.identifiersToUris(project, singletonList(ID));
+        service.removeObjByUri(OBJ_URI);
+        service.identifiersToUris(project, singletonList(ID));
+
+        verifyThatRequest()
+                .havingMethodEqualTo("POST")
+                .havingPathEqualTo(IDENTIFIERS_URI)
+                .receivedTimes(2);
+    }
+}
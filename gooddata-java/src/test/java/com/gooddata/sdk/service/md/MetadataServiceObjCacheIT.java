@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import com.gooddata.sdk.model.gdc.UriResponse;
+import com.gooddata.sdk.model.md.Metric;
+import com.gooddata.sdk.service.AbstractGoodDataIT;
+import com.gooddata.sdk.service.GoodDataSettings;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static com.gooddata.sdk.common.util.ResourceUtils.OBJECT_MAPPER;
+import static com.gooddata.sdk.common.util.ResourceUtils.readFromResource;
+import static com.gooddata.sdk.common.util.ResourceUtils.readObjectFromResource;
+import static net.jadler.Jadler.onRequest;
+import static net.jadler.Jadler.verifyThatRequest;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MetadataServiceObjCacheIT extends AbstractGoodDataIT {
+
+    private static final String OBJ_URI = "/gdc/md/PROJECT_ID/obj/ID";
+
+    private ObjCache objCache;
+
+    @Override
+    protected GoodDataSettings createGoodDataSettings() {
+        final GoodDataSettings settings = super.createGoodDataSettings();
+        settings.setObjCacheSettings(new ObjCacheSettings());
+        return settings;
+    }
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(OBJ_URI)
+            .respond()
+                .withStatus(200)
+                .withBody(readFromResource("/md/metric.json"));
+        objCache = gd.getMetadataService().getObjCache().orElseThrow(IllegalStateException::new);
+    }
+
+    @Test
+    public void shouldGetCachedObj() throws Exception {
+        final Metric first = gd.getMetadataService().getObjByUri(OBJ_URI, Metric.class);
+        final Metric second = gd.getMetadataService().getObjByUri(OBJ_URI, Metric.class);
+
+        assertThat(second.getTitle(), is("Person Name"));
+        assertThat(second.getFormat(), is(first.getFormat()));
+        assertThat(second, is(not(sameInstance(first))));
+        verifyThatRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(OBJ_URI)
+                .receivedOnce();
+        assertThat(objCache.getMissCount(), is(1L));
+        assertThat(objCache.getHitCount(), is(1L));
+        assertThat(objCache.size(), is(1));
+    }
+
+    @Test
+    public void shouldInvalidateCachedObjOnUpdate() throws Exception {
+        final Metric metric = readObjectFromResource("/md/metric-input.json", Metric.class);
+        onRequest()
+                .havingMethodEqualTo("PUT")
+                .havingPathEqualTo(OBJ_URI)
+            .respond()
+                .withStatus(200)
+                .withBody(OBJECT_MAPPER.writeValueAsString(new UriResponse(OBJ_URI)));
+
+        gd.getMetadataService().getObjByUri(OBJ_URI, Metric.class);
+        gd.getMetadataService().updateObj(metric);
+        gd.getMetadataService().getObjByUri(OBJ_URI, Metric.class);
+
+        verifyThatRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(OBJ_URI)
+                .receivedTimes(2);
+        assertThat(objCache.getHitCount(), is(1L));
+    }
+
+    @Test
+    public void shouldInvalidateCachedObjOnRemove() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("DELETE")
+                .havingPathEqualTo(OBJ_URI)
+            .respond()
+                .withStatus(204);
+
+        gd.getMetadataService().getObjByUri(OBJ_URI, Metric.class);
+        gd.getMetadataService().removeObjByUri(OBJ_URI);
+
+        assertThat(objCache.size(), is(0));
+        assertThat(objCache.getWeight(), is(0L));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import com.gooddata.sdk.model.md.Attribute;
+import com.gooddata.sdk.model.md.Restriction;
+import com.gooddata.sdk.model.project.Project;
+import com.gooddata.sdk.service.AbstractGoodDataIT;
+import com.gooddata.sdk.service.GoodDataSettings;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static com.gooddata.sdk.common.util.ResourceUtils.readFromResource;
+import static com.gooddata.sdk.common.util.ResourceUtils.readObjectFromResource;
+import static net.jadler.Jadler.onRequest;
+import static net.jadler.Jadler.verifyThatRequest;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MetadataServiceQueryCatalogIT extends AbstractGoodDataIT {
+
+    private static final String QUERY_URI = "/gdc/md/PROJECT_ID/query/attributes";
+
+    private Project project;
+
+    @Override
+    protected GoodDataSettings createGoodDataSettings() {
+        final GoodDataSettings settings = super.createGoodDataSettings();
+        settings.setQueryCatalogSettings(new QueryCatalogSettings());
+        return settings;
+    }
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(QUERY_URI)
+            .respond()
+                .withStatus(200)
+                .withBody(readFromResource("/md/query.json"));
+        project = readObjectFromResource("/project/project.json", Project.class);
+    }
+
+    @Test
+    public void shouldLookUpCatalogedEntries() throws Exception {
+        final MetadataService service = gd.getMetadataService();
+
+        assertThat(service.getObjUri(project, Attribute.class, Restriction.title("Name")), is("/gdc/md/PROJ_ID/obj/118"));
+        assertThat(service.getObjUri(project, Attribute.class, Restriction.title("Resource")), is("/gdc/md/PROJ_ID/obj/127"));
+        assertThat(service.findUris(project, Attribute.class).size(), is(2));
+
+        verifyThatRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(QUERY_URI)
+                .receivedOnce();
+        assertThat(service.getQueryCatalog().orElseThrow(IllegalStateException::new).getHitCount(), is(2L));
+    }
+
+    @Test
+    public void shouldRefreshEntriesAfterRemoval() throws Exception {
+        onRequest()
+                .havingMethodEqualTo("DELETE")
+                .havingPathEqualTo("/gdc/md/PROJECT_ID/obj/118")
+            .respond()
+                .withStatus(204);
+        final MetadataService service = gd.getMetadataService();
+
+        service.findUris(project, Attribute.class);
+        service.removeObjByUri("/gdc/md/PROJECT_ID/obj/118");
+        service.findUris(project, Attribute.class);
+
+        verifyThatRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(QUERY_URI)
+                .receivedTimes(2);
+    }
+}
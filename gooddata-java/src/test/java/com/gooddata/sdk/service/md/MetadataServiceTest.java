@@ -12,6 +12,7 @@ import com.gooddata.sdk.model.md.*;
 import com.gooddata.sdk.model.md.report.ReportDefinition;
 import com.gooddata.sdk.model.md.visualization.VisualizationClass;
 import com.gooddata.sdk.model.project.Project;
+import com.gooddata.sdk.service.AsyncRestOperations;
 import com.gooddata.sdk.service.GoodDataSettings;
 import org.mockito.Matchers;
 import org.mockito.Mock;
@@ -22,19 +23,26 @@ import org.springframework.web.client.RestTemplate;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.gooddata.sdk.common.util.ResourceUtils.readObjectFromResource;
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
+import static org.testng.Assert.fail;
 
 public class MetadataServiceTest {
 
@@ -46,13 +54,17 @@ public class MetadataServiceTest {
     private Project project;
     @Mock
     private RestTemplate restTemplate;
+    @Mock
+    private AsyncRestOperations asyncRestOperations;
 
     private MetadataService service;
+    private MetadataService asyncService;
 
     @BeforeMethod
     public void setUp() throws Exception {
         MockitoAnnotations.initMocks(this);
         service = new MetadataService(restTemplate, new GoodDataSettings());
+        asyncService = new MetadataService(restTemplate, asyncRestOperations, new GoodDataSettings());
         when(project.getId()).thenReturn(PROJECT_ID);
     }
 
@@ -149,6 +161,50 @@ public class MetadataServiceTest {
         assertThat(result, is(response.getItems()));
     }
 
+    @Test
+    public void testGetObjsByUrisInChunks() {
+        final GoodDataSettings settings = new GoodDataSettings();
+        settings.setBulkGetChunkSize(2);
+        service = new MetadataService(restTemplate, settings);
+        final List<Obj> objs = asList(mock(Obj.class), mock(Obj.class), mock(Obj.class));
+        mockBulkGet(asList("1", "2"), objs.subList(0, 2));
+        mockBulkGet(Collections.singletonList("3"), objs.subList(2, 3));
+
+        final Collection<Obj> result = service.getObjsByUris(project, asList("1", "2", "3"));
+        assertThat(result, is(objs));
+        verify(restTemplate, times(2)).postForObject(eq(BulkGet.URI), any(BulkGetUris.class), eq(BulkGet.class), eq(PROJECT_ID));
+    }
+
+    @Test
+    public void testStreamObjsByUris() {
+        final GoodDataSettings settings = new GoodDataSettings();
+        settings.setBulkGetChunkSize(1);
+        settings.setBulkGetConcurrency(2);
+        service = new MetadataService(restTemplate, settings);
+        final List<Obj> objs = asList(mock(Obj.class), mock(Obj.class), mock(Obj.class));
+        for (int i = 0; i < objs.size(); i++) {
+            mockBulkGet(Collections.singletonList(String.valueOf(i)), objs.subList(i, i + 1));
+        }
+
+        final List<Obj> result = new ArrayList<>();
+        service.getObjsByUris(project, asList("0", "1", "2"), result::add);
+        assertThat(result, is(objs));
+    }
+
+    @Test(expectedExceptions = GoodDataRestException.class)
+    public void testStreamObjsByUrisWithServerSideHTTPError() {
+        final GoodDataSettings settings = new GoodDataSettings();
+        settings.setBulkGetChunkSize(1);
+        service = new MetadataService(restTemplate, settings);
+        mockBulkGet(Collections.singletonList("1"), Collections.singletonList(mock(Obj.class)));
+        when(restTemplate.postForObject(BulkGet.URI, new BulkGetUris(Collections.singletonList("2")), BulkGet.class, PROJECT_ID))
+                .thenThrow(new GoodDataRestException(500, "", "", "", ""));
+
+        try (Stream<Obj> objs = service.streamObjsByUris(project, asList("1", "2"))) {
+            objs.forEach(obj -> {});
+        }
+    }
+
     @Test(expectedExceptions = GoodDataException.class)
     public void testGetObjsByUrisWithClientSideHTTPError() {
         final BulkGetUris request = new BulkGetUris(Collections.singletonList(""));
@@ -213,6 +269,46 @@ public class MetadataServiceTest {
         service.getObjByUri(URI, Obj.class);
     }
 
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void testGetObjByUriAsyncNotSupported() {
+        service.getObjByUriAsync(URI, Obj.class);
+    }
+
+    @Test
+    public void testGetObjByUriAsync() {
+        final Obj resultObj = mock(Obj.class);
+        when(asyncRestOperations.getForObject(URI, Obj.class)).thenReturn(completedFuture(resultObj));
+
+        final Obj result = asyncService.getObjByUriAsync(URI, Obj.class).join();
+        assertThat(result, is(resultObj));
+    }
+
+    @Test
+    public void testGetObjByUriAsyncNotFound() {
+        final CompletableFuture<Obj> notFound = new CompletableFuture<>();
+        notFound.completeExceptionally(new GoodDataRestException(404, "", "", "", ""));
+        when(asyncRestOperations.getForObject(URI, Obj.class)).thenReturn(notFound);
+
+        try {
+            asyncService.getObjByUriAsync(URI, Obj.class).join();
+            fail("Exception expected");
+        } catch (CompletionException e) {
+            assertThat(e.getCause(), is(instanceOf(ObjNotFoundException.class)));
+        }
+    }
+
+    @Test
+    public void testGetObjByUriAsyncWithNoResponseFromAPI() {
+        when(asyncRestOperations.getForObject(URI, Obj.class)).thenReturn(completedFuture(null));
+
+        try {
+            asyncService.getObjByUriAsync(URI, Obj.class).join();
+            fail("Exception expected");
+        } catch (CompletionException e) {
+            assertThat(e.getCause(), is(instanceOf(GoodDataException.class)));
+        }
+    }
+
     @Test(expectedExceptions = IllegalArgumentException.class)
     public void testGetObjByIdNullProject() {
         service.getObjById(null, ID, Obj.class);
@@ -423,4 +519,71 @@ public class MetadataServiceTest {
         assertThat(elements, allOf(hasItem(result1), hasItem(result2)));
     }
 
+    @Test
+    public void testStreamAttributeElements() {
+        final DisplayForm displayForm = mock(AttributeDisplayForm.class);
+        when(displayForm.getElementsUri()).thenReturn("/elements?order=asc&pattern=a%20b");
+        final List<AttributeElement> elements = asList(mock(AttributeElement.class), mock(AttributeElement.class),
+                mock(AttributeElement.class), mock(AttributeElement.class));
+        mockElementsPage("/elements?order=asc&pattern=a%20b&offset=0&limit=2", elements.subList(0, 2));
+        mockElementsPage("/elements?order=asc&pattern=a%20b&offset=2&limit=2", elements.subList(2, 3));
+        mockElementsPage("/elements?order=asc&pattern=a%20b&offset=3&limit=2", elements.subList(3, 4));
+        mockElementsPage("/elements?order=asc&pattern=a%20b&offset=4&limit=2", Collections.emptyList());
+
+        for (boolean prefetch : asList(false, true)) {
+            try (Stream<AttributeElement> result = service.streamAttributeElements(displayForm, 2, prefetch)) {
+                assertThat(result.collect(Collectors.toList()), is(elements));
+            }
+        }
+    }
+
+    @Test
+    public void testStreamAttributeElementsStopsAtTotal() {
+        final DisplayForm displayForm = mock(AttributeDisplayForm.class);
+        when(displayForm.getElementsUri()).thenReturn("/elements");
+        final List<AttributeElement> elements = asList(mock(AttributeElement.class), mock(AttributeElement.class),
+                mock(AttributeElement.class));
+        mockElementsPage("/elements?offset=0&limit=2", elements.subList(0, 2), 3);
+        mockElementsPage("/elements?offset=2&limit=2", elements.subList(2, 3), 3);
+
+        for (boolean prefetch : asList(false, true)) {
+            try (Stream<AttributeElement> result = service.streamAttributeElements(displayForm, 2, prefetch)) {
+                assertThat(result.collect(Collectors.toList()), is(elements));
+            }
+        }
+        verify(restTemplate, never()).getForObject(java.net.URI.create("/elements?offset=3&limit=2"),
+                AttributeElements.class);
+    }
+
+    @Test
+    public void testStreamAttributeElementsWithoutElementsUri() {
+        final DisplayForm displayForm = mock(AttributeDisplayForm.class);
+        assertThat(service.streamAttributeElements(displayForm).count(), is(0L));
+    }
+
+    @Test(expectedExceptions = GoodDataException.class)
+    public void testStreamAttributeElementsWithClientSideHTTPError() {
+        final DisplayForm displayForm = mock(AttributeDisplayForm.class);
+        when(displayForm.getElementsUri()).thenReturn("/elements");
+        when(restTemplate.getForObject(java.net.URI.create("/elements?offset=0&limit=1000"), AttributeElements.class))
+                .thenThrow(new RestClientException(""));
+        service.streamAttributeElements(displayForm).count();
+    }
+
+    private void mockElementsPage(final String uri, final List<AttributeElement> elements) {
+        mockElementsPage(uri, elements, null);
+    }
+
+    private void mockElementsPage(final String uri, final List<AttributeElement> elements, final Integer total) {
+        final AttributeElements page = mock(AttributeElements.class);
+        when(page.getElements()).thenReturn(elements);
+        when(page.getTotal()).thenReturn(total);
+        when(restTemplate.getForObject(java.net.URI.create(uri), AttributeElements.class)).thenReturn(page);
+    }
+
+    private void mockBulkGet(final List<String> uris, final List<Obj> objs) {
+        final BulkGet response = mock(BulkGet.class);
+        when(response.getItems()).thenReturn(objs);
+        when(restTemplate.postForObject(BulkGet.URI, new BulkGetUris(uris), BulkGet.class, PROJECT_ID)).thenReturn(response);
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import com.gooddata.sdk.model.md.Dataset;
+import com.gooddata.sdk.model.md.Fact;
+import com.gooddata.sdk.model.md.Metric;
+import com.gooddata.sdk.service.AbstractGoodDataIT;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.gooddata.sdk.common.util.ResourceUtils.readFromResource;
+import static net.jadler.Jadler.onRequest;
+import static net.jadler.Jadler.verifyThatRequest;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.testng.Assert.fail;
+
+public class ObjBatchLoaderIT extends AbstractGoodDataIT {
+
+    private static final String BULK_GET_URI = "/gdc/md/PROJECT_ID/objects/get";
+    private static final String METRIC_URL = "/gdc/md/PROJECT_ID/obj/METRIC_ID";
+    private static final String FACT_URL = "/gdc/md/PROJECT_ID/obj/FACT_ID";
+    private static final String DATASET_URL = "/gdc/md/PROJECT_ID/obj/DATASET_ID";
+
+    private ScheduledExecutorService executor;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        onRequest()
+                .havingMethodEqualTo("POST")
+                .havingPathEqualTo(BULK_GET_URI)
+            .respond()
+                .withStatus(200)
+                .withBody(readFromResource("/md/bulk-get.json"));
+    }
+
+    @AfterMethod
+    public void shutdown() throws Exception {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldLoadObjsInSingleBatch() throws Exception {
+        final ObjBatchLoader loader = new ObjBatchLoader(gd.getMetadataService(), executor, TimeUnit.MINUTES.toMillis(1), 10);
+
+        final CompletableFuture<Metric> metric = loader.load(METRIC_URL, Metric.class);
+        final CompletableFuture<Fact> fact = loader.load(FACT_URL, Fact.class);
+        final CompletableFuture<Dataset> dataset = loader.load(DATASET_URL, Dataset.class);
+        final CompletableFuture<Metric> sameMetric = loader.load(METRIC_URL, Metric.class);
+        loader.flush();
+
+        assertThat(metric.get(10, TimeUnit.SECONDS).getUri(), is(METRIC_URL));
+        assertThat(fact.get(10, TimeUnit.SECONDS).getUri(), is(FACT_URL));
+        assertThat(dataset.get(10, TimeUnit.SECONDS).getUri(), is(DATASET_URL));
+        assertThat(sameMetric.get(10, TimeUnit.SECONDS).getUri(), is(METRIC_URL));
+        verifyThatRequest()
+                .havingMethodEqualTo("POST")
+                .havingPathEqualTo(BULK_GET_URI)
+                .havingBody(allOf(containsString(DATASET_URL), containsString(FACT_URL), containsString(METRIC_URL)))
+                .receivedOnce();
+    }
+
+    @Test
+    public void shouldSendFullBatchAndBatchAfterWindow() throws Exception {
+        final ObjBatchLoader loader = new ObjBatchLoader(gd.getMetadataService(), executor, 50, 2);
+
+        final CompletableFuture<Metric> metric = loader.load(METRIC_URL, Metric.class);
+        final CompletableFuture<Fact> fact = loader.load(FACT_URL, Fact.class);
+        final CompletableFuture<Dataset> dataset = loader.load(DATASET_URL, Dataset.class);
+
+        CompletableFuture.allOf(metric, fact, dataset).get(10, TimeUnit.SECONDS);
+        verifyThatRequest()
+                .havingMethodEqualTo("POST")
+                .havingPathEqualTo(BULK_GET_URI)
+                .receivedTimes(2);
+    }
+
+    @Test
+    public void shouldFailWhenObjNotReturned() throws Exception {
+        final ObjBatchLoader loader = new ObjBatchLoader(gd.getMetadataService(), executor, 0, 10);
+
+        try {
+            loader.load("/gdc/md/PROJECT_ID/obj/MISSING", Metric.class).join();
+            fail("ObjNotFoundException expected");
+        } catch (CompletionException e) {
+            assertThat(e.getCause(), is(instanceOf(ObjNotFoundException.class)));
+        }
+    }
+
+    @Test
+    public void shouldFailWhenObjOfDifferentType() throws Exception {
+        final ObjBatchLoader loader = new ObjBatchLoader(gd.getMetadataService(), executor, 0, 10);
+
+        try {
+            loader.load(FACT_URL, Metric.class).join();
+            fail("ObjNotFoundException expected");
+        } catch (CompletionException e) {
+            assertThat(e.getCause(), is(instanceOf(ObjNotFoundException.class)));
+        }
+    }
+}
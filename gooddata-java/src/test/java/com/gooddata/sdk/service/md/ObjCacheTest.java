@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ObjCacheTest {
+
+    private final AtomicLong time = new AtomicLong();
+
+    private ObjCache cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        final ObjCacheSettings settings = new ObjCacheSettings();
+        settings.setMaxWeight(10);
+        settings.setMaxEntryWeight(6);
+        settings.setTimeToLive(1000);
+        cache = new ObjCache(settings, time::get);
+    }
+
+    @Test
+    public void shouldCountHitsAndMisses() throws Exception {
+        assertThat(cache.get("/a"), is(nullValue()));
+        cache.put("/a", new byte[3], cache.getGeneration());
+
+        assertThat(cache.get("/a").length, is(3));
+        assertThat(cache.getHitCount(), is(1L));
+        assertThat(cache.getMissCount(), is(1L));
+        assertThat(cache.getWeight(), is(3L));
+    }
+
+    @Test
+    public void shouldExpire() throws Exception {
+        cache.put("/a", new byte[3], cache.getGeneration());
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        assertThat(cache.get("/a"), is(nullValue()));
+        assertThat(cache.size(), is(0));
+        assertThat(cache.getWeight(), is(0L));
+        assertThat(cache.getEvictionCount(), is(1L));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedByWeight() throws Exception {
+        cache.put("/a", new byte[4], cache.getGeneration());
+        cache.put("/b", new byte[4], cache.getGeneration());
+        cache.get("/a");
+        cache.put("/c", new byte[4], cache.getGeneration());
+
+        assertThat(cache.get("/b"), is(nullValue()));
+        assertThat(cache.get("/a").length, is(4));
+        assertThat(cache.get("/c").length, is(4));
+        assertThat(cache.getWeight(), is(8L));
+        assertThat(cache.getEvictionCount(), is(1L));
+    }
+
+    @Test
+    public void shouldNotCacheTooHeavyObj() throws Exception {
+        cache.put("/a", new byte[4], cache.getGeneration());
+        cache.put("/huge", new byte[7], cache.getGeneration());
+
+        assertThat(cache.get("/huge"), is(nullValue()));
+        assertThat(cache.get("/a").length, is(4));
+    }
+
+    @Test
+    public void shouldReplaceObj() throws Exception {
+        cache.put("/a", new byte[4], cache.getGeneration());
+        cache.put("/a", new byte[2], cache.getGeneration());
+
+        assertThat(cache.size(), is(1));
+        assertThat(cache.getWeight(), is(2L));
+    }
+
+    @Test
+    public void shouldInvalidate() throws Exception {
+        cache.put("/a", new byte[4], cache.getGeneration());
+        cache.put("/b", new byte[4], cache.getGeneration());
+
+        cache.invalidate("/a");
+        assertThat(cache.get("/a"), is(nullValue()));
+        assertThat(cache.getWeight(), is(4L));
+
+        cache.invalidateAll();
+        assertThat(cache.size(), is(0));
+        assertThat(cache.getWeight(), is(0L));
+    }
+
+    @Test
+    public void shouldNotCacheObjRequestedBeforeInvalidation() throws Exception {
+        final long generation = cache.getGeneration();
+        cache.invalidate("/b");
+        cache.put("/a", new byte[4], generation);
+
+        assertThat(cache.get("/a"), is(nullValue()));
+        assertThat(cache.size(), is(0));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2004-2019, GoodData(R) Corporation. All rights reserved.
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE.txt file in the root directory of this source tree.
+ */
+package com.gooddata.sdk.service.md;
+
+import com.gooddata.sdk.model.md.Entry;
+import com.gooddata.sdk.model.md.Restriction;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static com.gooddata.sdk.model.md.Restriction.identifier;
+import static com.gooddata.sdk.model.md.Restriction.title;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class QueryCatalogTest {
+
+    private static final ZonedDateTime UPDATED = ZonedDateTime.parse("2019-01-01T10:00:00Z");
+
+    private final AtomicLong time = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private QueryCatalog catalog;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        final QueryCatalogSettings settings = new QueryCatalogSettings();
+        settings.setTimeToLive(1000);
+        catalog = new QueryCatalog(settings, time::get);
+        loads.set(0);
+    }
+
+    @Test
+    public void shouldFindInMemoryUntilExpired() throws Exception {
+        final List<Entry> entries = asList(entry("/1", "a", "A"), entry("/2", "b", "B"));
+
+        assertThat(find(entries, identifier("b")), is(singletonList(entries.get(1))));
+        assertThat(find(entries, title("A")), is(singletonList(entries.get(0))));
+        assertThat(find(entries), is(entries));
+        assertThat(loads.get(), is(1));
+        assertThat(catalog.getHitCount(), is(2L));
+
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        find(entries, identifier("a"));
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    public void shouldKeepListingOrderOfMatches() throws Exception {
+        final List<Entry> entries = asList(entry("/1", "a", "same"), entry("/2", "b", "other"),
+                entry("/3", "c", "same"));
+
+        final Collection<Entry> found = find(entries, title("same"), identifier("b"));
+        assertThat(found, is(entries));
+    }
+
+    @Test
+    public void shouldRefreshIncrementally() throws Exception {
+        final Entry unchanged = entry("/1", "a", "A");
+        find(asList(unchanged, entry("/2", "b", "B"), entry("/3", "c", "C")));
+        assertThat(catalog.getReindexCount(), is(3L));
+
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        final Entry renamed = new Entry("/2", "B2", null, null, null, null, null, "b", null, null, UPDATED.plusHours(1),
+                null, null);
+        final List<Entry> refreshed = asList(entry("/1", "a", "A"), renamed);
+
+        assertThat(find(refreshed, title("B2")), is(singletonList(renamed)));
+        assertThat(find(refreshed, title("B")), is(emptyList()));
+        assertThat(find(refreshed, identifier("c")), is(emptyList()));
+        assertThat(find(refreshed, identifier("a")).iterator().next(), is(unchanged));
+        assertThat(catalog.getReindexCount(), is(4L));
+        assertThat(catalog.size(), is(2));
+    }
+
+    @Test
+    public void shouldRefreshInvalidatedProject() throws Exception {
+        final List<Entry> entries = singletonList(entry("/1", "a", "A"));
+        find(entries);
+        catalog.invalidate("OTHER");
+        find(entries);
+        assertThat(loads.get(), is(1));
+
+        catalog.invalidate("PROJECT");
+        find(entries);
+        assertThat(loads.get(), is(2));
+        assertThat(catalog.getRefreshCount(), is(2L));
+    }
+
+    @Test
+    public void shouldNotTrustListingLoadedWhileInvalidated() throws Exception {
+        final List<Entry> entries = singletonList(entry("/1", "a", "A"));
+        final Supplier<Collection<Entry>> loader = () -> {
+            loads.incrementAndGet();
+            catalog.invalidate("PROJECT");
+            return entries;
+        };
+        catalog.find("PROJECT", "metrics", loader);
+        catalog.find("PROJECT", "metrics", loader);
+        assertThat(loads.get(), is(2));
+    }
+
+    private Collection<Entry> find(final List<Entry> entries, final Restriction... restrictions) {
+        return catalog.find("PROJECT", "metrics", () -> {
+            loads.incrementAndGet();
+            return entries;
+        }, restrictions);
+    }
+
+    private static Entry entry(final String uri, final String identifier, final String title) {
+        return new Entry(uri, title, null, null, null, null, null, identifier, null, null, UPDATED, null, null);
+    }
+}
@@ -24,6 +24,7 @@ import com.gooddata.sdk.service.AbstractGoodDataIT;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
@@ -345,6 +346,20 @@ public class ProjectServiceIT extends AbstractGoodDataIT {
         assertThat(secondPage, empty());
     }
 
+    @Test
+    public void shouldReadAllUsers() {
+        onRequest()
+                .havingMethodEqualTo("GET")
+                .havingPathEqualTo(ProjectService.PROJECT_USERS_TEMPLATE.expand("PROJECT_ID").toString())
+        .respond()
+                .withBody(readFromResource("/project/project-users.json"))
+                .withStatus(200);
+
+        final List<User> users = new ArrayList<>();
+        gd.getProjectService().listUsers(enabled, new CustomPageRequest(), users::add);
+        assertThat(users, hasSize(1));
+    }
+
     @Test
     public void shouldSendInvitations() {
         onRequest()